@@ -1,5 +1,8 @@
 package com.techvg.inventory.management.config;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +12,93 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final QueryGuard queryGuard = new QueryGuard();
+
+    private final ChunkedUpload chunkedUpload = new ChunkedUpload();
+
+    public QueryGuard getQueryGuard() {
+        return queryGuard;
+    }
+
+    public ChunkedUpload getChunkedUpload() {
+        return chunkedUpload;
+    }
+
+    public static class QueryGuard {
+
+        private int maxPageSize = 500;
+
+        private int timeoutSeconds = 30;
+
+        private Map<String, List<String>> selectiveFilters = new HashMap<>();
+
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+
+        public int getTimeoutSeconds() {
+            return timeoutSeconds;
+        }
+
+        public void setTimeoutSeconds(int timeoutSeconds) {
+            this.timeoutSeconds = timeoutSeconds;
+        }
+
+        public Map<String, List<String>> getSelectiveFilters() {
+            return selectiveFilters;
+        }
+
+        public void setSelectiveFilters(Map<String, List<String>> selectiveFilters) {
+            this.selectiveFilters = selectiveFilters;
+        }
+    }
+
+    public static class ChunkedUpload {
+
+        private int maxUploads = 20;
+
+        private int maxConcurrentParts = 4;
+
+        private long maxFileSize = 100L * 1024 * 1024;
+
+        private int expiryMinutes = 1440;
+
+        public int getMaxUploads() {
+            return maxUploads;
+        }
+
+        public void setMaxUploads(int maxUploads) {
+            this.maxUploads = maxUploads;
+        }
+
+        public int getMaxConcurrentParts() {
+            return maxConcurrentParts;
+        }
+
+        public void setMaxConcurrentParts(int maxConcurrentParts) {
+            this.maxConcurrentParts = maxConcurrentParts;
+        }
+
+        public long getMaxFileSize() {
+            return maxFileSize;
+        }
+
+        public void setMaxFileSize(long maxFileSize) {
+            this.maxFileSize = maxFileSize;
+        }
+
+        public int getExpiryMinutes() {
+            return expiryMinutes;
+        }
+
+        public void setExpiryMinutes(int expiryMinutes) {
+            this.expiryMinutes = expiryMinutes;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.techvg.inventory.management.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
@@ -19,6 +20,21 @@ import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 @EnableScheduling
 public class AsyncConfiguration implements AsyncConfigurer {
 
+    /**
+     * Counts run side by side by {@code /api/counts}, each holding a database connection while it runs, so the pool
+     * stays well below the connection pool.
+     */
+    private static final int COUNT_POOL_SIZE = 4;
+
+    private static final int COUNT_QUEUE_CAPACITY = 100;
+
+    /**
+     * Thumbnails are decoded and scaled in memory, a few at a time whatever the number of uploads.
+     */
+    private static final int THUMBNAIL_POOL_SIZE = 2;
+
+    private static final int THUMBNAIL_QUEUE_CAPACITY = 100;
+
     private final Logger log = LoggerFactory.getLogger(AsyncConfiguration.class);
 
     private final TaskExecutionProperties taskExecutionProperties;
@@ -39,6 +55,31 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    @Bean(name = "countExecutor")
+    public ThreadPoolTaskExecutor getCountExecutor() {
+        log.debug("Creating Count Task Executor");
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(COUNT_POOL_SIZE);
+        executor.setMaxPoolSize(COUNT_POOL_SIZE);
+        executor.setQueueCapacity(COUNT_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("inventory-management-count-");
+        // a count which finds the executor saturated runs in the request thread
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    @Bean(name = "thumbnailExecutor")
+    public ThreadPoolTaskExecutor getThumbnailExecutor() {
+        log.debug("Creating Thumbnail Task Executor");
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(THUMBNAIL_POOL_SIZE);
+        executor.setMaxPoolSize(THUMBNAIL_POOL_SIZE);
+        executor.setQueueCapacity(THUMBNAIL_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("inventory-management-thumbnail-");
+        // a thumbnail rejected when the executor is saturated is generated when it is first requested
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
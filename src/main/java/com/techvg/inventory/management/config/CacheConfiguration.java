@@ -91,6 +91,8 @@ public class CacheConfiguration {
             createCache(cm, com.techvg.inventory.management.domain.UserAccess.class.getName());
             createCache(cm, com.techvg.inventory.management.domain.PurchaseQuotation.class.getName() + ".goodsReciveds");
             createCache(cm, com.techvg.inventory.management.domain.ClientDetails.class.getName());
+            createCache(cm, com.techvg.inventory.management.service.ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
+            createCache(cm, com.techvg.inventory.management.service.WareHouseQueryService.WARE_HOUSES_BY_CRITERIA_CACHE);
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -0,0 +1,116 @@
+package com.techvg.inventory.management.config.liquibase;
+
+import com.techvg.inventory.management.domain.ProductInventory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Liquibase task filling the typed quantity columns of {@code product_inventory} from the legacy varchar columns.
+ * <p>
+ * Rows are walked in id order and each chunk is committed on its own, so the migration can run against a live table.
+ * Text which is not a number is left as {@code null}, the same way {@link ProductInventory#toQuantity(String)} reads it.
+ */
+public class ProductInventoryQuantityBackfill implements CustomTaskChange {
+
+    private final Logger log = LoggerFactory.getLogger(ProductInventoryQuantityBackfill.class);
+
+    private static final String SELECT_CHUNK =
+        "select id, inward_qty, outward_qty, total_quanity from product_inventory where id > ? and (" +
+        "(inward_quantity is null and inward_qty is not null) or " +
+        "(outward_quantity is null and outward_qty is not null) or " +
+        "(total_quantity is null and total_quanity is not null)) order by id";
+
+    private static final String UPDATE_ROW =
+        "update product_inventory set inward_quantity = coalesce(inward_quantity, ?), " +
+        "outward_quantity = coalesce(outward_quantity, ?), total_quantity = coalesce(total_quantity, ?) where id = ?";
+
+    private int chunkSize = 1000;
+
+    private long updatedRows;
+
+    public void setChunkSize(String chunkSize) {
+        this.chunkSize = Integer.parseInt(chunkSize);
+    }
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try (
+            PreparedStatement select = connection.prepareStatement(SELECT_CHUNK);
+            PreparedStatement update = connection.prepareStatement(UPDATE_ROW)
+        ) {
+            select.setMaxRows(chunkSize);
+            long lastId = 0L;
+            int chunkRows;
+            do {
+                chunkRows = 0;
+                select.setLong(1, lastId);
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        lastId = rows.getLong(1);
+                        setQuantity(update, 1, rows.getString(2));
+                        setQuantity(update, 2, rows.getString(3));
+                        setQuantity(update, 3, rows.getString(4));
+                        update.setLong(4, lastId);
+                        update.addBatch();
+                        chunkRows++;
+                    }
+                }
+                if (chunkRows > 0) {
+                    update.executeBatch();
+                    if (!connection.getAutoCommit()) {
+                        connection.commit();
+                    }
+                    updatedRows += chunkRows;
+                    log.debug("Backfilled quantities of {} product inventories, up to id {}", updatedRows, lastId);
+                }
+            } while (chunkRows == chunkSize);
+        } catch (SQLException e) {
+            throw new CustomChangeException("Could not backfill the product inventory quantities", e);
+        }
+    }
+
+    private void setQuantity(PreparedStatement update, int index, String legacyQuantity) throws SQLException {
+        Double quantity = ProductInventory.toQuantity(legacyQuantity);
+        if (quantity == null) {
+            update.setNull(index, Types.DOUBLE);
+        } else {
+            update.setDouble(index, quantity);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Backfilled the quantities of " + updatedRows + " product inventories";
+    }
+
+    @Override
+    public void setUp() {
+        // nothing to set up
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // no resources needed
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        if (chunkSize < 1) {
+            errors.addError("chunkSize must be positive");
+        }
+        return errors;
+    }
+}
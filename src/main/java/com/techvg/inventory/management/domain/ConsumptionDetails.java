@@ -13,6 +13,10 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "consumption_details")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(
+    name = "ConsumptionDetails.list",
+    attributeNodes = { @NamedAttributeNode("securityUser"), @NamedAttributeNode("project") }
+)
 public class ConsumptionDetails implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -40,14 +44,14 @@ public class ConsumptionDetails implements Serializable {
     @Column(name = "last_modified_by")
     private String lastModifiedBy;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityPermissions", "securityRoles", "wareHouses" }, allowSetters = true)
     private SecurityUser securityUser;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Project project;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(
         value = { "consumptionDetails", "product", "productTransaction", "securityUser", "wareHouse" },
         allowSetters = true
@@ -49,7 +49,7 @@ public class GoodsRecived implements Serializable {
     @Column(name = "free_field_3")
     private String freeField3;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(
         value = { "purchaseQuotationDetails", "goodsReciveds", "securityUser", "project", "clientDetails" },
         allowSetters = true
@@ -14,6 +14,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "notification")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = "Notification.list", attributeNodes = { @NamedAttributeNode("securityUser"), @NamedAttributeNode("wareHouse") })
 public class Notification implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -52,11 +53,11 @@ public class Notification implements Serializable {
     @Column(name = "last_modified_by")
     private String lastModifiedBy;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityPermissions", "securityRoles", "wareHouses" }, allowSetters = true)
     private SecurityUser securityUser;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityUsers" }, allowSetters = true)
     private WareHouse wareHouse;
 
@@ -33,13 +33,18 @@ public class Product implements Serializable {
     @Column(name = "hsn_no")
     private String hsnNo;
 
-    @Lob
-    @Column(name = "material_image")
-    private byte[] materialImage;
-
+    /**
+     * Content type of the material image, {@code null} when the product has none. The image itself is a {@link ProductImage}.
+     */
     @Column(name = "material_image_content_type")
     private String materialImageContentType;
 
+    /**
+     * SHA-256 of the material image, which names its thumbnails.
+     */
+    @Column(name = "material_image_hash", length = 64)
+    private String materialImageHash;
+
     @Column(name = "is_deleted")
     private Boolean isDeleted;
 
@@ -73,10 +78,10 @@ public class Product implements Serializable {
     @Column(name = "description")
     private String description;
 
-    @Column(name = "qr_code")
+    @Column(name = "qr_code", unique = true)
     private String qrCode;
 
-    @Column(name = "bar_code")
+    @Column(name = "bar_code", unique = true)
     private String barCode;
 
     @Column(name = "gst_percentage")
@@ -103,13 +108,13 @@ public class Product implements Serializable {
     @JsonIgnoreProperties(value = { "product", "transfer" }, allowSetters = true)
     private Set<TransferDetails> transferDetails = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Categories categories;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Unit unit;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityPermissions", "securityRoles", "wareHouses" }, allowSetters = true)
     private SecurityUser securityUser;
 
@@ -167,30 +172,30 @@ public class Product implements Serializable {
         this.hsnNo = hsnNo;
     }
 
-    public byte[] getMaterialImage() {
-        return this.materialImage;
+    public String getMaterialImageContentType() {
+        return this.materialImageContentType;
     }
 
-    public Product materialImage(byte[] materialImage) {
-        this.setMaterialImage(materialImage);
+    public Product materialImageContentType(String materialImageContentType) {
+        this.materialImageContentType = materialImageContentType;
         return this;
     }
 
-    public void setMaterialImage(byte[] materialImage) {
-        this.materialImage = materialImage;
+    public void setMaterialImageContentType(String materialImageContentType) {
+        this.materialImageContentType = materialImageContentType;
     }
 
-    public String getMaterialImageContentType() {
-        return this.materialImageContentType;
+    public String getMaterialImageHash() {
+        return this.materialImageHash;
     }
 
-    public Product materialImageContentType(String materialImageContentType) {
-        this.materialImageContentType = materialImageContentType;
+    public Product materialImageHash(String materialImageHash) {
+        this.setMaterialImageHash(materialImageHash);
         return this;
     }
 
-    public void setMaterialImageContentType(String materialImageContentType) {
-        this.materialImageContentType = materialImageContentType;
+    public void setMaterialImageHash(String materialImageHash) {
+        this.materialImageHash = materialImageHash;
     }
 
     public Boolean getIsDeleted() {
@@ -537,8 +542,8 @@ public class Product implements Serializable {
             ", shortName='" + getShortName() + "'" +
             ", chemicalFormula='" + getChemicalFormula() + "'" +
             ", hsnNo='" + getHsnNo() + "'" +
-            ", materialImage='" + getMaterialImage() + "'" +
             ", materialImageContentType='" + getMaterialImageContentType() + "'" +
+            ", materialImageHash='" + getMaterialImageHash() + "'" +
             ", isDeleted='" + getIsDeleted() + "'" +
             ", isActive='" + getIsActive() + "'" +
             ", productName='" + getProductName() + "'" +
@@ -0,0 +1,167 @@
+package com.techvg.inventory.management.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+
+/**
+ * A ProductCertificate.
+ * <p>
+ * Reference from the name of an uploaded certificate of analysis of a {@link Product} to its content, stored once per
+ * SHA-256 by the file store however many products and names share it.
+ */
+@Entity
+@Table(name = "product_certificate")
+public class ProductCertificate implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "file_name", nullable = false, unique = true)
+    private String fileName;
+
+    /**
+     * Lowercase hexadecimal SHA-256 of the content, which names the content file.
+     */
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    @Column(name = "content_length", nullable = false)
+    private Long contentLength;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "transferDetails", "categories", "unit", "securityUser" }, allowSetters = true)
+    private Product product;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public ProductCertificate id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return this.fileName;
+    }
+
+    public ProductCertificate fileName(String fileName) {
+        this.setFileName(fileName);
+        return this;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentHash() {
+        return this.contentHash;
+    }
+
+    public ProductCertificate contentHash(String contentHash) {
+        this.setContentHash(contentHash);
+        return this;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getContentLength() {
+        return this.contentLength;
+    }
+
+    public ProductCertificate contentLength(Long contentLength) {
+        this.setContentLength(contentLength);
+        return this;
+    }
+
+    public void setContentLength(Long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public ProductCertificate contentType(String contentType) {
+        this.setContentType(contentType);
+        return this;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public ProductCertificate createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Product getProduct() {
+        return this.product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public ProductCertificate product(Product product) {
+        this.setProduct(product);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductCertificate)) {
+            return false;
+        }
+        return id != null && id.equals(((ProductCertificate) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductCertificate{" +
+            "id=" + getId() +
+            ", fileName='" + getFileName() + "'" +
+            ", contentHash='" + getContentHash() + "'" +
+            ", contentLength=" + getContentLength() +
+            ", contentType='" + getContentType() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,149 @@
+package com.techvg.inventory.management.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+
+/**
+ * A ProductImage.
+ * <p>
+ * The material image of a {@link Product}, kept out of the product row so that reading, caching and listing
+ * products never loads it. It is only read by the image endpoint of the product.
+ */
+@Entity
+@Table(name = "product_image")
+public class ProductImage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "content", nullable = false)
+    private byte[] content;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    /**
+     * Lowercase hexadecimal SHA-256 of the content, used as its entity tag.
+     */
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    @Column(name = "content_length", nullable = false)
+    private Long contentLength;
+
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+
+    public Long getProductId() {
+        return this.productId;
+    }
+
+    public ProductImage productId(Long productId) {
+        this.setProductId(productId);
+        return this;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public byte[] getContent() {
+        return this.content;
+    }
+
+    public ProductImage content(byte[] content) {
+        this.setContent(content);
+        return this;
+    }
+
+    public void setContent(byte[] content) {
+        this.content = content;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public ProductImage contentType(String contentType) {
+        this.setContentType(contentType);
+        return this;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentHash() {
+        return this.contentHash;
+    }
+
+    public ProductImage contentHash(String contentHash) {
+        this.setContentHash(contentHash);
+        return this;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getContentLength() {
+        return this.contentLength;
+    }
+
+    public ProductImage contentLength(Long contentLength) {
+        this.setContentLength(contentLength);
+        return this;
+    }
+
+    public void setContentLength(Long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public Instant getLastModified() {
+        return this.lastModified;
+    }
+
+    public ProductImage lastModified(Instant lastModified) {
+        this.setLastModified(lastModified);
+        return this;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductImage)) {
+            return false;
+        }
+        return productId != null && productId.equals(((ProductImage) o).productId);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductImage{" +
+            "productId=" + getProductId() +
+            ", contentType='" + getContentType() + "'" +
+            ", contentHash='" + getContentHash() + "'" +
+            ", contentLength=" + getContentLength() +
+            ", lastModified='" + getLastModified() + "'" +
+            "}";
+    }
+}
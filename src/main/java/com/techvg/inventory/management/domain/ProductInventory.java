@@ -2,6 +2,7 @@ package com.techvg.inventory.management.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
@@ -15,6 +16,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "product_inventory")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = "ProductInventory.list", attributeNodes = { @NamedAttributeNode("product"), @NamedAttributeNode("securityUser") })
 public class ProductInventory implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -36,6 +38,15 @@ public class ProductInventory implements Serializable {
     @Column(name = "total_quanity")
     private String totalQuanity;
 
+    @Column(name = "inward_quantity")
+    private Double inwardQuantity;
+
+    @Column(name = "outward_quantity")
+    private Double outwardQuantity;
+
+    @Column(name = "total_quantity")
+    private Double totalQuantity;
+
     @Column(name = "price_per_unit")
     private Long pricePerUnit;
 
@@ -71,19 +82,19 @@ public class ProductInventory implements Serializable {
     @JsonIgnoreProperties(value = { "securityUser", "project", "productInventory" }, allowSetters = true)
     private Set<ConsumptionDetails> consumptionDetails = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "transferDetails", "categories", "unit", "securityUser" }, allowSetters = true)
     private Product product;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityUser", "wareHouse" }, allowSetters = true)
     private ProductTransaction productTransaction;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityPermissions", "securityRoles", "wareHouses" }, allowSetters = true)
     private SecurityUser securityUser;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityUser" }, allowSetters = true)
     private WareHouse wareHouse;
 
@@ -126,6 +137,7 @@ public class ProductInventory implements Serializable {
 
     public void setInwardQty(String inwardQty) {
         this.inwardQty = inwardQty;
+        this.inwardQuantity = toQuantity(inwardQty);
     }
 
     public String getOutwardQty() {
@@ -139,6 +151,7 @@ public class ProductInventory implements Serializable {
 
     public void setOutwardQty(String outwardQty) {
         this.outwardQty = outwardQty;
+        this.outwardQuantity = toQuantity(outwardQty);
     }
 
     public String getTotalQuanity() {
@@ -152,6 +165,19 @@ public class ProductInventory implements Serializable {
 
     public void setTotalQuanity(String totalQuanity) {
         this.totalQuanity = totalQuanity;
+        this.totalQuantity = toQuantity(totalQuanity);
+    }
+
+    public Double getInwardQuantity() {
+        return this.inwardQuantity;
+    }
+
+    public Double getOutwardQuantity() {
+        return this.outwardQuantity;
+    }
+
+    public Double getTotalQuantity() {
+        return this.totalQuantity;
     }
 
     public Long getPricePerUnit() {
@@ -367,6 +393,42 @@ public class ProductInventory implements Serializable {
         return this;
     }
 
+    /**
+     * The text quantities are the only ones written, the typed quantities are always derived from them, so both can
+     * never disagree. This also fills the typed quantities of rows written before they existed.
+     */
+    @PrePersist
+    @PreUpdate
+    void syncQuantities() {
+        inwardQuantity = toQuantity(inwardQty);
+        outwardQuantity = toQuantity(outwardQty);
+        totalQuantity = toQuantity(totalQuanity);
+    }
+
+    /**
+     * @param quantity a legacy text quantity.
+     * @return the quantity, or {@code null} if the text is blank or not a number.
+     */
+    public static Double toQuantity(String quantity) {
+        if (quantity == null || quantity.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            double value = new BigDecimal(quantity.trim()).doubleValue();
+            return Double.isInfinite(value) ? null : value;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param quantity a typed quantity.
+     * @return the quantity as legacy text.
+     */
+    public static String toQuantityText(Double quantity) {
+        return BigDecimal.valueOf(quantity).stripTrailingZeros().toPlainString();
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -395,6 +457,9 @@ public class ProductInventory implements Serializable {
             ", inwardQty='" + getInwardQty() + "'" +
             ", outwardQty='" + getOutwardQty() + "'" +
             ", totalQuanity='" + getTotalQuanity() + "'" +
+            ", inwardQuantity=" + getInwardQuantity() +
+            ", outwardQuantity=" + getOutwardQuantity() +
+            ", totalQuantity=" + getTotalQuantity() +
             ", pricePerUnit=" + getPricePerUnit() +
             ", lotNo='" + getLotNo() + "'" +
             ", expiryDate='" + getExpiryDate() + "'" +
@@ -14,6 +14,10 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "product_transaction")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(
+    name = "ProductTransaction.list",
+    attributeNodes = { @NamedAttributeNode("securityUser"), @NamedAttributeNode("wareHouse") }
+)
 public class ProductTransaction implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -52,11 +56,11 @@ public class ProductTransaction implements Serializable {
     @Column(name = "last_modified_by")
     private String lastModifiedBy;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityPermissions", "securityRoles", "wareHouses" }, allowSetters = true)
     private SecurityUser securityUser;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityUsers" }, allowSetters = true)
     private WareHouse wareHouse;
 
@@ -77,14 +77,14 @@ public class PurchaseQuotation implements Serializable {
     @JsonIgnoreProperties(value = { "purchaseQuotation" }, allowSetters = true)
     private Set<GoodsRecived> goodsReciveds = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityPermissions", "securityRoles", "wareHouses" }, allowSetters = true)
     private SecurityUser securityUser;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Project project;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private ClientDetails clientDetails;
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
@@ -48,11 +48,11 @@ public class PurchaseQuotationDetails implements Serializable {
     @Column(name = "free_field_2")
     private String freeField2;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "transferDetails", "categories", "unit", "securityUser" }, allowSetters = true)
     private Product product;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(
         value = { "purchaseQuotationDetails", "goodsReciveds", "securityUser", "project", "clientDetails" },
         allowSetters = true
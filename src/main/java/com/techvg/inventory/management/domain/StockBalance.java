@@ -0,0 +1,180 @@
+package com.techvg.inventory.management.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.io.Serializable;
+import javax.persistence.*;
+
+/**
+ * A StockBalance.
+ * <p>
+ * Running stock of one product in one wareHouse, maintained from the {@link ProductInventory} ledger
+ * in the same transaction as every posting.
+ */
+@Entity
+@Table(name = "stock_balance")
+public class StockBalance implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "inward_qty", nullable = false)
+    private Double inwardQty = 0D;
+
+    @Column(name = "outward_qty", nullable = false)
+    private Double outwardQty = 0D;
+
+    @Column(name = "balance", nullable = false)
+    private Double balance = 0D;
+
+    @Column(name = "reserved_qty", nullable = false)
+    private Double reservedQty = 0D;
+
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "transferDetails", "categories", "unit", "securityUser" }, allowSetters = true)
+    private Product product;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "securityUsers" }, allowSetters = true)
+    private WareHouse wareHouse;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public StockBalance id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Double getInwardQty() {
+        return this.inwardQty;
+    }
+
+    public StockBalance inwardQty(Double inwardQty) {
+        this.setInwardQty(inwardQty);
+        return this;
+    }
+
+    public void setInwardQty(Double inwardQty) {
+        this.inwardQty = inwardQty;
+    }
+
+    public Double getOutwardQty() {
+        return this.outwardQty;
+    }
+
+    public StockBalance outwardQty(Double outwardQty) {
+        this.setOutwardQty(outwardQty);
+        return this;
+    }
+
+    public void setOutwardQty(Double outwardQty) {
+        this.outwardQty = outwardQty;
+    }
+
+    public Double getBalance() {
+        return this.balance;
+    }
+
+    public StockBalance balance(Double balance) {
+        this.setBalance(balance);
+        return this;
+    }
+
+    public void setBalance(Double balance) {
+        this.balance = balance;
+    }
+
+    public Double getReservedQty() {
+        return this.reservedQty;
+    }
+
+    public StockBalance reservedQty(Double reservedQty) {
+        this.setReservedQty(reservedQty);
+        return this;
+    }
+
+    public void setReservedQty(Double reservedQty) {
+        this.reservedQty = reservedQty;
+    }
+
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public StockBalance version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Product getProduct() {
+        return this.product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public StockBalance product(Product product) {
+        this.setProduct(product);
+        return this;
+    }
+
+    public WareHouse getWareHouse() {
+        return this.wareHouse;
+    }
+
+    public void setWareHouse(WareHouse wareHouse) {
+        this.wareHouse = wareHouse;
+    }
+
+    public StockBalance wareHouse(WareHouse wareHouse) {
+        this.setWareHouse(wareHouse);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StockBalance)) {
+            return false;
+        }
+        return id != null && id.equals(((StockBalance) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockBalance{" +
+            "id=" + getId() +
+            ", inwardQty=" + getInwardQty() +
+            ", outwardQty=" + getOutwardQty() +
+            ", balance=" + getBalance() +
+            ", reservedQty=" + getReservedQty() +
+            ", version=" + getVersion() +
+            "}";
+    }
+}
@@ -0,0 +1,130 @@
+package com.techvg.inventory.management.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+
+/**
+ * A StockCheckpoint.
+ * <p>
+ * Stock of one product in one wareHouse made of every {@link ProductInventory} ledger row dated strictly before
+ * the checkpoint date. Checkpoints bound the number of ledger rows an as of query has to read.
+ */
+@Entity
+@Table(name = "stock_checkpoint")
+public class StockCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "checkpoint_date", nullable = false)
+    private Instant checkpointDate;
+
+    @Column(name = "balance", nullable = false)
+    private Double balance;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "transferDetails", "categories", "unit", "securityUser" }, allowSetters = true)
+    private Product product;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "securityUsers" }, allowSetters = true)
+    private WareHouse wareHouse;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public StockCheckpoint id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Instant getCheckpointDate() {
+        return this.checkpointDate;
+    }
+
+    public StockCheckpoint checkpointDate(Instant checkpointDate) {
+        this.setCheckpointDate(checkpointDate);
+        return this;
+    }
+
+    public void setCheckpointDate(Instant checkpointDate) {
+        this.checkpointDate = checkpointDate;
+    }
+
+    public Double getBalance() {
+        return this.balance;
+    }
+
+    public StockCheckpoint balance(Double balance) {
+        this.setBalance(balance);
+        return this;
+    }
+
+    public void setBalance(Double balance) {
+        this.balance = balance;
+    }
+
+    public Product getProduct() {
+        return this.product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public StockCheckpoint product(Product product) {
+        this.setProduct(product);
+        return this;
+    }
+
+    public WareHouse getWareHouse() {
+        return this.wareHouse;
+    }
+
+    public void setWareHouse(WareHouse wareHouse) {
+        this.wareHouse = wareHouse;
+    }
+
+    public StockCheckpoint wareHouse(WareHouse wareHouse) {
+        this.setWareHouse(wareHouse);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StockCheckpoint)) {
+            return false;
+        }
+        return id != null && id.equals(((StockCheckpoint) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockCheckpoint{" +
+            "id=" + getId() +
+            ", checkpointDate='" + getCheckpointDate() + "'" +
+            ", balance=" + getBalance() +
+            "}";
+    }
+}
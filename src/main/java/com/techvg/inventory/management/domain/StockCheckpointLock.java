@@ -0,0 +1,69 @@
+package com.techvg.inventory.management.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+
+/**
+ * A StockCheckpointLock.
+ * <p>
+ * Single row serialising the {@link StockCheckpoint} writer with the postings which drop stale checkpoints, and
+ * recording the date of the last scheduled checkpoints so only one instance takes them.
+ */
+@Entity
+@Table(name = "stock_checkpoint_lock")
+public class StockCheckpointLock implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Long ID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "last_checkpoint_date")
+    private Instant lastCheckpointDate;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Instant getLastCheckpointDate() {
+        return this.lastCheckpointDate;
+    }
+
+    public void setLastCheckpointDate(Instant lastCheckpointDate) {
+        this.lastCheckpointDate = lastCheckpointDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StockCheckpointLock)) {
+            return false;
+        }
+        return id != null && id.equals(((StockCheckpointLock) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockCheckpointLock{" +
+            "id=" + getId() +
+            ", lastCheckpointDate='" + getLastCheckpointDate() + "'" +
+            "}";
+    }
+}
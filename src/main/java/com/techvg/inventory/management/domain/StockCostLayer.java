@@ -0,0 +1,146 @@
+package com.techvg.inventory.management.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.io.Serializable;
+import javax.persistence.*;
+
+/**
+ * A StockCostLayer.
+ * <p>
+ * Open FIFO layer of a product in a wareHouse: the part of one inward {@link ProductInventory} row not issued yet,
+ * at the price of that row. Layers are issued in posting order and dropped once fully issued.
+ */
+@Entity
+@Table(name = "stock_cost_layer")
+public class StockCostLayer implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "product_inventory_id")
+    private Long productInventoryId;
+
+    @Column(name = "unit_cost", nullable = false)
+    private Double unitCost = 0D;
+
+    @Column(name = "remaining_qty", nullable = false)
+    private Double remainingQty = 0D;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "transferDetails", "categories", "unit", "securityUser" }, allowSetters = true)
+    private Product product;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "securityUsers" }, allowSetters = true)
+    private WareHouse wareHouse;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public StockCostLayer id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductInventoryId() {
+        return this.productInventoryId;
+    }
+
+    public StockCostLayer productInventoryId(Long productInventoryId) {
+        this.setProductInventoryId(productInventoryId);
+        return this;
+    }
+
+    public void setProductInventoryId(Long productInventoryId) {
+        this.productInventoryId = productInventoryId;
+    }
+
+    public Double getUnitCost() {
+        return this.unitCost;
+    }
+
+    public StockCostLayer unitCost(Double unitCost) {
+        this.setUnitCost(unitCost);
+        return this;
+    }
+
+    public void setUnitCost(Double unitCost) {
+        this.unitCost = unitCost;
+    }
+
+    public Double getRemainingQty() {
+        return this.remainingQty;
+    }
+
+    public StockCostLayer remainingQty(Double remainingQty) {
+        this.setRemainingQty(remainingQty);
+        return this;
+    }
+
+    public void setRemainingQty(Double remainingQty) {
+        this.remainingQty = remainingQty;
+    }
+
+    public Product getProduct() {
+        return this.product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public StockCostLayer product(Product product) {
+        this.setProduct(product);
+        return this;
+    }
+
+    public WareHouse getWareHouse() {
+        return this.wareHouse;
+    }
+
+    public void setWareHouse(WareHouse wareHouse) {
+        this.wareHouse = wareHouse;
+    }
+
+    public StockCostLayer wareHouse(WareHouse wareHouse) {
+        this.setWareHouse(wareHouse);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StockCostLayer)) {
+            return false;
+        }
+        return id != null && id.equals(((StockCostLayer) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockCostLayer{" +
+            "id=" + getId() +
+            ", productInventoryId=" + getProductInventoryId() +
+            ", unitCost=" + getUnitCost() +
+            ", remainingQty=" + getRemainingQty() +
+            "}";
+    }
+}
@@ -0,0 +1,198 @@
+package com.techvg.inventory.management.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+
+/**
+ * A StockLot.
+ * <p>
+ * Running stock of one lot of a product in one wareHouse, maintained from the {@link ProductInventory} ledger
+ * rows carrying a lot number, in the same transaction as every posting.
+ */
+@Entity
+@Table(name = "stock_lot")
+public class StockLot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "lot_no", nullable = false)
+    private String lotNo;
+
+    @Column(name = "expiry_date")
+    private Instant expiryDate;
+
+    @Column(name = "inward_qty", nullable = false)
+    private Double inwardQty = 0D;
+
+    @Column(name = "outward_qty", nullable = false)
+    private Double outwardQty = 0D;
+
+    @Column(name = "remaining_qty", nullable = false)
+    private Double remainingQty = 0D;
+
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "transferDetails", "categories", "unit", "securityUser" }, allowSetters = true)
+    private Product product;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "securityUsers" }, allowSetters = true)
+    private WareHouse wareHouse;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public StockLot id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getLotNo() {
+        return this.lotNo;
+    }
+
+    public StockLot lotNo(String lotNo) {
+        this.setLotNo(lotNo);
+        return this;
+    }
+
+    public void setLotNo(String lotNo) {
+        this.lotNo = lotNo;
+    }
+
+    public Instant getExpiryDate() {
+        return this.expiryDate;
+    }
+
+    public StockLot expiryDate(Instant expiryDate) {
+        this.setExpiryDate(expiryDate);
+        return this;
+    }
+
+    public void setExpiryDate(Instant expiryDate) {
+        this.expiryDate = expiryDate;
+    }
+
+    public Double getInwardQty() {
+        return this.inwardQty;
+    }
+
+    public StockLot inwardQty(Double inwardQty) {
+        this.setInwardQty(inwardQty);
+        return this;
+    }
+
+    public void setInwardQty(Double inwardQty) {
+        this.inwardQty = inwardQty;
+    }
+
+    public Double getOutwardQty() {
+        return this.outwardQty;
+    }
+
+    public StockLot outwardQty(Double outwardQty) {
+        this.setOutwardQty(outwardQty);
+        return this;
+    }
+
+    public void setOutwardQty(Double outwardQty) {
+        this.outwardQty = outwardQty;
+    }
+
+    public Double getRemainingQty() {
+        return this.remainingQty;
+    }
+
+    public StockLot remainingQty(Double remainingQty) {
+        this.setRemainingQty(remainingQty);
+        return this;
+    }
+
+    public void setRemainingQty(Double remainingQty) {
+        this.remainingQty = remainingQty;
+    }
+
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public StockLot version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Product getProduct() {
+        return this.product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public StockLot product(Product product) {
+        this.setProduct(product);
+        return this;
+    }
+
+    public WareHouse getWareHouse() {
+        return this.wareHouse;
+    }
+
+    public void setWareHouse(WareHouse wareHouse) {
+        this.wareHouse = wareHouse;
+    }
+
+    public StockLot wareHouse(WareHouse wareHouse) {
+        this.setWareHouse(wareHouse);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StockLot)) {
+            return false;
+        }
+        return id != null && id.equals(((StockLot) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockLot{" +
+            "id=" + getId() +
+            ", lotNo='" + getLotNo() + "'" +
+            ", expiryDate='" + getExpiryDate() + "'" +
+            ", inwardQty=" + getInwardQty() +
+            ", outwardQty=" + getOutwardQty() +
+            ", remainingQty=" + getRemainingQty() +
+            ", version=" + getVersion() +
+            "}";
+    }
+}
@@ -0,0 +1,166 @@
+package com.techvg.inventory.management.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.techvg.inventory.management.domain.enumeration.ReservationStatus;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+
+/**
+ * A StockReservation.
+ * <p>
+ * Quantity of a product held in a wareHouse for an outward posting to come. While active, it is counted in the
+ * {@link StockBalance#getReservedQty()} of its product and wareHouse, until it is released or expires.
+ */
+@Entity
+@Table(name = "stock_reservation")
+public class StockReservation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "quantity", nullable = false)
+    private Double quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ReservationStatus status;
+
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "transferDetails", "categories", "unit", "securityUser" }, allowSetters = true)
+    private Product product;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "securityUsers" }, allowSetters = true)
+    private WareHouse wareHouse;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public StockReservation id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Double getQuantity() {
+        return this.quantity;
+    }
+
+    public StockReservation quantity(Double quantity) {
+        this.setQuantity(quantity);
+        return this;
+    }
+
+    public void setQuantity(Double quantity) {
+        this.quantity = quantity;
+    }
+
+    public ReservationStatus getStatus() {
+        return this.status;
+    }
+
+    public StockReservation status(ReservationStatus status) {
+        this.setStatus(status);
+        return this;
+    }
+
+    public void setStatus(ReservationStatus status) {
+        this.status = status;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public StockReservation createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public StockReservation expiresAt(Instant expiresAt) {
+        this.setExpiresAt(expiresAt);
+        return this;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Product getProduct() {
+        return this.product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public StockReservation product(Product product) {
+        this.setProduct(product);
+        return this;
+    }
+
+    public WareHouse getWareHouse() {
+        return this.wareHouse;
+    }
+
+    public void setWareHouse(WareHouse wareHouse) {
+        this.wareHouse = wareHouse;
+    }
+
+    public StockReservation wareHouse(WareHouse wareHouse) {
+        this.setWareHouse(wareHouse);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StockReservation)) {
+            return false;
+        }
+        return id != null && id.equals(((StockReservation) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockReservation{" +
+            "id=" + getId() +
+            ", quantity=" + getQuantity() +
+            ", status='" + getStatus() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", expiresAt='" + getExpiresAt() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,147 @@
+package com.techvg.inventory.management.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.io.Serializable;
+import javax.persistence.*;
+
+/**
+ * A StockValuation.
+ * <p>
+ * Value of the stock of one product in one wareHouse, both at moving weighted average cost and at FIFO cost,
+ * maintained from the {@link ProductInventory} ledger in the same transaction as every posting. The FIFO value
+ * is the sum of the open {@link StockCostLayer}s of the product and wareHouse.
+ */
+@Entity
+@Table(name = "stock_valuation")
+public class StockValuation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "quantity", nullable = false)
+    private Double quantity = 0D;
+
+    @Column(name = "average_cost", nullable = false)
+    private Double averageCost = 0D;
+
+    @Column(name = "fifo_value", nullable = false)
+    private Double fifoValue = 0D;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "transferDetails", "categories", "unit", "securityUser" }, allowSetters = true)
+    private Product product;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties(value = { "securityUsers" }, allowSetters = true)
+    private WareHouse wareHouse;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public StockValuation id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Double getQuantity() {
+        return this.quantity;
+    }
+
+    public StockValuation quantity(Double quantity) {
+        this.setQuantity(quantity);
+        return this;
+    }
+
+    public void setQuantity(Double quantity) {
+        this.quantity = quantity;
+    }
+
+    public Double getAverageCost() {
+        return this.averageCost;
+    }
+
+    public StockValuation averageCost(Double averageCost) {
+        this.setAverageCost(averageCost);
+        return this;
+    }
+
+    public void setAverageCost(Double averageCost) {
+        this.averageCost = averageCost;
+    }
+
+    public Double getFifoValue() {
+        return this.fifoValue;
+    }
+
+    public StockValuation fifoValue(Double fifoValue) {
+        this.setFifoValue(fifoValue);
+        return this;
+    }
+
+    public void setFifoValue(Double fifoValue) {
+        this.fifoValue = fifoValue;
+    }
+
+    public Product getProduct() {
+        return this.product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public StockValuation product(Product product) {
+        this.setProduct(product);
+        return this;
+    }
+
+    public WareHouse getWareHouse() {
+        return this.wareHouse;
+    }
+
+    public void setWareHouse(WareHouse wareHouse) {
+        this.wareHouse = wareHouse;
+    }
+
+    public StockValuation wareHouse(WareHouse wareHouse) {
+        this.setWareHouse(wareHouse);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StockValuation)) {
+            return false;
+        }
+        return id != null && id.equals(((StockValuation) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockValuation{" +
+            "id=" + getId() +
+            ", quantity=" + getQuantity() +
+            ", averageCost=" + getAverageCost() +
+            ", fifoValue=" + getFifoValue() +
+            "}";
+    }
+}
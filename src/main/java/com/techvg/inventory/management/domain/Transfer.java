@@ -65,11 +65,11 @@ public class Transfer implements Serializable {
     @JsonIgnoreProperties(value = { "securityUser", "transfer" }, allowSetters = true)
     private Set<TransferDetailsApprovals> transferDetailsApprovals = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityPermissions", "securityRoles", "wareHouses" }, allowSetters = true)
     private SecurityUser securityUser;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityUsers" }, allowSetters = true)
     private WareHouse wareHouse;
 
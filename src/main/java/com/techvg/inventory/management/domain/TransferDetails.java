@@ -49,11 +49,11 @@ public class TransferDetails implements Serializable {
     @Column(name = "is_active")
     private Boolean isActive;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "transferDetails", "categories", "unit", "securityUser" }, allowSetters = true)
     private Product product;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(
         value = { "transferDetails", "transferRecieveds", "transferDetailsApprovals", "securityUser", "wareHouse" },
         allowSetters = true
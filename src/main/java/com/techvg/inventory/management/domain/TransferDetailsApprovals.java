@@ -13,6 +13,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "transfer_details_approvals")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = "TransferDetailsApprovals.list", attributeNodes = { @NamedAttributeNode("securityUser") })
 public class TransferDetailsApprovals implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -49,11 +50,11 @@ public class TransferDetailsApprovals implements Serializable {
     @Column(name = "is_active")
     private Boolean isActive;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityPermissions", "securityRoles", "wareHouses" }, allowSetters = true)
     private SecurityUser securityUser;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(
         value = { "transferDetails", "transferRecieveds", "transferDetailsApprovals", "securityUser", "wareHouse" },
         allowSetters = true
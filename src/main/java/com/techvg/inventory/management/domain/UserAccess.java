@@ -14,6 +14,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "user_access")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = "UserAccess.list", attributeNodes = { @NamedAttributeNode("securityUser") })
 public class UserAccess extends AbstractAuditingEntity {
 
     private static final long serialVersionUID = 1L;
@@ -38,7 +39,7 @@ public class UserAccess extends AbstractAuditingEntity {
     @Column(name = "last_modified_by", nullable = false)
     private String lastModifiedBy;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "securityPermissions", "securityRoles", "wareHouses", "productInventories" }, allowSetters = true)
     private SecurityUser securityUser;
 
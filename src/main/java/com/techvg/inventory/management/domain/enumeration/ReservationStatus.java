@@ -0,0 +1,21 @@
+package com.techvg.inventory.management.domain.enumeration;
+
+/**
+ * The ReservationStatus enumeration.
+ */
+public enum ReservationStatus {
+    ACTIVE("Active"),
+    RELEASED("Released"),
+    EXPIRED("Expired"),
+    CONSUMED("Consumed");
+
+    private final String value;
+
+    ReservationStatus(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -42,4 +43,12 @@ public interface ConsumptionDetailsRepository
         "select consumptionDetails from ConsumptionDetails consumptionDetails left join fetch consumptionDetails.securityUser left join fetch consumptionDetails.project where consumptionDetails.id =:id"
     )
     Optional<ConsumptionDetails> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Override
+    @EntityGraph("ConsumptionDetails.list")
+    Page<ConsumptionDetails> findAll(Specification<ConsumptionDetails> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph("ConsumptionDetails.list")
+    List<ConsumptionDetails> findAll(Specification<ConsumptionDetails> spec);
 }
@@ -1,10 +1,12 @@
 package com.techvg.inventory.management.repository;
 
 import com.techvg.inventory.management.domain.Notification;
+import com.techvg.inventory.management.domain.enumeration.NotificationType;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -41,4 +43,23 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
         "select notification from Notification notification left join fetch notification.securityUser left join fetch notification.wareHouse where notification.id =:id"
     )
     Optional<Notification> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Query(
+        "select case when count(notification) > 0 then true else false end from Notification notification " +
+        "where notification.notificationType = :notificationType and notification.wareHouse.id = :wareHouseId " +
+        "and notification.freeField1 = :key and (notification.isRead is null or notification.isRead = false)"
+    )
+    boolean existsUnread(
+        @Param("notificationType") NotificationType notificationType,
+        @Param("wareHouseId") Long wareHouseId,
+        @Param("key") String key
+    );
+
+    @Override
+    @EntityGraph("Notification.list")
+    Page<Notification> findAll(Specification<Notification> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph("Notification.list")
+    List<Notification> findAll(Specification<Notification> spec);
 }
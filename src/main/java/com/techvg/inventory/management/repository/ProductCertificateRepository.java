@@ -0,0 +1,24 @@
+package com.techvg.inventory.management.repository;
+
+import com.techvg.inventory.management.domain.ProductCertificate;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the ProductCertificate entity.
+ */
+@Repository
+public interface ProductCertificateRepository extends JpaRepository<ProductCertificate, Long> {
+    Optional<ProductCertificate> findOneByFileName(String fileName);
+
+    /**
+     * Find the certificate stored under a name and lock it until the end of the transaction, so concurrent uploads of
+     * the same certificate repoint it one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select productCertificate from ProductCertificate productCertificate where productCertificate.fileName = :fileName")
+    Optional<ProductCertificate> findOneForUpdateByFileName(@Param("fileName") String fileName);
+}
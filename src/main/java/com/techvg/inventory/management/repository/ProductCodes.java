@@ -0,0 +1,14 @@
+package com.techvg.inventory.management.repository;
+
+/**
+ * Codes printed on the containers of one product, read without loading it.
+ */
+public interface ProductCodes {
+    Long getId();
+
+    String getBarCode();
+
+    String getQrCode();
+
+    String getCasNumber();
+}
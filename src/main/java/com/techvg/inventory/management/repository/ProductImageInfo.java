@@ -0,0 +1,18 @@
+package com.techvg.inventory.management.repository;
+
+import java.time.Instant;
+
+/**
+ * Metadata of a product image, read without loading its content.
+ */
+public interface ProductImageInfo {
+    Long getProductId();
+
+    String getContentType();
+
+    String getContentHash();
+
+    Long getContentLength();
+
+    Instant getLastModified();
+}
@@ -0,0 +1,24 @@
+package com.techvg.inventory.management.repository;
+
+import com.techvg.inventory.management.domain.ProductImage;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the ProductImage entity.
+ */
+@Repository
+public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
+    @Query(
+        "select productImage.productId as productId, productImage.contentType as contentType, " +
+        "productImage.contentHash as contentHash, productImage.contentLength as contentLength, " +
+        "productImage.lastModified as lastModified from ProductImage productImage where productImage.productId = :productId"
+    )
+    Optional<ProductImageInfo> findInfoByProductId(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("delete from ProductImage productImage where productImage.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+}
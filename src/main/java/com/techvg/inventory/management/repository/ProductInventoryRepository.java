@@ -1,10 +1,12 @@
 package com.techvg.inventory.management.repository;
 
 import com.techvg.inventory.management.domain.ProductInventory;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -41,4 +43,80 @@ public interface ProductInventoryRepository extends JpaRepository<ProductInvento
         "select productInventory from ProductInventory productInventory left join fetch productInventory.product left join fetch productInventory.securityUser where productInventory.id =:id"
     )
     Optional<ProductInventory> findOneWithToOneRelationships(@Param("id") Long id);
+
+    /**
+     * Sum the ledger rows dated before a date, and at or after the latest checkpoint of their product and wareHouse
+     * at that date, optionally narrowed to one product or one wareHouse. Soft deleted rows and undated rows are left out.
+     */
+    @Query(
+        "select productInventory.product.id as productId, productInventory.wareHouse.id as wareHouseId, " +
+        "sum(coalesce(productInventory.inwardQuantity, 0)) - sum(coalesce(productInventory.outwardQuantity, 0)) as balance " +
+        "from ProductInventory productInventory " +
+        "where productInventory.product is not null and productInventory.wareHouse is not null " +
+        "and (productInventory.isDeleted is null or productInventory.isDeleted = false) " +
+        "and (:productId is null or productInventory.product.id = :productId) " +
+        "and (:wareHouseId is null or productInventory.wareHouse.id = :wareHouseId) " +
+        "and productInventory.inwardOutwardDate < :asOf " +
+        "and (productInventory.inwardOutwardDate >= (select max(checkpoint.checkpointDate) from StockCheckpoint checkpoint " +
+        "where checkpoint.product = productInventory.product and checkpoint.wareHouse = productInventory.wareHouse " +
+        "and checkpoint.checkpointDate <= :asOf) " +
+        "or not exists (select checkpoint from StockCheckpoint checkpoint " +
+        "where checkpoint.product = productInventory.product and checkpoint.wareHouse = productInventory.wareHouse " +
+        "and checkpoint.checkpointDate <= :asOf)) " +
+        "group by productInventory.product.id, productInventory.wareHouse.id"
+    )
+    List<StockLevel> sumLevelsSinceCheckpoint(
+        @Param("productId") Long productId,
+        @Param("wareHouseId") Long wareHouseId,
+        @Param("asOf") Instant asOf
+    );
+
+    /**
+     * Find the ledger rows of a product in a wareHouse in posting order, soft deleted rows left out.
+     */
+    @Query(
+        "select productInventory from ProductInventory productInventory " +
+        "where productInventory.product.id = :productId and productInventory.wareHouse.id = :wareHouseId " +
+        "and (productInventory.isDeleted is null or productInventory.isDeleted = false) order by productInventory.id asc"
+    )
+    List<ProductInventory> findLedger(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId);
+
+    /**
+     * Find the ledger rows of a product in a wareHouse posted after a row, in posting order, soft deleted rows left out.
+     */
+    @Query(
+        "select productInventory from ProductInventory productInventory " +
+        "where productInventory.product.id = :productId and productInventory.wareHouse.id = :wareHouseId " +
+        "and productInventory.id > :productInventoryId " +
+        "and (productInventory.isDeleted is null or productInventory.isDeleted = false) order by productInventory.id asc"
+    )
+    List<ProductInventory> findLedgerAfter(
+        @Param("productId") Long productId,
+        @Param("wareHouseId") Long wareHouseId,
+        @Param("productInventoryId") Long productInventoryId
+    );
+
+    /**
+     * Find the ledger rows of a product in a wareHouse posted before a row, newest first, soft deleted rows left out.
+     */
+    @Query(
+        "select productInventory from ProductInventory productInventory " +
+        "where productInventory.product.id = :productId and productInventory.wareHouse.id = :wareHouseId " +
+        "and productInventory.id < :productInventoryId " +
+        "and (productInventory.isDeleted is null or productInventory.isDeleted = false) order by productInventory.id desc"
+    )
+    List<ProductInventory> findLedgerBefore(
+        @Param("productId") Long productId,
+        @Param("wareHouseId") Long wareHouseId,
+        @Param("productInventoryId") Long productInventoryId,
+        Pageable pageable
+    );
+
+    @Override
+    @EntityGraph("ProductInventory.list")
+    Page<ProductInventory> findAll(Specification<ProductInventory> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph("ProductInventory.list")
+    List<ProductInventory> findAll(Specification<ProductInventory> spec);
 }
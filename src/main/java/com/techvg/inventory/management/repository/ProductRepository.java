@@ -37,4 +37,17 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
 
     @Query("select product from Product product left join fetch product.securityUser where product.id =:id")
     Optional<Product> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Query(
+        "select product.id as id, product.productName as productName, product.chemicalName as chemicalName, " +
+        "product.casNumber as casNumber, product.catlogNumber as catlogNumber " +
+        "from Product product where product.isDeleted is null or product.isDeleted = false"
+    )
+    List<ProductSearchFields> findAllSearchFields();
+
+    @Query(
+        "select product.id as id, product.barCode as barCode, product.qrCode as qrCode, product.casNumber as casNumber " +
+        "from Product product where product.isDeleted is null or product.isDeleted = false"
+    )
+    List<ProductCodes> findAllCodes();
 }
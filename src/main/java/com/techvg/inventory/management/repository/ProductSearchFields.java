@@ -0,0 +1,16 @@
+package com.techvg.inventory.management.repository;
+
+/**
+ * Searchable fields of one product, read without loading it.
+ */
+public interface ProductSearchFields {
+    Long getId();
+
+    String getProductName();
+
+    String getChemicalName();
+
+    String getCasNumber();
+
+    String getCatlogNumber();
+}
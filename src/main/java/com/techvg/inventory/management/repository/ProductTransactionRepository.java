@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -42,4 +43,12 @@ public interface ProductTransactionRepository
         "select productTransaction from ProductTransaction productTransaction left join fetch productTransaction.securityUser left join fetch productTransaction.wareHouse where productTransaction.id =:id"
     )
     Optional<ProductTransaction> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Override
+    @EntityGraph("ProductTransaction.list")
+    Page<ProductTransaction> findAll(Specification<ProductTransaction> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph("ProductTransaction.list")
+    List<ProductTransaction> findAll(Specification<ProductTransaction> spec);
 }
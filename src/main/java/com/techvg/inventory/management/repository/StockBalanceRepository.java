@@ -0,0 +1,128 @@
+package com.techvg.inventory.management.repository;
+
+import com.techvg.inventory.management.domain.StockBalance;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the StockBalance entity.
+ */
+@Repository
+public interface StockBalanceRepository extends JpaRepository<StockBalance, Long>, JpaSpecificationExecutor<StockBalance> {
+    Optional<StockBalance> findOneByProductIdAndWareHouseId(Long productId, Long wareHouseId);
+
+    /**
+     * Find the balance of a product in a wareHouse and lock it until the end of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "select stockBalance from StockBalance stockBalance " +
+        "where stockBalance.product.id = :productId and stockBalance.wareHouse.id = :wareHouseId"
+    )
+    Optional<StockBalance> findOneForUpdate(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId);
+
+    /**
+     * Read the balance quantity of a product in a wareHouse from the database, bypassing the persistence context.
+     */
+    @Query(
+        "select stockBalance.balance from StockBalance stockBalance " +
+        "where stockBalance.product.id = :productId and stockBalance.wareHouse.id = :wareHouseId"
+    )
+    Optional<Double> findBalance(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId);
+
+    @Query(
+        "select stockBalance.product.id as productId, stockBalance.wareHouse.id as wareHouseId, stockBalance.balance as balance " +
+        "from StockBalance stockBalance"
+    )
+    List<StockLevel> findAllLevels();
+
+    /**
+     * Atomically add a movement to an existing balance row, so concurrent postings on the same
+     * product and wareHouse never overwrite each other.
+     *
+     * @return the number of updated rows, {@code 0} when no balance exists yet for the pair.
+     */
+    @Modifying
+    @Query(
+        "update StockBalance stockBalance set stockBalance.inwardQty = stockBalance.inwardQty + :inwardQty, " +
+        "stockBalance.outwardQty = stockBalance.outwardQty + :outwardQty, " +
+        "stockBalance.balance = stockBalance.balance + :inwardQty - :outwardQty, " +
+        "stockBalance.version = stockBalance.version + 1 " +
+        "where stockBalance.product.id = :productId and stockBalance.wareHouse.id = :wareHouseId"
+    )
+    int addMovement(
+        @Param("productId") Long productId,
+        @Param("wareHouseId") Long wareHouseId,
+        @Param("inwardQty") double inwardQty,
+        @Param("outwardQty") double outwardQty
+    );
+
+    /**
+     * Atomically add a movement which takes stock out of an existing balance, only if the balance left still covers
+     * the reserved quantity. Stock never reserved can still go negative.
+     *
+     * @return the number of updated rows, {@code 0} when no balance exists yet for the pair or the movement would take
+     * reserved stock.
+     */
+    @Modifying
+    @Query(
+        "update StockBalance stockBalance set stockBalance.inwardQty = stockBalance.inwardQty + :inwardQty, " +
+        "stockBalance.outwardQty = stockBalance.outwardQty + :outwardQty, " +
+        "stockBalance.balance = stockBalance.balance + :inwardQty - :outwardQty, " +
+        "stockBalance.version = stockBalance.version + 1 " +
+        "where stockBalance.product.id = :productId and stockBalance.wareHouse.id = :wareHouseId " +
+        "and (stockBalance.reservedQty <= 0 or stockBalance.balance + :inwardQty - :outwardQty >= stockBalance.reservedQty)"
+    )
+    int addMovementUnlessReserved(
+        @Param("productId") Long productId,
+        @Param("wareHouseId") Long wareHouseId,
+        @Param("inwardQty") double inwardQty,
+        @Param("outwardQty") double outwardQty
+    );
+
+    /**
+     * Atomically reserve a quantity of an existing balance, only if the balance not reserved yet covers it.
+     * Concurrent reservations on the same product and wareHouse can never reserve more than the balance.
+     *
+     * @return the number of updated rows, {@code 0} when the available stock is not enough.
+     */
+    @Modifying
+    @Query(
+        "update StockBalance stockBalance set stockBalance.reservedQty = stockBalance.reservedQty + :quantity, " +
+        "stockBalance.version = stockBalance.version + 1 " +
+        "where stockBalance.product.id = :productId and stockBalance.wareHouse.id = :wareHouseId " +
+        "and stockBalance.balance - stockBalance.reservedQty >= :quantity"
+    )
+    int reserve(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId, @Param("quantity") double quantity);
+
+    @Modifying
+    @Query(
+        "update StockBalance stockBalance set stockBalance.reservedQty = stockBalance.reservedQty - :quantity, " +
+        "stockBalance.version = stockBalance.version + 1 " +
+        "where stockBalance.product.id = :productId and stockBalance.wareHouse.id = :wareHouseId"
+    )
+    int release(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId, @Param("quantity") double quantity);
+
+    /**
+     * Stream the balances with the names of their product and wareHouse, optionally in one wareHouse, through a
+     * forward only cursor. Must be consumed and closed inside a transaction.
+     */
+    @QueryHints(
+        { @QueryHint(name = QueryHints.HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = QueryHints.HINT_READONLY, value = "true") }
+    )
+    @Query(
+        "select stockBalance.product.id as productId, stockBalance.product.productName as productName, " +
+        "stockBalance.wareHouse.id as wareHouseId, stockBalance.wareHouse.whName as wareHouseName, " +
+        "stockBalance.inwardQty as inwardQty, stockBalance.outwardQty as outwardQty, stockBalance.balance as balance " +
+        "from StockBalance stockBalance where (:wareHouseId is null or stockBalance.wareHouse.id = :wareHouseId) " +
+        "order by stockBalance.wareHouse.id, stockBalance.product.id"
+    )
+    Stream<StockExportRow> streamExportRows(@Param("wareHouseId") Long wareHouseId);
+}
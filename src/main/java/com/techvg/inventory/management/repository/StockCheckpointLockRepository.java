@@ -0,0 +1,43 @@
+package com.techvg.inventory.management.repository;
+
+import com.techvg.inventory.management.domain.StockCheckpointLock;
+import java.time.Instant;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the StockCheckpointLock entity.
+ */
+@Repository
+public interface StockCheckpointLockRepository extends JpaRepository<StockCheckpointLock, Long> {
+    /**
+     * Lock the row exclusively until the end of the transaction, while checkpoints are written.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select stockCheckpointLock from StockCheckpointLock stockCheckpointLock where stockCheckpointLock.id = :id")
+    Optional<StockCheckpointLock> findOneForUpdate(@Param("id") Long id);
+
+    /**
+     * Lock the row in share mode until the end of the transaction, while a posting drops stale checkpoints, so
+     * postings do not wait for each other but a checkpoint writer waits for them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select stockCheckpointLock from StockCheckpointLock stockCheckpointLock where stockCheckpointLock.id = :id")
+    Optional<StockCheckpointLock> findOneForShare(@Param("id") Long id);
+
+    /**
+     * Record that the checkpoints of a date are being taken, unless they were taken already.
+     *
+     * @return {@code 1} if the caller should take the checkpoints, {@code 0} if another run took them.
+     */
+    @Modifying
+    @Query(
+        "update StockCheckpointLock stockCheckpointLock set stockCheckpointLock.lastCheckpointDate = :checkpointDate " +
+        "where stockCheckpointLock.id = :id and (stockCheckpointLock.lastCheckpointDate is null " +
+        "or stockCheckpointLock.lastCheckpointDate < :checkpointDate)"
+    )
+    int claim(@Param("id") Long id, @Param("checkpointDate") Instant checkpointDate);
+}
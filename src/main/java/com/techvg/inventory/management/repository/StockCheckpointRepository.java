@@ -0,0 +1,49 @@
+package com.techvg.inventory.management.repository;
+
+import com.techvg.inventory.management.domain.StockCheckpoint;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the StockCheckpoint entity.
+ */
+@Repository
+public interface StockCheckpointRepository extends JpaRepository<StockCheckpoint, Long> {
+    /**
+     * Find the latest checkpoint at or before a date of each product and wareHouse, optionally narrowed to one product
+     * or one wareHouse.
+     */
+    @Query(
+        "select stockCheckpoint.product.id as productId, stockCheckpoint.wareHouse.id as wareHouseId, " +
+        "stockCheckpoint.balance as balance from StockCheckpoint stockCheckpoint " +
+        "where (:productId is null or stockCheckpoint.product.id = :productId) " +
+        "and (:wareHouseId is null or stockCheckpoint.wareHouse.id = :wareHouseId) " +
+        "and stockCheckpoint.checkpointDate = (select max(latest.checkpointDate) from StockCheckpoint latest " +
+        "where latest.product = stockCheckpoint.product and latest.wareHouse = stockCheckpoint.wareHouse " +
+        "and latest.checkpointDate <= :asOf)"
+    )
+    List<StockLevel> findLatestLevels(
+        @Param("productId") Long productId,
+        @Param("wareHouseId") Long wareHouseId,
+        @Param("asOf") Instant asOf
+    );
+
+    /**
+     * Drop the checkpoints of a product and wareHouse taken after a date, once a ledger row dated before them changed.
+     *
+     * @return the number of deleted checkpoints.
+     */
+    @Modifying
+    @Query(
+        "delete from StockCheckpoint stockCheckpoint where stockCheckpoint.product.id = :productId " +
+        "and stockCheckpoint.wareHouse.id = :wareHouseId and stockCheckpoint.checkpointDate > :date"
+    )
+    int deleteAfter(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId, @Param("date") Instant date);
+
+    @Modifying
+    @Query("delete from StockCheckpoint stockCheckpoint where stockCheckpoint.checkpointDate = :checkpointDate")
+    int deleteByCheckpointDate(@Param("checkpointDate") Instant checkpointDate);
+}
@@ -0,0 +1,24 @@
+package com.techvg.inventory.management.repository;
+
+import com.techvg.inventory.management.domain.StockCostLayer;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the StockCostLayer entity.
+ */
+@Repository
+public interface StockCostLayerRepository extends JpaRepository<StockCostLayer, Long> {
+    /**
+     * Find the open layers of a product in a wareHouse, in the order they are issued: the order their ledger rows
+     * were posted in.
+     */
+    @Query(
+        "select stockCostLayer from StockCostLayer stockCostLayer " +
+        "where stockCostLayer.product.id = :productId and stockCostLayer.wareHouse.id = :wareHouseId " +
+        "order by stockCostLayer.productInventoryId asc, stockCostLayer.id asc"
+    )
+    List<StockCostLayer> findOpenLayers(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId);
+}
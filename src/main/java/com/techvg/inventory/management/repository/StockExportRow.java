@@ -0,0 +1,20 @@
+package com.techvg.inventory.management.repository;
+
+/**
+ * Stock of one product in one wareHouse with their names, as exported.
+ */
+public interface StockExportRow {
+    Long getProductId();
+
+    String getProductName();
+
+    Long getWareHouseId();
+
+    String getWareHouseName();
+
+    Double getInwardQty();
+
+    Double getOutwardQty();
+
+    Double getBalance();
+}
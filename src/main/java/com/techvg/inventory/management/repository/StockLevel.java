@@ -0,0 +1,12 @@
+package com.techvg.inventory.management.repository;
+
+/**
+ * Stock of one product in one wareHouse, read without loading either of them.
+ */
+public interface StockLevel {
+    Long getProductId();
+
+    Long getWareHouseId();
+
+    Double getBalance();
+}
@@ -0,0 +1,51 @@
+package com.techvg.inventory.management.repository;
+
+import com.techvg.inventory.management.domain.StockLot;
+import java.time.Instant;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the StockLot entity.
+ */
+@Repository
+public interface StockLotRepository extends JpaRepository<StockLot, Long> {
+    /**
+     * Atomically add a movement to an existing lot row, so concurrent postings on the same lot never overwrite
+     * each other. The expiry date is replaced when the movement carries one.
+     *
+     * @return the number of updated rows, {@code 0} when no row exists yet for the lot.
+     */
+    @Modifying
+    @Query(
+        "update StockLot stockLot set stockLot.inwardQty = stockLot.inwardQty + :inwardQty, " +
+        "stockLot.outwardQty = stockLot.outwardQty + :outwardQty, " +
+        "stockLot.remainingQty = stockLot.remainingQty + :inwardQty - :outwardQty, " +
+        "stockLot.expiryDate = coalesce(:expiryDate, stockLot.expiryDate), " +
+        "stockLot.version = stockLot.version + 1 " +
+        "where stockLot.product.id = :productId and stockLot.wareHouse.id = :wareHouseId and stockLot.lotNo = :lotNo"
+    )
+    int addMovement(
+        @Param("productId") Long productId,
+        @Param("wareHouseId") Long wareHouseId,
+        @Param("lotNo") String lotNo,
+        @Param("expiryDate") Instant expiryDate,
+        @Param("inwardQty") double inwardQty,
+        @Param("outwardQty") double outwardQty
+    );
+
+    /**
+     * Find the lots still in stock which expire before a date, first expiring first, optionally in one wareHouse.
+     */
+    @EntityGraph(attributePaths = { "product", "wareHouse" })
+    @Query(
+        value = "select stockLot from StockLot stockLot where stockLot.remainingQty > 0 and stockLot.expiryDate <= :expiryDate " +
+        "and (:wareHouseId is null or stockLot.wareHouse.id = :wareHouseId) order by stockLot.expiryDate asc, stockLot.id asc",
+        countQuery = "select count(stockLot) from StockLot stockLot where stockLot.remainingQty > 0 and stockLot.expiryDate <= :expiryDate " +
+        "and (:wareHouseId is null or stockLot.wareHouse.id = :wareHouseId)"
+    )
+    Page<StockLot> findExpiring(@Param("expiryDate") Instant expiryDate, @Param("wareHouseId") Long wareHouseId, Pageable pageable);
+}
@@ -0,0 +1,35 @@
+package com.techvg.inventory.management.repository;
+
+import com.techvg.inventory.management.domain.StockReservation;
+import com.techvg.inventory.management.domain.enumeration.ReservationStatus;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the StockReservation entity.
+ */
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+    /**
+     * Atomically move a reservation from one status to another, so a reservation released while it expires
+     * gives its quantity back only once.
+     *
+     * @return the number of updated rows, {@code 0} when the reservation is not in the expected status.
+     */
+    @Modifying
+    @Query(
+        "update StockReservation stockReservation set stockReservation.status = :to " +
+        "where stockReservation.id = :id and stockReservation.status = :from"
+    )
+    int transition(@Param("id") Long id, @Param("from") ReservationStatus from, @Param("to") ReservationStatus to);
+
+    @Query(
+        "select stockReservation from StockReservation stockReservation where stockReservation.status = :status " +
+        "and stockReservation.expiresAt <= :now order by stockReservation.expiresAt asc"
+    )
+    List<StockReservation> findExpired(@Param("status") ReservationStatus status, @Param("now") Instant now, Pageable pageable);
+}
@@ -0,0 +1,52 @@
+package com.techvg.inventory.management.repository;
+
+import com.techvg.inventory.management.domain.StockValuation;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the StockValuation entity.
+ */
+@Repository
+public interface StockValuationRepository extends JpaRepository<StockValuation, Long> {
+    /**
+     * Find the valuation of a product in a wareHouse and lock it until the end of the transaction, so concurrent
+     * postings on the same pair issue the FIFO layers one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "select stockValuation from StockValuation stockValuation " +
+        "where stockValuation.product.id = :productId and stockValuation.wareHouse.id = :wareHouseId"
+    )
+    Optional<StockValuation> findOneForUpdate(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId);
+
+    @Query(
+        "select stockValuation.wareHouse.id as wareHouseId, sum(stockValuation.quantity) as quantity, " +
+        "sum(stockValuation.quantity * stockValuation.averageCost) as averageValue, sum(stockValuation.fifoValue) as fifoValue " +
+        "from StockValuation stockValuation where (:wareHouseId is null or stockValuation.wareHouse.id = :wareHouseId) " +
+        "group by stockValuation.wareHouse.id order by stockValuation.wareHouse.id"
+    )
+    List<StockValue> sumValuesByWareHouse(@Param("wareHouseId") Long wareHouseId);
+
+    @Query(
+        "select stockValuation.product.id as productId, stockValuation.wareHouse.id as wareHouseId, " +
+        "stockValuation.quantity as quantity, stockValuation.averageCost as averageCost, " +
+        "stockValuation.quantity * stockValuation.averageCost as averageValue, stockValuation.fifoValue as fifoValue " +
+        "from StockValuation stockValuation where stockValuation.wareHouse.id = :wareHouseId order by stockValuation.product.id"
+    )
+    List<StockValue> findValues(@Param("wareHouseId") Long wareHouseId);
+
+    /**
+     * Find the product and wareHouse pairs holding a balance but no valuation yet, as {@code [productId, wareHouseId]}.
+     */
+    @Query(
+        "select stockBalance.product.id, stockBalance.wareHouse.id from StockBalance stockBalance where not exists " +
+        "(select stockValuation from StockValuation stockValuation " +
+        "where stockValuation.product = stockBalance.product and stockValuation.wareHouse = stockBalance.wareHouse)"
+    )
+    List<Object[]> findUnvaluedPairs();
+}
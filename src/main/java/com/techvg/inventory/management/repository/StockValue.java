@@ -0,0 +1,19 @@
+package com.techvg.inventory.management.repository;
+
+/**
+ * Value of the stock of one product in one wareHouse, or of a whole wareHouse, read without loading any entity.
+ * Totals of a wareHouse carry neither a product id nor an average cost.
+ */
+public interface StockValue {
+    Long getProductId();
+
+    Long getWareHouseId();
+
+    Double getQuantity();
+
+    Double getAverageCost();
+
+    Double getAverageValue();
+
+    Double getFifoValue();
+}
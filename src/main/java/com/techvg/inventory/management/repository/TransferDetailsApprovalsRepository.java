@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -42,4 +43,12 @@ public interface TransferDetailsApprovalsRepository
         "select transferDetailsApprovals from TransferDetailsApprovals transferDetailsApprovals left join fetch transferDetailsApprovals.securityUser where transferDetailsApprovals.id =:id"
     )
     Optional<TransferDetailsApprovals> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Override
+    @EntityGraph("TransferDetailsApprovals.list")
+    Page<TransferDetailsApprovals> findAll(Specification<TransferDetailsApprovals> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph("TransferDetailsApprovals.list")
+    List<TransferDetailsApprovals> findAll(Specification<TransferDetailsApprovals> spec);
 }
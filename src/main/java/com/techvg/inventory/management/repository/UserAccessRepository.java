@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -37,4 +38,12 @@ public interface UserAccessRepository extends JpaRepository<UserAccess, Long>, J
 
     @Query("select userAccess from UserAccess userAccess left join fetch userAccess.securityUser where userAccess.id =:id")
     Optional<UserAccess> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Override
+    @EntityGraph("UserAccess.list")
+    Page<UserAccess> findAll(Specification<UserAccess> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph("UserAccess.list")
+    List<UserAccess> findAll(Specification<UserAccess> spec);
 }
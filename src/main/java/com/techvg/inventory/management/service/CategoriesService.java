@@ -25,9 +25,16 @@ public class CategoriesService {
 
     private final CategoriesMapper categoriesMapper;
 
-    public CategoriesService(CategoriesRepository categoriesRepository, CategoriesMapper categoriesMapper) {
+    private final CriteriaResultCache criteriaResultCache;
+
+    public CategoriesService(
+        CategoriesRepository categoriesRepository,
+        CategoriesMapper categoriesMapper,
+        CriteriaResultCache criteriaResultCache
+    ) {
         this.categoriesRepository = categoriesRepository;
         this.categoriesMapper = categoriesMapper;
+        this.criteriaResultCache = criteriaResultCache;
     }
 
     /**
@@ -38,6 +45,7 @@ public class CategoriesService {
      */
     public CategoriesDTO save(CategoriesDTO categoriesDTO) {
         log.debug("Request to save Categories : {}", categoriesDTO);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
         Categories categories = categoriesMapper.toEntity(categoriesDTO);
         categories = categoriesRepository.save(categories);
         return categoriesMapper.toDto(categories);
@@ -51,6 +59,7 @@ public class CategoriesService {
      */
     public Optional<CategoriesDTO> partialUpdate(CategoriesDTO categoriesDTO) {
         log.debug("Request to partially update Categories : {}", categoriesDTO);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
 
         return categoriesRepository
             .findById(categoriesDTO.getId())
@@ -94,6 +103,7 @@ public class CategoriesService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Categories : {}", id);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
         categoriesRepository.deleteById(id);
     }
 }
@@ -0,0 +1,544 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.config.ApplicationProperties;
+import com.techvg.inventory.management.repository.ProductRepository;
+import com.techvg.inventory.management.security.SecurityUtils;
+import com.techvg.inventory.management.service.dto.ChunkedUploadDTO;
+import com.techvg.inventory.management.web.rest.errors.MentionedFileNotFoundException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Uploads of product certificates sent in parts, so that a broken connection only resends the part it interrupted.
+ * <p>
+ * An upload is started with the length of the file. Each part is then sent with its offset and written as it is
+ * received, {@value #BUFFER_SIZE} bytes at a time with positional writes, to its own file under
+ * {@code chunks/<upload id>} in the storage directory; sending a part again replaces it. Parts never overlap: a part
+ * starting inside another one is rejected, as is a part running into the next one or past the end of the file, so
+ * that the parts of an upload never take more disk space than the file. Completing the upload assembles the parts in
+ * the order of their offsets with {@link FileChannel#transferFrom} and stores the file with the
+ * {@link FileStorageService}. Memory use does not depend on the size of the file.
+ * <p>
+ * At most {@code application.chunked-upload.max-uploads} uploads are open and at most
+ * {@code application.chunked-upload.max-concurrent-parts} parts are written at once; beyond these an
+ * {@link UploadLimitExceededException} is thrown. An upload is only seen by the user who started it, and is aborted
+ * after {@code application.chunked-upload.expiry-minutes} without a request. Uploads are held in memory: those open
+ * when the application stops are not resumed, and their parts are deleted once they expire.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final String CHUNKS_DIRECTORY = "chunks";
+
+    private static final String PART_SUFFIX = ".part";
+
+    private static final String ASSEMBLED_FILE = "assembled.tmp";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Logger log = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private final Path chunksLocation;
+
+    private final FileStorageService fileStorageService;
+
+    private final ProductRepository productRepository;
+
+    private final int maxUploads;
+
+    private final long maxFileSize;
+
+    private final Duration expiry;
+
+    private final Semaphore partPermits;
+
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+
+    public ChunkedUploadService(
+        Environment env,
+        ApplicationProperties applicationProperties,
+        FileStorageService fileStorageService,
+        ProductRepository productRepository
+    ) {
+        ApplicationProperties.ChunkedUpload properties = applicationProperties.getChunkedUpload();
+        this.chunksLocation =
+            Paths.get(env.getProperty("app.file.upload-dir", "./uploads/files")).toAbsolutePath().normalize().resolve(CHUNKS_DIRECTORY);
+        this.fileStorageService = fileStorageService;
+        this.productRepository = productRepository;
+        this.maxUploads = properties.getMaxUploads();
+        this.maxFileSize = properties.getMaxFileSize();
+        this.expiry = Duration.ofMinutes(properties.getExpiryMinutes());
+        this.partPermits = new Semaphore(properties.getMaxConcurrentParts());
+
+        try {
+            Files.createDirectories(this.chunksLocation);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the directory where the uploaded parts will be stored.", ex);
+        }
+    }
+
+    /**
+     * Start an upload.
+     *
+     * @param chunkedUploadDTO the product, the name, the content type and the length of the file.
+     * @return the upload, with its id.
+     * @throws UploadRejectedException if the file is too large or the product does not exist.
+     * @throws UploadLimitExceededException if too many uploads are open.
+     */
+    public ChunkedUploadDTO start(ChunkedUploadDTO chunkedUploadDTO) {
+        log.debug("Request to start upload : {}", chunkedUploadDTO);
+        if (chunkedUploadDTO.getLength() > maxFileSize) {
+            throw new UploadRejectedException("Files uploaded in parts are at most " + maxFileSize + " bytes long");
+        }
+        if (!productRepository.existsById(chunkedUploadDTO.getProductId())) {
+            throw new UploadRejectedException("Product not found " + chunkedUploadDTO.getProductId());
+        }
+        Upload upload = new Upload(UUID.randomUUID().toString(), SecurityUtils.getCurrentUserLogin().orElse(null), chunkedUploadDTO);
+        synchronized (uploads) {
+            if (uploads.size() >= maxUploads) {
+                throw new UploadLimitExceededException("Too many uploads are open, retry later");
+            }
+            uploads.put(upload.id, upload);
+        }
+        try {
+            Files.createDirectories(chunksLocation.resolve(upload.id));
+            return toDto(upload);
+        } catch (IOException ex) {
+            uploads.remove(upload.id);
+            throw new RuntimeException("Could not start upload of " + chunkedUploadDTO.getFileName(), ex);
+        }
+    }
+
+    /**
+     * Get an upload, with the number of bytes received so far and the offset to resume it at.
+     *
+     * @param id the id of the upload.
+     * @return the upload.
+     * @throws MentionedFileNotFoundException if there is no such upload.
+     */
+    public ChunkedUploadDTO findOne(String id) {
+        log.debug("Request to get upload : {}", id);
+        Upload upload = findUpload(id);
+        upload.lock.readLock().lock();
+        try {
+            checkOpen(upload);
+            return toDto(upload);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read the parts of upload " + id, ex);
+        } finally {
+            upload.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write a part of an upload as it is received, replacing the part sent before at the same offset, if any.
+     * <p>
+     * A part must start outside of the other parts and end at the latest where the next part starts; a replaced part
+     * is lost if its replacement is rejected.
+     *
+     * @param id the id of the upload.
+     * @param offset the offset of the part in the file.
+     * @param inputStream the part, read to its end and left open.
+     * @return the upload.
+     * @throws MentionedFileNotFoundException if there is no such upload.
+     * @throws UploadRejectedException if the part does not fit in the file, overlaps another part or is being written already.
+     * @throws UploadLimitExceededException if too many parts are being written.
+     */
+    public ChunkedUploadDTO writePart(String id, long offset, InputStream inputStream) {
+        log.debug("Request to write part at {} of upload : {}", offset, id);
+        Upload upload = findUpload(id);
+        if (offset < 0 || offset >= upload.length) {
+            throw new UploadRejectedException("Offset " + offset + " is outside of the file of " + upload.length + " bytes");
+        }
+        if (!partPermits.tryAcquire()) {
+            throw new UploadLimitExceededException("Too many parts are being uploaded, retry later");
+        }
+        try {
+            upload.lock.readLock().lock();
+            try {
+                checkOpen(upload);
+                if (!upload.writing.add(offset)) {
+                    throw new UploadRejectedException("The part at " + offset + " of upload " + id + " is being uploaded already");
+                }
+                try {
+                    upload.startPart(offset);
+                    receivePart(upload, offset, inputStream);
+                } finally {
+                    upload.writing.remove(offset);
+                }
+                return toDto(upload);
+            } finally {
+                upload.lock.readLock().unlock();
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not write the part at " + offset + " of upload " + id, ex);
+        } finally {
+            partPermits.release();
+        }
+    }
+
+    /**
+     * Write a part to its file, extending its extent before each write. The bytes of a part interrupted by the
+     * connection are kept: the status of the upload tells the client where to resume.
+     */
+    private void receivePart(Upload upload, long offset, InputStream inputStream) throws IOException {
+        Path part = partPath(upload, offset);
+        ReadableByteChannel source = Channels.newChannel(inputStream);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = 0;
+        boolean rejected = false;
+        try (
+            FileChannel channel = FileChannel.open(
+                part,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+            )
+        ) {
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                upload.extendPart(offset, offset + position + buffer.remaining());
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                buffer.clear();
+            }
+        } catch (UploadRejectedException ex) {
+            rejected = true;
+            throw ex;
+        } finally {
+            // the extent of the part is what was written, as the connection may have broken during a write
+            long end = rejected ? offset : offset + position;
+            upload.endPart(offset, end);
+            if (end == offset) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    /**
+     * Complete an upload: assemble its parts and store the file as the certificate of its product.
+     *
+     * @param id the id of the upload.
+     * @return the name to download the certificate with.
+     * @throws MentionedFileNotFoundException if there is no such upload.
+     * @throws UploadRejectedException if parts are missing or still being written.
+     */
+    public String complete(String id) {
+        log.debug("Request to complete upload : {}", id);
+        Upload upload = findUpload(id);
+        if (!upload.lock.writeLock().tryLock()) {
+            throw new UploadRejectedException("Parts of upload " + id + " are still being uploaded");
+        }
+        try {
+            checkOpen(upload);
+            Path assembled = chunksLocation.resolve(upload.id).resolve(ASSEMBLED_FILE);
+            assemble(upload, assembled);
+            String fileName = fileStorageService.storeFile(assembled, upload.fileName, upload.contentType, upload.productId);
+            close(upload);
+            return fileName;
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not assemble upload " + id, ex);
+        } finally {
+            upload.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Copy the parts of an upload into a file with {@link FileChannel#transferFrom}, which leaves the copy to the
+     * operating system.
+     */
+    private void assemble(Upload upload, Path assembled) throws IOException {
+        try (
+            FileChannel target = FileChannel.open(
+                assembled,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+            )
+        ) {
+            long covered = 0;
+            for (Part part : parts(upload)) {
+                if (part.offset > covered) {
+                    break;
+                }
+                if (part.end <= covered) {
+                    continue;
+                }
+                try (FileChannel source = FileChannel.open(part.path, StandardOpenOption.READ)) {
+                    source.position(covered - part.offset);
+                    while (covered < part.end) {
+                        long transferred = target.transferFrom(source, covered, part.end - covered);
+                        if (transferred <= 0) {
+                            throw new EOFException("Part " + part.path + " was truncated while it was assembled");
+                        }
+                        covered += transferred;
+                    }
+                }
+            }
+            if (covered < upload.length) {
+                throw new UploadRejectedException("Upload " + upload.id + " is missing the bytes from offset " + covered);
+            }
+        }
+    }
+
+    /**
+     * Abort an upload and delete its parts.
+     *
+     * @param id the id of the upload.
+     * @throws MentionedFileNotFoundException if there is no such upload.
+     * @throws UploadRejectedException if parts are still being written.
+     */
+    public void abort(String id) {
+        log.debug("Request to abort upload : {}", id);
+        Upload upload = findUpload(id);
+        if (!upload.lock.writeLock().tryLock()) {
+            throw new UploadRejectedException("Parts of upload " + id + " are still being uploaded");
+        }
+        try {
+            checkOpen(upload);
+            close(upload);
+        } finally {
+            upload.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Uploads without a request for longer than their expiry are aborted every minute.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void expireUploadsTask() {
+        expireUploads(Instant.now());
+    }
+
+    /**
+     * Abort the uploads without a request for longer than their expiry at a date, and delete the parts left by
+     * uploads lost on a restart.
+     *
+     * @param now the date.
+     * @return the number of expired uploads.
+     */
+    public int expireUploads(Instant now) {
+        Instant limit = now.minus(expiry);
+        int expired = 0;
+        for (Upload upload : uploads.values()) {
+            if (upload.lastAccess.isBefore(limit) && upload.lock.writeLock().tryLock()) {
+                try {
+                    if (!upload.closed) {
+                        close(upload);
+                        expired++;
+                    }
+                } finally {
+                    upload.lock.writeLock().unlock();
+                }
+            }
+        }
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(chunksLocation)) {
+            for (Path directory : directories) {
+                if (
+                    !uploads.containsKey(directory.getFileName().toString()) &&
+                    Files.getLastModifiedTime(directory).toInstant().isBefore(limit)
+                ) {
+                    deleteParts(directory);
+                    expired++;
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Could not list the directory of the uploaded parts: {}", ex.getMessage());
+        }
+        if (expired > 0) {
+            log.info("Expired {} uploads", expired);
+        }
+        return expired;
+    }
+
+    private Upload findUpload(String id) {
+        Upload upload = uploads.get(id);
+        if (upload == null || !Objects.equals(upload.owner, SecurityUtils.getCurrentUserLogin().orElse(null))) {
+            throw new MentionedFileNotFoundException("Upload not found " + id);
+        }
+        upload.lastAccess = Instant.now();
+        return upload;
+    }
+
+    private static void checkOpen(Upload upload) {
+        if (upload.closed) {
+            throw new MentionedFileNotFoundException("Upload not found " + upload.id);
+        }
+    }
+
+    private void close(Upload upload) {
+        upload.closed = true;
+        uploads.remove(upload.id);
+        deleteParts(chunksLocation.resolve(upload.id));
+    }
+
+    private void deleteParts(Path directory) {
+        try {
+            FileSystemUtils.deleteRecursively(directory);
+        } catch (IOException ex) {
+            log.warn("Could not delete the parts in {}: {}", directory, ex.getMessage());
+        }
+    }
+
+    private ChunkedUploadDTO toDto(Upload upload) throws IOException {
+        long covered = 0;
+        long received = 0;
+        Long nextOffset = null;
+        for (Part part : parts(upload)) {
+            if (part.offset > covered && nextOffset == null) {
+                nextOffset = covered;
+            }
+            long start = Math.max(part.offset, covered);
+            if (part.end > start) {
+                received += part.end - start;
+                covered = part.end;
+            }
+        }
+
+        ChunkedUploadDTO chunkedUploadDTO = new ChunkedUploadDTO();
+        chunkedUploadDTO.setId(upload.id);
+        chunkedUploadDTO.setProductId(upload.productId);
+        chunkedUploadDTO.setFileName(upload.fileName);
+        chunkedUploadDTO.setContentType(upload.contentType);
+        chunkedUploadDTO.setLength(upload.length);
+        chunkedUploadDTO.setReceived(received);
+        chunkedUploadDTO.setNextOffset(nextOffset != null ? nextOffset : covered);
+        return chunkedUploadDTO;
+    }
+
+    private List<Part> parts(Upload upload) throws IOException {
+        List<Part> parts = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(chunksLocation.resolve(upload.id), "*" + PART_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long offset = Long.parseLong(name.substring(0, name.length() - PART_SUFFIX.length()));
+                parts.add(new Part(offset, file, Files.size(file)));
+            }
+        }
+        parts.sort(Comparator.comparingLong(part -> part.offset));
+        return parts;
+    }
+
+    private Path partPath(Upload upload, long offset) {
+        return chunksLocation.resolve(upload.id).resolve(offset + PART_SUFFIX);
+    }
+
+    /**
+     * An open upload. Parts are written under the read lock, several at once; completing and aborting take the write
+     * lock, so that they never run while a part is written.
+     */
+    private static final class Upload {
+
+        private final String id;
+
+        private final String owner;
+
+        private final Long productId;
+
+        private final String fileName;
+
+        private final String contentType;
+
+        private final long length;
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // offsets of the parts being written
+        private final Set<Long> writing = ConcurrentHashMap.newKeySet();
+
+        // ends of the parts by their offsets, reserved before each write so that concurrent parts never overlap
+        private final NavigableMap<Long, Long> extents = new TreeMap<>();
+
+        private volatile Instant lastAccess = Instant.now();
+
+        private volatile boolean closed;
+
+        private Upload(String id, String owner, ChunkedUploadDTO chunkedUploadDTO) {
+            this.id = id;
+            this.owner = owner;
+            this.productId = chunkedUploadDTO.getProductId();
+            this.fileName = chunkedUploadDTO.getFileName();
+            this.contentType = chunkedUploadDTO.getContentType();
+            this.length = chunkedUploadDTO.getLength();
+        }
+
+        /**
+         * Start a part, replacing the part at the same offset, unless it starts inside another part.
+         */
+        private synchronized void startPart(long offset) {
+            Map.Entry<Long, Long> previous = extents.lowerEntry(offset);
+            if (previous != null && previous.getValue() > offset) {
+                throw new UploadRejectedException("The part at " + offset + " starts inside the part at " + previous.getKey());
+            }
+            extents.put(offset, offset);
+        }
+
+        /**
+         * Reserve the bytes of a part up to an end, unless they run into the next part or past the end of the file.
+         */
+        private synchronized void extendPart(long offset, long end) {
+            if (end > length) {
+                throw new UploadRejectedException("The part at " + offset + " ends after the file of " + length + " bytes");
+            }
+            Long next = extents.higherKey(offset);
+            if (next != null && end > next) {
+                throw new UploadRejectedException("The part at " + offset + " runs into the part at " + next);
+            }
+            extents.put(offset, end);
+        }
+
+        private synchronized void endPart(long offset, long end) {
+            if (end > offset) {
+                extents.put(offset, end);
+            } else {
+                extents.remove(offset);
+            }
+        }
+    }
+
+    private static final class Part {
+
+        private final long offset;
+
+        private final Path path;
+
+        private final long end;
+
+        private Part(long offset, Path path, long size) {
+            this.offset = offset;
+            this.path = path;
+            this.end = offset + size;
+        }
+    }
+}
@@ -12,10 +12,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link ConsumptionDetails} entities in the database.
@@ -24,8 +24,8 @@ import tech.jhipster.service.QueryService;
  * It returns a {@link List} of {@link ConsumptionDetailsDTO} or a {@link Page} of {@link ConsumptionDetailsDTO} which fulfills the criteria.
  */
 @Service
-@Transactional(readOnly = true)
-public class ConsumptionDetailsQueryService extends QueryService<ConsumptionDetails> {
+@Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+public class ConsumptionDetailsQueryService extends KeysetQueryService<ConsumptionDetails> {
 
     private final Logger log = LoggerFactory.getLogger(ConsumptionDetailsQueryService.class);
 
@@ -41,12 +41,17 @@ public class ConsumptionDetailsQueryService extends QueryService<ConsumptionDeta
         this.consumptionDetailsMapper = consumptionDetailsMapper;
     }
 
+    @Override
+    protected String getEntityGraphName() {
+        return "ConsumptionDetails.list";
+    }
+
     /**
      * Return a {@link List} of {@link ConsumptionDetailsDTO} which matches the criteria from the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public List<ConsumptionDetailsDTO> findByCriteria(ConsumptionDetailsCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<ConsumptionDetails> specification = createSpecification(criteria);
@@ -59,19 +64,48 @@ public class ConsumptionDetailsQueryService extends QueryService<ConsumptionDeta
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public Page<ConsumptionDetailsDTO> findByCriteria(ConsumptionDetailsCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<ConsumptionDetails> specification = createSpecification(criteria);
         return consumptionDetailsRepository.findAll(specification, page).map(consumptionDetailsMapper::toDto);
     }
 
+    /**
+     * Return a {@link KeysetSlice} of {@link ConsumptionDetailsDTO} which matches the criteria from the database,
+     * seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<ConsumptionDetailsDTO> findByCriteria(ConsumptionDetailsCriteria criteria, Pageable page, String after) {
+        log.debug("find by criteria : {}, page: {}, after: {}", criteria, page, after);
+        final Specification<ConsumptionDetails> specification = createSpecification(criteria);
+        return findAfter(specification, page, after).map(consumptionDetailsMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link ConsumptionDetailsDTO} which matches the criteria from the database,
+     * without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<ConsumptionDetailsDTO> findSliceByCriteria(ConsumptionDetailsCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<ConsumptionDetails> specification = createSpecification(criteria);
+        return findSlice(specification, page).map(consumptionDetailsMapper::toDto);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public long countByCriteria(ConsumptionDetailsCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<ConsumptionDetails> specification = createSpecification(criteria);
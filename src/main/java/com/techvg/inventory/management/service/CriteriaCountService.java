@@ -0,0 +1,119 @@
+package com.techvg.inventory.management.service;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service counting entities for several criteria at once, such as the counters of a dashboard.
+ * <p>
+ * Every query service with a {@code countByCriteria} method takes part, under the name of its entity. The counts run
+ * side by side on the {@code countExecutor}, each in its own read-only transaction opened by its query service.
+ */
+@Service
+public class CriteriaCountService {
+
+    private static final String COUNT_METHOD = "countByCriteria";
+
+    private final Logger log = LoggerFactory.getLogger(CriteriaCountService.class);
+
+    private final Map<String, Counter> counters = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private final Executor countExecutor;
+
+    public CriteriaCountService(List<QueryService<?>> queryServices, @Qualifier("countExecutor") Executor countExecutor) {
+        this.countExecutor = countExecutor;
+        for (QueryService<?> queryService : queryServices) {
+            for (Method method : AopUtils.getTargetClass(queryService).getMethods()) {
+                if (
+                    method.getName().equals(COUNT_METHOD) &&
+                    method.getParameterCount() == 1 &&
+                    Criteria.class.isAssignableFrom(method.getParameterTypes()[0])
+                ) {
+                    Class<? extends Criteria> criteriaClass = method.getParameterTypes()[0].asSubclass(Criteria.class);
+                    counters.put(criteriaClass.getSimpleName().replaceFirst("Criteria$", ""), new Counter(queryService, method));
+                }
+            }
+        }
+        log.debug("Counting criteria of {}", counters.keySet());
+    }
+
+    /**
+     * Create empty criteria for an entity.
+     *
+     * @param entityName the name of the entity, such as {@code Product}.
+     * @return the criteria, empty if the entity cannot be counted.
+     */
+    public Optional<Criteria> createCriteria(String entityName) {
+        return Optional
+            .ofNullable(entityName)
+            .map(counters::get)
+            .map(counter -> BeanUtils.instantiateClass(counter.method.getParameterTypes()[0].asSubclass(Criteria.class)));
+    }
+
+    /**
+     * Count the entities matching each of several criteria, concurrently.
+     *
+     * @param criteria the criteria, created by {@link #createCriteria(String)}.
+     * @return the counts, in the order of the criteria.
+     */
+    public List<Long> count(List<Criteria> criteria) {
+        log.debug("Request to count {} criteria", criteria.size());
+        List<CompletableFuture<Long>> counts = new ArrayList<>(criteria.size());
+        for (Criteria each : criteria) {
+            Counter counter = counters.get(each.getClass().getSimpleName().replaceFirst("Criteria$", ""));
+            counts.add(CompletableFuture.supplyAsync(() -> counter.count(each), countExecutor));
+        }
+        try {
+            return counts.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException e) {
+            counts.forEach(count -> count.cancel(false));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Counter {
+
+        private final Object queryService;
+
+        private final Method method;
+
+        Counter(Object queryService, Method method) {
+            this.queryService = queryService;
+            this.method = method;
+        }
+
+        long count(Criteria criteria) {
+            try {
+                // invoked on the proxy, so that the count runs in the transaction of the query service
+                return (Long) method.invoke(queryService, criteria);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
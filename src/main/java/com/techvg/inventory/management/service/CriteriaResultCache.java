@@ -0,0 +1,109 @@
+package com.techvg.inventory.management.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tech.jhipster.service.Criteria;
+
+/**
+ * Cache of criteria query results, keyed by the criteria and the page requested.
+ * <p>
+ * Each cache holds the results of one entity type and is invalidated as a whole when an entity of that type is
+ * written. Keys carry a generation which is moved on by every invalidation, both when the write happens and once
+ * its transaction completes, so that a result read while the write was in flight is never served afterwards.
+ * Results are only cached from read-only transactions, a transaction which writes may read its own changes.
+ * <p>
+ * Lookups are counted by the {@value #GETS_METER_NAME} meter, tagged with the cache name and a hit or miss result.
+ */
+@Service
+public class CriteriaResultCache {
+
+    public static final String GETS_METER_NAME = "criteria.cache.gets";
+
+    public static final String INVALIDATIONS_METER_NAME = "criteria.cache.invalidations";
+
+    private final Logger log = LoggerFactory.getLogger(CriteriaResultCache.class);
+
+    private final CacheManager cacheManager;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public CriteriaResultCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Get the result of a criteria query, loading it on a miss.
+     *
+     * @param cacheName the name of the cache.
+     * @param criteria the criteria of the query.
+     * @param page the page requested.
+     * @param loader the query.
+     * @param <T> the type of result.
+     * @return the result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, Criteria criteria, Pageable page, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.get();
+        }
+        Object key = new SimpleKey(generation(cacheName).get(), criteria.copy(), page);
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            meterRegistry.counter(GETS_METER_NAME, "cache", cacheName, "result", "hit").increment();
+            return (T) cached.get();
+        }
+        meterRegistry.counter(GETS_METER_NAME, "cache", cacheName, "result", "miss").increment();
+        T result = loader.get();
+        cache.put(key, result);
+        return result;
+    }
+
+    /**
+     * Invalidate a cache now and once the current transaction completes.
+     *
+     * @param cacheName the name of the cache.
+     */
+    public void invalidate(String cacheName) {
+        evict(cacheName);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        evict(cacheName);
+                    }
+                }
+            );
+        }
+    }
+
+    private void evict(String cacheName) {
+        log.debug("Invalidating criteria cache {}", cacheName);
+        generation(cacheName).incrementAndGet();
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+        meterRegistry.counter(INVALIDATIONS_METER_NAME, "cache", cacheName).increment();
+    }
+
+    private AtomicLong generation(String cacheName) {
+        return generations.computeIfAbsent(cacheName, name -> new AtomicLong());
+    }
+}
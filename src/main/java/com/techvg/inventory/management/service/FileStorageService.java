@@ -1,30 +1,91 @@
 package com.techvg.inventory.management.service;
 
+import com.techvg.inventory.management.domain.ProductCertificate;
+import com.techvg.inventory.management.repository.ProductCertificateRepository;
+import com.techvg.inventory.management.repository.ProductRepository;
 import com.techvg.inventory.management.web.rest.errors.MentionedFileNotFoundException;
+import java.io.EOFException;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.Optional;
+import java.util.TimeZone;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+/**
+ * Store of the certificates of analysis uploaded for the products.
+ * <p>
+ * Contents are stored once per SHA-256, as {@code sha256/<first two hex digits>/<hash>} under the storage directory,
+ * and never change once stored; the {@link ProductCertificate} table maps the name of each upload to its content.
+ * Uploading a content stored already only writes its reference, and replacing a certificate only repoints the
+ * reference, so downloads running meanwhile keep reading the content they started with.
+ * <p>
+ * Files uploaded before the content store are still served by name from the storage directory.
+ */
 @Service
 public class FileStorageService {
 
+    private static final String CONTENT_DIRECTORY = "sha256";
+
+    private static final String TEMPORARY_DIRECTORY = "tmp";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String INSERT_CERTIFICATE =
+        "insert into product_certificate (file_name, content_hash, content_length, content_type, created_date, product_id) " +
+        "values (?, ?, ?, ?, ?, ?)";
+
+    private final Logger log = LoggerFactory.getLogger(FileStorageService.class);
+
     private final Path fileStorageLocation;
 
+    private final ProductCertificateRepository productCertificateRepository;
+
+    private final ProductRepository productRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
     @Autowired
-    public FileStorageService(Environment env) {
+    public FileStorageService(
+        Environment env,
+        ProductCertificateRepository productCertificateRepository,
+        ProductRepository productRepository,
+        JdbcTemplate jdbcTemplate
+    ) {
         this.fileStorageLocation = Paths.get(env.getProperty("app.file.upload-dir", "./uploads/files")).toAbsolutePath().normalize();
+        this.productCertificateRepository = productCertificateRepository;
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
 
         try {
-            Files.createDirectories(this.fileStorageLocation);
+            Files.createDirectories(this.fileStorageLocation.resolve(CONTENT_DIRECTORY));
+            Files.createDirectories(this.fileStorageLocation.resolve(TEMPORARY_DIRECTORY));
         } catch (Exception ex) {
             throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
         }
@@ -39,36 +100,219 @@ public class FileStorageService {
         return fileNameParts[fileNameParts.length - 1];
     }
 
+    /**
+     * Store the certificate of a product. The upload is hashed while it is written to a temporary file, which is then
+     * moved atomically into the content store, or dropped if the content is stored already.
+     *
+     * @param file the uploaded certificate.
+     * @param productId the id of the product.
+     * @return the name to download the certificate with.
+     */
+    @Transactional
     public String storeFile(MultipartFile file, Long productId) {
         // Normalize file name
         String fileName = "COA_" + productId + getFileExtension(file.getOriginalFilename());
 
+        Path temporaryFile = null;
         try {
-            // Check if the filename contains invalid characters
-            if (fileName.contains("..")) {
-                throw new RuntimeException("Sorry! Filename contains invalid path sequence " + fileName);
+            temporaryFile = Files.createTempFile(this.fileStorageLocation.resolve(TEMPORARY_DIRECTORY), "upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(inputStream, temporaryFile, StandardCopyOption.REPLACE_EXISTING);
             }
+            storeContent(fileName, temporaryFile, toHex(digest.digest()), file.getContentType(), productId);
+            return fileName;
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            throw new RuntimeException("Could not store file " + fileName + ". Please try again!", ex);
+        } finally {
+            deleteTemporaryFile(temporaryFile);
+        }
+    }
 
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
+    /**
+     * Store the certificate of a product from a file written already, such as an upload assembled from its parts. The
+     * file is read once more to be hashed, {@value #BUFFER_SIZE} bytes at a time, then moved into the content store; it
+     * is left in place if the content is stored already.
+     *
+     * @param file the certificate, in the storage directory.
+     * @param originalFileName the name of the certificate on the client.
+     * @param contentType the content type of the certificate.
+     * @param productId the id of the product.
+     * @return the name to download the certificate with.
+     */
+    @Transactional
+    public String storeFile(Path file, String originalFileName, String contentType, Long productId) {
+        String fileName = "COA_" + productId + getFileExtension(originalFileName);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            storeContent(fileName, file, toHex(digest.digest()), contentType, productId);
             return fileName;
-        } catch (IOException ex) {
+        } catch (IOException | NoSuchAlgorithmException ex) {
             throw new RuntimeException("Could not store file " + fileName + ". Please try again!", ex);
         }
     }
 
-    public Resource loadFileAsResource(String fileName) {
+    /**
+     * Move a hashed file into the content store, unless its content is there already, and point the reference of the
+     * certificate to it.
+     */
+    private void storeContent(String fileName, Path file, String contentHash, String contentType, Long productId) throws IOException {
+        long contentLength = Files.size(file);
+
+        Path contentFile = contentPath(contentHash);
+        if (Files.exists(contentFile)) {
+            log.debug("Content of {} is stored already as {}", fileName, contentHash);
+        } else {
+            Files.createDirectories(contentFile.getParent());
+            try {
+                Files.move(file, contentFile, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException ex) {
+                log.debug("Content of {} was stored meanwhile as {}", fileName, contentHash);
+            }
+        }
+
+        Optional<ProductCertificate> existing = productCertificateRepository.findOneForUpdateByFileName(fileName);
+        if (!existing.isPresent()) {
+            if (insertCertificate(fileName, contentHash, contentLength, contentType, productId)) {
+                return;
+            }
+            // a concurrent first upload of the certificate won, this upload replaces it as a later one would
+            existing = productCertificateRepository.findOneForUpdateByFileName(fileName);
+        }
+        ProductCertificate certificate = existing.orElseThrow(() -> new IllegalStateException("Certificate " + fileName + " vanished"));
+        if (!contentHash.equals(certificate.getContentHash())) {
+            certificate.contentHash(contentHash).contentLength(contentLength).createdDate(Instant.now());
+        }
+        certificate.contentType(contentType).product(productRepository.getById(productId));
+        productCertificateRepository.save(certificate);
+    }
+
+    /**
+     * Insert the reference of a certificate, unless a concurrent first upload of it inserted it already. The insert
+     * goes through JDBC, so the duplicate key of the losing upload does not mark the JPA transaction rollback only; the
+     * unique index makes it wait for the winner, whose reference is then locked and repointed.
+     *
+     * @return {@code true} if the reference was inserted.
+     */
+    private boolean insertCertificate(String fileName, String contentHash, long contentLength, String contentType, Long productId) {
         try {
-            Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
-            if (resource.exists()) {
-                return resource;
-            } else {
+            jdbcTemplate.update(
+                INSERT_CERTIFICATE,
+                statement -> {
+                    statement.setString(1, fileName);
+                    statement.setString(2, contentHash);
+                    statement.setLong(3, contentLength);
+                    statement.setString(4, contentType);
+                    // as Hibernate writes instants, see hibernate.jdbc.time_zone
+                    statement.setTimestamp(5, Timestamp.from(Instant.now()), Calendar.getInstance(TimeZone.getTimeZone("UTC")));
+                    statement.setLong(6, productId);
+                }
+            );
+            return true;
+        } catch (DuplicateKeyException e) {
+            log.debug("Certificate {} stored concurrently", fileName);
+            return false;
+        }
+    }
+
+    /**
+     * Look up a stored file and read its size and modification time.
+     *
+     * @param fileName the name of the file.
+     * @return the file.
+     * @throws MentionedFileNotFoundException if there is no such file.
+     */
+    @Transactional(readOnly = true)
+    public StoredFile loadFile(String fileName) {
+        Optional<ProductCertificate> certificate = productCertificateRepository.findOneByFileName(fileName);
+        if (certificate.isPresent()) {
+            Path contentFile = contentPath(certificate.get().getContentHash());
+            if (!Files.isRegularFile(contentFile)) {
                 throw new MentionedFileNotFoundException("File not found " + fileName);
             }
-        } catch (MalformedURLException ex) {
+            return new StoredFile(
+                fileName,
+                contentFile,
+                certificate.get().getContentLength(),
+                certificate.get().getCreatedDate().toEpochMilli(),
+                certificate.get().getContentHash()
+            );
+        }
+        return loadUnreferencedFile(fileName);
+    }
+
+    /**
+     * Look up a file stored by name, before the content store. Its entity tag is built from its size and modification
+     * time, as the file is replaced as a whole, which changes its modification time.
+     */
+    private StoredFile loadUnreferencedFile(String fileName) {
+        try {
+            Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
+            if (filePath.getParent() != null && filePath.getParent().equals(this.fileStorageLocation)) {
+                BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    long lastModified = attributes.lastModifiedTime().toMillis();
+                    String eTag = Long.toHexString(attributes.size()) + "-" + Long.toHexString(lastModified);
+                    return new StoredFile(fileName, filePath, attributes.size(), lastModified, eTag);
+                }
+            }
+            throw new MentionedFileNotFoundException("File not found " + fileName);
+        } catch (InvalidPathException | IOException ex) {
             throw new MentionedFileNotFoundException("File not found " + fileName, ex);
         }
     }
+
+    /**
+     * Write a part of a stored file with {@link FileChannel#transferTo}, so that its bytes are never copied into the heap
+     * as a whole, whatever the size of the file.
+     *
+     * @param file the file.
+     * @param position the position of the first byte to write.
+     * @param count the number of bytes to write.
+     * @param outputStream the stream to write to, left open.
+     * @throws IOException if the file cannot be read, was truncated, or the stream cannot be written.
+     */
+    public void transferTo(StoredFile file, long position, long count, OutputStream outputStream) throws IOException {
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        try (FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.READ)) {
+            long end = position + count;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    throw new EOFException("File " + file.getFileName() + " was truncated while it was read");
+                }
+                position += transferred;
+            }
+        }
+        outputStream.flush();
+    }
+
+    private Path contentPath(String contentHash) {
+        return this.fileStorageLocation.resolve(CONTENT_DIRECTORY).resolve(contentHash.substring(0, 2)).resolve(contentHash);
+    }
+
+    private void deleteTemporaryFile(Path temporaryFile) {
+        if (temporaryFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temporaryFile);
+        } catch (IOException ex) {
+            log.warn("Could not delete temporary file {}: {}", temporaryFile, ex.getMessage());
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
 }
@@ -0,0 +1,10 @@
+package com.techvg.inventory.management.service;
+
+public class InsufficientStockException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InsufficientStockException(Long productId, Long wareHouseId, double quantity) {
+        super("Not enough available stock of product " + productId + " in wareHouse " + wareHouseId + " for " + quantity);
+    }
+}
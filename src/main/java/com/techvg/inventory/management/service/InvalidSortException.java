@@ -0,0 +1,10 @@
+package com.techvg.inventory.management.service;
+
+public class InvalidSortException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
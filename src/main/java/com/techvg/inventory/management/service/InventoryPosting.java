@@ -0,0 +1,163 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.domain.ProductInventory;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Snapshot of the stock effect of one {@link ProductInventory} ledger row.
+ * <p>
+ * A row only moves stock when it references both a product and a wareHouse and is not soft deleted;
+ * {@link #of(ProductInventory)} returns {@code null} for every other row.
+ */
+public final class InventoryPosting {
+
+    private final Long productInventoryId;
+
+    private final Long productId;
+
+    private final Long wareHouseId;
+
+    private final double inwardQty;
+
+    private final double outwardQty;
+
+    private final Instant inwardOutwardDate;
+
+    private final String lotNo;
+
+    private final Instant expiryDate;
+
+    private final Long pricePerUnit;
+
+    private InventoryPosting(
+        Long productInventoryId,
+        Long productId,
+        Long wareHouseId,
+        double inwardQty,
+        double outwardQty,
+        Instant inwardOutwardDate,
+        String lotNo,
+        Instant expiryDate,
+        Long pricePerUnit
+    ) {
+        this.productInventoryId = productInventoryId;
+        this.productId = productId;
+        this.wareHouseId = wareHouseId;
+        this.inwardQty = inwardQty;
+        this.outwardQty = outwardQty;
+        this.inwardOutwardDate = inwardOutwardDate;
+        this.lotNo = lotNo;
+        this.expiryDate = expiryDate;
+        this.pricePerUnit = pricePerUnit;
+    }
+
+    /**
+     * Take the snapshot of a ledger row.
+     *
+     * @param productInventory the ledger row, may be {@code null}.
+     * @return the posting, or {@code null} if the row does not move stock.
+     */
+    public static InventoryPosting of(ProductInventory productInventory) {
+        if (
+            productInventory == null ||
+            Boolean.TRUE.equals(productInventory.getIsDeleted()) ||
+            productInventory.getProduct() == null ||
+            productInventory.getProduct().getId() == null ||
+            productInventory.getWareHouse() == null ||
+            productInventory.getWareHouse().getId() == null
+        ) {
+            return null;
+        }
+        return new InventoryPosting(
+            productInventory.getId(),
+            productInventory.getProduct().getId(),
+            productInventory.getWareHouse().getId(),
+            quantity(productInventory.getInwardQuantity()),
+            quantity(productInventory.getOutwardQuantity()),
+            productInventory.getInwardOutwardDate(),
+            productInventory.getLotNo() == null || productInventory.getLotNo().trim().isEmpty() ? null : productInventory.getLotNo().trim(),
+            productInventory.getExpiryDate(),
+            productInventory.getPricePerUnit()
+        );
+    }
+
+    /**
+     * Read a ledger quantity from its typed column, treating a missing quantity as no movement, the same way the stock aggregates do.
+     */
+    private static double quantity(Double quantity) {
+        return quantity != null ? quantity : 0D;
+    }
+
+    public Long getProductInventoryId() {
+        return productInventoryId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getWareHouseId() {
+        return wareHouseId;
+    }
+
+    public double getInwardQty() {
+        return inwardQty;
+    }
+
+    public double getOutwardQty() {
+        return outwardQty;
+    }
+
+    public Instant getInwardOutwardDate() {
+        return inwardOutwardDate;
+    }
+
+    public String getLotNo() {
+        return lotNo;
+    }
+
+    public Instant getExpiryDate() {
+        return expiryDate;
+    }
+
+    public Long getPricePerUnit() {
+        return pricePerUnit;
+    }
+
+    public double getNetQty() {
+        return inwardQty - outwardQty;
+    }
+
+    /**
+     * @param other another posting, may be {@code null}.
+     * @return {@code true} if both postings move stock of the same product in the same wareHouse.
+     */
+    public boolean isSameStock(InventoryPosting other) {
+        return other != null && Objects.equals(productId, other.productId) && Objects.equals(wareHouseId, other.wareHouseId);
+    }
+
+    /**
+     * @param other another posting, may be {@code null}.
+     * @return {@code true} if both postings move stock of the same lot of a product in the same wareHouse.
+     */
+    public boolean isSameLot(InventoryPosting other) {
+        return isSameStock(other) && lotNo != null && lotNo.equals(other.lotNo);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "InventoryPosting{" +
+            "productInventoryId=" + getProductInventoryId() +
+            ", productId=" + getProductId() +
+            ", wareHouseId=" + getWareHouseId() +
+            ", inwardQty=" + getInwardQty() +
+            ", outwardQty=" + getOutwardQty() +
+            ", inwardOutwardDate='" + getInwardOutwardDate() + "'" +
+            ", lotNo='" + getLotNo() + "'" +
+            ", expiryDate='" + getExpiryDate() + "'" +
+            ", pricePerUnit=" + getPricePerUnit() +
+            "}";
+    }
+}
@@ -0,0 +1,423 @@
+package com.techvg.inventory.management.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.Attribute;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Base service for executing criteria queries which can also be read by keyset pagination.
+ * <p>
+ * Instead of skipping an offset, a keyset slice seeks past the sort key and id of the last entity of the previous
+ * slice, given as a cursor {@code <sortKey>,<id>}, or just {@code <id>} when sorted by id only. Reading a deep
+ * slice then costs the same as reading the first one, provided the sort property is indexed together with the id.
+ * The slice is sorted by at most one property of the entity itself, then by id; empty sort keys stand for
+ * {@code null}, which sorts before every other value as on MySQL and H2.
+ * <p>
+ * Offset pages can also be read as a {@link Slice}, which finds out whether a next page exists by reading one more
+ * entity instead of counting every matching entity.
+ * <p>
+ * Pages, slices and keyset slices can also be read as sparse fieldsets, selecting the columns of some fields of the
+ * DTO of the entity only, see {@link #findFields(Specification, Pageable, Collection, Class, LongSupplier)}.
+ */
+public abstract class KeysetQueryService<ENTITY> extends QueryService<ENTITY> {
+
+    private static final String ID = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Class<ENTITY> entityClass;
+
+    @SuppressWarnings("unchecked")
+    protected KeysetQueryService() {
+        this.entityClass = (Class<ENTITY>) GenericTypeResolver.resolveTypeArgument(getClass(), KeysetQueryService.class);
+    }
+
+    /**
+     * Read the slice of the entities matching a specification which comes after a cursor.
+     *
+     * @param specification the specification.
+     * @param page the size and sort of the slice, its page number is ignored.
+     * @param after the cursor of the last entity of the previous slice, {@code null} or empty for the first slice.
+     * @return the slice, with the cursor of its last entity if more entities follow.
+     * @throws InvalidCursorException if the sort or the cursor cannot be used.
+     */
+    protected KeysetSlice<ENTITY> findAfter(Specification<ENTITY> specification, Pageable page, String after) {
+        Sort.Order order = sortOrder(page.getSort());
+        CriteriaQuery<ENTITY> query = entityManager.getCriteriaBuilder().createQuery(entityClass);
+        Root<ENTITY> root = query.from(entityClass);
+        query.select(root);
+        seek(query, root, specification, order, after);
+        return keysetSlice(createQuery(query), page, order, entity -> cursor(entity, order.getProperty()));
+    }
+
+    /**
+     * Read a page of the entities matching a specification without counting them.
+     *
+     * @param specification the specification.
+     * @param page the page to read.
+     * @return the slice, knowing whether a next page exists.
+     */
+    protected Slice<ENTITY> findSlice(Specification<ENTITY> specification, Pageable page) {
+        CriteriaQuery<ENTITY> query = entityManager.getCriteriaBuilder().createQuery(entityClass);
+        Root<ENTITY> root = query.from(entityClass);
+        query.select(root);
+        filter(query, root, specification, page.getSort());
+        return slice(createQuery(query), page);
+    }
+
+    /**
+     * Read a page of some fields of the entities matching a specification, selecting the columns of those fields only.
+     * <p>
+     * The fields are named as in the DTO of the entity. A field holding an association stands for the id of the
+     * associated entity, which is read from the foreign key and returned as {@code {"id": ...}}, as in the DTO.
+     * Collections cannot be selected. The id of the entity is always returned, first.
+     *
+     * @param specification the specification.
+     * @param page the page to read.
+     * @param fields the names of the fields.
+     * @param dtoClass the class of the DTO of the entity, which must hold the fields.
+     * @param total the count of the entities matching the specification, only called when it cannot be deduced.
+     * @return the page, one map from field name to value per entity.
+     * @throws InvalidFieldsException if a field cannot be selected.
+     */
+    protected Page<Map<String, Object>> findFields(
+        Specification<ENTITY> specification,
+        Pageable page,
+        Collection<String> fields,
+        Class<?> dtoClass,
+        LongSupplier total
+    ) {
+        CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+        Root<ENTITY> root = query.from(entityClass);
+        Projection projection = new Projection(root, fields, dtoClass);
+        query.multiselect(projection.selections);
+        filter(query, root, specification, page.getSort());
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (page.isPaged()) {
+            typedQuery.setFirstResult((int) page.getOffset()).setMaxResults(page.getPageSize());
+        }
+        List<Map<String, Object>> content = typedQuery.getResultList().stream().map(projection::toMap).collect(Collectors.toList());
+        return PageableExecutionUtils.getPage(content, page, total);
+    }
+
+    /**
+     * Read a page of some fields of the entities matching a specification without counting them.
+     *
+     * @param specification the specification.
+     * @param page the page to read.
+     * @param fields the names of the fields, see {@link #findFields(Specification, Pageable, Collection, Class, LongSupplier)}.
+     * @param dtoClass the class of the DTO of the entity, which must hold the fields.
+     * @return the slice, knowing whether a next page exists.
+     * @throws InvalidFieldsException if a field cannot be selected.
+     */
+    protected Slice<Map<String, Object>> findFieldsSlice(
+        Specification<ENTITY> specification,
+        Pageable page,
+        Collection<String> fields,
+        Class<?> dtoClass
+    ) {
+        CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+        Root<ENTITY> root = query.from(entityClass);
+        Projection projection = new Projection(root, fields, dtoClass);
+        query.multiselect(projection.selections);
+        filter(query, root, specification, page.getSort());
+        return slice(entityManager.createQuery(query), page).map(projection::toMap);
+    }
+
+    /**
+     * Read the slice of some fields of the entities matching a specification which comes after a cursor.
+     *
+     * @param specification the specification.
+     * @param page the size and sort of the slice, its page number is ignored.
+     * @param after the cursor of the last entity of the previous slice, {@code null} or empty for the first slice.
+     * @param fields the names of the fields, see {@link #findFields(Specification, Pageable, Collection, Class, LongSupplier)}.
+     * @param dtoClass the class of the DTO of the entity, which must hold the fields.
+     * @return the slice, with the cursor of its last entity if more entities follow.
+     * @throws InvalidCursorException if the sort or the cursor cannot be used.
+     * @throws InvalidFieldsException if a field cannot be selected.
+     */
+    protected KeysetSlice<Map<String, Object>> findFieldsAfter(
+        Specification<ENTITY> specification,
+        Pageable page,
+        String after,
+        Collection<String> fields,
+        Class<?> dtoClass
+    ) {
+        Sort.Order order = sortOrder(page.getSort());
+        CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+        Root<ENTITY> root = query.from(entityClass);
+        Projection projection = new Projection(root, fields, dtoClass);
+        // the sort key is selected last, for the cursor only
+        List<Selection<?>> selections = new ArrayList<>(projection.selections);
+        selections.add(path(root, order.getProperty()));
+        query.multiselect(selections);
+        seek(query, root, specification, order, after);
+        return keysetSlice(
+            entityManager.createQuery(query),
+            page,
+            order,
+            tuple -> cursor(order.getProperty(), tuple.get(selections.size() - 1), tuple.get(0))
+        )
+            .map(projection::toMap);
+    }
+
+    /**
+     * Name the entity graph fetched with the entities of a slice, so that mapping them to DTOs does not load their
+     * associations one by one. It should match the graph of the repository {@code findAll(Specification, Pageable)}.
+     *
+     * @return the name of the entity graph, {@code null} to fetch the entities alone.
+     */
+    protected String getEntityGraphName() {
+        return null;
+    }
+
+    private TypedQuery<ENTITY> createQuery(CriteriaQuery<ENTITY> query) {
+        TypedQuery<ENTITY> typedQuery = entityManager.createQuery(query);
+        String entityGraphName = getEntityGraphName();
+        if (entityGraphName != null) {
+            typedQuery.setHint(EntityGraph.EntityGraphType.FETCH.getKey(), entityManager.getEntityGraph(entityGraphName));
+        }
+        return typedQuery;
+    }
+
+    private void filter(CriteriaQuery<?> query, Root<ENTITY> root, Specification<ENTITY> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+    }
+
+    private static <R> Slice<R> slice(TypedQuery<R> query, Pageable page) {
+        if (page.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), page, false);
+        }
+        List<R> content = query.setFirstResult((int) page.getOffset()).setMaxResults(page.getPageSize() + 1).getResultList();
+        boolean hasNext = content.size() > page.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, page.getPageSize());
+        }
+        return new SliceImpl<>(content, page, hasNext);
+    }
+
+    private void seek(CriteriaQuery<?> query, Root<ENTITY> root, Specification<ENTITY> specification, Sort.Order order, String after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Path<Comparable<Object>> key = path(root, order.getProperty());
+        Path<Comparable<Object>> id = root.get(ID);
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (after != null && !after.isEmpty()) {
+            predicates.add(seek(cb, key, id, order, after));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        if (ID.equals(order.getProperty())) {
+            query.orderBy(order.isAscending() ? cb.asc(id) : cb.desc(id));
+        } else if (order.isAscending()) {
+            query.orderBy(cb.asc(key), cb.asc(id));
+        } else {
+            query.orderBy(cb.desc(key), cb.desc(id));
+        }
+    }
+
+    private static <R> KeysetSlice<R> keysetSlice(TypedQuery<R> query, Pageable page, Sort.Order order, Function<R, String> cursor) {
+        List<R> content = query.setMaxResults(page.getPageSize() + 1).getResultList();
+        boolean hasNext = content.size() > page.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, page.getPageSize());
+        }
+        String nextCursor = hasNext ? cursor.apply(content.get(content.size() - 1)) : null;
+        return new KeysetSlice<>(content, PageRequest.of(0, page.getPageSize(), Sort.by(order)), hasNext, nextCursor);
+    }
+
+    private static Sort.Order sortOrder(Sort sort) {
+        Sort.Order order = null;
+        Iterator<Sort.Order> orders = sort.iterator();
+        while (orders.hasNext()) {
+            Sort.Order next = orders.next();
+            if (order != null && !ID.equals(next.getProperty())) {
+                throw new InvalidCursorException("Keyset pagination sorts by one property only");
+            }
+            if (order == null) {
+                order = next;
+            }
+        }
+        return order != null ? order : Sort.Order.asc(ID);
+    }
+
+    private static <X> Path<X> path(Root<?> root, String property) {
+        try {
+            return root.get(property);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Keyset pagination cannot sort by " + property, e);
+        }
+    }
+
+    private static Predicate seek(
+        CriteriaBuilder cb,
+        Path<Comparable<Object>> key,
+        Path<Comparable<Object>> id,
+        Sort.Order order,
+        String after
+    ) {
+        boolean ascending = order.isAscending();
+        if (ID.equals(order.getProperty())) {
+            Comparable<Object> afterId = value(after, id.getJavaType());
+            return ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+        }
+        int separator = after.lastIndexOf(',');
+        if (separator < 0) {
+            throw new InvalidCursorException("Invalid cursor " + after);
+        }
+        String afterKeyValue = after.substring(0, separator);
+        Comparable<Object> afterId = value(after.substring(separator + 1), id.getJavaType());
+        Predicate sameKeyNextId = ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+        if (afterKeyValue.isEmpty()) {
+            // null keys come first in ascending order, last in descending order
+            return ascending ? cb.or(cb.isNotNull(key), cb.and(cb.isNull(key), sameKeyNextId)) : cb.and(cb.isNull(key), sameKeyNextId);
+        }
+        Comparable<Object> afterKey = value(afterKeyValue, key.getJavaType());
+        Predicate sameKey = cb.and(cb.equal(key, afterKey), sameKeyNextId);
+        if (ascending) {
+            return cb.or(cb.greaterThan(key, afterKey), sameKey);
+        }
+        return cb.or(cb.lessThan(key, afterKey), sameKey, cb.isNull(key));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> value(String value, Class<?> type) {
+        try {
+            if (type == Instant.class) {
+                return (Comparable<Object>) (Comparable<?>) Instant.parse(value);
+            }
+            if (type == LocalDate.class) {
+                return (Comparable<Object>) (Comparable<?>) LocalDate.parse(value);
+            }
+            if (type == ZonedDateTime.class) {
+                return (Comparable<Object>) (Comparable<?>) ZonedDateTime.parse(value);
+            }
+            return (Comparable<Object>) DefaultConversionService.getSharedInstance().convert(value, type);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor value " + value, e);
+        }
+    }
+
+    private String cursor(ENTITY entity, String property) {
+        Object id = entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+        return cursor(property, ID.equals(property) ? id : new BeanWrapperImpl(entity).getPropertyValue(property), id);
+    }
+
+    private static String cursor(String property, Object key, Object id) {
+        if (ID.equals(property)) {
+            return String.valueOf(id);
+        }
+        return (key == null ? "" : key instanceof Enum ? ((Enum<?>) key).name() : key.toString()) + "," + id;
+    }
+
+    /**
+     * The selections of the fields of a sparse fieldset, the id first, and their conversion back to a map.
+     */
+    private static final class Projection {
+
+        private final List<String> names = new ArrayList<>();
+
+        private final List<Boolean> associations = new ArrayList<>();
+
+        private final List<Selection<?>> selections = new ArrayList<>();
+
+        Projection(Root<?> root, Collection<String> fields, Class<?> dtoClass) {
+            Set<String> requested = new LinkedHashSet<>();
+            requested.add(ID);
+            for (String field : fields) {
+                if (field != null && !field.trim().isEmpty()) {
+                    requested.add(field.trim());
+                }
+            }
+            for (String name : requested) {
+                Attribute<?, ?> attribute = attribute(root, name, dtoClass);
+                switch (attribute.getPersistentAttributeType()) {
+                    case BASIC:
+                        add(name, false, root.get(name));
+                        break;
+                    case MANY_TO_ONE:
+                    case ONE_TO_ONE:
+                        // the id of an association is read from the foreign key, without joining
+                        add(name, true, root.get(name).get(ID));
+                        break;
+                    default:
+                        throw new InvalidFieldsException("Field " + name + " cannot be selected");
+                }
+            }
+        }
+
+        private static Attribute<?, ?> attribute(Root<?> root, String name, Class<?> dtoClass) {
+            if (BeanUtils.getPropertyDescriptor(dtoClass, name) == null) {
+                throw new InvalidFieldsException("Unknown field " + name);
+            }
+            try {
+                return root.getModel().getAttribute(name);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidFieldsException("Field " + name + " cannot be selected");
+            }
+        }
+
+        private void add(String name, boolean association, Selection<?> selection) {
+            names.add(name);
+            associations.add(association);
+            selections.add(selection);
+        }
+
+        Map<String, Object> toMap(Tuple tuple) {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                Object value = tuple.get(i);
+                fields.put(names.get(i), associations.get(i) && value != null ? Collections.singletonMap(ID, value) : value);
+            }
+            return fields;
+        }
+    }
+}
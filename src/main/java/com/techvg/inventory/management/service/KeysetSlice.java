@@ -0,0 +1,34 @@
+package com.techvg.inventory.management.service;
+
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * A {@link org.springframework.data.domain.Slice} read by keyset pagination, carrying the cursor of its last
+ * element, to pass as {@code after} to read the next slice.
+ */
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String nextCursor;
+
+    public KeysetSlice(List<T> content, Pageable pageable, boolean hasNext, String nextCursor) {
+        super(content, pageable, hasNext);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return the cursor of the next slice, {@code null} if this slice is the last one.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetSlice<>(getConvertedContent(converter), getPageable(), hasNext(), nextCursor);
+    }
+}
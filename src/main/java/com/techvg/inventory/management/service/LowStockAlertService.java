@@ -0,0 +1,97 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.domain.Notification;
+import com.techvg.inventory.management.domain.Product;
+import com.techvg.inventory.management.domain.ProductInventory;
+import com.techvg.inventory.management.domain.StockBalance;
+import com.techvg.inventory.management.domain.enumeration.NotificationType;
+import com.techvg.inventory.management.repository.NotificationRepository;
+import com.techvg.inventory.management.repository.StockBalanceRepository;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service raising {@link NotificationType#ALERT} notifications when a stock balance drops below the
+ * {@link Product#getAlertUnits()} of its product.
+ * <p>
+ * Each committed {@link StockMovedEvent} is evaluated on the async executor, so postings never wait for it. An alert
+ * is raised when the balance crosses the alert level downwards, judged from the balances the posting itself saw, so
+ * later postings committing before the evaluation do not hide or repeat a crossing. At most one unread alert exists
+ * per product and wareHouse, the balance row being locked while it is checked.
+ */
+@Service
+public class LowStockAlertService {
+
+    static final String ALERT_KEY_PREFIX = "lowStock:";
+
+    private final Logger log = LoggerFactory.getLogger(LowStockAlertService.class);
+
+    private final StockBalanceRepository stockBalanceRepository;
+
+    private final NotificationRepository notificationRepository;
+
+    public LowStockAlertService(StockBalanceRepository stockBalanceRepository, NotificationRepository notificationRepository) {
+        this.stockBalanceRepository = stockBalanceRepository;
+        this.notificationRepository = notificationRepository;
+    }
+
+    @Async
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onStockMoved(StockMovedEvent event) {
+        evaluate(event);
+    }
+
+    /**
+     * Raise an alert if the move took the balance below the alert level of its product.
+     *
+     * @param event the stock move.
+     * @return the raised alert, empty if none was needed.
+     */
+    @Transactional
+    public Optional<Notification> evaluate(StockMovedEvent event) {
+        log.debug("Request to evaluate low stock after {}", event);
+        StockBalance stockBalance = stockBalanceRepository
+            .findOneByProductIdAndWareHouseId(event.getProductId(), event.getWareHouseId())
+            .orElse(null);
+        if (stockBalance == null) {
+            return Optional.empty();
+        }
+        Product product = stockBalance.getProduct();
+        Double alertUnits = ProductInventory.toQuantity(product.getAlertUnits());
+        double balance = event.getBalance();
+        if (alertUnits == null || balance >= alertUnits || event.getPreviousBalance() < alertUnits) {
+            return Optional.empty();
+        }
+        // concurrent evaluations of the same balance check for an unread alert one after the other
+        stockBalanceRepository.findOneForUpdate(event.getProductId(), event.getWareHouseId());
+        String key = ALERT_KEY_PREFIX + event.getProductId();
+        if (notificationRepository.existsUnread(NotificationType.ALERT, event.getWareHouseId(), key)) {
+            return Optional.empty();
+        }
+        Notification notification = new Notification()
+            .notificationType(NotificationType.ALERT)
+            .title("Low stock")
+            .massage(
+                String.format(
+                    "Stock of %s in %s is %s, below the alert level of %s",
+                    product.getProductName(),
+                    stockBalance.getWareHouse().getWhName(),
+                    balance,
+                    alertUnits
+                )
+            )
+            .isActionRequired(true)
+            .isRead(false)
+            .freeField1(key)
+            .wareHouse(stockBalance.getWareHouse());
+        log.info("Raising low stock alert for product {} in wareHouse {}", event.getProductId(), event.getWareHouseId());
+        return Optional.of(notificationRepository.save(notification));
+    }
+}
@@ -12,10 +12,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link Notification} entities in the database.
@@ -24,8 +24,8 @@ import tech.jhipster.service.QueryService;
  * It returns a {@link List} of {@link NotificationDTO} or a {@link Page} of {@link NotificationDTO} which fulfills the criteria.
  */
 @Service
-@Transactional(readOnly = true)
-public class NotificationQueryService extends QueryService<Notification> {
+@Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+public class NotificationQueryService extends KeysetQueryService<Notification> {
 
     private final Logger log = LoggerFactory.getLogger(NotificationQueryService.class);
 
@@ -38,12 +38,17 @@ public class NotificationQueryService extends QueryService<Notification> {
         this.notificationMapper = notificationMapper;
     }
 
+    @Override
+    protected String getEntityGraphName() {
+        return "Notification.list";
+    }
+
     /**
      * Return a {@link List} of {@link NotificationDTO} which matches the criteria from the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public List<NotificationDTO> findByCriteria(NotificationCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<Notification> specification = createSpecification(criteria);
@@ -56,19 +61,48 @@ public class NotificationQueryService extends QueryService<Notification> {
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public Page<NotificationDTO> findByCriteria(NotificationCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Notification> specification = createSpecification(criteria);
         return notificationRepository.findAll(specification, page).map(notificationMapper::toDto);
     }
 
+    /**
+     * Return a {@link KeysetSlice} of {@link NotificationDTO} which matches the criteria from the database,
+     * seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<NotificationDTO> findByCriteria(NotificationCriteria criteria, Pageable page, String after) {
+        log.debug("find by criteria : {}, page: {}, after: {}", criteria, page, after);
+        final Specification<Notification> specification = createSpecification(criteria);
+        return findAfter(specification, page, after).map(notificationMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link NotificationDTO} which matches the criteria from the database,
+     * without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<NotificationDTO> findSliceByCriteria(NotificationCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Notification> specification = createSpecification(criteria);
+        return findSlice(specification, page).map(notificationMapper::toDto);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public long countByCriteria(NotificationCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<Notification> specification = createSpecification(criteria);
@@ -0,0 +1,204 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.repository.ProductCodes;
+import com.techvg.inventory.management.repository.ProductRepository;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Process local hash index from the codes printed on product containers to the products, for scanners.
+ * <p>
+ * Bar codes, QR codes and CAS numbers share one index, as a scanner does not tell which of them it read. Bar and QR
+ * codes are unique, a CAS number is shared by every grade and pack size of a chemical, so a code resolves to a list of
+ * products. Codes are matched exactly once trimmed.
+ * <p>
+ * The index is loaded from the {@code product} table once the application is ready, or on the first lookup if that
+ * comes earlier, and product writes are applied once their transaction has committed. Writes made by other instances
+ * of the application are not seen until the next {@link #reload()}.
+ */
+@Service
+public class ProductCodeIndex {
+
+    private static final long[] NO_PRODUCTS = new long[0];
+
+    private final Logger log = LoggerFactory.getLogger(ProductCodeIndex.class);
+
+    private final ProductRepository productRepository;
+
+    private volatile Codes codes;
+
+    public ProductCodeIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (codes == null) {
+            reload();
+        }
+    }
+
+    /**
+     * Replace the index with the codes currently in the database.
+     */
+    public synchronized void reload() {
+        long start = System.currentTimeMillis();
+        Codes loaded = new Codes();
+        List<ProductCodes> products = productRepository.findAllCodes();
+        for (ProductCodes product : products) {
+            loaded.put(product.getId(), product.getBarCode(), product.getQrCode(), product.getCasNumber());
+        }
+        codes = loaded;
+        log.info("Indexed the codes of {} products in {} ms", products.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Index the saved codes of a product, once the current transaction commits.
+     *
+     * @param productDTO the product saved.
+     */
+    public void post(ProductDTO productDTO) {
+        if (Boolean.TRUE.equals(productDTO.getIsDeleted())) {
+            remove(productDTO.getId());
+            return;
+        }
+        Long id = productDTO.getId();
+        String barCode = productDTO.getBarCode();
+        String qrCode = productDTO.getQrCode();
+        String casNumber = productDTO.getCasNumber();
+        afterCommit(() -> apply(id, barCode, qrCode, casNumber));
+    }
+
+    /**
+     * Remove the codes of a product from the index, once the current transaction commits.
+     *
+     * @param id the id of the product removed.
+     */
+    public void remove(Long id) {
+        afterCommit(() -> apply(id));
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            }
+        );
+    }
+
+    // synchronized with reload(), so that a write committed while the index loads is applied to the loaded index
+    private synchronized void apply(Long id, String... productCodes) {
+        if (codes == null) {
+            // not loaded yet, the load will read the committed product
+            return;
+        }
+        codes.put(id, productCodes);
+    }
+
+    /**
+     * Get the products holding a code.
+     *
+     * @param code the bar code, QR code or CAS number.
+     * @return the ids of the products, in ascending order.
+     */
+    public long[] lookup(String code) {
+        String key = normalize(code);
+        if (key == null) {
+            return NO_PRODUCTS;
+        }
+        Codes current = codes;
+        if (current == null) {
+            reload();
+            current = codes;
+        }
+        return current.productsByCode.getOrDefault(key, NO_PRODUCTS).clone();
+    }
+
+    private static String normalize(String code) {
+        if (code == null) {
+            return null;
+        }
+        String trimmed = code.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * Codes to products, and back so that the previous codes of a product written again can be removed.
+     * The id arrays are copied on write, readers never see them change.
+     */
+    private static final class Codes {
+
+        private final ConcurrentMap<String, long[]> productsByCode = new ConcurrentHashMap<>();
+
+        private final Map<Long, List<String>> codesByProduct = new ConcurrentHashMap<>();
+
+        void put(Long id, String... productCodes) {
+            List<String> previous = codesByProduct.remove(id);
+            if (previous != null) {
+                previous.forEach(code -> productsByCode.computeIfPresent(code, (key, ids) -> without(ids, id)));
+            }
+            List<String> current = new ArrayList<>(productCodes.length);
+            for (String productCode : productCodes) {
+                String code = normalize(productCode);
+                if (code != null && !current.contains(code)) {
+                    current.add(code);
+                    productsByCode.compute(code, (key, ids) -> with(ids, id));
+                }
+            }
+            if (!current.isEmpty()) {
+                codesByProduct.put(id, Collections.unmodifiableList(current));
+            }
+        }
+
+        private static long[] with(long[] ids, long id) {
+            if (ids == null) {
+                return new long[] { id };
+            }
+            int position = Arrays.binarySearch(ids, id);
+            if (position >= 0) {
+                return ids;
+            }
+            int insertion = -position - 1;
+            long[] added = new long[ids.length + 1];
+            System.arraycopy(ids, 0, added, 0, insertion);
+            added[insertion] = id;
+            System.arraycopy(ids, insertion, added, insertion + 1, ids.length - insertion);
+            return added;
+        }
+
+        private static long[] without(long[] ids, long id) {
+            int position = Arrays.binarySearch(ids, id);
+            if (position < 0) {
+                return ids;
+            }
+            if (ids.length == 1) {
+                // removes the code
+                return null;
+            }
+            long[] removed = new long[ids.length - 1];
+            System.arraycopy(ids, 0, removed, 0, position);
+            System.arraycopy(ids, position + 1, removed, position, ids.length - position - 1);
+            return removed;
+        }
+    }
+}
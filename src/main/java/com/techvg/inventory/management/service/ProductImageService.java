@@ -0,0 +1,100 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.domain.ProductImage;
+import com.techvg.inventory.management.repository.ProductImageInfo;
+import com.techvg.inventory.management.repository.ProductImageRepository;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for managing {@link ProductImage}.
+ */
+@Service
+@Transactional
+public class ProductImageService {
+
+    private final Logger log = LoggerFactory.getLogger(ProductImageService.class);
+
+    private final ProductImageRepository productImageRepository;
+
+    private final ProductThumbnailService productThumbnailService;
+
+    public ProductImageService(ProductImageRepository productImageRepository, ProductThumbnailService productThumbnailService) {
+        this.productImageRepository = productImageRepository;
+        this.productThumbnailService = productThumbnailService;
+    }
+
+    /**
+     * Save the image of a product, replacing the one it had. Its thumbnails are generated once the transaction commits.
+     *
+     * @param productId the id of the product.
+     * @param content the image.
+     * @param contentType the content type of the image.
+     * @return the SHA-256 of the image.
+     */
+    public String save(Long productId, byte[] content, String contentType) {
+        log.debug("Request to save the image of Product : {}", productId);
+        ProductImage productImage = new ProductImage()
+            .productId(productId)
+            .content(content)
+            .contentType(contentType)
+            .contentHash(sha256(content))
+            .contentLength((long) content.length)
+            .lastModified(Instant.now());
+        productImageRepository.save(productImage);
+        productThumbnailService.generateThumbnails(productImage.getContentHash(), content);
+        return productImage.getContentHash();
+    }
+
+    /**
+     * Get the metadata of the image of a product, without its content.
+     *
+     * @param productId the id of the product.
+     * @return the metadata, empty if the product has no image.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProductImageInfo> findInfo(Long productId) {
+        return productImageRepository.findInfoByProductId(productId);
+    }
+
+    /**
+     * Get the image of a product.
+     *
+     * @param productId the id of the product.
+     * @return the image, empty if the product has none.
+     */
+    @Transactional(readOnly = true)
+    public Optional<byte[]> findContent(Long productId) {
+        log.debug("Request to get the image of Product : {}", productId);
+        return productImageRepository.findById(productId).map(ProductImage::getContent);
+    }
+
+    /**
+     * Delete the image of a product, if it has one.
+     *
+     * @param productId the id of the product.
+     */
+    public void delete(Long productId) {
+        log.debug("Request to delete the image of Product : {}", productId);
+        productImageRepository.deleteByProductId(productId);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform implements SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
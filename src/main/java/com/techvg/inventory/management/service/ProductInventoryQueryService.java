@@ -3,19 +3,45 @@ package com.techvg.inventory.management.service;
 import com.techvg.inventory.management.domain.*; // for static metamodels
 import com.techvg.inventory.management.domain.ProductInventory;
 import com.techvg.inventory.management.repository.ProductInventoryRepository;
+import com.techvg.inventory.management.repository.ProductRepository;
+import com.techvg.inventory.management.service.criteria.ProductCriteria;
 import com.techvg.inventory.management.service.criteria.ProductInventoryCriteria;
+import com.techvg.inventory.management.service.dto.ProductDTO;
 import com.techvg.inventory.management.service.dto.ProductInventoryDTO;
 import com.techvg.inventory.management.service.mapper.ProductInventoryMapper;
+import com.techvg.inventory.management.service.mapper.ProductMapper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link ProductInventory} entities in the database.
@@ -24,8 +50,42 @@ import tech.jhipster.service.QueryService;
  * It returns a {@link List} of {@link ProductInventoryDTO} or a {@link Page} of {@link ProductInventoryDTO} which fulfills the criteria.
  */
 @Service
-@Transactional(readOnly = true)
-public class ProductInventoryQueryService extends QueryService<ProductInventory> {
+@Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+public class ProductInventoryQueryService extends KeysetQueryService<ProductInventory> {
+
+    /**
+     * Basic {@link Product} attributes the product stocks may be sorted by, besides {@code totalStock} and {@code wareHouseId}.
+     */
+    static final Set<String> PRODUCT_SORT_PROPERTIES = Collections.unmodifiableSet(
+        new HashSet<>(
+            Arrays.asList(
+                "id",
+                "shortName",
+                "chemicalFormula",
+                "hsnNo",
+                "materialImageContentType",
+                "isDeleted",
+                "isActive",
+                "productName",
+                "alertUnits",
+                "casNumber",
+                "catlogNumber",
+                "molecularWt",
+                "molecularFormula",
+                "chemicalName",
+                "structureImg",
+                "description",
+                "qrCode",
+                "barCode",
+                "gstPercentage",
+                "productType",
+                "lastModified",
+                "lastModifiedBy",
+                "freeField1",
+                "freeField2"
+            )
+        )
+    );
 
     private final Logger log = LoggerFactory.getLogger(ProductInventoryQueryService.class);
 
@@ -33,12 +93,33 @@ public class ProductInventoryQueryService extends QueryService<ProductInventory>
 
     private final ProductInventoryMapper productInventoryMapper;
 
+    private final ProductQueryService productQueryService;
+
+    private final ProductRepository productRepository;
+
+    private final ProductMapper productMapper;
+
+    private final EntityManager entityManager;
+
     public ProductInventoryQueryService(
         ProductInventoryRepository productInventoryRepository,
-        ProductInventoryMapper productInventoryMapper
+        ProductInventoryMapper productInventoryMapper,
+        ProductQueryService productQueryService,
+        ProductRepository productRepository,
+        ProductMapper productMapper,
+        EntityManager entityManager
     ) {
         this.productInventoryRepository = productInventoryRepository;
         this.productInventoryMapper = productInventoryMapper;
+        this.productQueryService = productQueryService;
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    protected String getEntityGraphName() {
+        return "ProductInventory.list";
     }
 
     /**
@@ -46,7 +127,7 @@ public class ProductInventoryQueryService extends QueryService<ProductInventory>
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public List<ProductInventoryDTO> findByCriteria(ProductInventoryCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<ProductInventory> specification = createSpecification(criteria);
@@ -59,25 +140,229 @@ public class ProductInventoryQueryService extends QueryService<ProductInventory>
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public Page<ProductInventoryDTO> findByCriteria(ProductInventoryCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<ProductInventory> specification = createSpecification(criteria);
         return productInventoryRepository.findAll(specification, page).map(productInventoryMapper::toDto);
     }
 
+    /**
+     * Return a {@link KeysetSlice} of {@link ProductInventoryDTO} which matches the criteria from the database,
+     * seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<ProductInventoryDTO> findByCriteria(ProductInventoryCriteria criteria, Pageable page, String after) {
+        log.debug("find by criteria : {}, page: {}, after: {}", criteria, page, after);
+        final Specification<ProductInventory> specification = createSpecification(criteria);
+        return findAfter(specification, page, after).map(productInventoryMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link ProductInventoryDTO} which matches the criteria from the database,
+     * without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<ProductInventoryDTO> findSliceByCriteria(ProductInventoryCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<ProductInventory> specification = createSpecification(criteria);
+        return findSlice(specification, page).map(productInventoryMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Page} of some fields of the {@link ProductInventoryDTO} which match the criteria from the database,
+     * reading the columns of those fields only.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The names of the {@link ProductInventoryDTO} fields returned, besides the id.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Page<Map<String, Object>> findFieldsByCriteria(ProductInventoryCriteria criteria, Pageable page, List<String> fields) {
+        log.debug("find fields by criteria : {}, page: {}, fields: {}", criteria, page, fields);
+        final Specification<ProductInventory> specification = createSpecification(criteria);
+        return findFields(specification, page, fields, ProductInventoryDTO.class, () -> productInventoryRepository.count(specification));
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of some fields of the {@link ProductInventoryDTO} which match the criteria from the database,
+     * reading the columns of those fields only and seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @param fields The names of the {@link ProductInventoryDTO} fields returned, besides the id.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<Map<String, Object>> findFieldsByCriteria(
+        ProductInventoryCriteria criteria,
+        Pageable page,
+        String after,
+        List<String> fields
+    ) {
+        log.debug("find fields by criteria : {}, page: {}, after: {}, fields: {}", criteria, page, after, fields);
+        final Specification<ProductInventory> specification = createSpecification(criteria);
+        return findFieldsAfter(specification, page, after, fields, ProductInventoryDTO.class);
+    }
+
+    /**
+     * Return a {@link Slice} of some fields of the {@link ProductInventoryDTO} which match the criteria from the database,
+     * reading the columns of those fields only, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The names of the {@link ProductInventoryDTO} fields returned, besides the id.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<Map<String, Object>> findFieldsSliceByCriteria(ProductInventoryCriteria criteria, Pageable page, List<String> fields) {
+        log.debug("find fields slice by criteria : {}, page: {}, fields: {}", criteria, page, fields);
+        final Specification<ProductInventory> specification = createSpecification(criteria);
+        return findFieldsSlice(specification, page, fields, ProductInventoryDTO.class);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public long countByCriteria(ProductInventoryCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<ProductInventory> specification = createSpecification(criteria);
         return productInventoryRepository.count(specification);
     }
 
+    /**
+     * Return a {@link Page} of product stocks, one per product and wareHouse, aggregated from the ledger rows which
+     * match the criteria. The stock is computed by a single {@code SUM(inward) - SUM(outward) GROUP BY product, wareHouse}
+     * query and paged in the database, so it never depends on how many ledger rows a product has.
+     * Soft deleted rows are left out unless the criteria filters on {@code isDeleted}.
+     * @param criteria The object which holds all the filters, which the ledger rows should match.
+     * @param productCriteria The object which holds all the filters, which the products should match.
+     * @param page The page, which should be returned. Sort properties refer to {@link ProductDTO}.
+     * @return the matching product stocks.
+     * @throws InvalidSortException if the page is sorted by a property which is not in {@link #PRODUCT_SORT_PROPERTIES}.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Page<ProductDTO> findStockByCriteria(ProductInventoryCriteria criteria, ProductCriteria productCriteria, Pageable page) {
+        log.debug("find stock by criteria : {}, {}, page: {}", criteria, productCriteria, page);
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<ProductInventory> root = query.from(ProductInventory.class);
+        Path<Long> productId = root.get(ProductInventory_.product).get(Product_.id);
+        Path<Long> wareHouseId = root.get(ProductInventory_.wareHouse).get(WareHouse_.id);
+        Expression<Double> stock = builder.diff(
+            builder.coalesce(builder.sum(root.get(ProductInventory_.inwardQuantity)), 0D),
+            builder.coalesce(builder.sum(root.get(ProductInventory_.outwardQuantity)), 0D)
+        );
+        List<Expression<?>> groupBy = new ArrayList<>(Arrays.asList(productId, wareHouseId));
+        List<Order> orders = new ArrayList<>();
+        Join<ProductInventory, Product> product = null;
+        for (Sort.Order order : page.getSort()) {
+            Expression<?> expression;
+            if ("totalStock".equals(order.getProperty())) {
+                expression = stock;
+            } else if ("wareHouseId".equals(order.getProperty())) {
+                expression = wareHouseId;
+            } else {
+                checkProductSortProperty(order.getProperty());
+                if (product == null) {
+                    product = root.join(ProductInventory_.product);
+                }
+                expression = product.get(order.getProperty());
+                groupBy.add(expression);
+            }
+            orders.add(order.isAscending() ? builder.asc(expression) : builder.desc(expression));
+        }
+        orders.add(builder.asc(productId));
+        orders.add(builder.asc(wareHouseId));
+        query
+            .multiselect(productId, wareHouseId, stock)
+            .where(createStockPredicate(criteria, productCriteria, root, query, builder))
+            .groupBy(groupBy)
+            .orderBy(orders);
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (page.isPaged()) {
+            typedQuery.setFirstResult((int) page.getOffset()).setMaxResults(page.getPageSize());
+        }
+        List<Tuple> stocks = typedQuery.getResultList();
+
+        Map<Long, Product> products = productRepository
+            .findAllById(stocks.stream().map(tuple -> tuple.get(0, Long.class)).distinct().collect(Collectors.toList()))
+            .stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductDTO> content = new ArrayList<>();
+        for (Tuple tuple : stocks) {
+            ProductDTO productDTO = productMapper.toDto(products.get(tuple.get(0, Long.class)));
+            productDTO.setWareHouseId(tuple.get(1, Long.class));
+            productDTO.setTotalStock(tuple.get(2, Double.class));
+            content.add(productDTO);
+        }
+        return PageableExecutionUtils.getPage(content, page, () -> countStockByCriteria(criteria, productCriteria));
+    }
+
+    static void checkProductSortProperty(String property) {
+        if (!PRODUCT_SORT_PROPERTIES.contains(property)) {
+            throw new InvalidSortException("Product stocks cannot be sorted by " + property);
+        }
+    }
+
+    /**
+     * Return the number of product and wareHouse pairs which have ledger rows matching the criteria.
+     * @param criteria The object which holds all the filters, which the ledger rows should match.
+     * @param productCriteria The object which holds all the filters, which the products should match.
+     * @return the number of product stocks.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public long countStockByCriteria(ProductInventoryCriteria criteria, ProductCriteria productCriteria) {
+        log.debug("count stock by criteria : {}, {}", criteria, productCriteria);
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<ProductInventory> root = query.from(ProductInventory.class);
+        // JPQL cannot count distinct tuples, so the pair is counted through a composite key
+        Expression<String> stockKey = builder.concat(
+            builder.concat(root.get(ProductInventory_.product).get(Product_.id).as(String.class), ":"),
+            root.get(ProductInventory_.wareHouse).get(WareHouse_.id).as(String.class)
+        );
+        query.select(builder.countDistinct(stockKey)).where(createStockPredicate(criteria, productCriteria, root, query, builder));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Predicate createStockPredicate(
+        ProductInventoryCriteria criteria,
+        ProductCriteria productCriteria,
+        Root<ProductInventory> root,
+        CriteriaQuery<?> query,
+        CriteriaBuilder builder
+    ) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.isNotNull(root.get(ProductInventory_.product)));
+        predicates.add(builder.isNotNull(root.get(ProductInventory_.wareHouse)));
+        ProductInventoryCriteria filters = criteria == null ? new ProductInventoryCriteria() : criteria.copy();
+        filters.setDistinct(null);
+        if (filters.getIsDeleted() == null) {
+            predicates.add(builder.isNotTrue(root.get(ProductInventory_.isDeleted)));
+        }
+        Predicate ledgerPredicate = createSpecification(filters).toPredicate(root, query, builder);
+        if (ledgerPredicate != null) {
+            predicates.add(ledgerPredicate);
+        }
+        Subquery<Long> productIds = productQueryService.createIdSubquery(productCriteria, query, builder);
+        if (productIds != null) {
+            predicates.add(root.get(ProductInventory_.product).get(Product_.id).in(productIds));
+        }
+        return builder.and(predicates.toArray(new Predicate[0]));
+    }
+
     /**
      * Function to convert {@link ProductInventoryCriteria} to a {@link Specification}
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -106,6 +391,16 @@ public class ProductInventoryQueryService extends QueryService<ProductInventory>
             if (criteria.getTotalQuanity() != null) {
                 specification = specification.and(buildStringSpecification(criteria.getTotalQuanity(), ProductInventory_.totalQuanity));
             }
+            if (criteria.getInwardQuantity() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getInwardQuantity(), ProductInventory_.inwardQuantity));
+            }
+            if (criteria.getOutwardQuantity() != null) {
+                specification =
+                    specification.and(buildRangeSpecification(criteria.getOutwardQuantity(), ProductInventory_.outwardQuantity));
+            }
+            if (criteria.getTotalQuantity() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getTotalQuantity(), ProductInventory_.totalQuantity));
+            }
             if (criteria.getPricePerUnit() != null) {
                 specification = specification.and(buildRangeSpecification(criteria.getPricePerUnit(), ProductInventory_.pricePerUnit));
             }
@@ -1,30 +1,20 @@
 package com.techvg.inventory.management.service;
 
-import com.techvg.inventory.management.domain.Product;
 import com.techvg.inventory.management.domain.ProductInventory;
-import com.techvg.inventory.management.domain.enumeration.ProductType;
 import com.techvg.inventory.management.repository.ProductInventoryRepository;
 import com.techvg.inventory.management.service.criteria.ProductCriteria;
-import com.techvg.inventory.management.service.criteria.ProductCriteria.ProductTypeFilter;
 import com.techvg.inventory.management.service.criteria.ProductInventoryCriteria;
-import com.techvg.inventory.management.service.criteria.WareHouseCriteria;
 import com.techvg.inventory.management.service.dto.ProductDTO;
 import com.techvg.inventory.management.service.dto.ProductInventoryDTO;
-import com.techvg.inventory.management.service.dto.WareHouseDTO;
 import com.techvg.inventory.management.service.mapper.ProductInventoryMapper;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.filter.LongFilter;
 
 /**
  * Service Implementation for managing {@link ProductInventory}.
@@ -40,13 +30,13 @@ public class ProductInventoryService {
     private final ProductInventoryMapper productInventoryMapper;
 
     @Autowired
-    private ProductQueryService productQueryService;
+    private StockBalanceService stockBalanceService;
 
     @Autowired
-    private ProductInventoryQueryService productInventoryQueryService;
+    private StockBalanceQueryService stockBalanceQueryService;
 
     @Autowired
-    private WareHouseQueryService wareHouseQueryService;
+    private ProductInventoryQueryService productInventoryQueryService;
 
     public ProductInventoryService(ProductInventoryRepository productInventoryRepository, ProductInventoryMapper productInventoryMapper) {
         this.productInventoryRepository = productInventoryRepository;
@@ -61,8 +51,12 @@ public class ProductInventoryService {
      */
     public ProductInventoryDTO save(ProductInventoryDTO productInventoryDTO) {
         log.debug("Request to save ProductInventory : {}", productInventoryDTO);
+        InventoryPosting before = productInventoryDTO.getId() == null
+            ? null
+            : productInventoryRepository.findById(productInventoryDTO.getId()).map(InventoryPosting::of).orElse(null);
         ProductInventory productInventory = productInventoryMapper.toEntity(productInventoryDTO);
         productInventory = productInventoryRepository.save(productInventory);
+        stockBalanceService.post(before, InventoryPosting.of(productInventory));
         return productInventoryMapper.toDto(productInventory);
     }
 
@@ -78,11 +72,13 @@ public class ProductInventoryService {
         return productInventoryRepository
             .findById(productInventoryDTO.getId())
             .map(existingProductInventory -> {
+                InventoryPosting before = InventoryPosting.of(existingProductInventory);
                 productInventoryMapper.partialUpdate(existingProductInventory, productInventoryDTO);
 
-                return existingProductInventory;
+                ProductInventory productInventory = productInventoryRepository.save(existingProductInventory);
+                stockBalanceService.post(before, InventoryPosting.of(productInventory));
+                return productInventory;
             })
-            .map(productInventoryRepository::save)
             .map(productInventoryMapper::toDto);
     }
 
@@ -126,173 +122,42 @@ public class ProductInventoryService {
      */
     public void delete(Long id) {
         log.debug("Request to delete ProductInventory : {}", id);
-        productInventoryRepository.deleteById(id);
+        productInventoryRepository
+            .findById(id)
+            .ifPresent(productInventory -> {
+                productInventoryRepository.delete(productInventory);
+                stockBalanceService.post(InventoryPosting.of(productInventory), null);
+            });
     }
 
     /**
-     * Get productInventories Stock Count.
+     * Get the stock of the products matching the criteria, one entry per product and wareHouse.
      *
-     * @param ProductInventoryDTO List to calculate totalQuantityAvailable .
-     * @return int totalQuantityAvailable count.
-     */
-    public int countInventoryStock(List<ProductInventoryDTO> stockList) {
-        int sumInwardQty = 0;
-        int sumOutwardQty = 0;
-        for (ProductInventoryDTO stockObj : stockList) {
-            if (stockObj.getInwardQty() != null) {
-                Long stockcount = Long.valueOf(stockObj.getInwardQty()).longValue();
-
-                sumInwardQty += stockcount;
-            } else if (stockObj.getOutwardQty() != null) {
-                Long stockcount = Long.valueOf(stockObj.getOutwardQty()).longValue();
-
-                sumOutwardQty += stockcount;
-            }
-        }
-        int totalQuantityAvailable = sumInwardQty - sumOutwardQty;
-        return totalQuantityAvailable;
-    }
-
-    /**
-     * Get all the productInventories Stock Count.
+     * Reads the maintained balances when the ledger criteria only narrow the product or wareHouse,
+     * otherwise aggregates the matching ledger rows in a single grouped query.
      *
-     * @param ProductInventoryCriteria criteria to calculate.
-     * @return the list of product entities.
+     * @param criteria the ledger criteria.
+     * @param pdCriteria the product criteria.
+     * @param page the pagination information.
+     * @return the page of products with their stock.
      */
+    @Transactional(readOnly = true)
     public Page<ProductDTO> countProductInventoriesStock(ProductInventoryCriteria criteria, ProductCriteria pdCriteria, Pageable page) {
-        List<ProductDTO> productsList = new ArrayList<ProductDTO>();
-
-        // --------------------------If product search criteria is given
-
-        if (pdCriteria.getCasNumber() != null || pdCriteria.getCatlogNumber() != null || pdCriteria.getProductName() != null) {
-            Page<ProductDTO> productList = productQueryService.findByCriteria(pdCriteria, page);
-
-            if (criteria.getWareHouseId() != null) {
-                for (ProductDTO productObj : productList.getContent()) {
-                    LongFilter idFilter = new LongFilter();
-                    idFilter.setEquals(productObj.getId());
-                    criteria.setProductId(idFilter);
-
-                    Page<ProductInventoryDTO> stockList = productInventoryQueryService.findByCriteria(criteria, page);
-                    int productStock = this.countInventoryStock(stockList.getContent());
-                    productObj.setTotalStock(productStock);
-                    productObj.setWareHouseId(criteria.getWareHouseId().getEquals());
-                }
-                return productList;
-            } else if (criteria.getWareHouseId() == null) {
-                WareHouseCriteria wareHouseCri = new WareHouseCriteria();
-                Page<WareHouseDTO> wareHouseList = wareHouseQueryService.findByCriteria(wareHouseCri, page);
-
-                for (WareHouseDTO wareaHouseObj : wareHouseList.getContent()) {
-                    LongFilter idFilter = new LongFilter();
-                    idFilter.setEquals(wareaHouseObj.getId());
-                    criteria.setWareHouseId(idFilter);
-                    Page<ProductDTO> productLists = productQueryService.findByCriteria(pdCriteria, page);
-                    for (ProductDTO productObj : productLists) {
-                        idFilter.setEquals(productObj.getId());
-                        criteria.setProductId(idFilter);
-                        Page<ProductInventoryDTO> stockLists = productInventoryQueryService.findByCriteria(criteria, page);
-                        if (!stockLists.getContent().isEmpty()) {
-                            int productStock = this.countInventoryStock(stockLists.getContent());
-                            productObj.setTotalStock(productStock);
-                            productObj.setWareHouseId(wareaHouseObj.getId());
-                        }
-                    }
-
-                    return productLists;
-                }
-            } else if (criteria != null) {
-                // ---------------- Calculate Stock when ProductId not given in
-                // Criteria---------------
-
-                if (criteria.getProductId() == null && criteria.getWareHouseId() != null) {
-                    ProductCriteria prodCriteria = new ProductCriteria();
-                    ProductTypeFilter productFilter = new ProductTypeFilter();
-                    productFilter.setEquals(ProductType.RAWMATERIAL);
-                    prodCriteria.setProductType(productFilter);
-                    Page<ProductDTO> productLists = productQueryService.findByCriteria(prodCriteria, page);
-
-                    for (ProductDTO productObj : productLists.getContent()) {
-                        LongFilter idFilter = new LongFilter();
-                        idFilter.setEquals(productObj.getId());
-                        criteria.setProductId(idFilter);
-
-                        Page<ProductInventoryDTO> stockList = productInventoryQueryService.findByCriteria(criteria, page);
-                        int productStock = this.countInventoryStock(stockList.getContent());
-                        productObj.setTotalStock(productStock);
-                        productObj.setWareHouseId(criteria.getWareHouseId().getEquals());
-                    }
-                    return productLists;
-                } // both product Id and warehouse id available
-                else if (criteria.getWareHouseId() != null && criteria.getProductId() != null) {
-                    Page<ProductInventoryDTO> stockLists = productInventoryQueryService.findByCriteria(criteria, page);
-                    int productStock = this.countInventoryStock(stockLists.getContent());
-                    ProductDTO product = stockLists.iterator().next().getProduct();
-                    product.setWareHouseId(criteria.getWareHouseId().getEquals());
-                    product.setTotalStock(productStock);
-                    productsList.add(product);
-                    return this.convertListIntoPagable(productsList, page);
-                }
-                //---------------------Calculate Stock when productId is given in Criteria---------------
-
-                if (criteria.getWareHouseId() == null && criteria.getProductId() != null) {
-                    WareHouseCriteria wareHouseCri = new WareHouseCriteria();
-                    Page<WareHouseDTO> wareHouseList = wareHouseQueryService.findByCriteria(wareHouseCri, page);
-                    for (WareHouseDTO wareaHouseObj : wareHouseList.getContent()) {
-                        LongFilter idFilter = new LongFilter();
-                        idFilter.setEquals(wareaHouseObj.getId());
-                        criteria.setWareHouseId(idFilter);
-
-                        Page<ProductInventoryDTO> stockLists = productInventoryQueryService.findByCriteria(criteria, page);
-                        if (!stockLists.getContent().isEmpty()) {
-                            int productStock = this.countInventoryStock(stockLists.getContent());
-                            ProductDTO product = stockLists.getContent().iterator().next().getProduct();
-                            product.setTotalStock(productStock);
-                            product.setWareHouseId(wareaHouseObj.getId());
-                            productsList.add(product);
-                        }
-
-                        return this.convertListIntoPagable(productsList, page);
-                    }
-                }
-                // ---------------- Calculate Stock when WareHouseId and productId not given in
-                // Criteria---------------
-                else {
-                    WareHouseCriteria wareHouseCri = new WareHouseCriteria();
-                    Page<WareHouseDTO> wareHouseList = wareHouseQueryService.findByCriteria(wareHouseCri, page);
-                    Page<ProductDTO> productLists = productQueryService.findByCriteria(pdCriteria, page);
-                    for (ProductDTO productObj : productLists) {
-                        LongFilter idFilter = new LongFilter();
-                        idFilter.setEquals(productObj.getId());
-                        criteria.setProductId(idFilter);
-
-                        for (WareHouseDTO wareaHouseObj : wareHouseList.getContent()) {
-                            idFilter.setEquals(wareaHouseObj.getId());
-                            criteria.setWareHouseId(idFilter);
-
-                            Page<ProductInventoryDTO> stockLists = productInventoryQueryService.findByCriteria(criteria, page);
-
-                            if (!stockLists.getContent().isEmpty()) {
-                                int productStock = this.countInventoryStock(stockLists.getContent());
-                                productObj.setTotalStock(productStock);
-                                productObj.setWareHouseId(wareaHouseObj.getId());
-                            }
-                        }
-                    }
-                    return productLists;
-                }
-            }
+        log.debug("Request to count ProductInventories stock by criteria : {}, {}", criteria, pdCriteria);
+        if (isBalanceCriteria(criteria)) {
+            return stockBalanceQueryService.findByCriteria(criteria, pdCriteria, page);
         }
-        return this.convertListIntoPagable(productsList, page);
+        return productInventoryQueryService.findStockByCriteria(criteria, pdCriteria, page);
     }
 
-    public Page<ProductDTO> convertListIntoPagable(List<ProductDTO> productsList, Pageable page) {
-        int startOfPage = page.getPageNumber() * page.getPageSize();
-        if (startOfPage > productsList.size()) {
-            return new PageImpl<>(new ArrayList<>(), page, 0);
+    private boolean isBalanceCriteria(ProductInventoryCriteria criteria) {
+        if (criteria == null) {
+            return true;
         }
-
-        int endOfPage = Math.min(startOfPage + page.getPageSize(), productsList.size());
-        return new PageImpl<>(productsList.subList(startOfPage, endOfPage), page, productsList.size());
+        ProductInventoryCriteria ledgerFilters = criteria.copy();
+        ledgerFilters.setProductId(null);
+        ledgerFilters.setWareHouseId(null);
+        ledgerFilters.setDistinct(null);
+        return ledgerFilters.equals(new ProductInventoryCriteria());
     }
 }
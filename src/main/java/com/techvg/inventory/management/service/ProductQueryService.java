@@ -6,16 +6,33 @@ import com.techvg.inventory.management.repository.ProductRepository;
 import com.techvg.inventory.management.service.criteria.ProductCriteria;
 import com.techvg.inventory.management.service.dto.ProductDTO;
 import com.techvg.inventory.management.service.mapper.ProductMapper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link Product} entities in the database.
@@ -24,8 +41,10 @@ import tech.jhipster.service.QueryService;
  * It returns a {@link List} of {@link ProductDTO} or a {@link Page} of {@link ProductDTO} which fulfills the criteria.
  */
 @Service
-@Transactional(readOnly = true)
-public class ProductQueryService extends QueryService<Product> {
+@Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+public class ProductQueryService extends KeysetQueryService<Product> {
+
+    public static final String PRODUCTS_BY_CRITERIA_CACHE = "productsByCriteria";
 
     private final Logger log = LoggerFactory.getLogger(ProductQueryService.class);
 
@@ -33,9 +52,28 @@ public class ProductQueryService extends QueryService<Product> {
 
     private final ProductMapper productMapper;
 
-    public ProductQueryService(ProductRepository productRepository, ProductMapper productMapper) {
+    private final CriteriaResultCache criteriaResultCache;
+
+    private final ProductSearchIndex productSearchIndex;
+
+    private final ProductCodeIndex productCodeIndex;
+
+    private final EntityManager entityManager;
+
+    public ProductQueryService(
+        ProductRepository productRepository,
+        ProductMapper productMapper,
+        CriteriaResultCache criteriaResultCache,
+        ProductSearchIndex productSearchIndex,
+        ProductCodeIndex productCodeIndex,
+        EntityManager entityManager
+    ) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.criteriaResultCache = criteriaResultCache;
+        this.productSearchIndex = productSearchIndex;
+        this.productCodeIndex = productCodeIndex;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -43,7 +81,7 @@ public class ProductQueryService extends QueryService<Product> {
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public List<ProductDTO> findByCriteria(ProductCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<Product> specification = createSpecification(criteria);
@@ -52,15 +90,101 @@ public class ProductQueryService extends QueryService<Product> {
 
     /**
      * Return a {@link Page} of {@link ProductDTO} which matches the criteria from the database.
+     * The pages are cached in {@link #PRODUCTS_BY_CRITERIA_CACHE} until a product is written.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public Page<ProductDTO> findByCriteria(ProductCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Product> specification = createSpecification(criteria);
-        return productRepository.findAll(specification, page).map(productMapper::toDto);
+        return criteriaResultCache.get(
+            PRODUCTS_BY_CRITERIA_CACHE,
+            criteria,
+            page,
+            () -> productRepository.findAll(specification, page).map(productMapper::toDto)
+        );
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of {@link ProductDTO} which matches the criteria from the database,
+     * seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<ProductDTO> findByCriteria(ProductCriteria criteria, Pageable page, String after) {
+        log.debug("find by criteria : {}, page: {}, after: {}", criteria, page, after);
+        final Specification<Product> specification = createSpecification(criteria);
+        return findAfter(specification, page, after).map(productMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link ProductDTO} which matches the criteria from the database,
+     * without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<ProductDTO> findSliceByCriteria(ProductCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Product> specification = createSpecification(criteria);
+        return findSlice(specification, page).map(productMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Page} of some fields of the {@link ProductDTO} which match the criteria from the database,
+     * reading the columns of those fields only.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The names of the {@link ProductDTO} fields returned, besides the id.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Page<Map<String, Object>> findFieldsByCriteria(ProductCriteria criteria, Pageable page, List<String> fields) {
+        log.debug("find fields by criteria : {}, page: {}, fields: {}", criteria, page, fields);
+        final Specification<Product> specification = createSpecification(criteria);
+        return findFields(specification, page, fields, ProductDTO.class, () -> productRepository.count(specification));
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of some fields of the {@link ProductDTO} which match the criteria from the database,
+     * reading the columns of those fields only and seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @param fields The names of the {@link ProductDTO} fields returned, besides the id.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<Map<String, Object>> findFieldsByCriteria(
+        ProductCriteria criteria,
+        Pageable page,
+        String after,
+        List<String> fields
+    ) {
+        log.debug("find fields by criteria : {}, page: {}, after: {}, fields: {}", criteria, page, after, fields);
+        final Specification<Product> specification = createSpecification(criteria);
+        return findFieldsAfter(specification, page, after, fields, ProductDTO.class);
+    }
+
+    /**
+     * Return a {@link Slice} of some fields of the {@link ProductDTO} which match the criteria from the database,
+     * reading the columns of those fields only, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The names of the {@link ProductDTO} fields returned, besides the id.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<Map<String, Object>> findFieldsSliceByCriteria(ProductCriteria criteria, Pageable page, List<String> fields) {
+        log.debug("find fields slice by criteria : {}, page: {}, fields: {}", criteria, page, fields);
+        final Specification<Product> specification = createSpecification(criteria);
+        return findFieldsSlice(specification, page, fields, ProductDTO.class);
     }
 
     /**
@@ -68,13 +192,89 @@ public class ProductQueryService extends QueryService<Product> {
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public long countByCriteria(ProductCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<Product> specification = createSpecification(criteria);
         return productRepository.count(specification);
     }
 
+    /**
+     * Return the products matching a text, the most relevant first, searched in the {@link ProductSearchIndex}.
+     * @param text The text searched, words of a name or a code.
+     * @param limit The maximum number of products returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public List<ProductDTO> search(String text, int limit) {
+        log.debug("search : {}, limit: {}", text, limit);
+        List<Long> ids = productSearchIndex.search(text, limit);
+        Map<Long, ProductDTO> products = productRepository
+            .findAllById(ids)
+            .stream()
+            .map(productMapper::toDto)
+            .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+        return ids.stream().map(products::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Return the products holding codes printed on their containers, resolved in the {@link ProductCodeIndex}.
+     * The products are loaded by id in a single pass, through the second level cache.
+     * @param codes The bar codes, QR codes or CAS numbers scanned.
+     * @return the matching entities of each distinct code, in the order of the codes.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Map<String, List<ProductDTO>> lookup(List<String> codes) {
+        log.debug("lookup : {}", codes);
+        Map<String, long[]> idsByCode = new LinkedHashMap<>();
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String code : codes) {
+            if (code != null && !idsByCode.containsKey(code)) {
+                long[] found = productCodeIndex.lookup(code);
+                idsByCode.put(code, found);
+                Arrays.stream(found).forEach(ids::add);
+            }
+        }
+        Map<Long, ProductDTO> products = new HashMap<>();
+        if (!ids.isEmpty()) {
+            entityManager
+                .unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .multiLoad(new ArrayList<>(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .forEach(product -> products.put(product.getId(), productMapper.toDto(product)));
+        }
+        Map<String, List<ProductDTO>> result = new LinkedHashMap<>();
+        idsByCode.forEach((code, found) ->
+            result.put(code, Arrays.stream(found).mapToObj(products::get).filter(Objects::nonNull).collect(Collectors.toList()))
+        );
+        return result;
+    }
+
+    /**
+     * Build a subquery selecting the ids of the products which match the criteria, so that queries on other entities
+     * can be restricted to those products.
+     * @param criteria The object which holds all the filters, which the products should match.
+     * @param query The query the subquery belongs to.
+     * @param builder The criteria builder of the query.
+     * @return the subquery, or {@code null} if the criteria holds no filter.
+     */
+    public Subquery<Long> createIdSubquery(ProductCriteria criteria, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        if (criteria == null) {
+            return null;
+        }
+        ProductCriteria filters = criteria.copy();
+        filters.setDistinct(null);
+        Subquery<Long> productIds = query.subquery(Long.class);
+        Root<Product> root = productIds.from(Product.class);
+        Predicate predicate = createSpecification(filters).toPredicate(root, query, builder);
+        if (predicate == null) {
+            return null;
+        }
+        return productIds.select(root.get(Product_.id)).where(predicate);
+    }
+
     /**
      * Function to convert {@link ProductCriteria} to a {@link Specification}
      * @param criteria The object which holds all the filters, which the entities should match.
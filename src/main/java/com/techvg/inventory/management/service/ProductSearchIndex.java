@@ -0,0 +1,613 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.repository.ProductRepository;
+import com.techvg.inventory.management.repository.ProductSearchFields;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Process local trigram index of the product catalog, answering product searches from memory.
+ * <p>
+ * The names of a product are split in words and its codes are stripped of their separators, then cut in trigrams
+ * padded at both ends. A search is cut the same way and ranks the products sharing the most trigrams with it, so a
+ * misspelt name or a partial code still finds its product. A field only matches when it holds at least half of the
+ * trigrams of the search, and its score is weighted by the field, the product name first.
+ * <p>
+ * The index is loaded from the {@code product} table once the application is ready, or on the first search if that
+ * comes earlier, and product writes are applied once their transaction has committed. Writes made by other instances
+ * of the application are not seen until the next {@link #reload()}.
+ */
+@Service
+public class ProductSearchIndex {
+
+    public static final int MAX_RESULTS = 100;
+
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private static final float MIN_COVERAGE = 0.5f;
+
+    static final int MIN_REMOVED_TO_COMPACT = 1024;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private enum Field {
+        PRODUCT_NAME(3f, false),
+        CHEMICAL_NAME(2f, false),
+        CAS_NUMBER(2f, true),
+        CATLOG_NUMBER(2f, true);
+
+        private final float weight;
+
+        private final boolean code;
+
+        Field(float weight, boolean code) {
+            this.weight = weight;
+            this.code = code;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private final ProductRepository productRepository;
+
+    private volatile Index index;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (index == null) {
+            reload();
+        }
+    }
+
+    /**
+     * Replace the index with the products currently in the database.
+     */
+    public synchronized void reload() {
+        long start = System.currentTimeMillis();
+        Index loaded = new Index();
+        List<ProductSearchFields> products = productRepository.findAllSearchFields();
+        for (ProductSearchFields product : products) {
+            loaded.put(
+                product.getId(),
+                product.getProductName(),
+                product.getChemicalName(),
+                product.getCasNumber(),
+                product.getCatlogNumber()
+            );
+        }
+        loaded.trim();
+        index = loaded;
+        log.info("Indexed {} products for search in {} ms", products.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Index the saved state of a product, once the current transaction commits.
+     *
+     * @param productDTO the product saved.
+     */
+    public void post(ProductDTO productDTO) {
+        if (Boolean.TRUE.equals(productDTO.getIsDeleted())) {
+            remove(productDTO.getId());
+            return;
+        }
+        afterCommit(() ->
+            apply(current ->
+                current.put(
+                    productDTO.getId(),
+                    productDTO.getProductName(),
+                    productDTO.getChemicalName(),
+                    productDTO.getCasNumber(),
+                    productDTO.getCatlogNumber()
+                )
+            )
+        );
+    }
+
+    /**
+     * Remove a product from the index, once the current transaction commits.
+     *
+     * @param id the id of the product removed.
+     */
+    public void remove(Long id) {
+        afterCommit(() -> apply(current -> current.remove(id)));
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            }
+        );
+    }
+
+    // synchronized with reload(), so that a write committed while the index loads is applied to the loaded index
+    private synchronized void apply(Consumer<Index> update) {
+        if (index == null) {
+            // not loaded yet, the load will read the committed product
+            return;
+        }
+        update.accept(index);
+    }
+
+    /**
+     * @return the number of documents held by the index, removed ones included.
+     */
+    int documentCount() {
+        Index current = index;
+        return current == null ? 0 : current.documentCount();
+    }
+
+    /**
+     * Search the products matching a text, the most relevant first.
+     *
+     * @param text the text searched, words of a name or a code.
+     * @param limit the maximum number of products returned, at most {@value #MAX_RESULTS}.
+     * @return the ids of the matching products.
+     */
+    public List<Long> search(String text, int limit) {
+        if (text == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String query = text.length() > MAX_QUERY_LENGTH ? text.substring(0, MAX_QUERY_LENGTH) : text;
+        Set<String> nameTrigrams = trigrams(query, false);
+        if (nameTrigrams.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Index current = index;
+        if (current == null) {
+            reload();
+            current = index;
+        }
+        return current.search(nameTrigrams, trigrams(query, true), Math.min(limit, MAX_RESULTS));
+    }
+
+    /**
+     * Cut a text in trigrams, padded at both ends of each word.
+     *
+     * @param text the text.
+     * @param code {@code true} to read the text as a single code, ignoring its separators.
+     * @return the distinct trigrams of the text.
+     */
+    static Set<String> trigrams(String text, boolean code) {
+        Set<String> trigrams = new HashSet<>();
+        if (text == null) {
+            return trigrams;
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        String[] words = code ? new String[] { SEPARATORS.matcher(normalized).replaceAll("") } : SEPARATORS.split(normalized);
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "$" + word + "$";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * Inverted index from trigrams to the fields holding them, names and codes apart.
+     * <p>
+     * Fields are numbered {@code document * FIELDS.length + field}, where documents are numbered in indexing order, so
+     * that every posting list is sorted. A product written again gets a new document, its previous document is only
+     * marked removed and left in the posting lists, until removed documents reach {@value #MIN_REMOVED_TO_COMPACT} and
+     * outnumber the live ones. The index is then compacted: live documents are renumbered in order and the posting
+     * lists rewritten without the removed ones, so that the index stays proportional to the catalog.
+     * <p>
+     * As a field must hold at least half of the trigrams of a search, it holds at least one of the trigrams with the
+     * shortest posting lists past that half. Only those lists are merged to find the candidate fields, which are then
+     * looked up in the longer lists, skipping through them.
+     */
+    private static final class Index {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final Map<String, Postings> namePostings = new HashMap<>();
+
+        private final Map<String, Postings> codePostings = new HashMap<>();
+
+        private final Map<Long, Integer> documents = new HashMap<>();
+
+        private long[] productIds = new long[1024];
+
+        private short[] trigramCounts = new short[productIds.length * FIELDS.length];
+
+        private int documentCount;
+
+        private int removedCount;
+
+        void put(Long productId, String... values) {
+            lock.writeLock().lock();
+            try {
+                removeDocument(productId);
+                int document = documentCount++;
+                if (document == productIds.length) {
+                    productIds = Arrays.copyOf(productIds, productIds.length * 2);
+                    trigramCounts = Arrays.copyOf(trigramCounts, productIds.length * FIELDS.length);
+                }
+                productIds[document] = productId;
+                documents.put(productId, document);
+                for (Field field : FIELDS) {
+                    int entry = document * FIELDS.length + field.ordinal();
+                    Set<String> trigrams = trigrams(values[field.ordinal()], field.code);
+                    trigramCounts[entry] = (short) Math.min(trigrams.size(), Short.MAX_VALUE);
+                    Map<String, Postings> postings = field.code ? codePostings : namePostings;
+                    for (String trigram : trigrams) {
+                        postings.computeIfAbsent(trigram, key -> new Postings()).add(entry);
+                    }
+                }
+                compactIfSparse();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Release the room left at the end of the posting lists while they grew.
+         */
+        void trim() {
+            lock.writeLock().lock();
+            try {
+                namePostings.values().forEach(Postings::trim);
+                codePostings.values().forEach(Postings::trim);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long productId) {
+            lock.writeLock().lock();
+            try {
+                removeDocument(productId);
+                compactIfSparse();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int documentCount() {
+            lock.readLock().lock();
+            try {
+                return documentCount;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void removeDocument(Long productId) {
+            Integer document = documents.remove(productId);
+            if (document != null) {
+                productIds[document] = 0L;
+                removedCount++;
+            }
+        }
+
+        private void compactIfSparse() {
+            if (removedCount < MIN_REMOVED_TO_COMPACT || removedCount <= documentCount - removedCount) {
+                return;
+            }
+            // live documents keep their order, so that the rewritten posting lists stay sorted
+            int[] renumbered = new int[documentCount];
+            int live = 0;
+            for (int document = 0; document < documentCount; document++) {
+                if (productIds[document] == 0L) {
+                    renumbered[document] = -1;
+                    continue;
+                }
+                renumbered[document] = live;
+                productIds[live] = productIds[document];
+                System.arraycopy(trigramCounts, document * FIELDS.length, trigramCounts, live * FIELDS.length, FIELDS.length);
+                documents.put(productIds[live], live);
+                live++;
+            }
+            Arrays.fill(productIds, live, documentCount, 0L);
+            documentCount = live;
+            removedCount = 0;
+            namePostings.values().removeIf(postings -> postings.renumber(renumbered) == 0);
+            codePostings.values().removeIf(postings -> postings.renumber(renumbered) == 0);
+        }
+
+        List<Long> search(Set<String> nameTrigrams, Set<String> codeTrigrams, int limit) {
+            lock.readLock().lock();
+            try {
+                Matches names = match(namePostings, nameTrigrams);
+                Matches codes = match(codePostings, codeTrigrams);
+                return rank(names, codes, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Score the fields holding at least half of the trigrams of a search, in field order.
+         */
+        private Matches match(Map<String, Postings> postings, Set<String> trigrams) {
+            Matches matches = new Matches();
+            int queryCount = trigrams.size();
+            int needed = Math.max(1, (int) Math.ceil(queryCount * MIN_COVERAGE));
+            List<Postings> lists = new ArrayList<>(queryCount);
+            for (String trigram : trigrams) {
+                Postings list = postings.get(trigram);
+                if (list != null) {
+                    lists.add(list);
+                }
+            }
+            if (lists.size() < needed) {
+                return matches;
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            int candidateCount = lists.size() - needed + 1;
+            int[] skipCursors = new int[lists.size()];
+            Merge merge = new Merge(lists.subList(0, candidateCount));
+            while (merge.next()) {
+                int entry = merge.entry;
+                int matched = merge.matched;
+                for (int i = candidateCount; i < lists.size() && matched + lists.size() - i >= needed; i++) {
+                    Postings list = lists.get(i);
+                    skipCursors[i] = list.skipTo(skipCursors[i], entry);
+                    if (skipCursors[i] < list.size && list.entries[skipCursors[i]] == entry) {
+                        matched++;
+                    }
+                }
+                if (matched >= needed) {
+                    // mostly the share of the search the field holds, then how little else it holds
+                    Field field = FIELDS[entry % FIELDS.length];
+                    float coverage = (float) matched / queryCount;
+                    float dice = 2f * matched / (queryCount + trigramCounts[entry]);
+                    matches.add(entry / FIELDS.length, field.weight * (3f * coverage + dice) / 4f);
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * Keep the best score of each document across its name and code fields, and the best documents.
+         */
+        private List<Long> rank(Matches names, Matches codes, int limit) {
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, Hit.BEST_FIRST.reversed());
+            int n = 0;
+            int c = 0;
+            while (n < names.size || c < codes.size) {
+                int document = Math.min(
+                    n < names.size ? names.documents[n] : Integer.MAX_VALUE,
+                    c < codes.size ? codes.documents[c] : Integer.MAX_VALUE
+                );
+                float score = 0f;
+                for (; n < names.size && names.documents[n] == document; n++) {
+                    score = Math.max(score, names.scores[n]);
+                }
+                for (; c < codes.size && codes.documents[c] == document; c++) {
+                    score = Math.max(score, codes.scores[c]);
+                }
+                if (productIds[document] != 0L && (best.size() < limit || score >= best.peek().score)) {
+                    best.add(new Hit(productIds[document], score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(Hit.BEST_FIRST);
+            List<Long> ids = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                ids.add(hit.productId);
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Sorted list of the fields holding one trigram.
+     */
+    private static final class Postings {
+
+        private int[] entries = new int[4];
+
+        private int size;
+
+        void add(int entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+
+        void trim() {
+            entries = Arrays.copyOf(entries, size);
+        }
+
+        /**
+         * Drop the entries of removed documents and move the others to their new document number.
+         *
+         * @return the number of entries left.
+         */
+        int renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int document = renumbered[entries[i] / FIELDS.length];
+                if (document >= 0) {
+                    entries[kept++] = document * FIELDS.length + entries[i] % FIELDS.length;
+                }
+            }
+            size = kept;
+            trim();
+            return size;
+        }
+
+        /**
+         * Find the first position from a cursor holding an entry at least equal to a target, galloping then bisecting.
+         */
+        int skipTo(int from, int target) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && entries[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (entries[middle] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Merges posting lists in entry order, counting the lists holding each entry.
+     */
+    private static final class Merge {
+
+        private final int[][] lists;
+
+        private final int[] ends;
+
+        private final int[] cursors;
+
+        private final int[] heap;
+
+        private int size;
+
+        private int entry;
+
+        private int matched;
+
+        Merge(List<Postings> postings) {
+            size = postings.size();
+            lists = new int[size][];
+            ends = new int[size];
+            cursors = new int[size];
+            heap = new int[size];
+            for (int i = 0; i < size; i++) {
+                lists[i] = postings.get(i).entries;
+                ends[i] = postings.get(i).size;
+                heap[i] = i;
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        boolean next() {
+            if (size == 0) {
+                return false;
+            }
+            entry = head(0);
+            matched = 0;
+            while (size > 0 && head(0) == entry) {
+                matched++;
+                int list = heap[0];
+                if (++cursors[list] == ends[list]) {
+                    heap[0] = heap[--size];
+                }
+                siftDown(0);
+            }
+            return true;
+        }
+
+        private int head(int i) {
+            return lists[heap[i]][cursors[heap[i]]];
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                    if (head(child) < head(smallest)) {
+                        smallest = child;
+                    }
+                }
+                if (smallest == i) {
+                    return;
+                }
+                int swapped = heap[i];
+                heap[i] = heap[smallest];
+                heap[smallest] = swapped;
+                i = smallest;
+            }
+        }
+    }
+
+    /**
+     * Scored fields of one search, in field order.
+     */
+    private static final class Matches {
+
+        private int[] documents = new int[16];
+
+        private float[] scores = new float[16];
+
+        private int size;
+
+        void add(int document, float score) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            documents[size] = document;
+            scores[size++] = score;
+        }
+    }
+
+    private static final class Hit {
+
+        static final Comparator<Hit> BEST_FIRST = Comparator
+            .comparingDouble((Hit hit) -> hit.score)
+            .reversed()
+            .thenComparingLong(hit -> hit.productId);
+
+        private final long productId;
+
+        private final float score;
+
+        Hit(long productId, float score) {
+            this.productId = productId;
+            this.score = score;
+        }
+    }
+}
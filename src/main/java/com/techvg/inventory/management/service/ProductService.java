@@ -1,6 +1,7 @@
 package com.techvg.inventory.management.service;
 
 import com.techvg.inventory.management.domain.Product;
+import com.techvg.inventory.management.repository.ProductImageInfo;
 import com.techvg.inventory.management.repository.ProductRepository;
 import com.techvg.inventory.management.service.dto.ProductDTO;
 import com.techvg.inventory.management.service.mapper.ProductMapper;
@@ -25,42 +26,92 @@ public class ProductService {
 
     private final ProductMapper productMapper;
 
-    public ProductService(ProductRepository productRepository, ProductMapper productMapper) {
+    private final CriteriaResultCache criteriaResultCache;
+
+    private final ProductSearchIndex productSearchIndex;
+
+    private final ProductCodeIndex productCodeIndex;
+
+    private final ProductImageService productImageService;
+
+    public ProductService(
+        ProductRepository productRepository,
+        ProductMapper productMapper,
+        CriteriaResultCache criteriaResultCache,
+        ProductSearchIndex productSearchIndex,
+        ProductCodeIndex productCodeIndex,
+        ProductImageService productImageService
+    ) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.criteriaResultCache = criteriaResultCache;
+        this.productSearchIndex = productSearchIndex;
+        this.productCodeIndex = productCodeIndex;
+        this.productImageService = productImageService;
     }
 
     /**
-     * Save a product.
+     * Save a product. Its material image is replaced when the DTO holds one, deleted when the DTO has no image
+     * content type, and kept otherwise.
      *
      * @param productDTO the entity to save.
      * @return the persisted entity.
      */
     public ProductDTO save(ProductDTO productDTO) {
         log.debug("Request to save Product : {}", productDTO);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
         Product product = productMapper.toEntity(productDTO);
-        product = productRepository.save(product);
-        return productMapper.toDto(product);
+        product = productRepository.save(withoutBlankCodes(product));
+        if (productDTO.getMaterialImage() != null) {
+            product.setMaterialImageHash(
+                productImageService.save(product.getId(), productDTO.getMaterialImage(), productDTO.getMaterialImageContentType())
+            );
+        } else if (productDTO.getMaterialImageContentType() == null) {
+            productImageService.delete(product.getId());
+            product.setMaterialImageHash(null);
+        } else {
+            product.setMaterialImageHash(productImageService.findInfo(product.getId()).map(ProductImageInfo::getContentHash).orElse(null));
+        }
+        ProductDTO result = productMapper.toDto(product);
+        productSearchIndex.post(result);
+        productCodeIndex.post(result);
+        return result;
     }
 
     /**
-     * Partially update a product.
+     * Partially update a product. Its material image is only replaced when the DTO holds one.
      *
      * @param productDTO the entity to update partially.
      * @return the persisted entity.
      */
     public Optional<ProductDTO> partialUpdate(ProductDTO productDTO) {
         log.debug("Request to partially update Product : {}", productDTO);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
 
         return productRepository
             .findById(productDTO.getId())
             .map(existingProduct -> {
                 productMapper.partialUpdate(existingProduct, productDTO);
+                if (productDTO.getMaterialImage() != null) {
+                    existingProduct.setMaterialImageHash(
+                        productImageService.save(
+                            existingProduct.getId(),
+                            productDTO.getMaterialImage(),
+                            existingProduct.getMaterialImageContentType()
+                        )
+                    );
+                }
 
-                return existingProduct;
+                return withoutBlankCodes(existingProduct);
             })
             .map(productRepository::save)
-            .map(productMapper::toDto);
+            .map(productMapper::toDto)
+            .map(result -> {
+                productSearchIndex.post(result);
+                productCodeIndex.post(result);
+
+                return result;
+            });
     }
 
     /**
@@ -103,6 +154,23 @@ public class ProductService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Product : {}", id);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
+        productImageService.delete(id);
         productRepository.deleteById(id);
+        productSearchIndex.remove(id);
+        productCodeIndex.remove(id);
+    }
+
+    /**
+     * Store blank bar and QR codes as {@code null}, as each code may only be held by one product.
+     */
+    private static Product withoutBlankCodes(Product product) {
+        if (product.getBarCode() != null && product.getBarCode().trim().isEmpty()) {
+            product.setBarCode(null);
+        }
+        if (product.getQrCode() != null && product.getQrCode().trim().isEmpty()) {
+            product.setQrCode(null);
+        }
+        return product;
     }
 }
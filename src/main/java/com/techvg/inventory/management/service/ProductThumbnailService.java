@@ -0,0 +1,286 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.domain.ProductImage;
+import com.techvg.inventory.management.repository.ProductImageRepository;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Thumbnails of the material images of the products, in the fixed {@link Size sizes}.
+ * <p>
+ * Thumbnails are generated on the {@code thumbnailExecutor}, never in a request thread: when an image is saved, once
+ * its transaction commits, or when a missing thumbnail is first requested. They are stored as JPEG files named after
+ * the SHA-256 of their image under {@code app.file.thumbnail-dir}, so they never change once written.
+ * <p>
+ * The dimensions of an image are read from its header before it is decoded: images above {@value #MAX_PIXELS} pixels
+ * get no thumbnails, and large ones are decoded subsampled, so that decoding never holds more than a few thumbnails
+ * worth of pixels. Images that cannot be decoded, in a format without a reader such as WebP or SVG or too large, are
+ * remembered until the application restarts and their thumbnails are not requested again.
+ */
+@Service
+public class ProductThumbnailService {
+
+    public static final String CONTENT_TYPE = "image/jpeg";
+
+    static final long MAX_PIXELS = 100_000_000L;
+
+    /**
+     * Sizes of the thumbnails, in pixels of the longest side. Images smaller than a size are not enlarged.
+     */
+    public enum Size {
+        SMALL(96),
+        MEDIUM(320);
+
+        private final int pixels;
+
+        Size(int pixels) {
+            this.pixels = pixels;
+        }
+
+        public int getPixels() {
+            return pixels;
+        }
+
+        public static Optional<Size> fromName(String name) {
+            for (Size size : values()) {
+                if (size.name().equalsIgnoreCase(name)) {
+                    return Optional.of(size);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private final Logger log = LoggerFactory.getLogger(ProductThumbnailService.class);
+
+    private final Path thumbnailLocation;
+
+    private final ProductImageRepository productImageRepository;
+
+    private final Executor thumbnailExecutor;
+
+    // hashes of the images whose thumbnails are being generated, so that each is only generated once at a time
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    // hashes of the images which cannot be decoded, so that their thumbnails are not generated again on each request
+    private final Set<String> undecodable = ConcurrentHashMap.newKeySet();
+
+    public ProductThumbnailService(
+        Environment env,
+        ProductImageRepository productImageRepository,
+        @Qualifier("thumbnailExecutor") Executor thumbnailExecutor
+    ) {
+        this.thumbnailLocation = Paths.get(env.getProperty("app.file.thumbnail-dir", "./uploads/thumbnails")).toAbsolutePath().normalize();
+        this.productImageRepository = productImageRepository;
+        this.thumbnailExecutor = thumbnailExecutor;
+    }
+
+    /**
+     * Generate the thumbnails of a saved image, once the current transaction commits.
+     *
+     * @param contentHash the SHA-256 of the image.
+     * @param content the image.
+     */
+    public void generateThumbnails(String contentHash, byte[] content) {
+        afterCommit(() -> submit(contentHash, () -> content));
+    }
+
+    /**
+     * Find a thumbnail of the image of a product. A missing thumbnail is generated in the background.
+     *
+     * @param productId the id of the product.
+     * @param contentHash the SHA-256 of the current image of the product.
+     * @param size the size of the thumbnail.
+     * @return the thumbnail file, empty if it is not generated yet.
+     */
+    public Optional<Path> findThumbnail(Long productId, String contentHash, Size size) {
+        Path thumbnail = thumbnailPath(contentHash, size);
+        if (Files.isRegularFile(thumbnail)) {
+            return Optional.of(thumbnail);
+        }
+        if (undecodable.contains(contentHash)) {
+            return Optional.empty();
+        }
+        submit(
+            contentHash,
+            () ->
+                productImageRepository
+                    .findById(productId)
+                    .filter(image -> contentHash.equals(image.getContentHash()))
+                    .map(ProductImage::getContent)
+                    .orElse(null)
+        );
+        return Optional.empty();
+    }
+
+    private void submit(String contentHash, Supplier<byte[]> content) {
+        if (!pending.add(contentHash)) {
+            return;
+        }
+        try {
+            thumbnailExecutor.execute(() -> {
+                try {
+                    writeThumbnails(contentHash, content.get());
+                } finally {
+                    pending.remove(contentHash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(contentHash);
+            log.debug("Thumbnail executor is saturated, the thumbnails of {} are left for a later request", contentHash);
+        }
+    }
+
+    /**
+     * Write the missing thumbnails of an image.
+     *
+     * @param contentHash the SHA-256 of the image.
+     * @param content the image, {@code null} if it is gone.
+     */
+    void writeThumbnails(String contentHash, byte[] content) {
+        if (content == null) {
+            return;
+        }
+        try {
+            BufferedImage image = decode(contentHash, content);
+            if (image == null) {
+                undecodable.add(contentHash);
+                return;
+            }
+            for (Size size : Size.values()) {
+                Path thumbnail = thumbnailPath(contentHash, size);
+                if (Files.exists(thumbnail)) {
+                    continue;
+                }
+                Files.createDirectories(thumbnail.getParent());
+                Path temporaryFile = Files.createTempFile(thumbnail.getParent(), contentHash, ".tmp");
+                try {
+                    ImageIO.write(scale(image, size.getPixels()), "jpg", temporaryFile.toFile());
+                    Files.move(temporaryFile, thumbnail, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(temporaryFile);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write the thumbnails of image {}: {}", contentHash, e.getMessage());
+        }
+    }
+
+    /**
+     * Decode an image, subsampled to a few times the largest thumbnail once its dimensions are read from its header.
+     *
+     * @return the image, {@code null} if it cannot be decoded.
+     */
+    private BufferedImage decode(String contentHash, byte[] content) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                log.debug("Image {} is in a format without a reader, it gets no thumbnails", contentHash);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    log.warn(
+                        "Image {} is {}x{} pixels, above the maximum of {}, it gets no thumbnails",
+                        contentHash,
+                        width,
+                        height,
+                        MAX_PIXELS
+                    );
+                    return null;
+                }
+                int subsampling = Math.max(1, Math.max(width, height) / (4 * Size.MEDIUM.getPixels()));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not decode image {}, it gets no thumbnails: {}", contentHash, e.getMessage());
+            return null;
+        }
+    }
+
+    private Path thumbnailPath(String contentHash, Size size) {
+        return thumbnailLocation
+            .resolve(contentHash.substring(0, 2))
+            .resolve(contentHash + "-" + size.name().toLowerCase(Locale.ROOT) + ".jpg");
+    }
+
+    /**
+     * Scale an image down to fit a square, halving it in steps: a single bilinear pass from a large image would skip
+     * most of its pixels. Transparent pixels are drawn on white, as JPEG has no transparency.
+     */
+    static BufferedImage scale(BufferedImage image, int pixels) {
+        double ratio = Math.min(1d, Math.min((double) pixels / image.getWidth(), (double) pixels / image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        BufferedImage scaled = image;
+        int stepWidth = image.getWidth();
+        int stepHeight = image.getHeight();
+        do {
+            stepWidth = Math.max(width, stepWidth / 2);
+            stepHeight = Math.max(height, stepHeight / 2);
+            BufferedImage step = new BufferedImage(stepWidth, stepHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, stepWidth, stepHeight);
+                graphics.drawImage(scaled, 0, 0, stepWidth, stepHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            scaled = step;
+        } while (stepWidth != width || stepHeight != height);
+        return scaled;
+    }
+
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            }
+        );
+    }
+}
@@ -12,10 +12,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link ProductTransaction} entities in the database.
@@ -24,8 +24,8 @@ import tech.jhipster.service.QueryService;
  * It returns a {@link List} of {@link ProductTransactionDTO} or a {@link Page} of {@link ProductTransactionDTO} which fulfills the criteria.
  */
 @Service
-@Transactional(readOnly = true)
-public class ProductTransactionQueryService extends QueryService<ProductTransaction> {
+@Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+public class ProductTransactionQueryService extends KeysetQueryService<ProductTransaction> {
 
     private final Logger log = LoggerFactory.getLogger(ProductTransactionQueryService.class);
 
@@ -41,12 +41,17 @@ public class ProductTransactionQueryService extends QueryService<ProductTransact
         this.productTransactionMapper = productTransactionMapper;
     }
 
+    @Override
+    protected String getEntityGraphName() {
+        return "ProductTransaction.list";
+    }
+
     /**
      * Return a {@link List} of {@link ProductTransactionDTO} which matches the criteria from the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public List<ProductTransactionDTO> findByCriteria(ProductTransactionCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<ProductTransaction> specification = createSpecification(criteria);
@@ -59,19 +64,48 @@ public class ProductTransactionQueryService extends QueryService<ProductTransact
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public Page<ProductTransactionDTO> findByCriteria(ProductTransactionCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<ProductTransaction> specification = createSpecification(criteria);
         return productTransactionRepository.findAll(specification, page).map(productTransactionMapper::toDto);
     }
 
+    /**
+     * Return a {@link KeysetSlice} of {@link ProductTransactionDTO} which matches the criteria from the database,
+     * seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<ProductTransactionDTO> findByCriteria(ProductTransactionCriteria criteria, Pageable page, String after) {
+        log.debug("find by criteria : {}, page: {}, after: {}", criteria, page, after);
+        final Specification<ProductTransaction> specification = createSpecification(criteria);
+        return findAfter(specification, page, after).map(productTransactionMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link ProductTransactionDTO} which matches the criteria from the database,
+     * without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<ProductTransactionDTO> findSliceByCriteria(ProductTransactionCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<ProductTransaction> specification = createSpecification(criteria);
+        return findSlice(specification, page).map(productTransactionMapper::toDto);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public long countByCriteria(ProductTransactionCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<ProductTransaction> specification = createSpecification(criteria);
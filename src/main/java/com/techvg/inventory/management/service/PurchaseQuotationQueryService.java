@@ -6,16 +6,17 @@ import com.techvg.inventory.management.service.criteria.PurchaseQuotationCriteri
 import com.techvg.inventory.management.service.dto.PurchaseQuotationDTO;
 import com.techvg.inventory.management.service.mapper.PurchaseQuotationMapper;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link PurchaseQuotation} entities
@@ -25,8 +26,8 @@ import tech.jhipster.service.QueryService;
  * {@link Page} of {@link PurchaseQuotationDTO} which fulfills the criteria.
  */
 @Service
-@Transactional(readOnly = true)
-public class PurchaseQuotationQueryService extends QueryService<PurchaseQuotation> {
+@Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+public class PurchaseQuotationQueryService extends KeysetQueryService<PurchaseQuotation> {
 
     private final Logger log = LoggerFactory.getLogger(PurchaseQuotationQueryService.class);
 
@@ -50,7 +51,7 @@ public class PurchaseQuotationQueryService extends QueryService<PurchaseQuotatio
      *                 should match.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public List<PurchaseQuotationDTO> findByCriteria(PurchaseQuotationCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<PurchaseQuotation> specification = createSpecification(criteria);
@@ -73,7 +74,7 @@ public class PurchaseQuotationQueryService extends QueryService<PurchaseQuotatio
      * @param page     The page, which should be returned.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public Page<PurchaseQuotationDTO> findByCriteria(PurchaseQuotationCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<PurchaseQuotation> specification = createSpecification(criteria);
@@ -88,6 +89,98 @@ public class PurchaseQuotationQueryService extends QueryService<PurchaseQuotatio
         return pageQuotations.map(purchaseQuotationMapper::toDto);
     }
 
+    /**
+     * Return a {@link KeysetSlice} of {@link PurchaseQuotationDTO} which matches the criteria from the database,
+     * seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<PurchaseQuotationDTO> findByCriteria(PurchaseQuotationCriteria criteria, Pageable page, String after) {
+        log.debug("find by criteria : {}, page: {}, after: {}", criteria, page, after);
+        final Specification<PurchaseQuotation> specification = createSpecification(criteria);
+        KeysetSlice<PurchaseQuotation> sliceQuotations = findAfter(specification, page, after);
+        for (PurchaseQuotation purchaseObj : sliceQuotations.getContent()) {
+            if (!purchaseObj.getPurchaseQuotationDetails().isEmpty()) {
+                purchaseObj.setPurchaseQuotationDetails(null);
+            }
+        }
+        return sliceQuotations.map(purchaseQuotationMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link PurchaseQuotationDTO} which matches the criteria from the database,
+     * without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<PurchaseQuotationDTO> findSliceByCriteria(PurchaseQuotationCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<PurchaseQuotation> specification = createSpecification(criteria);
+        Slice<PurchaseQuotation> sliceQuotations = findSlice(specification, page);
+        for (PurchaseQuotation purchaseObj : sliceQuotations.getContent()) {
+            if (!purchaseObj.getPurchaseQuotationDetails().isEmpty()) {
+                purchaseObj.setPurchaseQuotationDetails(null);
+            }
+        }
+        return sliceQuotations.map(purchaseQuotationMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Page} of some fields of the {@link PurchaseQuotationDTO} which match the criteria from the database,
+     * reading the columns of those fields only.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The names of the {@link PurchaseQuotationDTO} fields returned, besides the id.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Page<Map<String, Object>> findFieldsByCriteria(PurchaseQuotationCriteria criteria, Pageable page, List<String> fields) {
+        log.debug("find fields by criteria : {}, page: {}, fields: {}", criteria, page, fields);
+        final Specification<PurchaseQuotation> specification = createSpecification(criteria);
+        return findFields(specification, page, fields, PurchaseQuotationDTO.class, () -> purchaseQuotationRepository.count(specification));
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of some fields of the {@link PurchaseQuotationDTO} which match the criteria from the database,
+     * reading the columns of those fields only and seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @param fields The names of the {@link PurchaseQuotationDTO} fields returned, besides the id.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<Map<String, Object>> findFieldsByCriteria(
+        PurchaseQuotationCriteria criteria,
+        Pageable page,
+        String after,
+        List<String> fields
+    ) {
+        log.debug("find fields by criteria : {}, page: {}, after: {}, fields: {}", criteria, page, after, fields);
+        final Specification<PurchaseQuotation> specification = createSpecification(criteria);
+        return findFieldsAfter(specification, page, after, fields, PurchaseQuotationDTO.class);
+    }
+
+    /**
+     * Return a {@link Slice} of some fields of the {@link PurchaseQuotationDTO} which match the criteria from the database,
+     * reading the columns of those fields only, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The names of the {@link PurchaseQuotationDTO} fields returned, besides the id.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<Map<String, Object>> findFieldsSliceByCriteria(PurchaseQuotationCriteria criteria, Pageable page, List<String> fields) {
+        log.debug("find fields slice by criteria : {}, page: {}, fields: {}", criteria, page, fields);
+        final Specification<PurchaseQuotation> specification = createSpecification(criteria);
+        return findFieldsSlice(specification, page, fields, PurchaseQuotationDTO.class);
+    }
+
     /**
      * Return the number of matching entities in the database.
      *
@@ -95,7 +188,7 @@ public class PurchaseQuotationQueryService extends QueryService<PurchaseQuotatio
      *                 should match.
      * @return the number of matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public long countByCriteria(PurchaseQuotationCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<PurchaseQuotation> specification = createSpecification(criteria);
@@ -0,0 +1,164 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionTimedOutException;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.QueryService;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+
+/**
+ * Guard against criteria queries which would read large parts of big tables, applied to every {@link QueryService}.
+ * <p>
+ * Pages may hold at most {@code application.query-guard.max-page-size} entities. The queries reading the rows of an
+ * entity listed under {@code application.query-guard.selective-filters}, such as {@code findByCriteria}, must set one
+ * of the filters listed for it to an equality, an {@code in} list or a range bound; {@code contains},
+ * {@code notEquals} and {@code specified} filters do not narrow an index lookup and do not count. Counts and
+ * aggregates, such as {@code countByCriteria} or {@code findStockByCriteria}, are not held to the selective filters.
+ * No entity is listed by default, as the list pages of the web application query without filters. Rejected queries
+ * throw a {@link QueryRejectedException}.
+ * <p>
+ * The transactions of the query services time out after {@code application.query-guard.timeout-seconds}, see
+ * {@link #TIMEOUT}, which Spring passes on to each of their JPA queries as the {@code javax.persistence.query.timeout}
+ * hint so that the database cancels them.
+ * <p>
+ * Rejections are counted by the {@value #REJECTIONS_METER_NAME} meter, tagged with the entity and the reason, and
+ * timeouts by the {@value #TIMEOUTS_METER_NAME} meter, tagged with the entity.
+ */
+@Aspect
+@Component
+public class QueryCostGuard {
+
+    /**
+     * Timeout of the transactions of the query services, in seconds.
+     */
+    public static final String TIMEOUT = "${application.query-guard.timeout-seconds:30}";
+
+    public static final String REJECTIONS_METER_NAME = "query.guard.rejections";
+
+    public static final String TIMEOUTS_METER_NAME = "query.guard.timeouts";
+
+    private static final Pattern ROW_QUERIES = Pattern.compile("find(Fields)?(Slice)?ByCriteria");
+
+    private final Logger log = LoggerFactory.getLogger(QueryCostGuard.class);
+
+    private final int maxPageSize;
+
+    private final Map<String, List<String>> selectiveFilters = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private final MeterRegistry meterRegistry;
+
+    // set while a query service runs, so that a timeout in a nested query service is counted once
+    private final ThreadLocal<Boolean> guarding = new ThreadLocal<>();
+
+    public QueryCostGuard(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.maxPageSize = applicationProperties.getQueryGuard().getMaxPageSize();
+        this.selectiveFilters.putAll(applicationProperties.getQueryGuard().getSelectiveFilters());
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(tech.jhipster.service.QueryService+) && execution(public * *(..))")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        String entityName = AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName().replaceFirst("QueryService$", "");
+        Criteria criteria = null;
+        Pageable page = null;
+        for (Object arg : joinPoint.getArgs()) {
+            if (arg instanceof Criteria && criteria == null) {
+                criteria = (Criteria) arg;
+            } else if (arg instanceof Pageable) {
+                page = (Pageable) arg;
+            }
+        }
+        String methodName = joinPoint.getSignature().getName();
+        check(entityName, ROW_QUERIES.matcher(methodName).matches() ? criteria : null, page);
+        boolean outermost = guarding.get() == null;
+        if (outermost) {
+            guarding.set(Boolean.TRUE);
+        }
+        try {
+            return joinPoint.proceed();
+        } catch (QueryTimeoutException | javax.persistence.QueryTimeoutException | TransactionTimedOutException e) {
+            if (outermost) {
+                log.warn("{} query {} timed out: {}", entityName, methodName, e.getMessage());
+                meterRegistry.counter(TIMEOUTS_METER_NAME, "entity", entityName).increment();
+            }
+            throw e;
+        } finally {
+            if (outermost) {
+                guarding.remove();
+            }
+        }
+    }
+
+    /**
+     * Check that a query is cheap enough to run.
+     *
+     * @param entityName the name of the entity queried, such as {@code ProductInventory}.
+     * @param criteria the criteria of the query, {@code null} if it has none or is not held to the selective filters.
+     * @param page the page read, {@code null} if the query is not paged.
+     * @throws QueryRejectedException if the query may not run.
+     */
+    void check(String entityName, Criteria criteria, Pageable page) {
+        if (page != null && page.isPaged() && page.getPageSize() > maxPageSize) {
+            reject(entityName, "page-size", "Page size " + page.getPageSize() + " is above the maximum of " + maxPageSize);
+        }
+        List<String> filters = selectiveFilters.get(entityName);
+        if (criteria != null && filters != null && !isSelective(criteria, filters)) {
+            reject(entityName, "unfiltered", entityName + " queries must filter on one of " + filters);
+        }
+    }
+
+    private void reject(String entityName, String reason, String message) {
+        log.debug("Rejected {} query: {}", entityName, message);
+        meterRegistry.counter(REJECTIONS_METER_NAME, "entity", entityName, "reason", reason).increment();
+        throw new QueryRejectedException(message);
+    }
+
+    private static boolean isSelective(Criteria criteria, List<String> filters) {
+        BeanWrapper wrapper = new BeanWrapperImpl(criteria);
+        for (String property : filters) {
+            Object filter = wrapper.isReadableProperty(property) ? wrapper.getPropertyValue(property) : null;
+            if (filter instanceof Filter && isSelective((Filter<?>) filter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSelective(Filter<?> filter) {
+        if (filter.getEquals() != null || isNotEmpty(filter.getIn())) {
+            return true;
+        }
+        if (filter instanceof RangeFilter) {
+            RangeFilter<?> range = (RangeFilter<?>) filter;
+            return (
+                range.getGreaterThan() != null ||
+                range.getGreaterThanOrEqual() != null ||
+                range.getLessThan() != null ||
+                range.getLessThanOrEqual() != null
+            );
+        }
+        return false;
+    }
+
+    private static boolean isNotEmpty(Collection<?> values) {
+        return values != null && !values.isEmpty();
+    }
+}
@@ -0,0 +1,10 @@
+package com.techvg.inventory.management.service;
+
+public class QueryRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public QueryRejectedException(String message) {
+        super(message);
+    }
+}
@@ -45,6 +45,8 @@ public class SecurityUserService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final CriteriaResultCache criteriaResultCache;
+
     @Autowired
     private UserAccessService userAccessService;
 
@@ -55,12 +57,14 @@ public class SecurityUserService {
         SecurityUserRepository securityUserRepository,
         SecurityUserMapper securityUserMapper,
         LoginUserMapper loginUserMapper,
-        PasswordEncoder passwordEncoder
+        PasswordEncoder passwordEncoder,
+        CriteriaResultCache criteriaResultCache
     ) {
         this.securityUserRepository = securityUserRepository;
         this.securityUserMapper = securityUserMapper;
         this.loginUserMapper = loginUserMapper;
         this.passwordEncoder = passwordEncoder;
+        this.criteriaResultCache = criteriaResultCache;
     }
 
     /**
@@ -71,6 +75,7 @@ public class SecurityUserService {
      */
     public SecurityUserDTO save(SecurityUserDTO securityUserDTO) {
         log.debug("Request to save SecurityUser : {}", securityUserDTO);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
         SecurityUser securityUser = securityUserMapper.toEntity(securityUserDTO);
 
         if (securityUser.getPasswordHash().length() < 12) {
@@ -105,6 +110,7 @@ public class SecurityUserService {
      */
     public Optional<SecurityUserDTO> partialUpdate(SecurityUserDTO securityUserDTO) {
         log.debug("Request to partially update SecurityUser : {}", securityUserDTO);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
 
         return securityUserRepository
             .findById(securityUserDTO.getId())
@@ -157,6 +163,7 @@ public class SecurityUserService {
      */
     public void delete(Long id) {
         log.debug("Request to delete SecurityUser : {}", id);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
         securityUserRepository.deleteById(id);
     }
 
@@ -184,6 +191,7 @@ public class SecurityUserService {
 
     public Optional<SecurityUser> activateRegistration(String key) {
         log.debug("Activating user for activation key {}", key);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
         return securityUserRepository
             .findOneByActivationKey(key)
             .map(user -> {
@@ -197,6 +205,7 @@ public class SecurityUserService {
 
     public Optional<SecurityUser> completePasswordReset(String newPassword, String key) {
         log.debug("Reset user password for reset key {}", key);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
         return securityUserRepository
             .findOneByResetKey(key)
             .filter(user -> user.getResetDate().isAfter(Instant.now().minusSeconds(86400)))
@@ -209,6 +218,7 @@ public class SecurityUserService {
     }
 
     public Optional<SecurityUser> requestPasswordReset(String mail) {
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
         return securityUserRepository
             .findOneByEmailIgnoreCase(mail)
             .filter(SecurityUser::isActivated)
@@ -221,6 +231,7 @@ public class SecurityUserService {
 
     @Transactional
     public void changePassword(String currentClearTextPassword, String newPassword) {
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
         SecurityUtils
             .getCurrentUserLogin()
             .flatMap(securityUserRepository::findOneByLogin)
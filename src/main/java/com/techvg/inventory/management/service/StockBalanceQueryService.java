@@ -0,0 +1,149 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.domain.*; // for static metamodels
+import com.techvg.inventory.management.domain.StockBalance;
+import com.techvg.inventory.management.repository.StockBalanceRepository;
+import com.techvg.inventory.management.service.criteria.ProductCriteria;
+import com.techvg.inventory.management.service.criteria.ProductInventoryCriteria;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import com.techvg.inventory.management.service.mapper.ProductMapper;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Subquery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing stock queries against the {@link StockBalance} table.
+ * Ledger side filters come from a {@link ProductInventoryCriteria}, product side filters from a {@link ProductCriteria},
+ * and each matching balance is returned as a {@link ProductDTO} carrying its stock and wareHouse.
+ */
+@Service
+@Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+public class StockBalanceQueryService extends QueryService<StockBalance> {
+
+    private final Logger log = LoggerFactory.getLogger(StockBalanceQueryService.class);
+
+    private final StockBalanceRepository stockBalanceRepository;
+
+    private final ProductQueryService productQueryService;
+
+    private final ProductMapper productMapper;
+
+    public StockBalanceQueryService(
+        StockBalanceRepository stockBalanceRepository,
+        ProductQueryService productQueryService,
+        ProductMapper productMapper
+    ) {
+        this.stockBalanceRepository = stockBalanceRepository;
+        this.productQueryService = productQueryService;
+        this.productMapper = productMapper;
+    }
+
+    /**
+     * Return a {@link Page} of product stocks, one per product and wareHouse, which matches the criteria from the database.
+     * @param criteria The ledger filters, only the product and wareHouse ones apply to balances.
+     * @param productCriteria The product filters.
+     * @param page The page, which should be returned. Sort properties refer to {@link ProductDTO}.
+     * @return the matching product stocks.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Page<ProductDTO> findByCriteria(ProductInventoryCriteria criteria, ProductCriteria productCriteria, Pageable page) {
+        log.debug("find stock by criteria : {}, {}, page: {}", criteria, productCriteria, page);
+        final Specification<StockBalance> specification = createSpecification(criteria, productCriteria);
+        return stockBalanceRepository.findAll(specification, toBalancePageable(page)).map(this::toProductStock);
+    }
+
+    private ProductDTO toProductStock(StockBalance stockBalance) {
+        ProductDTO productDTO = productMapper.toDto(stockBalance.getProduct());
+        productDTO.setTotalStock(stockBalance.getBalance());
+        productDTO.setWareHouseId(stockBalance.getWareHouse().getId());
+        return productDTO;
+    }
+
+    /**
+     * Translate a {@link ProductDTO} sort into a {@link StockBalance} sort, with the id as tie breaker so pages are stable.
+     */
+    private Pageable toBalancePageable(Pageable page) {
+        if (page.isUnpaged()) {
+            return page;
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : page.getSort()) {
+            orders.add(order.withProperty(toBalanceProperty(order.getProperty())));
+        }
+        orders.add(Sort.Order.asc("id"));
+        return PageRequest.of(page.getPageNumber(), page.getPageSize(), Sort.by(orders));
+    }
+
+    private String toBalanceProperty(String property) {
+        switch (property) {
+            case "totalStock":
+                return "balance";
+            case "wareHouseId":
+                return "wareHouse.id";
+            default:
+                ProductInventoryQueryService.checkProductSortProperty(property);
+                return "product." + property;
+        }
+    }
+
+    /**
+     * Function to convert the ledger and product criteria to a {@link Specification}
+     * @param criteria The ledger filters, only the product and wareHouse ones apply to balances.
+     * @param productCriteria The product filters.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<StockBalance> createSpecification(ProductInventoryCriteria criteria, ProductCriteria productCriteria) {
+        Specification<StockBalance> specification = Specification.where(fetchProduct());
+        if (criteria != null) {
+            if (criteria.getProductId() != null) {
+                specification =
+                    specification.and(
+                        buildSpecification(criteria.getProductId(), root -> root.get(StockBalance_.product).get(Product_.id))
+                    );
+            }
+            if (criteria.getWareHouseId() != null) {
+                specification =
+                    specification.and(
+                        buildSpecification(criteria.getWareHouseId(), root -> root.get(StockBalance_.wareHouse).get(WareHouse_.id))
+                    );
+            }
+        }
+        if (productCriteria != null) {
+            specification = specification.and(matchingProducts(productCriteria));
+        }
+        return specification;
+    }
+
+    /**
+     * Fetch the product with the balances, except in the count query of a page.
+     */
+    private Specification<StockBalance> fetchProduct() {
+        return (root, query, builder) -> {
+            if (Long.class != query.getResultType() && long.class != query.getResultType()) {
+                root.fetch(StockBalance_.product, JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Restrict the balances to the products matching the {@link ProductQueryService} filters.
+     */
+    private Specification<StockBalance> matchingProducts(ProductCriteria productCriteria) {
+        return (root, query, builder) -> {
+            Subquery<Long> productIds = productQueryService.createIdSubquery(productCriteria, query, builder);
+            return productIds == null ? null : root.get(StockBalance_.product).get(Product_.id).in(productIds);
+        };
+    }
+}
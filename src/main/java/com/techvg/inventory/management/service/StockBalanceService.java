@@ -0,0 +1,132 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.domain.StockBalance;
+import com.techvg.inventory.management.repository.StockBalanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for maintaining {@link StockBalance} from the ProductInventory ledger.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class StockBalanceService {
+
+    private static final String INSERT_EMPTY_BALANCE =
+        "insert into stock_balance (product_id, ware_house_id, inward_qty, outward_qty, balance, reserved_qty, version) " +
+        "values (?, ?, 0, 0, 0, 0, 0)";
+
+    private final Logger log = LoggerFactory.getLogger(StockBalanceService.class);
+
+    private final StockBalanceRepository stockBalanceRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final StockLedger stockLedger;
+
+    private final StockCheckpointService stockCheckpointService;
+
+    private final StockLotService stockLotService;
+
+    private final StockValuationService stockValuationService;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public StockBalanceService(
+        StockBalanceRepository stockBalanceRepository,
+        JdbcTemplate jdbcTemplate,
+        StockLedger stockLedger,
+        StockCheckpointService stockCheckpointService,
+        StockLotService stockLotService,
+        StockValuationService stockValuationService,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
+        this.stockBalanceRepository = stockBalanceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.stockLedger = stockLedger;
+        this.stockCheckpointService = stockCheckpointService;
+        this.stockLotService = stockLotService;
+        this.stockValuationService = stockValuationService;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * Move the balances, lots and valuations from the previous state of a ledger row to its new state.
+     * Must run in the transaction which writes the ledger row, after the row is written; the {@link StockLedger}
+     * follows once it commits.
+     *
+     * @param before the posting before the change, {@code null} for an insert.
+     * @param after the posting after the change, {@code null} for a delete.
+     * @throws InsufficientStockException if the change takes stock held by reservations.
+     */
+    public void post(InventoryPosting before, InventoryPosting after) {
+        log.debug("Request to post stock movement from {} to {}", before, after);
+        if (before != null && before.isSameStock(after)) {
+            addMovement(
+                after.getProductId(),
+                after.getWareHouseId(),
+                after.getInwardQty() - before.getInwardQty(),
+                after.getOutwardQty() - before.getOutwardQty()
+            );
+        } else {
+            if (before != null) {
+                addMovement(before.getProductId(), before.getWareHouseId(), -before.getInwardQty(), -before.getOutwardQty());
+            }
+            if (after != null) {
+                addMovement(after.getProductId(), after.getWareHouseId(), after.getInwardQty(), after.getOutwardQty());
+            }
+        }
+        stockLedger.post(before, after);
+        stockCheckpointService.invalidate(before);
+        stockCheckpointService.invalidate(after);
+        stockLotService.post(before, after);
+        stockValuationService.post(before, after);
+    }
+
+    /**
+     * Add a movement to a balance. A movement taking stock out must leave the reserved quantity covered, the check
+     * being part of the update so concurrent postings and reservations cannot oversell.
+     */
+    private void addMovement(Long productId, Long wareHouseId, double inwardQty, double outwardQty) {
+        if (inwardQty == 0D && outwardQty == 0D) {
+            return;
+        }
+        if (update(productId, wareHouseId, inwardQty, outwardQty) == 0) {
+            createBalance(productId, wareHouseId);
+            if (update(productId, wareHouseId, inwardQty, outwardQty) == 0) {
+                throw new InsufficientStockException(productId, wareHouseId, outwardQty - inwardQty);
+            }
+        }
+        // the update holds the row lock until commit, so the balance read back is the one this movement left
+        double balance = stockBalanceRepository
+            .findBalance(productId, wareHouseId)
+            .orElseThrow(() -> new IllegalStateException("Missing stock balance of product " + productId + " in wareHouse " + wareHouseId));
+        applicationEventPublisher.publishEvent(new StockMovedEvent(productId, wareHouseId, balance - (inwardQty - outwardQty), balance));
+    }
+
+    private int update(Long productId, Long wareHouseId, double inwardQty, double outwardQty) {
+        if (outwardQty > inwardQty) {
+            return stockBalanceRepository.addMovementUnlessReserved(productId, wareHouseId, inwardQty, outwardQty);
+        }
+        return stockBalanceRepository.addMovement(productId, wareHouseId, inwardQty, outwardQty);
+    }
+
+    /**
+     * Insert an empty balance for the pair, unless a concurrent first posting inserted it already. The insert goes
+     * through JDBC, so the duplicate key of the losing posting does not mark the JPA transaction rollback only; the
+     * unique index makes it wait for the winner, and the movement is then added to the committed row.
+     */
+    private void createBalance(Long productId, Long wareHouseId) {
+        try {
+            jdbcTemplate.update(INSERT_EMPTY_BALANCE, productId, wareHouseId);
+        } catch (DuplicateKeyException e) {
+            log.debug("Stock balance of product {} in wareHouse {} created concurrently", productId, wareHouseId);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.domain.StockCheckpoint;
+import com.techvg.inventory.management.domain.StockCheckpointLock;
+import com.techvg.inventory.management.repository.ProductInventoryRepository;
+import com.techvg.inventory.management.repository.ProductRepository;
+import com.techvg.inventory.management.repository.StockCheckpointLockRepository;
+import com.techvg.inventory.management.repository.StockCheckpointRepository;
+import com.techvg.inventory.management.repository.StockLevel;
+import com.techvg.inventory.management.repository.WareHouseRepository;
+import com.techvg.inventory.management.service.dto.StockLevelDTO;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for point in time stock, backed by daily {@link StockCheckpoint}s.
+ * <p>
+ * The stock as of a date is the latest checkpoint at or before that date plus the ledger rows dated between the two,
+ * so the number of rows read stays bounded by one day of postings. Checkpoints taken after the date of a changed
+ * ledger row are dropped, queries over that period then start from the checkpoint before it.
+ * <p>
+ * Writing checkpoints locks the {@link StockCheckpointLock} row exclusively and dropping them locks it in share mode,
+ * so a posting committing while checkpoints are written either is part of them or drops them once they are written.
+ */
+@Service
+@Transactional
+public class StockCheckpointService {
+
+    private final Logger log = LoggerFactory.getLogger(StockCheckpointService.class);
+
+    private final StockCheckpointRepository stockCheckpointRepository;
+
+    private final StockCheckpointLockRepository stockCheckpointLockRepository;
+
+    private final ProductInventoryRepository productInventoryRepository;
+
+    private final ProductRepository productRepository;
+
+    private final WareHouseRepository wareHouseRepository;
+
+    public StockCheckpointService(
+        StockCheckpointRepository stockCheckpointRepository,
+        StockCheckpointLockRepository stockCheckpointLockRepository,
+        ProductInventoryRepository productInventoryRepository,
+        ProductRepository productRepository,
+        WareHouseRepository wareHouseRepository
+    ) {
+        this.stockCheckpointRepository = stockCheckpointRepository;
+        this.stockCheckpointLockRepository = stockCheckpointLockRepository;
+        this.productInventoryRepository = productInventoryRepository;
+        this.productRepository = productRepository;
+        this.wareHouseRepository = wareHouseRepository;
+    }
+
+    /**
+     * Get the stock as of a date, from every ledger row dated strictly before it.
+     *
+     * @param productId the id of the product, {@code null} for every product.
+     * @param wareHouseId the id of the wareHouse, {@code null} for every wareHouse.
+     * @param asOf the date.
+     * @return the list of stocks.
+     */
+    @Transactional(readOnly = true)
+    public List<StockLevelDTO> findStockAsOf(Long productId, Long wareHouseId, Instant asOf) {
+        log.debug("Request to get Stock of product {} in wareHouse {} as of {}", productId, wareHouseId, asOf);
+        Map<List<Long>, StockLevelDTO> stock = new LinkedHashMap<>();
+        stockCheckpointRepository.findLatestLevels(productId, wareHouseId, asOf).forEach(stockLevel -> add(stock, stockLevel));
+        productInventoryRepository.sumLevelsSinceCheckpoint(productId, wareHouseId, asOf).forEach(stockLevel -> add(stock, stockLevel));
+        return new ArrayList<>(stock.values());
+    }
+
+    private void add(Map<List<Long>, StockLevelDTO> stock, StockLevel stockLevel) {
+        StockLevelDTO stockLevelDTO = stock.computeIfAbsent(
+            Arrays.asList(stockLevel.getProductId(), stockLevel.getWareHouseId()),
+            key -> new StockLevelDTO(stockLevel.getProductId(), stockLevel.getWareHouseId(), 0D)
+        );
+        stockLevelDTO.setBalance(stockLevelDTO.getBalance() + stockLevel.getBalance());
+    }
+
+    /**
+     * Checkpoints are taken every day at 00:30, as of midnight UTC, by the first instance claiming that date.
+     */
+    @Scheduled(cron = "0 30 0 * * ?")
+    public void writeDailyCheckpoints() {
+        writeDailyCheckpoints(Instant.now().truncatedTo(ChronoUnit.DAYS));
+    }
+
+    /**
+     * Take the checkpoints of every product and wareHouse at a date, unless another run took them already.
+     *
+     * @param checkpointDate the date.
+     * @return the number of checkpoints taken, {@code 0} if another run took them.
+     */
+    public int writeDailyCheckpoints(Instant checkpointDate) {
+        if (stockCheckpointLockRepository.claim(StockCheckpointLock.ID, checkpointDate) == 0) {
+            log.debug("Stock checkpoints as of {} already taken", checkpointDate);
+            return 0;
+        }
+        return writeCheckpoints(checkpointDate);
+    }
+
+    /**
+     * Take the checkpoints of every product and wareHouse at a date, replacing the ones already taken at that date.
+     *
+     * @param checkpointDate the date.
+     * @return the number of checkpoints taken.
+     */
+    public int writeCheckpoints(Instant checkpointDate) {
+        log.debug("Request to write Stock checkpoints as of {}", checkpointDate);
+        lock();
+        stockCheckpointRepository.deleteByCheckpointDate(checkpointDate);
+        List<StockCheckpoint> stockCheckpoints = new ArrayList<>();
+        for (StockLevelDTO stockLevel : findStockAsOf(null, null, checkpointDate)) {
+            stockCheckpoints.add(
+                new StockCheckpoint()
+                    .checkpointDate(checkpointDate)
+                    .balance(stockLevel.getBalance())
+                    .product(productRepository.getById(stockLevel.getProductId()))
+                    .wareHouse(wareHouseRepository.getById(stockLevel.getWareHouseId()))
+            );
+        }
+        stockCheckpointRepository.saveAll(stockCheckpoints);
+        log.info("Wrote {} stock checkpoints as of {}", stockCheckpoints.size(), checkpointDate);
+        return stockCheckpoints.size();
+    }
+
+    /**
+     * Drop the checkpoints a posting makes stale, the ones of its product and wareHouse taken after its date.
+     *
+     * @param posting the posting, may be {@code null}.
+     */
+    public void invalidate(InventoryPosting posting) {
+        if (posting == null || posting.getInwardOutwardDate() == null) {
+            return;
+        }
+        stockCheckpointLockRepository.findOneForShare(StockCheckpointLock.ID);
+        int deleted = stockCheckpointRepository.deleteAfter(
+            posting.getProductId(),
+            posting.getWareHouseId(),
+            posting.getInwardOutwardDate()
+        );
+        if (deleted > 0) {
+            log.debug("Dropped {} stock checkpoints made stale by {}", deleted, posting);
+        }
+    }
+
+    /**
+     * Lock out postings until the end of the transaction, before the ledger is read.
+     */
+    private void lock() {
+        stockCheckpointLockRepository
+            .findOneForUpdate(StockCheckpointLock.ID)
+            .orElseThrow(() -> new IllegalStateException("Missing stock checkpoint lock"));
+    }
+}
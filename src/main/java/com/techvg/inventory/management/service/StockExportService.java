@@ -0,0 +1,136 @@
+package com.techvg.inventory.management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techvg.inventory.management.repository.StockBalanceRepository;
+import com.techvg.inventory.management.repository.StockExportRow;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for exporting the stock of every product and wareHouse.
+ * <p>
+ * Rows are read through a forward only cursor and written one by one, so the memory used does not depend on the
+ * number of rows. The output is flushed every {@link #FLUSH_ROWS} rows, starting with the header.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StockExportService {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private static final int FLUSH_ROWS = 1000;
+
+    private static final String CSV_HEADER = "productId,productName,wareHouseId,wareHouseName,inwardQty,outwardQty,balance";
+
+    private final Logger log = LoggerFactory.getLogger(StockExportService.class);
+
+    private final StockBalanceRepository stockBalanceRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public StockExportService(StockBalanceRepository stockBalanceRepository, ObjectMapper objectMapper) {
+        this.stockBalanceRepository = stockBalanceRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write the stock of every product and wareHouse, or of one wareHouse.
+     *
+     * @param format the format of the output.
+     * @param wareHouseId the id of the wareHouse, {@code null} for every wareHouse.
+     * @param outputStream the output, left open.
+     * @return the number of rows written.
+     * @throws IOException if the output cannot be written.
+     */
+    public long export(Format format, Long wareHouseId, OutputStream outputStream) throws IOException {
+        log.debug("Request to export Stock of wareHouse {} as {}", wareHouseId, format);
+        long count;
+        try (Stream<StockExportRow> rows = stockBalanceRepository.streamExportRows(wareHouseId)) {
+            count = format == Format.CSV ? writeCsv(rows.iterator(), outputStream) : writeNdjson(rows.iterator(), outputStream);
+        }
+        log.debug("Exported {} Stock rows", count);
+        return count;
+    }
+
+    private long writeCsv(Iterator<StockExportRow> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        writer.flush();
+        long count = 0;
+        while (rows.hasNext()) {
+            StockExportRow row = rows.next();
+            writer.write(String.valueOf(row.getProductId()));
+            writer.write(',');
+            writer.write(csv(row.getProductName()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getWareHouseId()));
+            writer.write(',');
+            writer.write(csv(row.getWareHouseName()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getInwardQty()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getOutwardQty()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getBalance()));
+            writer.write('\n');
+            if (++count % FLUSH_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Quote a CSV value when it holds a separator, a quote or a line break.
+     */
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private long writeNdjson(Iterator<StockExportRow> rows, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        long count = 0;
+        while (rows.hasNext()) {
+            StockExportRow row = rows.next();
+            generator.writeStartObject();
+            generator.writeNumberField("productId", row.getProductId());
+            generator.writeStringField("productName", row.getProductName());
+            generator.writeNumberField("wareHouseId", row.getWareHouseId());
+            generator.writeStringField("wareHouseName", row.getWareHouseName());
+            generator.writeNumberField("inwardQty", row.getInwardQty());
+            generator.writeNumberField("outwardQty", row.getOutwardQty());
+            generator.writeNumberField("balance", row.getBalance());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            if (++count % FLUSH_ROWS == 0) {
+                generator.flush();
+            }
+        }
+        generator.close();
+        return count;
+    }
+}
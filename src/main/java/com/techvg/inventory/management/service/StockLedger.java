@@ -0,0 +1,201 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.repository.StockBalanceRepository;
+import com.techvg.inventory.management.repository.StockLevel;
+import com.techvg.inventory.management.service.dto.StockLevelDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Process local copy of the stock balances, answering stock reads from memory.
+ * <p>
+ * Balances are kept per wareHouse and product in {@link DoubleAdder} cells, so concurrent postings never contend on
+ * a shared lock. The ledger is loaded from the {@code stock_balance} table once the application is ready, or on the
+ * first read if that comes earlier, and postings are applied once their transaction has committed.
+ * Postings made by other instances of the application are not seen until the next {@link #reload()}.
+ * <p>
+ * A posting holds a shared lock from just before its transaction commits until it is applied, and a reload reads
+ * the database and swaps the balances under the exclusive lock. Every posting is thereby either already committed
+ * and read by the reload, or committed and applied after the swap, and none is lost or counted twice.
+ */
+@Service
+public class StockLedger {
+
+    private final Logger log = LoggerFactory.getLogger(StockLedger.class);
+
+    private final StockBalanceRepository stockBalanceRepository;
+
+    private final ReentrantReadWriteLock reloadLock = new ReentrantReadWriteLock();
+
+    private volatile ConcurrentMap<Long, ConcurrentMap<Long, DoubleAdder>> stockByWareHouse;
+
+    public StockLedger(StockBalanceRepository stockBalanceRepository) {
+        this.stockBalanceRepository = stockBalanceRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (stockByWareHouse == null) {
+            reload();
+        }
+    }
+
+    /**
+     * Replace the ledger with the balances currently in the database.
+     */
+    public void reload() {
+        long start = System.currentTimeMillis();
+        ConcurrentMap<Long, ConcurrentMap<Long, DoubleAdder>> loaded = new ConcurrentHashMap<>();
+        List<StockLevel> stockLevels;
+        reloadLock.writeLock().lock();
+        try {
+            stockLevels = stockBalanceRepository.findAllLevels();
+            stockLevels
+                .parallelStream()
+                .forEach(stockLevel -> cell(loaded, stockLevel.getProductId(), stockLevel.getWareHouseId()).add(stockLevel.getBalance()));
+            stockByWareHouse = loaded;
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+        log.info("Loaded {} stock balances in {} ms", stockLevels.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Apply the move from the previous state of a ledger row to its new state, once the current transaction commits.
+     *
+     * @param before the posting before the change, {@code null} for an insert.
+     * @param after the posting after the change, {@code null} for a delete.
+     */
+    public void post(InventoryPosting before, InventoryPosting after) {
+        if (before == null && after == null) {
+            return;
+        }
+        Lock postingLock = reloadLock.readLock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            postingLock.lock();
+            try {
+                apply(before, after);
+            } finally {
+                postingLock.unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                private boolean locked;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    postingLock.lock();
+                    locked = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    apply(before, after);
+                    unlock();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    unlock();
+                }
+
+                private void unlock() {
+                    if (locked) {
+                        locked = false;
+                        postingLock.unlock();
+                    }
+                }
+            }
+        );
+    }
+
+    private void apply(InventoryPosting before, InventoryPosting after) {
+        ConcurrentMap<Long, ConcurrentMap<Long, DoubleAdder>> stock = stockByWareHouse;
+        if (stock == null) {
+            // not loaded yet, the load will read the committed balance
+            return;
+        }
+        if (before != null) {
+            cell(stock, before.getProductId(), before.getWareHouseId()).add(-before.getNetQty());
+        }
+        if (after != null) {
+            cell(stock, after.getProductId(), after.getWareHouseId()).add(after.getNetQty());
+        }
+    }
+
+    /**
+     * Get the stock of one product in one wareHouse.
+     *
+     * @param productId the id of the product.
+     * @param wareHouseId the id of the wareHouse.
+     * @return the stock, empty if the product never moved in the wareHouse.
+     */
+    public Optional<StockLevelDTO> getStock(Long productId, Long wareHouseId) {
+        Map<Long, DoubleAdder> stock = stock().get(wareHouseId);
+        DoubleAdder balance = stock == null ? null : stock.get(productId);
+        return Optional.ofNullable(balance).map(cell -> new StockLevelDTO(productId, wareHouseId, cell.sum()));
+    }
+
+    /**
+     * Get the stock of every product which moved in a wareHouse.
+     *
+     * @param wareHouseId the id of the wareHouse.
+     * @return the list of stocks.
+     */
+    public List<StockLevelDTO> getWareHouseStock(Long wareHouseId) {
+        List<StockLevelDTO> stockLevels = new ArrayList<>();
+        stock()
+            .getOrDefault(wareHouseId, new ConcurrentHashMap<>())
+            .forEach((productId, cell) -> stockLevels.add(new StockLevelDTO(productId, wareHouseId, cell.sum())));
+        return stockLevels;
+    }
+
+    /**
+     * Get the stock of a product in every wareHouse it moved in.
+     *
+     * @param productId the id of the product.
+     * @return the list of stocks.
+     */
+    public List<StockLevelDTO> getProductStock(Long productId) {
+        List<StockLevelDTO> stockLevels = new ArrayList<>();
+        stock()
+            .forEach((wareHouseId, stock) -> {
+                DoubleAdder cell = stock.get(productId);
+                if (cell != null) {
+                    stockLevels.add(new StockLevelDTO(productId, wareHouseId, cell.sum()));
+                }
+            });
+        return stockLevels;
+    }
+
+    private ConcurrentMap<Long, ConcurrentMap<Long, DoubleAdder>> stock() {
+        if (stockByWareHouse == null) {
+            synchronized (this) {
+                if (stockByWareHouse == null) {
+                    reload();
+                }
+            }
+        }
+        return stockByWareHouse;
+    }
+
+    private static DoubleAdder cell(ConcurrentMap<Long, ConcurrentMap<Long, DoubleAdder>> stock, Long productId, Long wareHouseId) {
+        return stock.computeIfAbsent(wareHouseId, id -> new ConcurrentHashMap<>()).computeIfAbsent(productId, id -> new DoubleAdder());
+    }
+}
@@ -0,0 +1,128 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.domain.StockLot;
+import com.techvg.inventory.management.repository.StockLotRepository;
+import com.techvg.inventory.management.service.dto.StockLotDTO;
+import com.techvg.inventory.management.service.mapper.StockLotMapper;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for maintaining the {@link StockLot} index from the ProductInventory ledger.
+ * <p>
+ * Only ledger rows carrying a lot number move a lot. The lot takes the expiry date of the last posting which
+ * carries one, outward rows usually do not.
+ */
+@Service
+@Transactional
+public class StockLotService {
+
+    private static final String INSERT_EMPTY_LOT =
+        "insert into stock_lot (product_id, ware_house_id, lot_no, inward_qty, outward_qty, remaining_qty, version) " +
+        "values (?, ?, ?, 0, 0, 0, 0)";
+
+    private final Logger log = LoggerFactory.getLogger(StockLotService.class);
+
+    private final StockLotRepository stockLotRepository;
+
+    private final StockLotMapper stockLotMapper;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockLotService(StockLotRepository stockLotRepository, StockLotMapper stockLotMapper, JdbcTemplate jdbcTemplate) {
+        this.stockLotRepository = stockLotRepository;
+        this.stockLotMapper = stockLotMapper;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Move the lots from the previous state of a ledger row to its new state.
+     * Must run in the transaction which writes the ledger row.
+     *
+     * @param before the posting before the change, {@code null} for an insert.
+     * @param after the posting after the change, {@code null} for a delete.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void post(InventoryPosting before, InventoryPosting after) {
+        if (before != null && before.isSameLot(after)) {
+            addMovement(
+                after,
+                after.getExpiryDate(),
+                after.getInwardQty() - before.getInwardQty(),
+                after.getOutwardQty() - before.getOutwardQty()
+            );
+            return;
+        }
+        if (before != null && before.getLotNo() != null) {
+            addMovement(before, null, -before.getInwardQty(), -before.getOutwardQty());
+        }
+        if (after != null && after.getLotNo() != null) {
+            addMovement(after, after.getExpiryDate(), after.getInwardQty(), after.getOutwardQty());
+        }
+    }
+
+    private void addMovement(InventoryPosting posting, Instant expiryDate, double inwardQty, double outwardQty) {
+        if (inwardQty == 0D && outwardQty == 0D && expiryDate == null) {
+            return;
+        }
+        if (update(posting, expiryDate, inwardQty, outwardQty) == 0) {
+            createLot(posting);
+            if (update(posting, expiryDate, inwardQty, outwardQty) == 0) {
+                throw new IllegalStateException("Missing stock lot " + posting.getLotNo() + " of product " + posting.getProductId());
+            }
+        }
+    }
+
+    private int update(InventoryPosting posting, Instant expiryDate, double inwardQty, double outwardQty) {
+        return stockLotRepository.addMovement(
+            posting.getProductId(),
+            posting.getWareHouseId(),
+            posting.getLotNo(),
+            expiryDate,
+            inwardQty,
+            outwardQty
+        );
+    }
+
+    /**
+     * Insert an empty lot, unless a concurrent first posting of the lot inserted it already. As for the balances, the
+     * insert goes through JDBC so the duplicate key of the losing posting does not mark the JPA transaction rollback only.
+     */
+    private void createLot(InventoryPosting posting) {
+        try {
+            jdbcTemplate.update(INSERT_EMPTY_LOT, posting.getProductId(), posting.getWareHouseId(), posting.getLotNo());
+        } catch (DuplicateKeyException e) {
+            log.debug(
+                "Stock lot {} of product {} in wareHouse {} created concurrently",
+                posting.getLotNo(),
+                posting.getProductId(),
+                posting.getWareHouseId()
+            );
+        }
+    }
+
+    /**
+     * Get the lots still in stock which expire within a number of days, already expired ones included,
+     * first expiring first.
+     *
+     * @param withinDays the number of days from now.
+     * @param wareHouseId the id of the wareHouse, {@code null} for every wareHouse.
+     * @param pageable the pagination information.
+     * @return the list of lots.
+     */
+    @Transactional(readOnly = true)
+    public Page<StockLotDTO> findExpiring(int withinDays, Long wareHouseId, Pageable pageable) {
+        log.debug("Request to get StockLots expiring within {} days in wareHouse {}", withinDays, wareHouseId);
+        Instant expiryDate = Instant.now().plus(withinDays, ChronoUnit.DAYS);
+        return stockLotRepository.findExpiring(expiryDate, wareHouseId, pageable).map(stockLotMapper::toDto);
+    }
+}
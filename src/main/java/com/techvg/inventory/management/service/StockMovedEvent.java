@@ -0,0 +1,50 @@
+package com.techvg.inventory.management.service;
+
+/**
+ * Published by {@link StockBalanceService} for each product and wareHouse balance moved by a posting, with the
+ * balance before and after the move as seen by the posting transaction.
+ */
+public final class StockMovedEvent {
+
+    private final Long productId;
+
+    private final Long wareHouseId;
+
+    private final double previousBalance;
+
+    private final double balance;
+
+    public StockMovedEvent(Long productId, Long wareHouseId, double previousBalance, double balance) {
+        this.productId = productId;
+        this.wareHouseId = wareHouseId;
+        this.previousBalance = previousBalance;
+        this.balance = balance;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getWareHouseId() {
+        return wareHouseId;
+    }
+
+    public double getPreviousBalance() {
+        return previousBalance;
+    }
+
+    public double getBalance() {
+        return balance;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockMovedEvent{" +
+            "productId=" + getProductId() +
+            ", wareHouseId=" + getWareHouseId() +
+            ", previousBalance=" + getPreviousBalance() +
+            ", balance=" + getBalance() +
+            "}";
+    }
+}
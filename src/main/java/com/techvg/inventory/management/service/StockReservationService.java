@@ -0,0 +1,207 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.domain.ProductInventory;
+import com.techvg.inventory.management.domain.StockBalance;
+import com.techvg.inventory.management.domain.StockReservation;
+import com.techvg.inventory.management.domain.enumeration.ReservationStatus;
+import com.techvg.inventory.management.repository.ProductRepository;
+import com.techvg.inventory.management.repository.StockBalanceRepository;
+import com.techvg.inventory.management.repository.StockReservationRepository;
+import com.techvg.inventory.management.repository.WareHouseRepository;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import com.techvg.inventory.management.service.dto.ProductInventoryDTO;
+import com.techvg.inventory.management.service.dto.StockReservationDTO;
+import com.techvg.inventory.management.service.dto.WareHouseDTO;
+import com.techvg.inventory.management.service.mapper.StockReservationMapper;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for managing {@link StockReservation}.
+ * <p>
+ * A reservation is taken by a conditional update of the {@link StockBalance} row, which only succeeds while the
+ * balance not reserved yet covers the quantity. Concurrent reservations never read then write the balance, so they
+ * cannot oversell, and no lock is held beyond the row update itself. Outward postings cannot take the reserved
+ * quantity either. Reservations give their quantity back when released, when they expire, or when they are committed
+ * as an outward posting.
+ */
+@Service
+@Transactional
+public class StockReservationService {
+
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(15);
+
+    public static final Duration MAX_TTL = Duration.ofDays(1);
+
+    private static final int EXPIRE_BATCH_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(StockReservationService.class);
+
+    private final StockReservationRepository stockReservationRepository;
+
+    private final StockReservationMapper stockReservationMapper;
+
+    private final StockBalanceRepository stockBalanceRepository;
+
+    private final ProductRepository productRepository;
+
+    private final WareHouseRepository wareHouseRepository;
+
+    private final ProductInventoryService productInventoryService;
+
+    public StockReservationService(
+        StockReservationRepository stockReservationRepository,
+        StockReservationMapper stockReservationMapper,
+        StockBalanceRepository stockBalanceRepository,
+        ProductRepository productRepository,
+        WareHouseRepository wareHouseRepository,
+        ProductInventoryService productInventoryService
+    ) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.stockReservationMapper = stockReservationMapper;
+        this.stockBalanceRepository = stockBalanceRepository;
+        this.productRepository = productRepository;
+        this.wareHouseRepository = wareHouseRepository;
+        this.productInventoryService = productInventoryService;
+    }
+
+    /**
+     * Reserve a quantity of a product in a wareHouse.
+     *
+     * @param productId the id of the product.
+     * @param wareHouseId the id of the wareHouse.
+     * @param quantity the quantity, positive.
+     * @param ttl how long the reservation holds, {@link #DEFAULT_TTL} if {@code null}, at most {@link #MAX_TTL}.
+     * @return the reservation.
+     * @throws InsufficientStockException if the available stock does not cover the quantity.
+     */
+    public StockReservationDTO reserve(Long productId, Long wareHouseId, double quantity, Duration ttl) {
+        log.debug("Request to reserve {} of product {} in wareHouse {}", quantity, productId, wareHouseId);
+        if (quantity <= 0D) {
+            throw new IllegalArgumentException("The reserved quantity must be positive");
+        }
+        if (stockBalanceRepository.reserve(productId, wareHouseId, quantity) == 0) {
+            throw new InsufficientStockException(productId, wareHouseId, quantity);
+        }
+        Duration holdFor = ttl == null || ttl.isNegative() || ttl.isZero() ? DEFAULT_TTL : ttl;
+        if (holdFor.compareTo(MAX_TTL) > 0) {
+            holdFor = MAX_TTL;
+        }
+        Instant now = Instant.now();
+        StockReservation stockReservation = new StockReservation()
+            .quantity(quantity)
+            .status(ReservationStatus.ACTIVE)
+            .createdDate(now)
+            .expiresAt(now.plus(holdFor))
+            .product(productRepository.getById(productId))
+            .wareHouse(wareHouseRepository.getById(wareHouseId));
+        return stockReservationMapper.toDto(stockReservationRepository.save(stockReservation));
+    }
+
+    /**
+     * Release an active reservation, giving its quantity back.
+     *
+     * @param id the id of the reservation.
+     * @return the released reservation, empty if there is no active reservation with this id.
+     */
+    public Optional<StockReservationDTO> release(Long id) {
+        log.debug("Request to release StockReservation : {}", id);
+        return stockReservationRepository
+            .findById(id)
+            .filter(stockReservation -> end(stockReservation, ReservationStatus.RELEASED))
+            .map(stockReservationMapper::toDto);
+    }
+
+    /**
+     * Commit an active reservation: post its quantity as an outward ledger row. The reserved quantity is given back
+     * in the same transaction, so the posting takes exactly the stock the reservation held.
+     *
+     * @param id the id of the reservation.
+     * @return the outward ledger row, empty if there is no active reservation with this id.
+     */
+    public Optional<ProductInventoryDTO> commit(Long id) {
+        log.debug("Request to commit StockReservation : {}", id);
+        return stockReservationRepository
+            .findById(id)
+            .filter(stockReservation -> end(stockReservation, ReservationStatus.CONSUMED))
+            .map(stockReservation -> productInventoryService.save(toOutwardPosting(stockReservation)));
+    }
+
+    private static ProductInventoryDTO toOutwardPosting(StockReservation stockReservation) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(stockReservation.getProduct().getId());
+        WareHouseDTO wareHouseDTO = new WareHouseDTO();
+        wareHouseDTO.setId(stockReservation.getWareHouse().getId());
+        ProductInventoryDTO productInventoryDTO = new ProductInventoryDTO();
+        productInventoryDTO.setProduct(productDTO);
+        productInventoryDTO.setWareHouse(wareHouseDTO);
+        productInventoryDTO.setOutwardQty(ProductInventory.toQuantityText(stockReservation.getQuantity()));
+        productInventoryDTO.setInwardOutwardDate(Instant.now());
+        return productInventoryDTO;
+    }
+
+    /**
+     * Reservations past their expiry date are expired every minute.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void expireReservationsTask() {
+        expireReservations(Instant.now());
+    }
+
+    /**
+     * Expire the active reservations past their expiry date at a date, giving their quantity back.
+     *
+     * @param now the date.
+     * @return the number of expired reservations.
+     */
+    public int expireReservations(Instant now) {
+        int expired = 0;
+        List<StockReservation> stockReservations;
+        do {
+            stockReservations =
+                stockReservationRepository.findExpired(ReservationStatus.ACTIVE, now, PageRequest.of(0, EXPIRE_BATCH_SIZE));
+            for (StockReservation stockReservation : stockReservations) {
+                if (end(stockReservation, ReservationStatus.EXPIRED)) {
+                    expired++;
+                }
+            }
+        } while (stockReservations.size() == EXPIRE_BATCH_SIZE);
+        if (expired > 0) {
+            log.info("Expired {} stock reservations", expired);
+        }
+        return expired;
+    }
+
+    private boolean end(StockReservation stockReservation, ReservationStatus status) {
+        if (stockReservationRepository.transition(stockReservation.getId(), ReservationStatus.ACTIVE, status) == 0) {
+            return false;
+        }
+        stockReservation.setStatus(status);
+        stockBalanceRepository.release(
+            stockReservation.getProduct().getId(),
+            stockReservation.getWareHouse().getId(),
+            stockReservation.getQuantity()
+        );
+        return true;
+    }
+
+    /**
+     * Get one stockReservation by id.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<StockReservationDTO> findOne(Long id) {
+        log.debug("Request to get StockReservation : {}", id);
+        return stockReservationRepository.findById(id).map(stockReservationMapper::toDto);
+    }
+}
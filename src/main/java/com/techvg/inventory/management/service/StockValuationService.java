@@ -0,0 +1,509 @@
+package com.techvg.inventory.management.service;
+
+import com.techvg.inventory.management.domain.ProductInventory;
+import com.techvg.inventory.management.domain.StockCostLayer;
+import com.techvg.inventory.management.domain.StockValuation;
+import com.techvg.inventory.management.repository.ProductInventoryRepository;
+import com.techvg.inventory.management.repository.StockCostLayerRepository;
+import com.techvg.inventory.management.repository.StockValuationRepository;
+import com.techvg.inventory.management.repository.StockValue;
+import com.techvg.inventory.management.service.dto.StockValuationDTO;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service Implementation for valuing the stock from the {@link ProductInventory#getPricePerUnit()} of the ledger rows.
+ * <p>
+ * Each product and wareHouse keeps a {@link StockValuation}, at moving weighted average cost and at FIFO cost, and its
+ * open {@link StockCostLayer}s. New ledger rows move them incrementally, issuing the layers in posting order.
+ * Changing or deleting a row only replays the rows posted after it: the average cost is rolled back over them and
+ * forward again with the new state of the row, and the FIFO layers are rebuilt as the newest receipts covering the
+ * stock. Inward rows without a price are received at the current average cost.
+ */
+@Service
+@Transactional
+public class StockValuationService {
+
+    /**
+     * Quantity under which a layer counts as fully issued, so rounding never leaves empty layers open.
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Number of older ledger rows read at once when the open layers no longer cover the stock.
+     */
+    private static final int LEDGER_PAGE_SIZE = 100;
+
+    private static final String INSERT_EMPTY_VALUATION =
+        "insert into stock_valuation (product_id, ware_house_id, quantity, average_cost, fifo_value) values (?, ?, 0, 0, 0)";
+
+    private final Logger log = LoggerFactory.getLogger(StockValuationService.class);
+
+    private final StockValuationRepository stockValuationRepository;
+
+    private final StockCostLayerRepository stockCostLayerRepository;
+
+    private final ProductInventoryRepository productInventoryRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public StockValuationService(
+        StockValuationRepository stockValuationRepository,
+        StockCostLayerRepository stockCostLayerRepository,
+        ProductInventoryRepository productInventoryRepository,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.stockValuationRepository = stockValuationRepository;
+        this.stockCostLayerRepository = stockCostLayerRepository;
+        this.productInventoryRepository = productInventoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Move the valuations from the previous state of a ledger row to its new state.
+     * Must run in the transaction which writes the ledger row, after the row is written.
+     *
+     * @param before the posting before the change, {@code null} for an insert.
+     * @param after the posting after the change, {@code null} for a delete.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void post(InventoryPosting before, InventoryPosting after) {
+        if (before == null) {
+            if (after != null) {
+                apply(after);
+            }
+            return;
+        }
+        if (before.isSameStock(after)) {
+            if (!isSameValue(before, after)) {
+                revise(before.getProductId(), before.getWareHouseId(), before, after);
+            }
+            return;
+        }
+        revise(before.getProductId(), before.getWareHouseId(), before, null);
+        if (after != null) {
+            revise(after.getProductId(), after.getWareHouseId(), null, after);
+        }
+    }
+
+    private static boolean isSameValue(InventoryPosting before, InventoryPosting after) {
+        return (
+            Double.compare(before.getInwardQty(), after.getInwardQty()) == 0 &&
+            Double.compare(before.getOutwardQty(), after.getOutwardQty()) == 0 &&
+            Objects.equals(before.getPricePerUnit(), after.getPricePerUnit())
+        );
+    }
+
+    private void apply(InventoryPosting posting) {
+        if (posting.getInwardQty() == 0D && posting.getOutwardQty() == 0D) {
+            return;
+        }
+        Optional<StockValuation> stockValuation = stockValuationRepository.findOneForUpdate(
+            posting.getProductId(),
+            posting.getWareHouseId()
+        );
+        if (!stockValuation.isPresent()) {
+            // first posting since the valuation was introduced, the ledger may already hold rows of the pair
+            revalue(posting.getProductId(), posting.getWareHouseId());
+            return;
+        }
+        Deque<StockCostLayer> layers = new ArrayDeque<>(
+            stockCostLayerRepository.findOpenLayers(posting.getProductId(), posting.getWareHouseId())
+        );
+        List<StockCostLayer> issuedLayers = new ArrayList<>();
+        move(stockValuation.get(), layers, issuedLayers, posting);
+        save(stockValuation.get(), layers, issuedLayers);
+    }
+
+    /**
+     * Move the valuation of a product in a wareHouse from the previous state of one of its ledger rows to its new state.
+     *
+     * @param before the previous state of the row in this product and wareHouse, {@code null} if it was not in it.
+     * @param after the new state of the row in this product and wareHouse, {@code null} if it left it.
+     */
+    private void revise(Long productId, Long wareHouseId, InventoryPosting before, InventoryPosting after) {
+        log.debug("Request to revise stock valuation of product {} in wareHouse {}", productId, wareHouseId);
+        Optional<StockValuation> stockValuation = stockValuationRepository.findOneForUpdate(productId, wareHouseId);
+        if (!stockValuation.isPresent()) {
+            revalue(productId, wareHouseId);
+            return;
+        }
+        Long productInventoryId = before != null ? before.getProductInventoryId() : after.getProductInventoryId();
+        List<InventoryPosting> later = productInventoryRepository
+            .findLedgerAfter(productId, wareHouseId, productInventoryId)
+            .stream()
+            .map(InventoryPosting::of)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        if (!reviseAverage(stockValuation.get(), before, after, later)) {
+            revalue(productId, wareHouseId);
+            return;
+        }
+        relayer(stockValuation.get(), productId, wareHouseId, productInventoryId, after);
+    }
+
+    /**
+     * Roll the quantity and average cost back over the rows posted after the changed row and over its previous state,
+     * then forward again over its new state and the later rows. Issues leave at the average cost, so only priced
+     * receipts are rolled back; the rollback stops at a priced receipt made while the stock had run out, since it
+     * reset the average cost.
+     *
+     * @return {@code false} if the average cost before such a receipt is still needed, so the ledger must be replayed.
+     */
+    private boolean reviseAverage(
+        StockValuation stockValuation,
+        InventoryPosting before,
+        InventoryPosting after,
+        List<InventoryPosting> later
+    ) {
+        double quantity = stockValuation.getQuantity();
+        double averageCost = stockValuation.getAverageCost();
+        double netQtyChange = (after != null ? after.getNetQty() : 0D) - (before != null ? before.getNetQty() : 0D);
+        // index of the later row to replay from, -1 to replay from the changed row
+        int replayFrom = -1;
+        boolean rolledBack = false;
+        for (int i = later.size(); i >= 0 && !rolledBack; i--) {
+            InventoryPosting posting = i > 0 ? later.get(i - 1) : before;
+            if (posting == null) {
+                break;
+            }
+            quantity += issuedQty(posting);
+            double receivedQty = receivedQty(posting);
+            if (receivedQty > 0D && posting.getPricePerUnit() != null && quantity - receivedQty <= EPSILON) {
+                // the stock had run out before this receipt, it reset the average cost
+                quantity -= receivedQty;
+                if (i > 0 && quantity + netQtyChange <= EPSILON) {
+                    // ... and still does with the new state of the changed row
+                    quantity += netQtyChange;
+                    replayFrom = i - 1;
+                } else if (i > 0 || after == null || receivedQty(after) <= 0D || after.getPricePerUnit() == null) {
+                    return false;
+                }
+                averageCost = 0D;
+                rolledBack = true;
+            } else {
+                if (receivedQty > 0D && posting.getPricePerUnit() != null) {
+                    averageCost = (quantity * averageCost - receivedQty * posting.getPricePerUnit()) / (quantity - receivedQty);
+                }
+                quantity -= receivedQty;
+            }
+        }
+        stockValuation.setQuantity(quantity);
+        stockValuation.setAverageCost(Math.max(averageCost, 0D));
+        if (replayFrom < 0) {
+            if (after != null) {
+                moveAverage(stockValuation, after);
+            }
+            replayFrom = 0;
+        }
+        later.subList(replayFrom, later.size()).forEach(posting -> moveAverage(stockValuation, posting));
+        return true;
+    }
+
+    private void moveAverage(StockValuation stockValuation, InventoryPosting posting) {
+        receiveAtAverage(stockValuation, posting, receivedQty(posting));
+        stockValuation.setQuantity(stockValuation.getQuantity() - issuedQty(posting));
+    }
+
+    /**
+     * Rebuild the open FIFO layers as the newest receipts covering the stock. The open layers are reused, the layer of
+     * the changed row is replaced by its new state, and older receipts are only read from the ledger while the layers
+     * do not cover the stock. Reopened receipts without a price come back at the current average cost.
+     */
+    private void relayer(StockValuation stockValuation, Long productId, Long wareHouseId, Long productInventoryId, InventoryPosting after) {
+        List<StockCostLayer> issuedLayers = new ArrayList<>();
+        List<StockCostLayer> layers = new ArrayList<>();
+        for (StockCostLayer layer : stockCostLayerRepository.findOpenLayers(productId, wareHouseId)) {
+            if (productInventoryId.equals(layer.getProductInventoryId())) {
+                issuedLayers.add(layer);
+            } else {
+                layers.add(layer);
+            }
+        }
+        // a changed row older than the open layers is read back with the older receipts
+        Long oldestLayered = layers.isEmpty() ? null : layers.get(0).getProductInventoryId();
+        if (after != null && receivedQty(after) > EPSILON && oldestLayered != null && oldestLayered < productInventoryId) {
+            int index = layers.size();
+            while (layers.get(index - 1).getProductInventoryId() > productInventoryId) {
+                index--;
+            }
+            layers.add(index, layer(stockValuation, productInventoryId, unitCost(stockValuation, after), receivedQty(after)));
+        }
+
+        List<StockCostLayer> kept = new ArrayList<>();
+        double uncovered = stockValuation.getQuantity();
+        Long olderThan = layers.isEmpty() ? Long.MAX_VALUE : null;
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            StockCostLayer layer = layers.get(i);
+            if (uncovered <= EPSILON) {
+                issuedLayers.add(layer);
+                continue;
+            }
+            double layerQty = layer.getRemainingQty();
+            if (i == 0 && uncovered > layerQty) {
+                // the oldest layer may have been partly issued
+                layerQty = Math.max(layerQty, receivedQty(layer.getProductInventoryId()));
+                olderThan = layer.getProductInventoryId();
+            }
+            layer.setRemainingQty(Math.min(layerQty, uncovered));
+            uncovered -= layer.getRemainingQty();
+            kept.add(layer);
+        }
+        while (uncovered > EPSILON && olderThan != null) {
+            List<ProductInventory> rows = productInventoryRepository.findLedgerBefore(
+                productId,
+                wareHouseId,
+                olderThan,
+                PageRequest.of(0, LEDGER_PAGE_SIZE)
+            );
+            olderThan = null;
+            for (ProductInventory productInventory : rows) {
+                InventoryPosting posting = InventoryPosting.of(productInventory);
+                double receivedQty = posting == null ? 0D : receivedQty(posting);
+                if (receivedQty > EPSILON) {
+                    StockCostLayer layer = layer(
+                        stockValuation,
+                        productInventory.getId(),
+                        unitCost(stockValuation, posting),
+                        Math.min(receivedQty, uncovered)
+                    );
+                    uncovered -= layer.getRemainingQty();
+                    kept.add(layer);
+                    if (uncovered <= EPSILON) {
+                        break;
+                    }
+                }
+                olderThan = productInventory.getId();
+            }
+        }
+        stockValuation.setFifoValue(kept.stream().mapToDouble(layer -> layer.getRemainingQty() * layer.getUnitCost()).sum());
+        save(stockValuation, kept, issuedLayers);
+    }
+
+    private double receivedQty(Long productInventoryId) {
+        return productInventoryRepository
+            .findById(productInventoryId)
+            .map(InventoryPosting::of)
+            .map(StockValuationService::receivedQty)
+            .orElse(0D);
+    }
+
+    /**
+     * Rebuild the valuation and layers of a product in a wareHouse by replaying its ledger.
+     */
+    private void revalue(Long productId, Long wareHouseId) {
+        log.debug("Request to revalue stock of product {} in wareHouse {}", productId, wareHouseId);
+        StockValuation stockValuation = lockValuation(productId, wareHouseId).quantity(0D).averageCost(0D).fifoValue(0D);
+        List<StockCostLayer> issuedLayers = new ArrayList<>(stockCostLayerRepository.findOpenLayers(productId, wareHouseId));
+        Deque<StockCostLayer> layers = new ArrayDeque<>();
+        for (ProductInventory productInventory : productInventoryRepository.findLedger(productId, wareHouseId)) {
+            InventoryPosting posting = InventoryPosting.of(productInventory);
+            if (posting != null) {
+                move(stockValuation, layers, issuedLayers, posting);
+            }
+        }
+        save(stockValuation, layers, issuedLayers);
+    }
+
+    /**
+     * Find and lock the valuation of a product in a wareHouse, creating it first if it does not exist. The insert goes
+     * through JDBC and tolerates a concurrent insert of the same valuation, which it waits for on the unique index, so
+     * the background valuation and a first posting never fail each other.
+     */
+    private StockValuation lockValuation(Long productId, Long wareHouseId) {
+        Optional<StockValuation> stockValuation = stockValuationRepository.findOneForUpdate(productId, wareHouseId);
+        if (stockValuation.isPresent()) {
+            return stockValuation.get();
+        }
+        try {
+            jdbcTemplate.update(INSERT_EMPTY_VALUATION, productId, wareHouseId);
+        } catch (DuplicateKeyException e) {
+            log.debug("Stock valuation of product {} in wareHouse {} created concurrently", productId, wareHouseId);
+        }
+        return stockValuationRepository.findOneForUpdate(productId, wareHouseId).get();
+    }
+
+    private void move(
+        StockValuation stockValuation,
+        Deque<StockCostLayer> layers,
+        List<StockCostLayer> issuedLayers,
+        InventoryPosting posting
+    ) {
+        receive(stockValuation, layers, posting, receivedQty(posting));
+        issue(stockValuation, layers, issuedLayers, issuedQty(posting));
+    }
+
+    /**
+     * Negative quantities are corrections, a negative outward quantity returns stock.
+     */
+    private static double receivedQty(InventoryPosting posting) {
+        return Math.max(posting.getInwardQty(), 0D) + Math.max(-posting.getOutwardQty(), 0D);
+    }
+
+    private static double issuedQty(InventoryPosting posting) {
+        return Math.max(posting.getOutwardQty(), 0D) + Math.max(-posting.getInwardQty(), 0D);
+    }
+
+    private void receive(StockValuation stockValuation, Deque<StockCostLayer> layers, InventoryPosting posting, double quantity) {
+        if (quantity <= 0D) {
+            return;
+        }
+        double stock = stockValuation.getQuantity();
+        double unitCost = receiveAtAverage(stockValuation, posting, quantity);
+        // the part covering a negative stock was already issued
+        double layerQty = stock < 0D ? quantity + stock : quantity;
+        if (layerQty > EPSILON) {
+            layers.addLast(layer(stockValuation, posting.getProductInventoryId(), unitCost, layerQty));
+            stockValuation.setFifoValue(stockValuation.getFifoValue() + layerQty * unitCost);
+        }
+    }
+
+    /**
+     * Take a receipt in the quantity and average cost.
+     *
+     * @return the unit cost of the receipt.
+     */
+    private double receiveAtAverage(StockValuation stockValuation, InventoryPosting posting, double quantity) {
+        double unitCost = unitCost(stockValuation, posting);
+        if (quantity <= 0D) {
+            return unitCost;
+        }
+        double stock = stockValuation.getQuantity();
+        if (stock <= 0D) {
+            stockValuation.setAverageCost(unitCost);
+        } else {
+            stockValuation.setAverageCost((stock * stockValuation.getAverageCost() + quantity * unitCost) / (stock + quantity));
+        }
+        stockValuation.setQuantity(stock + quantity);
+        return unitCost;
+    }
+
+    private static double unitCost(StockValuation stockValuation, InventoryPosting posting) {
+        return posting.getPricePerUnit() != null ? posting.getPricePerUnit() : stockValuation.getAverageCost();
+    }
+
+    private static StockCostLayer layer(StockValuation stockValuation, Long productInventoryId, double unitCost, double quantity) {
+        return new StockCostLayer()
+            .productInventoryId(productInventoryId)
+            .unitCost(unitCost)
+            .remainingQty(quantity)
+            .product(stockValuation.getProduct())
+            .wareHouse(stockValuation.getWareHouse());
+    }
+
+    private void issue(StockValuation stockValuation, Deque<StockCostLayer> layers, List<StockCostLayer> issuedLayers, double quantity) {
+        if (quantity <= 0D) {
+            return;
+        }
+        double remaining = quantity;
+        while (remaining > EPSILON && !layers.isEmpty()) {
+            StockCostLayer layer = layers.peekFirst();
+            double issued = Math.min(remaining, layer.getRemainingQty());
+            layer.setRemainingQty(layer.getRemainingQty() - issued);
+            stockValuation.setFifoValue(stockValuation.getFifoValue() - issued * layer.getUnitCost());
+            remaining -= issued;
+            if (layer.getRemainingQty() <= EPSILON) {
+                issuedLayers.add(layers.pollFirst());
+            }
+        }
+        if (layers.isEmpty()) {
+            stockValuation.setFifoValue(0D);
+        }
+        stockValuation.setQuantity(stockValuation.getQuantity() - quantity);
+    }
+
+    private void save(StockValuation stockValuation, Collection<StockCostLayer> layers, List<StockCostLayer> issuedLayers) {
+        stockValuationRepository.save(stockValuation);
+        stockCostLayerRepository.deleteAll(issuedLayers.stream().filter(layer -> layer.getId() != null).collect(Collectors.toList()));
+        stockCostLayerRepository.saveAll(layers);
+    }
+
+    /**
+     * Value the stock of the product and wareHouse pairs which moved before the valuation was introduced, once.
+     * Each pair is valued in its own short transaction, so live postings only ever wait for the pair they move.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void valueUnvaluedStock() {
+        List<Object[]> pairs = stockValuationRepository.findUnvaluedPairs();
+        int valued = 0;
+        for (Object[] pair : pairs) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> revalue((Long) pair[0], (Long) pair[1]));
+                valued++;
+            } catch (RuntimeException e) {
+                log.warn("Could not value the stock of product {} in wareHouse {} : {}", pair[0], pair[1], e.getMessage());
+            }
+        }
+        if (!pairs.isEmpty()) {
+            log.info("Valued the stock of {} products and wareHouses", valued);
+        }
+    }
+
+    /**
+     * Get the value of the stock of every wareHouse, or of one wareHouse.
+     *
+     * @param wareHouseId the id of the wareHouse, {@code null} for every wareHouse.
+     * @return the list of wareHouse totals.
+     */
+    @Transactional(readOnly = true)
+    public List<StockValuationDTO> findWareHouseTotals(Long wareHouseId) {
+        log.debug("Request to get Stock valuation totals of wareHouse {}", wareHouseId);
+        return stockValuationRepository
+            .sumValuesByWareHouse(wareHouseId)
+            .stream()
+            .map(stockValue -> toDto(null, stockValue.getWareHouseId(), null, stockValue))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the value of the stock of each product of a wareHouse.
+     *
+     * @param wareHouseId the id of the wareHouse.
+     * @return the list of product valuations.
+     */
+    @Transactional(readOnly = true)
+    public List<StockValuationDTO> findWareHouseValuation(Long wareHouseId) {
+        log.debug("Request to get Stock valuation of the products of wareHouse {}", wareHouseId);
+        return stockValuationRepository
+            .findValues(wareHouseId)
+            .stream()
+            .map(stockValue -> toDto(stockValue.getProductId(), stockValue.getWareHouseId(), stockValue.getAverageCost(), stockValue))
+            .collect(Collectors.toList());
+    }
+
+    private StockValuationDTO toDto(Long productId, Long wareHouseId, Double averageCost, StockValue stockValue) {
+        StockValuationDTO stockValuationDTO = new StockValuationDTO();
+        stockValuationDTO.setProductId(productId);
+        stockValuationDTO.setWareHouseId(wareHouseId);
+        stockValuationDTO.setQuantity(stockValue.getQuantity());
+        stockValuationDTO.setAverageCost(averageCost);
+        stockValuationDTO.setAverageValue(stockValue.getAverageValue());
+        stockValuationDTO.setFifoValue(stockValue.getFifoValue());
+        return stockValuationDTO;
+    }
+}
@@ -0,0 +1,61 @@
+package com.techvg.inventory.management.service;
+
+import java.nio.file.Path;
+
+/**
+ * A file of the {@link FileStorageService}, with its size, modification time and entity tag as read when it was looked up.
+ */
+public class StoredFile {
+
+    private final String fileName;
+
+    private final Path path;
+
+    private final long length;
+
+    private final long lastModified;
+
+    private final String eTag;
+
+    StoredFile(String fileName, Path path, long length, long lastModified, String eTag) {
+        this.fileName = fileName;
+        this.path = path;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.eTag = eTag;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return the modification time of the file, in milliseconds since the epoch.
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Strong entity tag of the file, the SHA-256 of its content, or its size and modification time for files stored
+     * before the content store.
+     *
+     * @return the entity tag, without quotes.
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    @Override
+    public String toString() {
+        return "StoredFile{fileName='" + fileName + "', length=" + length + ", lastModified=" + lastModified + "}";
+    }
+}
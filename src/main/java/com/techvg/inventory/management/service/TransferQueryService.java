@@ -6,15 +6,16 @@ import com.techvg.inventory.management.service.criteria.TransferCriteria;
 import com.techvg.inventory.management.service.dto.TransferDTO;
 import com.techvg.inventory.management.service.mapper.TransferMapper;
 import java.util.List;
+import java.util.Map;
 import javax.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link Transfer} entities in the
@@ -24,8 +25,8 @@ import tech.jhipster.service.QueryService;
  * {@link TransferDTO} which fulfills the criteria.
  */
 @Service
-@Transactional(readOnly = true)
-public class TransferQueryService extends QueryService<Transfer> {
+@Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+public class TransferQueryService extends KeysetQueryService<Transfer> {
 
     private final Logger log = LoggerFactory.getLogger(TransferQueryService.class);
 
@@ -46,7 +47,7 @@ public class TransferQueryService extends QueryService<Transfer> {
      *                 should match.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public List<TransferDTO> findByCriteria(TransferCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<Transfer> specification = createSpecification(criteria);
@@ -62,7 +63,7 @@ public class TransferQueryService extends QueryService<Transfer> {
      * @param page     The page, which should be returned.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public Page<TransferDTO> findByCriteria(TransferCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Transfer> specification = createSpecification(criteria);
@@ -77,6 +78,98 @@ public class TransferQueryService extends QueryService<Transfer> {
         return pageTransfers.map(transferMapper::toDto);
     }
 
+    /**
+     * Return a {@link KeysetSlice} of {@link TransferDTO} which matches the criteria from the database,
+     * seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<TransferDTO> findByCriteria(TransferCriteria criteria, Pageable page, String after) {
+        log.debug("find by criteria : {}, page: {}, after: {}", criteria, page, after);
+        final Specification<Transfer> specification = createSpecification(criteria);
+        KeysetSlice<Transfer> sliceTransfers = findAfter(specification, page, after);
+        for (Transfer transferObj : sliceTransfers.getContent()) {
+            if (!transferObj.getTransferDetails().isEmpty()) {
+                transferObj.setTransferDetails(null);
+            }
+        }
+        return sliceTransfers.map(transferMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link TransferDTO} which matches the criteria from the database,
+     * without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<TransferDTO> findSliceByCriteria(TransferCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Transfer> specification = createSpecification(criteria);
+        Slice<Transfer> sliceTransfers = findSlice(specification, page);
+        for (Transfer transferObj : sliceTransfers.getContent()) {
+            if (!transferObj.getTransferDetails().isEmpty()) {
+                transferObj.setTransferDetails(null);
+            }
+        }
+        return sliceTransfers.map(transferMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Page} of some fields of the {@link TransferDTO} which match the criteria from the database,
+     * reading the columns of those fields only.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The names of the {@link TransferDTO} fields returned, besides the id.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Page<Map<String, Object>> findFieldsByCriteria(TransferCriteria criteria, Pageable page, List<String> fields) {
+        log.debug("find fields by criteria : {}, page: {}, fields: {}", criteria, page, fields);
+        final Specification<Transfer> specification = createSpecification(criteria);
+        return findFields(specification, page, fields, TransferDTO.class, () -> transferRepository.count(specification));
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of some fields of the {@link TransferDTO} which match the criteria from the database,
+     * reading the columns of those fields only and seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @param fields The names of the {@link TransferDTO} fields returned, besides the id.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<Map<String, Object>> findFieldsByCriteria(
+        TransferCriteria criteria,
+        Pageable page,
+        String after,
+        List<String> fields
+    ) {
+        log.debug("find fields by criteria : {}, page: {}, after: {}, fields: {}", criteria, page, after, fields);
+        final Specification<Transfer> specification = createSpecification(criteria);
+        return findFieldsAfter(specification, page, after, fields, TransferDTO.class);
+    }
+
+    /**
+     * Return a {@link Slice} of some fields of the {@link TransferDTO} which match the criteria from the database,
+     * reading the columns of those fields only, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The names of the {@link TransferDTO} fields returned, besides the id.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<Map<String, Object>> findFieldsSliceByCriteria(TransferCriteria criteria, Pageable page, List<String> fields) {
+        log.debug("find fields slice by criteria : {}, page: {}, fields: {}", criteria, page, fields);
+        final Specification<Transfer> specification = createSpecification(criteria);
+        return findFieldsSlice(specification, page, fields, TransferDTO.class);
+    }
+
     /**
      * Return the number of matching entities in the database.
      *
@@ -84,7 +177,7 @@ public class TransferQueryService extends QueryService<Transfer> {
      *                 should match.
      * @return the number of matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public long countByCriteria(TransferCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<Transfer> specification = createSpecification(criteria);
@@ -12,10 +12,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link TransferRecieved} entities in the database.
@@ -24,8 +24,8 @@ import tech.jhipster.service.QueryService;
  * It returns a {@link List} of {@link TransferRecievedDTO} or a {@link Page} of {@link TransferRecievedDTO} which fulfills the criteria.
  */
 @Service
-@Transactional(readOnly = true)
-public class TransferRecievedQueryService extends QueryService<TransferRecieved> {
+@Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+public class TransferRecievedQueryService extends KeysetQueryService<TransferRecieved> {
 
     private final Logger log = LoggerFactory.getLogger(TransferRecievedQueryService.class);
 
@@ -46,7 +46,7 @@ public class TransferRecievedQueryService extends QueryService<TransferRecieved>
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public List<TransferRecievedDTO> findByCriteria(TransferRecievedCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<TransferRecieved> specification = createSpecification(criteria);
@@ -59,19 +59,48 @@ public class TransferRecievedQueryService extends QueryService<TransferRecieved>
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public Page<TransferRecievedDTO> findByCriteria(TransferRecievedCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<TransferRecieved> specification = createSpecification(criteria);
         return transferRecievedRepository.findAll(specification, page).map(transferRecievedMapper::toDto);
     }
 
+    /**
+     * Return a {@link KeysetSlice} of {@link TransferRecievedDTO} which matches the criteria from the database,
+     * seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<TransferRecievedDTO> findByCriteria(TransferRecievedCriteria criteria, Pageable page, String after) {
+        log.debug("find by criteria : {}, page: {}, after: {}", criteria, page, after);
+        final Specification<TransferRecieved> specification = createSpecification(criteria);
+        return findAfter(specification, page, after).map(transferRecievedMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link TransferRecievedDTO} which matches the criteria from the database,
+     * without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<TransferRecievedDTO> findSliceByCriteria(TransferRecievedCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<TransferRecieved> specification = createSpecification(criteria);
+        return findSlice(specification, page).map(transferRecievedMapper::toDto);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public long countByCriteria(TransferRecievedCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<TransferRecieved> specification = createSpecification(criteria);
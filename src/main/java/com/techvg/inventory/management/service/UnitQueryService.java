@@ -12,10 +12,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link Unit} entities in the database.
@@ -24,8 +24,8 @@ import tech.jhipster.service.QueryService;
  * It returns a {@link List} of {@link UnitDTO} or a {@link Page} of {@link UnitDTO} which fulfills the criteria.
  */
 @Service
-@Transactional(readOnly = true)
-public class UnitQueryService extends QueryService<Unit> {
+@Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+public class UnitQueryService extends KeysetQueryService<Unit> {
 
     private final Logger log = LoggerFactory.getLogger(UnitQueryService.class);
 
@@ -43,7 +43,7 @@ public class UnitQueryService extends QueryService<Unit> {
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public List<UnitDTO> findByCriteria(UnitCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<Unit> specification = createSpecification(criteria);
@@ -56,19 +56,48 @@ public class UnitQueryService extends QueryService<Unit> {
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public Page<UnitDTO> findByCriteria(UnitCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Unit> specification = createSpecification(criteria);
         return unitRepository.findAll(specification, page).map(unitMapper::toDto);
     }
 
+    /**
+     * Return a {@link KeysetSlice} of {@link UnitDTO} which matches the criteria from the database,
+     * seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<UnitDTO> findByCriteria(UnitCriteria criteria, Pageable page, String after) {
+        log.debug("find by criteria : {}, page: {}, after: {}", criteria, page, after);
+        final Specification<Unit> specification = createSpecification(criteria);
+        return findAfter(specification, page, after).map(unitMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link UnitDTO} which matches the criteria from the database,
+     * without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<UnitDTO> findSliceByCriteria(UnitCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Unit> specification = createSpecification(criteria);
+        return findSlice(specification, page).map(unitMapper::toDto);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public long countByCriteria(UnitCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<Unit> specification = createSpecification(criteria);
@@ -25,9 +25,12 @@ public class UnitService {
 
     private final UnitMapper unitMapper;
 
-    public UnitService(UnitRepository unitRepository, UnitMapper unitMapper) {
+    private final CriteriaResultCache criteriaResultCache;
+
+    public UnitService(UnitRepository unitRepository, UnitMapper unitMapper, CriteriaResultCache criteriaResultCache) {
         this.unitRepository = unitRepository;
         this.unitMapper = unitMapper;
+        this.criteriaResultCache = criteriaResultCache;
     }
 
     /**
@@ -38,6 +41,7 @@ public class UnitService {
      */
     public UnitDTO save(UnitDTO unitDTO) {
         log.debug("Request to save Unit : {}", unitDTO);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
         Unit unit = unitMapper.toEntity(unitDTO);
         unit = unitRepository.save(unit);
         return unitMapper.toDto(unit);
@@ -51,6 +55,7 @@ public class UnitService {
      */
     public Optional<UnitDTO> partialUpdate(UnitDTO unitDTO) {
         log.debug("Request to partially update Unit : {}", unitDTO);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
 
         return unitRepository
             .findById(unitDTO.getId())
@@ -94,6 +99,7 @@ public class UnitService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Unit : {}", id);
+        criteriaResultCache.invalidate(ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE);
         unitRepository.deleteById(id);
     }
 }
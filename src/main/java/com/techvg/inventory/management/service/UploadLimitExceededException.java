@@ -0,0 +1,10 @@
+package com.techvg.inventory.management.service;
+
+public class UploadLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UploadLimitExceededException(String message) {
+        super(message);
+    }
+}
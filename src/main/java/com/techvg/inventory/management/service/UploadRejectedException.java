@@ -0,0 +1,10 @@
+package com.techvg.inventory.management.service;
+
+public class UploadRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UploadRejectedException(String message) {
+        super(message);
+    }
+}
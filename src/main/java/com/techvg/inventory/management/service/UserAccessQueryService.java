@@ -12,10 +12,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link UserAccess} entities in the database.
@@ -24,8 +24,8 @@ import tech.jhipster.service.QueryService;
  * It returns a {@link List} of {@link UserAccessDTO} or a {@link Page} of {@link UserAccessDTO} which fulfills the criteria.
  */
 @Service
-@Transactional(readOnly = true)
-public class UserAccessQueryService extends QueryService<UserAccess> {
+@Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+public class UserAccessQueryService extends KeysetQueryService<UserAccess> {
 
     private final Logger log = LoggerFactory.getLogger(UserAccessQueryService.class);
 
@@ -38,12 +38,17 @@ public class UserAccessQueryService extends QueryService<UserAccess> {
         this.userAccessMapper = userAccessMapper;
     }
 
+    @Override
+    protected String getEntityGraphName() {
+        return "UserAccess.list";
+    }
+
     /**
      * Return a {@link List} of {@link UserAccessDTO} which matches the criteria from the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public List<UserAccessDTO> findByCriteria(UserAccessCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<UserAccess> specification = createSpecification(criteria);
@@ -56,19 +61,48 @@ public class UserAccessQueryService extends QueryService<UserAccess> {
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public Page<UserAccessDTO> findByCriteria(UserAccessCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<UserAccess> specification = createSpecification(criteria);
         return userAccessRepository.findAll(specification, page).map(userAccessMapper::toDto);
     }
 
+    /**
+     * Return a {@link KeysetSlice} of {@link UserAccessDTO} which matches the criteria from the database,
+     * seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<UserAccessDTO> findByCriteria(UserAccessCriteria criteria, Pageable page, String after) {
+        log.debug("find by criteria : {}, page: {}, after: {}", criteria, page, after);
+        final Specification<UserAccess> specification = createSpecification(criteria);
+        return findAfter(specification, page, after).map(userAccessMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link UserAccessDTO} which matches the criteria from the database,
+     * without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<UserAccessDTO> findSliceByCriteria(UserAccessCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<UserAccess> specification = createSpecification(criteria);
+        return findSlice(specification, page).map(userAccessMapper::toDto);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public long countByCriteria(UserAccessCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<UserAccess> specification = createSpecification(criteria);
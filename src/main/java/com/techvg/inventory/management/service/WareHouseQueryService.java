@@ -12,10 +12,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link WareHouse} entities in the database.
@@ -24,8 +24,10 @@ import tech.jhipster.service.QueryService;
  * It returns a {@link List} of {@link WareHouseDTO} or a {@link Page} of {@link WareHouseDTO} which fulfills the criteria.
  */
 @Service
-@Transactional(readOnly = true)
-public class WareHouseQueryService extends QueryService<WareHouse> {
+@Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+public class WareHouseQueryService extends KeysetQueryService<WareHouse> {
+
+    public static final String WARE_HOUSES_BY_CRITERIA_CACHE = "wareHousesByCriteria";
 
     private final Logger log = LoggerFactory.getLogger(WareHouseQueryService.class);
 
@@ -33,9 +35,16 @@ public class WareHouseQueryService extends QueryService<WareHouse> {
 
     private final WareHouseMapper wareHouseMapper;
 
-    public WareHouseQueryService(WareHouseRepository wareHouseRepository, WareHouseMapper wareHouseMapper) {
+    private final CriteriaResultCache criteriaResultCache;
+
+    public WareHouseQueryService(
+        WareHouseRepository wareHouseRepository,
+        WareHouseMapper wareHouseMapper,
+        CriteriaResultCache criteriaResultCache
+    ) {
         this.wareHouseRepository = wareHouseRepository;
         this.wareHouseMapper = wareHouseMapper;
+        this.criteriaResultCache = criteriaResultCache;
     }
 
     /**
@@ -43,7 +52,7 @@ public class WareHouseQueryService extends QueryService<WareHouse> {
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public List<WareHouseDTO> findByCriteria(WareHouseCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<WareHouse> specification = createSpecification(criteria);
@@ -52,15 +61,50 @@ public class WareHouseQueryService extends QueryService<WareHouse> {
 
     /**
      * Return a {@link Page} of {@link WareHouseDTO} which matches the criteria from the database.
+     * The pages are cached in {@link #WARE_HOUSES_BY_CRITERIA_CACHE} until a wareHouse is written.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public Page<WareHouseDTO> findByCriteria(WareHouseCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<WareHouse> specification = createSpecification(criteria);
-        return wareHouseRepository.findAll(specification, page).map(wareHouseMapper::toDto);
+        return criteriaResultCache.get(
+            WARE_HOUSES_BY_CRITERIA_CACHE,
+            criteria,
+            page,
+            () -> wareHouseRepository.findAll(specification, page).map(wareHouseMapper::toDto)
+        );
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of {@link WareHouseDTO} which matches the criteria from the database,
+     * seeking past a cursor instead of skipping an offset.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @param after The cursor of the last entity of the previous slice, empty for the first slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public KeysetSlice<WareHouseDTO> findByCriteria(WareHouseCriteria criteria, Pageable page, String after) {
+        log.debug("find by criteria : {}, page: {}, after: {}", criteria, page, after);
+        final Specification<WareHouse> specification = createSpecification(criteria);
+        return findAfter(specification, page, after).map(wareHouseMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link WareHouseDTO} which matches the criteria from the database,
+     * without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
+    public Slice<WareHouseDTO> findSliceByCriteria(WareHouseCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<WareHouse> specification = createSpecification(criteria);
+        return findSlice(specification, page).map(wareHouseMapper::toDto);
     }
 
     /**
@@ -68,7 +112,7 @@ public class WareHouseQueryService extends QueryService<WareHouse> {
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = QueryCostGuard.TIMEOUT)
     public long countByCriteria(WareHouseCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<WareHouse> specification = createSpecification(criteria);
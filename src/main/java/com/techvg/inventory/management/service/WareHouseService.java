@@ -25,9 +25,16 @@ public class WareHouseService {
 
     private final WareHouseMapper wareHouseMapper;
 
-    public WareHouseService(WareHouseRepository wareHouseRepository, WareHouseMapper wareHouseMapper) {
+    private final CriteriaResultCache criteriaResultCache;
+
+    public WareHouseService(
+        WareHouseRepository wareHouseRepository,
+        WareHouseMapper wareHouseMapper,
+        CriteriaResultCache criteriaResultCache
+    ) {
         this.wareHouseRepository = wareHouseRepository;
         this.wareHouseMapper = wareHouseMapper;
+        this.criteriaResultCache = criteriaResultCache;
     }
 
     /**
@@ -38,6 +45,7 @@ public class WareHouseService {
      */
     public WareHouseDTO save(WareHouseDTO wareHouseDTO) {
         log.debug("Request to save WareHouse : {}", wareHouseDTO);
+        criteriaResultCache.invalidate(WareHouseQueryService.WARE_HOUSES_BY_CRITERIA_CACHE);
         WareHouse wareHouse = wareHouseMapper.toEntity(wareHouseDTO);
         wareHouse = wareHouseRepository.save(wareHouse);
         return wareHouseMapper.toDto(wareHouse);
@@ -51,6 +59,7 @@ public class WareHouseService {
      */
     public Optional<WareHouseDTO> partialUpdate(WareHouseDTO wareHouseDTO) {
         log.debug("Request to partially update WareHouse : {}", wareHouseDTO);
+        criteriaResultCache.invalidate(WareHouseQueryService.WARE_HOUSES_BY_CRITERIA_CACHE);
 
         return wareHouseRepository
             .findById(wareHouseDTO.getId())
@@ -94,6 +103,7 @@ public class WareHouseService {
      */
     public void delete(Long id) {
         log.debug("Request to delete WareHouse : {}", id);
+        criteriaResultCache.invalidate(WareHouseQueryService.WARE_HOUSES_BY_CRITERIA_CACHE);
         wareHouseRepository.deleteById(id);
     }
 }
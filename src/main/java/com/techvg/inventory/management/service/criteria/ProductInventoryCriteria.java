@@ -37,6 +37,12 @@ public class ProductInventoryCriteria implements Serializable, Criteria {
 
     private StringFilter totalQuanity;
 
+    private DoubleFilter inwardQuantity;
+
+    private DoubleFilter outwardQuantity;
+
+    private DoubleFilter totalQuantity;
+
     private LongFilter pricePerUnit;
 
     private StringFilter lotNo;
@@ -77,6 +83,9 @@ public class ProductInventoryCriteria implements Serializable, Criteria {
         this.inwardQty = other.inwardQty == null ? null : other.inwardQty.copy();
         this.outwardQty = other.outwardQty == null ? null : other.outwardQty.copy();
         this.totalQuanity = other.totalQuanity == null ? null : other.totalQuanity.copy();
+        this.inwardQuantity = other.inwardQuantity == null ? null : other.inwardQuantity.copy();
+        this.outwardQuantity = other.outwardQuantity == null ? null : other.outwardQuantity.copy();
+        this.totalQuantity = other.totalQuantity == null ? null : other.totalQuantity.copy();
         this.pricePerUnit = other.pricePerUnit == null ? null : other.pricePerUnit.copy();
         this.lotNo = other.lotNo == null ? null : other.lotNo.copy();
         this.expiryDate = other.expiryDate == null ? null : other.expiryDate.copy();
@@ -175,6 +184,51 @@ public class ProductInventoryCriteria implements Serializable, Criteria {
         this.totalQuanity = totalQuanity;
     }
 
+    public DoubleFilter getInwardQuantity() {
+        return inwardQuantity;
+    }
+
+    public DoubleFilter inwardQuantity() {
+        if (inwardQuantity == null) {
+            inwardQuantity = new DoubleFilter();
+        }
+        return inwardQuantity;
+    }
+
+    public void setInwardQuantity(DoubleFilter inwardQuantity) {
+        this.inwardQuantity = inwardQuantity;
+    }
+
+    public DoubleFilter getOutwardQuantity() {
+        return outwardQuantity;
+    }
+
+    public DoubleFilter outwardQuantity() {
+        if (outwardQuantity == null) {
+            outwardQuantity = new DoubleFilter();
+        }
+        return outwardQuantity;
+    }
+
+    public void setOutwardQuantity(DoubleFilter outwardQuantity) {
+        this.outwardQuantity = outwardQuantity;
+    }
+
+    public DoubleFilter getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public DoubleFilter totalQuantity() {
+        if (totalQuantity == null) {
+            totalQuantity = new DoubleFilter();
+        }
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(DoubleFilter totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
     public LongFilter getPricePerUnit() {
         return pricePerUnit;
     }
@@ -423,6 +477,9 @@ public class ProductInventoryCriteria implements Serializable, Criteria {
             Objects.equals(inwardQty, that.inwardQty) &&
             Objects.equals(outwardQty, that.outwardQty) &&
             Objects.equals(totalQuanity, that.totalQuanity) &&
+            Objects.equals(inwardQuantity, that.inwardQuantity) &&
+            Objects.equals(outwardQuantity, that.outwardQuantity) &&
+            Objects.equals(totalQuantity, that.totalQuantity) &&
             Objects.equals(pricePerUnit, that.pricePerUnit) &&
             Objects.equals(lotNo, that.lotNo) &&
             Objects.equals(expiryDate, that.expiryDate) &&
@@ -450,6 +507,9 @@ public class ProductInventoryCriteria implements Serializable, Criteria {
             inwardQty,
             outwardQty,
             totalQuanity,
+            inwardQuantity,
+            outwardQuantity,
+            totalQuantity,
             pricePerUnit,
             lotNo,
             expiryDate,
@@ -478,6 +538,9 @@ public class ProductInventoryCriteria implements Serializable, Criteria {
             (inwardQty != null ? "inwardQty=" + inwardQty + ", " : "") +
             (outwardQty != null ? "outwardQty=" + outwardQty + ", " : "") +
             (totalQuanity != null ? "totalQuanity=" + totalQuanity + ", " : "") +
+            (inwardQuantity != null ? "inwardQuantity=" + inwardQuantity + ", " : "") +
+            (outwardQuantity != null ? "outwardQuantity=" + outwardQuantity + ", " : "") +
+            (totalQuantity != null ? "totalQuantity=" + totalQuantity + ", " : "") +
             (pricePerUnit != null ? "pricePerUnit=" + pricePerUnit + ", " : "") +
             (lotNo != null ? "lotNo=" + lotNo + ", " : "") +
             (expiryDate != null ? "expiryDate=" + expiryDate + ", " : "") +
@@ -0,0 +1,126 @@
+package com.techvg.inventory.management.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for an upload of a product certificate sent in parts, see
+ * {@link com.techvg.inventory.management.service.ChunkedUploadService}.
+ */
+public class ChunkedUploadDTO implements Serializable {
+
+    private String id;
+
+    @NotNull
+    private Long productId;
+
+    private String fileName;
+
+    private String contentType;
+
+    @NotNull
+    @Positive
+    private Long length;
+
+    /**
+     * Number of bytes of the file received so far.
+     */
+    private Long received;
+
+    /**
+     * Offset of the first byte not received yet, where the client resumes; equal to the length once every byte is received.
+     */
+    private Long nextOffset;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getLength() {
+        return length;
+    }
+
+    public void setLength(Long length) {
+        this.length = length;
+    }
+
+    public Long getReceived() {
+        return received;
+    }
+
+    public void setReceived(Long received) {
+        this.received = received;
+    }
+
+    public Long getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(Long nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ChunkedUploadDTO)) {
+            return false;
+        }
+
+        ChunkedUploadDTO chunkedUploadDTO = (ChunkedUploadDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, chunkedUploadDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ChunkedUploadDTO{" +
+            "id='" + getId() + "'" +
+            ", productId=" + getProductId() +
+            ", fileName='" + getFileName() + "'" +
+            ", contentType='" + getContentType() + "'" +
+            ", length=" + getLength() +
+            ", received=" + getReceived() +
+            ", nextOffset=" + getNextOffset() +
+            "}";
+    }
+}
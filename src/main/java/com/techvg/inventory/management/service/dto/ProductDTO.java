@@ -1,9 +1,9 @@
 package com.techvg.inventory.management.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.techvg.inventory.management.domain.enumeration.ProductType;
 import java.io.Serializable;
 import java.util.Objects;
-import javax.persistence.Lob;
 
 /**
  * A DTO for the {@link com.techvg.inventory.management.domain.Product} entity.
@@ -18,10 +18,21 @@ public class ProductDTO implements Serializable {
 
     private String hsnNo;
 
-    @Lob
+    /**
+     * New material image of the product, only read on saves. Products are returned without it, the image is
+     * served by {@code /api/products/{id}/image}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private byte[] materialImage;
 
     private String materialImageContentType;
+
+    /**
+     * SHA-256 of the material image, set by the server. Thumbnail URLs pass it as their {@code v} parameter, so that
+     * browsers cache them for good.
+     */
+    private String materialImageHash;
+
     private Boolean isDeleted;
 
     private Boolean isActive;
@@ -118,6 +129,14 @@ public class ProductDTO implements Serializable {
         this.materialImageContentType = materialImageContentType;
     }
 
+    public String getMaterialImageHash() {
+        return materialImageHash;
+    }
+
+    public void setMaterialImageHash(String materialImageHash) {
+        this.materialImageHash = materialImageHash;
+    }
+
     public Boolean getIsDeleted() {
         return isDeleted;
     }
@@ -324,6 +343,7 @@ public class ProductDTO implements Serializable {
             ", chemicalFormula='" + getChemicalFormula() + "'" +
             ", hsnNo='" + getHsnNo() + "'" +
             ", materialImage='" + getMaterialImage() + "'" +
+            ", materialImageHash='" + getMaterialImageHash() + "'" +
             ", isDeleted='" + getIsDeleted() + "'" +
             ", isActive='" + getIsActive() + "'" +
             ", productName='" + getProductName() + "'" +
@@ -19,6 +19,12 @@ public class ProductInventoryDTO implements Serializable {
 
     private String totalQuanity;
 
+    private Double inwardQuantity;
+
+    private Double outwardQuantity;
+
+    private Double totalQuantity;
+
     private Long pricePerUnit;
 
     private String lotNo;
@@ -87,6 +93,30 @@ public class ProductInventoryDTO implements Serializable {
         this.totalQuanity = totalQuanity;
     }
 
+    public Double getInwardQuantity() {
+        return inwardQuantity;
+    }
+
+    public void setInwardQuantity(Double inwardQuantity) {
+        this.inwardQuantity = inwardQuantity;
+    }
+
+    public Double getOutwardQuantity() {
+        return outwardQuantity;
+    }
+
+    public void setOutwardQuantity(Double outwardQuantity) {
+        this.outwardQuantity = outwardQuantity;
+    }
+
+    public Double getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(Double totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
     public Long getPricePerUnit() {
         return pricePerUnit;
     }
@@ -229,6 +259,9 @@ public class ProductInventoryDTO implements Serializable {
             ", inwardQty='" + getInwardQty() + "'" +
             ", outwardQty='" + getOutwardQty() + "'" +
             ", totalQuanity='" + getTotalQuanity() + "'" +
+            ", inwardQuantity=" + getInwardQuantity() +
+            ", outwardQuantity=" + getOutwardQuantity() +
+            ", totalQuantity=" + getTotalQuantity() +
             ", pricePerUnit=" + getPricePerUnit() +
             ", lotNo='" + getLotNo() + "'" +
             ", expiryDate='" + getExpiryDate() + "'" +
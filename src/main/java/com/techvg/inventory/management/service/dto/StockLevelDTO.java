@@ -0,0 +1,79 @@
+package com.techvg.inventory.management.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the stock of one product in one wareHouse.
+ */
+public class StockLevelDTO implements Serializable {
+
+    private Long productId;
+
+    private Long wareHouseId;
+
+    private Double balance;
+
+    public StockLevelDTO() {}
+
+    public StockLevelDTO(Long productId, Long wareHouseId, Double balance) {
+        this.productId = productId;
+        this.wareHouseId = wareHouseId;
+        this.balance = balance;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getWareHouseId() {
+        return wareHouseId;
+    }
+
+    public void setWareHouseId(Long wareHouseId) {
+        this.wareHouseId = wareHouseId;
+    }
+
+    public Double getBalance() {
+        return balance;
+    }
+
+    public void setBalance(Double balance) {
+        this.balance = balance;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StockLevelDTO)) {
+            return false;
+        }
+        StockLevelDTO stockLevelDTO = (StockLevelDTO) o;
+        return (
+            Objects.equals(productId, stockLevelDTO.productId) &&
+            Objects.equals(wareHouseId, stockLevelDTO.wareHouseId) &&
+            Objects.equals(balance, stockLevelDTO.balance)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productId, wareHouseId, balance);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockLevelDTO{" +
+            "productId=" + getProductId() +
+            ", wareHouseId=" + getWareHouseId() +
+            ", balance=" + getBalance() +
+            "}";
+    }
+}
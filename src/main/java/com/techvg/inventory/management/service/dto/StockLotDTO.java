@@ -0,0 +1,127 @@
+package com.techvg.inventory.management.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.techvg.inventory.management.domain.StockLot} entity.
+ */
+public class StockLotDTO implements Serializable {
+
+    private Long id;
+
+    private String lotNo;
+
+    private Instant expiryDate;
+
+    private Double inwardQty;
+
+    private Double outwardQty;
+
+    private Double remainingQty;
+
+    private ProductDTO product;
+
+    private WareHouseDTO wareHouse;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getLotNo() {
+        return lotNo;
+    }
+
+    public void setLotNo(String lotNo) {
+        this.lotNo = lotNo;
+    }
+
+    public Instant getExpiryDate() {
+        return expiryDate;
+    }
+
+    public void setExpiryDate(Instant expiryDate) {
+        this.expiryDate = expiryDate;
+    }
+
+    public Double getInwardQty() {
+        return inwardQty;
+    }
+
+    public void setInwardQty(Double inwardQty) {
+        this.inwardQty = inwardQty;
+    }
+
+    public Double getOutwardQty() {
+        return outwardQty;
+    }
+
+    public void setOutwardQty(Double outwardQty) {
+        this.outwardQty = outwardQty;
+    }
+
+    public Double getRemainingQty() {
+        return remainingQty;
+    }
+
+    public void setRemainingQty(Double remainingQty) {
+        this.remainingQty = remainingQty;
+    }
+
+    public ProductDTO getProduct() {
+        return product;
+    }
+
+    public void setProduct(ProductDTO product) {
+        this.product = product;
+    }
+
+    public WareHouseDTO getWareHouse() {
+        return wareHouse;
+    }
+
+    public void setWareHouse(WareHouseDTO wareHouse) {
+        this.wareHouse = wareHouse;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StockLotDTO)) {
+            return false;
+        }
+
+        StockLotDTO stockLotDTO = (StockLotDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, stockLotDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockLotDTO{" +
+            "id=" + getId() +
+            ", lotNo='" + getLotNo() + "'" +
+            ", expiryDate='" + getExpiryDate() + "'" +
+            ", inwardQty=" + getInwardQty() +
+            ", outwardQty=" + getOutwardQty() +
+            ", remainingQty=" + getRemainingQty() +
+            ", product=" + getProduct() +
+            ", wareHouse=" + getWareHouse() +
+            "}";
+    }
+}
@@ -0,0 +1,122 @@
+package com.techvg.inventory.management.service.dto;
+
+import com.techvg.inventory.management.domain.enumeration.ReservationStatus;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for the {@link com.techvg.inventory.management.domain.StockReservation} entity.
+ */
+public class StockReservationDTO implements Serializable {
+
+    private Long id;
+
+    @NotNull
+    @Positive
+    private Double quantity;
+
+    private ReservationStatus status;
+
+    private Instant createdDate;
+
+    private Instant expiresAt;
+
+    @NotNull
+    private Long productId;
+
+    @NotNull
+    private Long wareHouseId;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Double getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Double quantity) {
+        this.quantity = quantity;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReservationStatus status) {
+        this.status = status;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getWareHouseId() {
+        return wareHouseId;
+    }
+
+    public void setWareHouseId(Long wareHouseId) {
+        this.wareHouseId = wareHouseId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StockReservationDTO)) {
+            return false;
+        }
+
+        StockReservationDTO stockReservationDTO = (StockReservationDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, stockReservationDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockReservationDTO{" +
+            "id=" + getId() +
+            ", quantity=" + getQuantity() +
+            ", status='" + getStatus() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", expiresAt='" + getExpiresAt() + "'" +
+            ", productId=" + getProductId() +
+            ", wareHouseId=" + getWareHouseId() +
+            "}";
+    }
+}
@@ -0,0 +1,107 @@
+package com.techvg.inventory.management.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the value of the stock of one product in one wareHouse, or of a whole wareHouse when no product is given.
+ */
+public class StockValuationDTO implements Serializable {
+
+    private Long productId;
+
+    private Long wareHouseId;
+
+    private Double quantity;
+
+    private Double averageCost;
+
+    private Double averageValue;
+
+    private Double fifoValue;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getWareHouseId() {
+        return wareHouseId;
+    }
+
+    public void setWareHouseId(Long wareHouseId) {
+        this.wareHouseId = wareHouseId;
+    }
+
+    public Double getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Double quantity) {
+        this.quantity = quantity;
+    }
+
+    public Double getAverageCost() {
+        return averageCost;
+    }
+
+    public void setAverageCost(Double averageCost) {
+        this.averageCost = averageCost;
+    }
+
+    public Double getAverageValue() {
+        return averageValue;
+    }
+
+    public void setAverageValue(Double averageValue) {
+        this.averageValue = averageValue;
+    }
+
+    public Double getFifoValue() {
+        return fifoValue;
+    }
+
+    public void setFifoValue(Double fifoValue) {
+        this.fifoValue = fifoValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StockValuationDTO)) {
+            return false;
+        }
+        StockValuationDTO stockValuationDTO = (StockValuationDTO) o;
+        return (
+            Objects.equals(productId, stockValuationDTO.productId) &&
+            Objects.equals(wareHouseId, stockValuationDTO.wareHouseId) &&
+            Objects.equals(quantity, stockValuationDTO.quantity) &&
+            Objects.equals(averageCost, stockValuationDTO.averageCost) &&
+            Objects.equals(averageValue, stockValuationDTO.averageValue) &&
+            Objects.equals(fifoValue, stockValuationDTO.fifoValue)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productId, wareHouseId, quantity, averageCost, averageValue, fifoValue);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockValuationDTO{" +
+            "productId=" + getProductId() +
+            ", wareHouseId=" + getWareHouseId() +
+            ", quantity=" + getQuantity() +
+            ", averageCost=" + getAverageCost() +
+            ", averageValue=" + getAverageValue() +
+            ", fifoValue=" + getFifoValue() +
+            "}";
+    }
+}
@@ -22,4 +22,21 @@ public interface ProductInventoryMapper extends EntityMapper<ProductInventoryDTO
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
     ProductInventoryDTO toDtoId(ProductInventory productInventory);
+
+    /**
+     * The typed quantities of the entity are derived from its text quantities. A typed quantity of the DTO is only
+     * used when its text quantity is absent, so a client which sends both can never store two different values.
+     */
+    @AfterMapping
+    default void quantityText(ProductInventoryDTO dto, @MappingTarget ProductInventory productInventory) {
+        if (dto.getInwardQty() == null && dto.getInwardQuantity() != null) {
+            productInventory.setInwardQty(ProductInventory.toQuantityText(dto.getInwardQuantity()));
+        }
+        if (dto.getOutwardQty() == null && dto.getOutwardQuantity() != null) {
+            productInventory.setOutwardQty(ProductInventory.toQuantityText(dto.getOutwardQuantity()));
+        }
+        if (dto.getTotalQuanity() == null && dto.getTotalQuantity() != null) {
+            productInventory.setTotalQuanity(ProductInventory.toQuantityText(dto.getTotalQuantity()));
+        }
+    }
 }
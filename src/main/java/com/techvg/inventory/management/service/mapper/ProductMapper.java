@@ -12,8 +12,17 @@ public interface ProductMapper extends EntityMapper<ProductDTO, Product> {
     @Mapping(target = "categories.id", source = "categories.id")
     @Mapping(target = "unit.id", source = "unit.id")
     @Mapping(target = "securityUser.id", source = "securityUser.id")
+    @Mapping(target = "materialImage", ignore = true)
     ProductDTO toDto(Product s);
 
+    @Mapping(target = "materialImageHash", ignore = true)
+    Product toEntity(ProductDTO dto);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "materialImageHash", ignore = true)
+    void partialUpdate(@MappingTarget Product entity, ProductDTO dto);
+
     @Named("id")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -0,0 +1,15 @@
+package com.techvg.inventory.management.service.mapper;
+
+import com.techvg.inventory.management.domain.StockLot;
+import com.techvg.inventory.management.service.dto.StockLotDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link StockLot} and its DTO {@link StockLotDTO}.
+ */
+@Mapper(componentModel = "spring", uses = { ProductMapper.class, WareHouseMapper.class })
+public interface StockLotMapper extends EntityMapper<StockLotDTO, StockLot> {
+    @Mapping(target = "product", source = "product", qualifiedByName = "productName")
+    @Mapping(target = "wareHouse", source = "wareHouse", qualifiedByName = "whName")
+    StockLotDTO toDto(StockLot s);
+}
@@ -0,0 +1,15 @@
+package com.techvg.inventory.management.service.mapper;
+
+import com.techvg.inventory.management.domain.StockReservation;
+import com.techvg.inventory.management.service.dto.StockReservationDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link StockReservation} and its DTO {@link StockReservationDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface StockReservationMapper extends EntityMapper<StockReservationDTO, StockReservation> {
+    @Mapping(target = "productId", source = "product.id")
+    @Mapping(target = "wareHouseId", source = "wareHouse.id")
+    StockReservationDTO toDto(StockReservation s);
+}
@@ -3,9 +3,12 @@ package com.techvg.inventory.management.web.rest;
 import com.techvg.inventory.management.repository.CategoriesRepository;
 import com.techvg.inventory.management.service.CategoriesQueryService;
 import com.techvg.inventory.management.service.CategoriesService;
+import com.techvg.inventory.management.service.KeysetSlice;
 import com.techvg.inventory.management.service.criteria.CategoriesCriteria;
 import com.techvg.inventory.management.service.dto.CategoriesDTO;
 import com.techvg.inventory.management.web.rest.errors.BadRequestAlertException;
+import com.techvg.inventory.management.web.rest.util.KeysetPaginationUtil;
+import com.techvg.inventory.management.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -16,6 +19,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -149,14 +153,29 @@ public class CategoriesResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the last entity of the previous slice, empty for the first slice; switches to keyset
+     *              pagination, with the next slice linked in the {@code Link} header and no total count.
+     * @param count {@code false} to link the neighbouring pages without counting the matching entities.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of categories in body.
      */
     @GetMapping("/categories")
     public ResponseEntity<List<CategoriesDTO>> getAllCategories(
         CategoriesCriteria criteria,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "true") boolean count,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get Categories by criteria: {}", criteria);
+        if (after != null) {
+            KeysetSlice<CategoriesDTO> slice = categoriesQueryService.findByCriteria(criteria, pageable, after);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        if (!count) {
+            Slice<CategoriesDTO> slice = categoriesQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         Page<CategoriesDTO> page = categoriesQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
@@ -0,0 +1,81 @@
+package com.techvg.inventory.management.web.rest;
+
+import com.techvg.inventory.management.service.CriteriaCountService;
+import com.techvg.inventory.management.web.rest.errors.BadRequestAlertException;
+import com.techvg.inventory.management.web.rest.vm.CountVM;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.DataBinder;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tech.jhipster.service.Criteria;
+
+/**
+ * REST controller counting entities for several criteria in one request.
+ */
+@RestController
+@RequestMapping("/api")
+public class CountResource {
+
+    static final int MAX_COUNTS = 50;
+
+    private static final String ENTITY_NAME = "count";
+
+    private final Logger log = LoggerFactory.getLogger(CountResource.class);
+
+    private final CriteriaCountService criteriaCountService;
+
+    private final ConversionService conversionService;
+
+    public CountResource(
+        CriteriaCountService criteriaCountService,
+        @Qualifier("mvcConversionService") ConversionService conversionService
+    ) {
+        this.criteriaCountService = criteriaCountService;
+        this.conversionService = conversionService;
+    }
+
+    /**
+     * {@code POST  /counts} : count the entities matching each of several criteria, concurrently.
+     * <p>
+     * Each count names an entity, such as {@code Product}, and holds its criteria as the query parameters of the
+     * entity's {@code /count} endpoint, such as {@code {"status.equals": "REQUESTED"}}.
+     *
+     * @param counts the counts, at most {@value #MAX_COUNTS}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the counts in body, in the order of the request,
+     * or with status {@code 400 (Bad Request)} if an entity cannot be counted or its criteria are invalid.
+     */
+    @PostMapping("/counts")
+    public ResponseEntity<List<Long>> count(@RequestBody List<CountVM> counts) {
+        log.debug("REST request to count : {}", counts);
+        if (counts.size() > MAX_COUNTS) {
+            throw new BadRequestAlertException("At most " + MAX_COUNTS + " counts can be made at once", ENTITY_NAME, "toomanycounts");
+        }
+        List<Criteria> criteria = new ArrayList<>(counts.size());
+        for (CountVM count : counts) {
+            Criteria entityCriteria = criteriaCountService
+                .createCriteria(count.getEntity())
+                .orElseThrow(() ->
+                    new BadRequestAlertException("Entity " + count.getEntity() + " cannot be counted", ENTITY_NAME, "entityunknown")
+                );
+            DataBinder binder = new DataBinder(entityCriteria, "criteria");
+            binder.setConversionService(conversionService);
+            if (count.getCriteria() != null) {
+                binder.bind(new MutablePropertyValues(count.getCriteria()));
+            }
+            if (binder.getBindingResult().hasErrors()) {
+                throw new BadRequestAlertException("Invalid criteria for " + count.getEntity(), ENTITY_NAME, "criteriainvalid");
+            }
+            criteria.add(entityCriteria);
+        }
+        return ResponseEntity.ok().body(criteriaCountService.count(criteria));
+    }
+}
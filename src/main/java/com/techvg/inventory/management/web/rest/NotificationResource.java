@@ -1,11 +1,14 @@
 package com.techvg.inventory.management.web.rest;
 
 import com.techvg.inventory.management.repository.NotificationRepository;
+import com.techvg.inventory.management.service.KeysetSlice;
 import com.techvg.inventory.management.service.NotificationQueryService;
 import com.techvg.inventory.management.service.NotificationService;
 import com.techvg.inventory.management.service.criteria.NotificationCriteria;
 import com.techvg.inventory.management.service.dto.NotificationDTO;
 import com.techvg.inventory.management.web.rest.errors.BadRequestAlertException;
+import com.techvg.inventory.management.web.rest.util.KeysetPaginationUtil;
+import com.techvg.inventory.management.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -18,6 +21,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -152,14 +156,29 @@ public class NotificationResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the last entity of the previous slice, empty for the first slice; switches to keyset
+     *              pagination, with the next slice linked in the {@code Link} header and no total count.
+     * @param count {@code false} to link the neighbouring pages without counting the matching entities.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of notifications in body.
      */
     @GetMapping("/notifications")
     public ResponseEntity<List<NotificationDTO>> getAllNotifications(
         NotificationCriteria criteria,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "true") boolean count,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get Notifications by criteria: {}", criteria);
+        if (after != null) {
+            KeysetSlice<NotificationDTO> slice = notificationQueryService.findByCriteria(criteria, pageable, after);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        if (!count) {
+            Slice<NotificationDTO> slice = notificationQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         Page<NotificationDTO> page = notificationQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
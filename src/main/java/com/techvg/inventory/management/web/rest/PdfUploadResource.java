@@ -0,0 +1,118 @@
+package com.techvg.inventory.management.web.rest;
+
+import com.techvg.inventory.management.service.ChunkedUploadService;
+import com.techvg.inventory.management.service.dto.ChunkedUploadDTO;
+import com.techvg.inventory.management.web.rest.errors.BadRequestAlertException;
+import com.techvg.inventory.management.web.rest.vm.UploadFileResponse;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import javax.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller uploading product certificates in parts, the resumable alternative to {@code POST /api/uploadPdfFile}.
+ * <p>
+ * A client starts an upload, sends the parts of the file as raw bodies with their offsets, in any order and several at
+ * once, then completes it. After a broken connection it gets the upload to learn where to resume.
+ */
+@RestController
+@RequestMapping("/api")
+public class PdfUploadResource {
+
+    private static final String ENTITY_NAME = "pdfUpload";
+
+    private final Logger log = LoggerFactory.getLogger(PdfUploadResource.class);
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    public PdfUploadResource(ChunkedUploadService chunkedUploadService) {
+        this.chunkedUploadService = chunkedUploadService;
+    }
+
+    /**
+     * {@code POST  /pdf-uploads} : start an upload.
+     *
+     * @param chunkedUploadDTO the product, the name, the content type and the length of the file.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the upload, with status {@code 400 (Bad Request)}
+     * if the file is too large or the product does not exist, or with status {@code 429 (Too Many Requests)} if too many uploads are open.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/pdf-uploads")
+    public ResponseEntity<ChunkedUploadDTO> startUpload(@Valid @RequestBody ChunkedUploadDTO chunkedUploadDTO) throws URISyntaxException {
+        log.debug("REST request to start upload : {}", chunkedUploadDTO);
+        if (chunkedUploadDTO.getId() != null) {
+            throw new BadRequestAlertException("A new upload cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        ChunkedUploadDTO result = chunkedUploadService.start(chunkedUploadDTO);
+        return ResponseEntity.created(new URI("/api/pdf-uploads/" + result.getId())).body(result);
+    }
+
+    /**
+     * {@code GET  /pdf-uploads/:id} : get the "id" upload, with the offset to resume it at.
+     *
+     * @param id the id of the upload.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the upload, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/pdf-uploads/{id}")
+    public ResponseEntity<ChunkedUploadDTO> getUpload(@PathVariable String id) {
+        log.debug("REST request to get upload : {}", id);
+        return ResponseEntity.ok().body(chunkedUploadService.findOne(id));
+    }
+
+    /**
+     * {@code PUT  /pdf-uploads/:id?offset=} : send a part of the "id" upload, as the raw body of the request.
+     *
+     * @param id the id of the upload.
+     * @param offset the offset of the part in the file.
+     * @param part the part.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the upload, with status {@code 400 (Bad Request)}
+     * if the part does not fit in the file, with status {@code 404 (Not Found)}, or with status {@code 429 (Too Many Requests)}
+     * if too many parts are being sent.
+     */
+    @PutMapping("/pdf-uploads/{id}")
+    public ResponseEntity<ChunkedUploadDTO> uploadPart(@PathVariable String id, @RequestParam long offset, InputStream part) {
+        log.debug("REST request to upload part at {} of upload : {}", offset, id);
+        return ResponseEntity.ok().body(chunkedUploadService.writePart(id, offset, part));
+    }
+
+    /**
+     * {@code POST  /pdf-uploads/:id/complete} : complete the "id" upload and store the file as the certificate of its product.
+     *
+     * @param id the id of the upload.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the name of the stored file, with status
+     * {@code 400 (Bad Request)} if parts are missing, or with status {@code 404 (Not Found)}.
+     */
+    @PostMapping("/pdf-uploads/{id}/complete")
+    public ResponseEntity<UploadFileResponse> completeUpload(@PathVariable String id) {
+        log.debug("REST request to complete upload : {}", id);
+        Long productId = chunkedUploadService.findOne(id).getProductId();
+        UploadFileResponse uploadResponse = new UploadFileResponse(chunkedUploadService.complete(id));
+        uploadResponse.setProductId(productId);
+        return ResponseEntity.ok().body(uploadResponse);
+    }
+
+    /**
+     * {@code DELETE  /pdf-uploads/:id} : abort the "id" upload.
+     *
+     * @param id the id of the upload.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("/pdf-uploads/{id}")
+    public ResponseEntity<Void> abortUpload(@PathVariable String id) {
+        log.debug("REST request to abort upload : {}", id);
+        chunkedUploadService.abort(id);
+        return ResponseEntity.noContent().build();
+    }
+}
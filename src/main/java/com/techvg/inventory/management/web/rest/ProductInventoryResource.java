@@ -1,17 +1,23 @@
 package com.techvg.inventory.management.web.rest;
 
 import com.techvg.inventory.management.repository.ProductInventoryRepository;
+import com.techvg.inventory.management.service.KeysetSlice;
 import com.techvg.inventory.management.service.ProductInventoryQueryService;
 import com.techvg.inventory.management.service.ProductInventoryService;
+import com.techvg.inventory.management.service.StockLotService;
 import com.techvg.inventory.management.service.criteria.ProductCriteria;
 import com.techvg.inventory.management.service.criteria.ProductInventoryCriteria;
 import com.techvg.inventory.management.service.dto.ProductDTO;
 import com.techvg.inventory.management.service.dto.ProductInventoryDTO;
+import com.techvg.inventory.management.service.dto.StockLotDTO;
 import com.techvg.inventory.management.web.rest.errors.BadRequestAlertException;
+import com.techvg.inventory.management.web.rest.util.KeysetPaginationUtil;
+import com.techvg.inventory.management.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -19,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -29,6 +36,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
@@ -56,14 +64,18 @@ public class ProductInventoryResource {
 
     private final ProductInventoryQueryService productInventoryQueryService;
 
+    private final StockLotService stockLotService;
+
     public ProductInventoryResource(
         ProductInventoryService productInventoryService,
         ProductInventoryRepository productInventoryRepository,
-        ProductInventoryQueryService productInventoryQueryService
+        ProductInventoryQueryService productInventoryQueryService,
+        StockLotService stockLotService
     ) {
         this.productInventoryService = productInventoryService;
         this.productInventoryRepository = productInventoryRepository;
         this.productInventoryQueryService = productInventoryQueryService;
+        this.stockLotService = stockLotService;
     }
 
     /**
@@ -169,20 +181,70 @@ public class ProductInventoryResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the last entity of the previous slice, empty for the first slice; switches to keyset
+     *              pagination, with the next slice linked in the {@code Link} header and no total count.
+     * @param count {@code false} to link the neighbouring pages without counting the matching entities.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list
      *         of productInventories in body.
      */
     @GetMapping("/product-inventories")
     public ResponseEntity<List<ProductInventoryDTO>> getAllProductInventories(
         ProductInventoryCriteria criteria,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "true") boolean count,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get ProductInventories by criteria: {}", criteria);
+        if (after != null) {
+            KeysetSlice<ProductInventoryDTO> slice = productInventoryQueryService.findByCriteria(criteria, pageable, after);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        if (!count) {
+            Slice<ProductInventoryDTO> slice = productInventoryQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         Page<ProductInventoryDTO> page = productInventoryQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /product-inventories?fields=} : get some fields of all the productInventories, reading the columns of those fields only.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the names of the fields returned besides the id, as in the full response; an association stands for
+     *               its id.
+     * @param after the cursor of the last entity of the previous slice, as for {@link #getAllProductInventories}.
+     * @param count {@code false} to link the neighbouring pages without counting the matching entities.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of the fields of the productInventories in body.
+     */
+    @GetMapping(value = "/product-inventories", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getProductInventoriesFields(
+        ProductInventoryCriteria criteria,
+        @RequestParam List<String> fields,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "true") boolean count,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to get the fields {} of ProductInventories by criteria: {}", fields, criteria);
+        if (after != null) {
+            KeysetSlice<Map<String, Object>> slice = productInventoryQueryService.findFieldsByCriteria(criteria, pageable, after, fields);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        if (!count) {
+            Slice<Map<String, Object>> slice = productInventoryQueryService.findFieldsSliceByCriteria(criteria, pageable, fields);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        Page<Map<String, Object>> page = productInventoryQueryService.findFieldsByCriteria(criteria, pageable, fields);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
     /**
      * {@code GET  /product-inventories/count} : count all the productInventories.
      *
@@ -215,6 +277,30 @@ public class ProductInventoryResource {
         return ResponseEntity.ok().headers(headers).body(stockCount.getContent());
     }
 
+    /**
+     * {@code GET  /product-inventories/expiring} : get the lots still in stock which expire within a number of days,
+     * first expiring first.
+     *
+     * @param withinDays the number of days from now, already expired lots are included.
+     * @param wareHouseId the id of the wareHouse, every wareHouse if not given.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of lots in body.
+     */
+    @GetMapping("/product-inventories/expiring")
+    public ResponseEntity<List<StockLotDTO>> getExpiringLots(
+        @RequestParam(defaultValue = "30") int withinDays,
+        @RequestParam(required = false) Long wareHouseId,
+        Pageable pageable
+    ) {
+        log.debug("REST request to get lots expiring within {} days in wareHouse {}", withinDays, wareHouseId);
+        if (withinDays < 0) {
+            throw new BadRequestAlertException("withinDays must not be negative", ENTITY_NAME, "withindaysnegative");
+        }
+        Page<StockLotDTO> page = stockLotService.findExpiring(withinDays, wareHouseId, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
     /**
      * {@code GET  /product-inventories/:id} : get the "id" productInventory.
      *
@@ -1,28 +1,48 @@
 package com.techvg.inventory.management.web.rest;
 
+import com.techvg.inventory.management.repository.ProductImageInfo;
 import com.techvg.inventory.management.repository.ProductRepository;
 import com.techvg.inventory.management.service.FileStorageService;
+import com.techvg.inventory.management.service.KeysetSlice;
+import com.techvg.inventory.management.service.ProductImageService;
 import com.techvg.inventory.management.service.ProductQueryService;
+import com.techvg.inventory.management.service.ProductSearchIndex;
 import com.techvg.inventory.management.service.ProductService;
+import com.techvg.inventory.management.service.ProductThumbnailService;
+import com.techvg.inventory.management.service.StoredFile;
 import com.techvg.inventory.management.service.criteria.ProductCriteria;
 import com.techvg.inventory.management.service.dto.ProductDTO;
 import com.techvg.inventory.management.web.rest.errors.BadRequestAlertException;
+import com.techvg.inventory.management.web.rest.util.KeysetPaginationUtil;
+import com.techvg.inventory.management.web.rest.util.SlicePaginationUtil;
 import com.techvg.inventory.management.web.rest.vm.UploadFileResponse;
-import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import javax.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -33,9 +53,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -52,6 +76,18 @@ public class ProductResource {
 
     private static final String ENTITY_NAME = "product";
 
+    static final int MAX_LOOKUP_CODES = 1000;
+
+    /**
+     * Browsers reuse an image for an hour, then revalidate it with its ETag.
+     */
+    static final CacheControl IMAGE_CACHE_CONTROL = CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate();
+
+    /**
+     * A thumbnail requested with the hash of its image never changes, so browsers keep it for a year.
+     */
+    static final CacheControl THUMBNAIL_CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate();
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -61,13 +97,25 @@ public class ProductResource {
 
     private final ProductQueryService productQueryService;
 
+    private final ProductImageService productImageService;
+
+    private final ProductThumbnailService productThumbnailService;
+
     @Autowired
     private FileStorageService fileStorageService;
 
-    public ProductResource(ProductService productService, ProductRepository productRepository, ProductQueryService productQueryService) {
+    public ProductResource(
+        ProductService productService,
+        ProductRepository productRepository,
+        ProductQueryService productQueryService,
+        ProductImageService productImageService,
+        ProductThumbnailService productThumbnailService
+    ) {
         this.productService = productService;
         this.productRepository = productRepository;
         this.productQueryService = productQueryService;
+        this.productImageService = productImageService;
+        this.productThumbnailService = productThumbnailService;
     }
 
     /**
@@ -165,19 +213,69 @@ public class ProductResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the last entity of the previous slice, empty for the first slice; switches to keyset
+     *              pagination, with the next slice linked in the {@code Link} header and no total count.
+     * @param count {@code false} to link the neighbouring pages without counting the matching entities.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
      */
     @GetMapping("/products")
     public ResponseEntity<List<ProductDTO>> getAllProducts(
         ProductCriteria criteria,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "true") boolean count,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get Products by criteria: {}", criteria);
+        if (after != null) {
+            KeysetSlice<ProductDTO> slice = productQueryService.findByCriteria(criteria, pageable, after);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        if (!count) {
+            Slice<ProductDTO> slice = productQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         Page<ProductDTO> page = productQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /products?fields=} : get some fields of all the products, reading the columns of those fields only.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the names of the fields returned besides the id, as in the full response; an association stands for
+     *               its id.
+     * @param after the cursor of the last entity of the previous slice, as for {@link #getAllProducts}.
+     * @param count {@code false} to link the neighbouring pages without counting the matching entities.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of the fields of the products in body.
+     */
+    @GetMapping(value = "/products", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getProductsFields(
+        ProductCriteria criteria,
+        @RequestParam List<String> fields,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "true") boolean count,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to get the fields {} of Products by criteria: {}", fields, criteria);
+        if (after != null) {
+            KeysetSlice<Map<String, Object>> slice = productQueryService.findFieldsByCriteria(criteria, pageable, after, fields);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        if (!count) {
+            Slice<Map<String, Object>> slice = productQueryService.findFieldsSliceByCriteria(criteria, pageable, fields);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        Page<Map<String, Object>> page = productQueryService.findFieldsByCriteria(criteria, pageable, fields);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
     /**
      * {@code GET  /products/count} : count all the products.
      *
@@ -190,6 +288,52 @@ public class ProductResource {
         return ResponseEntity.ok().body(productQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /products/search?q=:text} : search the products by name, chemical name, CAS number or catalog number.
+     *
+     * @param q the text searched, misspellings and partial codes are tolerated.
+     * @param size the maximum number of products returned, at most {@value ProductSearchIndex#MAX_RESULTS}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body, the most relevant first.
+     */
+    @GetMapping("/products/search")
+    public ResponseEntity<List<ProductDTO>> searchProducts(@RequestParam String q, @RequestParam(defaultValue = "20") int size) {
+        log.debug("REST request to search Products for : {}", q);
+        return ResponseEntity.ok().body(productQueryService.search(q, size));
+    }
+
+    /**
+     * {@code GET  /products/lookup?code=:code} : get the products holding a scanned code.
+     *
+     * @param code the bar code, QR code or CAS number scanned.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
+     */
+    @GetMapping("/products/lookup")
+    public ResponseEntity<List<ProductDTO>> lookupProducts(@RequestParam String code) {
+        log.debug("REST request to lookup Products by code : {}", code);
+        List<ProductDTO> products = productQueryService.lookup(Collections.singletonList(code)).getOrDefault(code, Collections.emptyList());
+        return ResponseEntity.ok().body(products);
+    }
+
+    /**
+     * {@code POST  /products/lookup} : get the products holding each of a batch of scanned codes, such as a pallet.
+     *
+     * @param codes the bar codes, QR codes or CAS numbers scanned, at most {@value #MAX_LOOKUP_CODES}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and in body the list of products of each distinct code,
+     * or with status {@code 400 (Bad Request)} if there are too many codes.
+     */
+    @PostMapping("/products/lookup")
+    public ResponseEntity<Map<String, List<ProductDTO>>> lookupProducts(@RequestBody List<String> codes) {
+        log.debug("REST request to lookup Products by {} codes", codes.size());
+        if (codes.size() > MAX_LOOKUP_CODES) {
+            throw new BadRequestAlertException(
+                "At most " + MAX_LOOKUP_CODES + " codes can be looked up at once",
+                ENTITY_NAME,
+                "toomanycodes"
+            );
+        }
+        return ResponseEntity.ok().body(productQueryService.lookup(codes));
+    }
+
     /**
      * {@code GET  /products/:id} : get the "id" product.
      *
@@ -203,6 +347,101 @@ public class ProductResource {
         return ResponseUtil.wrapOrNotFound(productDTO);
     }
 
+    /**
+     * {@code GET  /products/:id/image} : get the material image of the "id" product.
+     * <p>
+     * The ETag of the image is the SHA-256 of its content; a request whose {@code If-None-Match} header holds it is
+     * answered without reading the image.
+     *
+     * @param id the id of the product.
+     * @param request the current request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the image, with status {@code 304 (Not Modified)}
+     * if the client holds the image already, or with status {@code 404 (Not Found)} if the product has no image.
+     */
+    @GetMapping("/products/{id}/image")
+    public ResponseEntity<Resource> getProductImage(@PathVariable Long id, WebRequest request) {
+        log.debug("REST request to get the image of Product : {}", id);
+        Optional<ProductImageInfo> info = productImageService.findInfo(id);
+        if (!info.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = info.get().getContentHash();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(IMAGE_CACHE_CONTROL).build();
+        }
+        MediaType contentType = imageContentType(info.get().getContentType());
+        return productImageService
+            .findContent(id)
+            .map(content ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .cacheControl(IMAGE_CACHE_CONTROL)
+                    .contentType(contentType)
+                    .contentLength(content.length)
+                    .body((Resource) new ByteArrayResource(content))
+            )
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * {@code GET  /products/:id/image/thumbnails/:size} : get a thumbnail of the material image of the "id" product.
+     * <p>
+     * Requested with the {@code materialImageHash} of the product as {@code v}, the thumbnail is cached for a year, as
+     * a new image gets a new URL; without it, browsers revalidate it on each use. A thumbnail that is not generated yet
+     * is queued for generation and the request is redirected to the full image meanwhile.
+     *
+     * @param id the id of the product.
+     * @param size the size of the thumbnail, {@code small} or {@code medium}.
+     * @param version the hash of the image, optional.
+     * @param request the current request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the thumbnail, with status {@code 304 (Not Modified)}
+     * if the client holds it already, with status {@code 307 (Temporary Redirect)} to the full image if it is not generated yet,
+     * or with status {@code 404 (Not Found)} if the product has no image or the size is unknown.
+     */
+    @GetMapping("/products/{id}/image/thumbnails/{size}")
+    public ResponseEntity<Resource> getProductThumbnail(
+        @PathVariable Long id,
+        @PathVariable String size,
+        @RequestParam(name = "v", required = false) String version,
+        WebRequest request
+    ) {
+        log.debug("REST request to get the {} thumbnail of Product : {}", size, id);
+        Optional<ProductThumbnailService.Size> thumbnailSize = ProductThumbnailService.Size.fromName(size);
+        Optional<ProductImageInfo> info = productImageService.findInfo(id);
+        if (!thumbnailSize.isPresent() || !info.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        String contentHash = info.get().getContentHash();
+        Optional<Path> thumbnail = productThumbnailService.findThumbnail(id, contentHash, thumbnailSize.get());
+        if (!thumbnail.isPresent()) {
+            URI image = ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/products/{id}/image").buildAndExpand(id).toUri();
+            return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT).location(image).cacheControl(CacheControl.noStore()).build();
+        }
+        String eTag = contentHash + "-" + thumbnailSize.get().name();
+        CacheControl cacheControl = contentHash.equals(version) ? THUMBNAIL_CACHE_CONTROL : CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity
+            .ok()
+            .eTag(eTag)
+            .cacheControl(cacheControl)
+            .contentType(MediaType.parseMediaType(ProductThumbnailService.CONTENT_TYPE))
+            .body(new FileSystemResource(thumbnail.get()));
+    }
+
+    private static MediaType imageContentType(String contentType) {
+        if (contentType != null) {
+            try {
+                return MediaType.parseMediaType(contentType);
+            } catch (InvalidMediaTypeException e) {
+                // served as plain bytes below
+            }
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
     /**
      * {@code DELETE  /products/:id} : delete the "id" product.
      *
@@ -231,28 +470,98 @@ public class ProductResource {
         return ResponseEntity.ok().body(uploadResponse);
     }
 
+    /**
+     * {@code GET  /download-file/:fileName} : download a stored file, or the byte range of it asked by the {@code Range} header.
+     * <p>
+     * The file is validated by a strong ETag and its modification time; a range is only served while the {@code If-Range}
+     * header, if any, still matches the file, so that interrupted downloads resume without being restarted.
+     *
+     * @param fileName the name of the file.
+     * @param range the {@code Range} header, if any. Only a single range is served, requests for several get the whole file.
+     * @param ifRange the {@code If-Range} header, if any.
+     * @param request the current request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the file in body, with status {@code 206 (Partial Content)}
+     * and the range in body, with status {@code 304 (Not Modified)} if the client holds the file already, or with status
+     * {@code 416 (Requested Range Not Satisfiable)} if the range is outside of the file.
+     */
     @GetMapping("/download-file/{fileName}")
-    public ResponseEntity<?> downloadFile(@PathVariable String fileName, HttpServletRequest request) {
-        // Load file as Resource
-        Resource resource = fileStorageService.loadFileAsResource(fileName);
+    public ResponseEntity<StreamingResponseBody> downloadFile(
+        @PathVariable String fileName,
+        @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+        @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+        ServletWebRequest request
+    ) {
+        log.debug("REST request to download file : {}", fileName);
+        StoredFile file = fileStorageService.loadFile(fileName);
+        if (request.checkNotModified(file.getETag(), file.getLastModified())) {
+            // the status, 304 (Not Modified) or 412 (Precondition Failed), and the validators are set already
+            return null;
+        }
 
-        // Try to determine file's content type
-        String contentType = null;
-        try {
-            contentType = request.getServletContext().getMimeType(resource.getFile().getAbsolutePath());
-        } catch (IOException ex) {
-            System.out.print("Could not determine file type.");
+        long length = file.getLength();
+        long start = 0;
+        long count = length;
+        HttpStatus status = HttpStatus.OK;
+        if (range != null && isRangeValid(ifRange, file)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    count = ranges.get(0).getRangeEnd(length) - start + 1;
+                    status = HttpStatus.PARTIAL_CONTENT;
+                }
+            } catch (IllegalArgumentException e) {
+                return rangeNotSatisfiable(length);
+            }
+            // a range starting past the end of the file, or an empty suffix, selects no byte
+            if (start >= length || count <= 0) {
+                return rangeNotSatisfiable(length);
+            }
         }
 
-        // Fallback to the default content type if type could not be determined
+        // Try to determine file's content type, fallback to the default content type if type could not be determined
+        String contentType = request.getRequest().getServletContext().getMimeType(file.getFileName());
         if (contentType == null) {
             contentType = "application/pdf";
         }
 
-        return ResponseEntity
-            .ok()
+        ResponseEntity.BodyBuilder response = ResponseEntity
+            .status(status)
             .contentType(MediaType.parseMediaType(contentType))
-            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
-            .body(resource);
+            .contentLength(count)
+            .eTag(file.getETag())
+            .lastModified(file.getLastModified())
+            .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"");
+        if (status == HttpStatus.PARTIAL_CONTENT) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + count - 1) + "/" + length);
+        }
+        long position = start;
+        long rangeLength = count;
+        return response.body(outputStream -> fileStorageService.transferTo(file, position, rangeLength, outputStream));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> rangeNotSatisfiable(long length) {
+        return ResponseEntity
+            .status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+            .build();
+    }
+
+    /**
+     * A range is valid without an {@code If-Range} header, or when the header holds the ETag or the modification time of the file.
+     */
+    private static boolean isRangeValid(String ifRange, StoredFile file) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals("\"" + file.getETag() + "\"");
+        }
+        try {
+            return ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond() == file.getLastModified() / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
     }
 }
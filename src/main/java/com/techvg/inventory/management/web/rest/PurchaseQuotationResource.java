@@ -1,14 +1,18 @@
 package com.techvg.inventory.management.web.rest;
 
 import com.techvg.inventory.management.repository.PurchaseQuotationRepository;
+import com.techvg.inventory.management.service.KeysetSlice;
 import com.techvg.inventory.management.service.PurchaseQuotationQueryService;
 import com.techvg.inventory.management.service.PurchaseQuotationService;
 import com.techvg.inventory.management.service.criteria.PurchaseQuotationCriteria;
 import com.techvg.inventory.management.service.dto.PurchaseQuotationDTO;
 import com.techvg.inventory.management.web.rest.errors.BadRequestAlertException;
+import com.techvg.inventory.management.web.rest.util.KeysetPaginationUtil;
+import com.techvg.inventory.management.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -16,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -150,19 +155,69 @@ public class PurchaseQuotationResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the last entity of the previous slice, empty for the first slice; switches to keyset
+     *              pagination, with the next slice linked in the {@code Link} header and no total count.
+     * @param count {@code false} to link the neighbouring pages without counting the matching entities.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of purchaseQuotations in body.
      */
     @GetMapping("/purchase-quotations")
     public ResponseEntity<List<PurchaseQuotationDTO>> getAllPurchaseQuotations(
         PurchaseQuotationCriteria criteria,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "true") boolean count,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get PurchaseQuotations by criteria: {}", criteria);
+        if (after != null) {
+            KeysetSlice<PurchaseQuotationDTO> slice = purchaseQuotationQueryService.findByCriteria(criteria, pageable, after);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        if (!count) {
+            Slice<PurchaseQuotationDTO> slice = purchaseQuotationQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         Page<PurchaseQuotationDTO> page = purchaseQuotationQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /purchase-quotations?fields=} : get some fields of all the purchaseQuotations, reading the columns of those fields only.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the names of the fields returned besides the id, as in the full response; an association stands for
+     *               its id.
+     * @param after the cursor of the last entity of the previous slice, as for {@link #getAllPurchaseQuotations}.
+     * @param count {@code false} to link the neighbouring pages without counting the matching entities.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of the fields of the purchaseQuotations in body.
+     */
+    @GetMapping(value = "/purchase-quotations", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getPurchaseQuotationsFields(
+        PurchaseQuotationCriteria criteria,
+        @RequestParam List<String> fields,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "true") boolean count,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to get the fields {} of PurchaseQuotations by criteria: {}", fields, criteria);
+        if (after != null) {
+            KeysetSlice<Map<String, Object>> slice = purchaseQuotationQueryService.findFieldsByCriteria(criteria, pageable, after, fields);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        if (!count) {
+            Slice<Map<String, Object>> slice = purchaseQuotationQueryService.findFieldsSliceByCriteria(criteria, pageable, fields);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        Page<Map<String, Object>> page = purchaseQuotationQueryService.findFieldsByCriteria(criteria, pageable, fields);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
     /**
      * {@code GET  /purchase-quotations/count} : count all the purchaseQuotations.
      *
@@ -0,0 +1,123 @@
+package com.techvg.inventory.management.web.rest;
+
+import com.techvg.inventory.management.service.StockReservationService;
+import com.techvg.inventory.management.service.dto.ProductInventoryDTO;
+import com.techvg.inventory.management.service.dto.StockReservationDTO;
+import com.techvg.inventory.management.web.rest.errors.BadRequestAlertException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.Optional;
+import javax.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for managing {@link com.techvg.inventory.management.domain.StockReservation}.
+ */
+@RestController
+@RequestMapping("/api")
+public class StockReservationResource {
+
+    private final Logger log = LoggerFactory.getLogger(StockReservationResource.class);
+
+    private static final String ENTITY_NAME = "stockReservation";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final StockReservationService stockReservationService;
+
+    public StockReservationResource(StockReservationService stockReservationService) {
+        this.stockReservationService = stockReservationService;
+    }
+
+    /**
+     * {@code POST  /stock/reservations} : Reserve stock of a product in a wareHouse.
+     *
+     * @param stockReservationDTO the product, wareHouse and quantity to reserve.
+     * @param ttlSeconds how long the reservation holds, in seconds, 15 minutes if not given and at most one day.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new reservation,
+     * or with status {@code 400 (Bad Request)} if the reservation has already an ID,
+     * or with status {@code 409 (Conflict)} if the available stock does not cover the quantity.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/stock/reservations")
+    public ResponseEntity<StockReservationDTO> createStockReservation(
+        @Valid @RequestBody StockReservationDTO stockReservationDTO,
+        @RequestParam(required = false) Long ttlSeconds
+    ) throws URISyntaxException {
+        log.debug("REST request to save StockReservation : {}", stockReservationDTO);
+        if (stockReservationDTO.getId() != null) {
+            throw new BadRequestAlertException("A new stockReservation cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        StockReservationDTO result = stockReservationService.reserve(
+            stockReservationDTO.getProductId(),
+            stockReservationDTO.getWareHouseId(),
+            stockReservationDTO.getQuantity(),
+            ttlSeconds == null ? null : Duration.ofSeconds(ttlSeconds)
+        );
+        return ResponseEntity
+            .created(new URI("/api/stock/reservations/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * {@code GET  /stock/reservations/:id} : get the "id" stockReservation.
+     *
+     * @param id the id of the stockReservationDTO to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the stockReservationDTO, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/stock/reservations/{id}")
+    public ResponseEntity<StockReservationDTO> getStockReservation(@PathVariable Long id) {
+        log.debug("REST request to get StockReservation : {}", id);
+        Optional<StockReservationDTO> stockReservationDTO = stockReservationService.findOne(id);
+        return ResponseUtil.wrapOrNotFound(stockReservationDTO);
+    }
+
+    /**
+     * {@code POST  /stock/reservations/:id/commit} : commit the "id" stockReservation as an outward posting.
+     *
+     * @param id the id of the stockReservationDTO to commit.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new productInventory,
+     * or with status {@code 404 (Not Found)} if there is no active reservation with this id.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/stock/reservations/{id}/commit")
+    public ResponseEntity<ProductInventoryDTO> commitStockReservation(@PathVariable Long id) throws URISyntaxException {
+        log.debug("REST request to commit StockReservation : {}", id);
+        Optional<ProductInventoryDTO> result = stockReservationService.commit(id);
+        if (!result.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity
+            .created(new URI("/api/product-inventories/" + result.get().getId()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .body(result.get());
+    }
+
+    /**
+     * {@code DELETE  /stock/reservations/:id} : release the "id" stockReservation.
+     *
+     * @param id the id of the stockReservationDTO to release.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 404 (Not Found)} if there is no active reservation with this id.
+     */
+    @DeleteMapping("/stock/reservations/{id}")
+    public ResponseEntity<Void> releaseStockReservation(@PathVariable Long id) {
+        log.debug("REST request to release StockReservation : {}", id);
+        if (!stockReservationService.release(id).isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity
+            .noContent()
+            .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .build();
+    }
+}
@@ -0,0 +1,162 @@
+package com.techvg.inventory.management.web.rest;
+
+import com.techvg.inventory.management.service.StockCheckpointService;
+import com.techvg.inventory.management.service.StockExportService;
+import com.techvg.inventory.management.service.StockLedger;
+import com.techvg.inventory.management.service.StockValuationService;
+import com.techvg.inventory.management.service.dto.StockLevelDTO;
+import com.techvg.inventory.management.service.dto.StockValuationDTO;
+import com.techvg.inventory.management.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for reading stock from the in-memory {@link StockLedger}, and its value.
+ */
+@RestController
+@RequestMapping("/api")
+public class StockResource {
+
+    private final Logger log = LoggerFactory.getLogger(StockResource.class);
+
+    private static final String ENTITY_NAME = "stock";
+
+    private final StockLedger stockLedger;
+
+    private final StockCheckpointService stockCheckpointService;
+
+    private final StockValuationService stockValuationService;
+
+    private final StockExportService stockExportService;
+
+    public StockResource(
+        StockLedger stockLedger,
+        StockCheckpointService stockCheckpointService,
+        StockValuationService stockValuationService,
+        StockExportService stockExportService
+    ) {
+        this.stockLedger = stockLedger;
+        this.stockCheckpointService = stockCheckpointService;
+        this.stockValuationService = stockValuationService;
+        this.stockExportService = stockExportService;
+    }
+
+    /**
+     * {@code GET  /stock} : get the stock of a product, of a wareHouse, or of a product in a wareHouse.
+     * With {@code asOf} the stock is the one made of the ledger rows dated before that date, read from the database.
+     *
+     * @param productId the id of the product.
+     * @param wareHouseId the id of the wareHouse.
+     * @param asOf the date of the stock, now if not given.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of stocks in body,
+     *         or with status {@code 400 (Bad Request)} if neither id nor date is given.
+     */
+    @GetMapping("/stock")
+    public ResponseEntity<List<StockLevelDTO>> getStock(
+        @RequestParam(required = false) Long productId,
+        @RequestParam(required = false) Long wareHouseId,
+        @RequestParam(required = false) Instant asOf
+    ) {
+        log.debug("REST request to get Stock of product {} in wareHouse {} as of {}", productId, wareHouseId, asOf);
+        if (asOf != null) {
+            return ResponseEntity.ok().body(stockCheckpointService.findStockAsOf(productId, wareHouseId, asOf));
+        }
+        if (productId == null && wareHouseId == null) {
+            throw new BadRequestAlertException("A productId or a wareHouseId is required", ENTITY_NAME, "idnull");
+        }
+        if (productId == null) {
+            return ResponseEntity.ok().body(stockLedger.getWareHouseStock(wareHouseId));
+        }
+        if (wareHouseId == null) {
+            return ResponseEntity.ok().body(stockLedger.getProductStock(productId));
+        }
+        return ResponseEntity.ok().body(stockLedger.getStock(productId, wareHouseId).map(Collections::singletonList).orElse(Collections.emptyList()));
+    }
+
+    /**
+     * {@code GET  /stock/:wareHouseId/:productId} : get the stock of a product in a wareHouse.
+     *
+     * @param wareHouseId the id of the wareHouse.
+     * @param productId the id of the product.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the stock in body,
+     *         or with status {@code 404 (Not Found)} if the product never moved in the wareHouse.
+     */
+    @GetMapping("/stock/{wareHouseId}/{productId}")
+    public ResponseEntity<StockLevelDTO> getStockLevel(@PathVariable Long wareHouseId, @PathVariable Long productId) {
+        log.debug("REST request to get Stock of product {} in wareHouse {}", productId, wareHouseId);
+        Optional<StockLevelDTO> stockLevelDTO = stockLedger.getStock(productId, wareHouseId);
+        return ResponseUtil.wrapOrNotFound(stockLevelDTO);
+    }
+
+    /**
+     * {@code GET  /stock/valuation} : get the value of the stock of every wareHouse, at weighted average and FIFO cost.
+     *
+     * @param wareHouseId the id of the wareHouse, every wareHouse if not given.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of wareHouse totals in body.
+     */
+    @GetMapping("/stock/valuation")
+    public ResponseEntity<List<StockValuationDTO>> getStockValuation(@RequestParam(required = false) Long wareHouseId) {
+        log.debug("REST request to get Stock valuation of wareHouse {}", wareHouseId);
+        return ResponseEntity.ok().body(stockValuationService.findWareHouseTotals(wareHouseId));
+    }
+
+    /**
+     * {@code GET  /stock/valuation/:wareHouseId} : get the value of the stock of each product of a wareHouse.
+     *
+     * @param wareHouseId the id of the wareHouse.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of product valuations in body.
+     */
+    @GetMapping("/stock/valuation/{wareHouseId}")
+    public ResponseEntity<List<StockValuationDTO>> getWareHouseStockValuation(@PathVariable Long wareHouseId) {
+        log.debug("REST request to get Stock valuation of the products of wareHouse {}", wareHouseId);
+        return ResponseEntity.ok().body(stockValuationService.findWareHouseValuation(wareHouseId));
+    }
+
+    /**
+     * {@code GET  /stock/export} : export the stock of every product and wareHouse, streamed row by row.
+     *
+     * @param format the format, {@code csv} or {@code ndjson}.
+     * @param wareHouseId the id of the wareHouse, every wareHouse if not given.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the export in body,
+     *         or with status {@code 400 (Bad Request)} if the format is unknown.
+     */
+    @GetMapping("/stock/export")
+    public ResponseEntity<StreamingResponseBody> exportStock(
+        @RequestParam(defaultValue = "csv") String format,
+        @RequestParam(required = false) Long wareHouseId
+    ) {
+        log.debug("REST request to export Stock of wareHouse {} as {}", wareHouseId, format);
+        StockExportService.Format exportFormat;
+        MediaType mediaType;
+        if ("csv".equalsIgnoreCase(format)) {
+            exportFormat = StockExportService.Format.CSV;
+            mediaType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            exportFormat = StockExportService.Format.NDJSON;
+            mediaType = new MediaType("application", "x-ndjson");
+        } else {
+            throw new BadRequestAlertException("Unknown export format", ENTITY_NAME, "formatinvalid");
+        }
+        StreamingResponseBody body = outputStream -> stockExportService.export(exportFormat, wareHouseId, outputStream);
+        return ResponseEntity
+            .ok()
+            .contentType(mediaType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"stock." + exportFormat.name().toLowerCase() + "\"")
+            .body(body);
+    }
+}
@@ -1,14 +1,18 @@
 package com.techvg.inventory.management.web.rest;
 
 import com.techvg.inventory.management.repository.TransferRepository;
+import com.techvg.inventory.management.service.KeysetSlice;
 import com.techvg.inventory.management.service.TransferQueryService;
 import com.techvg.inventory.management.service.TransferService;
 import com.techvg.inventory.management.service.criteria.TransferCriteria;
 import com.techvg.inventory.management.service.dto.TransferDTO;
 import com.techvg.inventory.management.web.rest.errors.BadRequestAlertException;
+import com.techvg.inventory.management.web.rest.util.KeysetPaginationUtil;
+import com.techvg.inventory.management.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -16,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -149,19 +154,69 @@ public class TransferResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the last entity of the previous slice, empty for the first slice; switches to keyset
+     *              pagination, with the next slice linked in the {@code Link} header and no total count.
+     * @param count {@code false} to link the neighbouring pages without counting the matching entities.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of transfers in body.
      */
     @GetMapping("/transfers")
     public ResponseEntity<List<TransferDTO>> getAllTransfers(
         TransferCriteria criteria,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "true") boolean count,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get Transfers by criteria: {}", criteria);
+        if (after != null) {
+            KeysetSlice<TransferDTO> slice = transferQueryService.findByCriteria(criteria, pageable, after);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        if (!count) {
+            Slice<TransferDTO> slice = transferQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         Page<TransferDTO> page = transferQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /transfers?fields=} : get some fields of all the transfers, reading the columns of those fields only.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the names of the fields returned besides the id, as in the full response; an association stands for
+     *               its id.
+     * @param after the cursor of the last entity of the previous slice, as for {@link #getAllTransfers}.
+     * @param count {@code false} to link the neighbouring pages without counting the matching entities.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of the fields of the transfers in body.
+     */
+    @GetMapping(value = "/transfers", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTransfersFields(
+        TransferCriteria criteria,
+        @RequestParam List<String> fields,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "true") boolean count,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to get the fields {} of Transfers by criteria: {}", fields, criteria);
+        if (after != null) {
+            KeysetSlice<Map<String, Object>> slice = transferQueryService.findFieldsByCriteria(criteria, pageable, after, fields);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        if (!count) {
+            Slice<Map<String, Object>> slice = transferQueryService.findFieldsSliceByCriteria(criteria, pageable, fields);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        Page<Map<String, Object>> page = transferQueryService.findFieldsByCriteria(criteria, pageable, fields);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
     /**
      * {@code GET  /transfers/count} : count all the transfers.
      *
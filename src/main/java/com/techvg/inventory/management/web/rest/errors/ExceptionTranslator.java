@@ -14,8 +14,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -149,6 +152,86 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(new InvalidPasswordException(), request);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleInsufficientStockException(
+        com.techvg.inventory.management.service.InsufficientStockException ex,
+        NativeWebRequest request
+    ) {
+        Problem problem = Problem
+            .builder()
+            .withStatus(Status.CONFLICT)
+            .withDetail(ex.getMessage())
+            .with(MESSAGE_KEY, ErrorConstants.ERR_INSUFFICIENT_STOCK)
+            .build();
+        return create(ex, problem, request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleInvalidCursorException(
+        com.techvg.inventory.management.service.InvalidCursorException ex,
+        NativeWebRequest request
+    ) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "pagination", "cursorinvalid"), request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleInvalidFieldsException(
+        com.techvg.inventory.management.service.InvalidFieldsException ex,
+        NativeWebRequest request
+    ) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "fields", "fieldsinvalid"), request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleInvalidSortException(
+        com.techvg.inventory.management.service.InvalidSortException ex,
+        NativeWebRequest request
+    ) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "sort", "sortinvalid"), request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleQueryRejectedException(
+        com.techvg.inventory.management.service.QueryRejectedException ex,
+        NativeWebRequest request
+    ) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "query", "queryrejected"), request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleUploadRejectedException(
+        com.techvg.inventory.management.service.UploadRejectedException ex,
+        NativeWebRequest request
+    ) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "upload", "uploadrejected"), request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleUploadLimitExceededException(
+        com.techvg.inventory.management.service.UploadLimitExceededException ex,
+        NativeWebRequest request
+    ) {
+        Problem problem = Problem
+            .builder()
+            .withStatus(Status.TOO_MANY_REQUESTS)
+            .withDetail(ex.getMessage())
+            .with(MESSAGE_KEY, ErrorConstants.ERR_UPLOAD_LIMIT)
+            .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return create(ex, problem, request, headers);
+    }
+
+    @ExceptionHandler({ QueryTimeoutException.class, javax.persistence.QueryTimeoutException.class, TransactionTimedOutException.class })
+    public ResponseEntity<Problem> handleQueryTimeout(RuntimeException ex, NativeWebRequest request) {
+        Problem problem = Problem
+            .builder()
+            .withStatus(Status.SERVICE_UNAVAILABLE)
+            .with(MESSAGE_KEY, ErrorConstants.ERR_QUERY_TIMEOUT)
+            .build();
+        return create(ex, problem, request);
+    }
+
     @ExceptionHandler
     public ResponseEntity<Problem> handleBadRequestAlertException(BadRequestAlertException ex, NativeWebRequest request) {
         return create(
@@ -0,0 +1,42 @@
+package com.techvg.inventory.management.web.rest.util;
+
+import com.techvg.inventory.management.service.KeysetSlice;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Utility class for handling keyset pagination.
+ * <p>
+ * The next slice is linked with a <a href="https://tools.ietf.org/html/rfc5988">Link header</a> carrying its
+ * {@code after} cursor, no link is sent with the last slice. No total count is computed. The cursor holds a sort key
+ * which may contain any character, so it is percent encoded in full.
+ */
+public final class KeysetPaginationUtil {
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate keyset pagination headers for a Spring Data {@link KeysetSlice} object.
+     *
+     * @param uriBuilder The URI builder of the current request.
+     * @param slice The slice.
+     * @param <T> The type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, KeysetSlice<T> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.getNextCursor() != null) {
+            String link = uriBuilder
+                .replaceQueryParam("page")
+                .replaceQueryParam("after")
+                .toUriString()
+                .replace(",", "%2C")
+                .replace(";", "%3B");
+            link += (link.contains("?") ? "&" : "?") + "after=" + UriUtils.encode(slice.getNextCursor(), StandardCharsets.UTF_8);
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
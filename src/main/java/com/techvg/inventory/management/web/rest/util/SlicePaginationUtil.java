@@ -0,0 +1,58 @@
+package com.techvg.inventory.management.web.rest.util;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling pagination without a total count.
+ * <p>
+ * Like {@link tech.jhipster.web.util.PaginationUtil}, pages are linked with a
+ * <a href="https://tools.ietf.org/html/rfc5988">Link header</a>, but only the next, previous and first pages are
+ * known and no {@code X-Total-Count} header is sent.
+ */
+public final class SlicePaginationUtil {
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Generate pagination headers for a Spring Data {@link Slice} object.
+     *
+     * @param uriBuilder The URI builder of the current request.
+     * @param slice The slice.
+     * @param <T> The type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        List<String> links = new ArrayList<>();
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        if (slice.hasNext()) {
+            links.add(link(uriBuilder, pageNumber + 1, pageSize, "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(link(uriBuilder, pageNumber - 1, pageSize, "prev"));
+            links.add(link(uriBuilder, 0, pageSize, "first"));
+        }
+        if (!links.isEmpty()) {
+            headers.add(HttpHeaders.LINK, String.join(",", links));
+        }
+        return headers;
+    }
+
+    private static String link(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        String uri = uriBuilder
+            .replaceQueryParam("page", Integer.toString(pageNumber))
+            .replaceQueryParam("size", Integer.toString(pageSize))
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return MessageFormat.format(HEADER_LINK_FORMAT, uri, relType);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Utilities for the REST controllers.
+ */
+package com.techvg.inventory.management.web.rest.util;
@@ -0,0 +1,39 @@
+package com.techvg.inventory.management.web.rest.vm;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * View Model object for one count of a batch: the name of an entity, and the criteria its count should match.
+ */
+public class CountVM {
+
+    private String entity;
+
+    private Map<String, String> criteria = new LinkedHashMap<>();
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public void setEntity(String entity) {
+        this.entity = entity;
+    }
+
+    public Map<String, String> getCriteria() {
+        return criteria;
+    }
+
+    public void setCriteria(Map<String, String> criteria) {
+        this.criteria = criteria;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CountVM{" +
+            "entity='" + entity + "'" +
+            ", criteria=" + criteria +
+            "}";
+    }
+}
@@ -0,0 +1,68 @@
+import { ComponentFixture, TestBed } from '@angular/core/testing';
+import { HttpClientTestingModule } from '@angular/common/http/testing';
+import { of } from 'rxjs';
+
+import { ProductService } from '../service/product.service';
+
+import { ProductImageComponent } from './product-image.component';
+
+describe('Product Image Component', () => {
+  let comp: ProductImageComponent;
+  let fixture: ComponentFixture<ProductImageComponent>;
+  let service: ProductService;
+
+  beforeEach(() => {
+    TestBed.configureTestingModule({
+      imports: [HttpClientTestingModule],
+      declarations: [ProductImageComponent],
+    })
+      .overrideTemplate(ProductImageComponent, '')
+      .compileComponents();
+    fixture = TestBed.createComponent(ProductImageComponent);
+    comp = fixture.componentInstance;
+    service = TestBed.inject(ProductService);
+    URL.createObjectURL = jest.fn(() => 'blob:thumbnail');
+    URL.revokeObjectURL = jest.fn();
+  });
+
+  it('Should load the thumbnail of the current image', () => {
+    // GIVEN
+    jest.spyOn(service, 'getThumbnail').mockReturnValue(of(new Blob(['png'])));
+    comp.product = { id: 123, materialImageContentType: 'image/png', materialImageHash: 'abc' };
+    comp.size = 'medium';
+
+    // WHEN
+    comp.ngOnChanges();
+
+    // THEN
+    expect(service.getThumbnail).toHaveBeenCalledWith(123, 'medium', 'abc');
+    expect(comp.thumbnailUrl).not.toBeNull();
+  });
+
+  it('Should not load a thumbnail for a product without image', () => {
+    // GIVEN
+    jest.spyOn(service, 'getThumbnail');
+    comp.product = { id: 123 };
+
+    // WHEN
+    comp.ngOnChanges();
+
+    // THEN
+    expect(service.getThumbnail).not.toHaveBeenCalled();
+    expect(comp.thumbnailUrl).toBeNull();
+  });
+
+  it('Should release the thumbnail on destroy', () => {
+    // GIVEN
+    jest.spyOn(service, 'getThumbnail').mockReturnValue(of(new Blob(['png'])));
+    comp.product = { id: 123, materialImageContentType: 'image/png' };
+    comp.ngOnChanges();
+
+    // WHEN
+    comp.ngOnDestroy();
+
+    // THEN
+    expect(URL.revokeObjectURL).toHaveBeenCalledWith('blob:thumbnail');
+    expect(comp.thumbnailUrl).toBeNull();
+  });
+});
@@ -0,0 +1,65 @@
+import { Component, Input, OnChanges, OnDestroy } from '@angular/core';
+import { DomSanitizer, SafeUrl } from '@angular/platform-browser';
+import { Subscription } from 'rxjs';
+
+import { IProduct } from '../product.model';
+import { ProductService, ProductThumbnailSize } from '../service/product.service';
+
+/**
+ * Shows the thumbnail of the material image of a product, opening the full image on click.
+ * The images are read with the http client, so that they are requested with the credentials of the user.
+ */
+@Component({
+  selector: 'jhi-product-image',
+  templateUrl: './product-image.component.html',
+})
+export class ProductImageComponent implements OnChanges, OnDestroy {
+  @Input() product?: IProduct | null;
+  @Input() size: ProductThumbnailSize = 'small';
+
+  thumbnailUrl: SafeUrl | null = null;
+
+  protected objectUrl: string | null = null;
+  protected subscription?: Subscription;
+
+  constructor(protected productService: ProductService, protected sanitizer: DomSanitizer) {}
+
+  ngOnChanges(): void {
+    this.release();
+    const id = this.product?.id;
+    if (id === undefined || !this.product?.materialImageContentType) {
+      return;
+    }
+    this.subscription = this.productService.getThumbnail(id, this.size, this.product.materialImageHash).subscribe(thumbnail => {
+      this.objectUrl = URL.createObjectURL(thumbnail);
+      this.thumbnailUrl = this.sanitizer.bypassSecurityTrustUrl(this.objectUrl);
+    });
+  }
+
+  ngOnDestroy(): void {
+    this.release();
+  }
+
+  openImage(): void {
+    const id = this.product?.id;
+    if (id === undefined) {
+      return;
+    }
+    this.productService.getImage(id).subscribe(image => {
+      const fileURL = URL.createObjectURL(image);
+      const win = window.open(fileURL);
+      win!.onload = function () {
+        URL.revokeObjectURL(fileURL);
+      };
+    });
+  }
+
+  protected release(): void {
+    this.subscription?.unsubscribe();
+    if (this.objectUrl) {
+      URL.revokeObjectURL(this.objectUrl);
+    }
+    this.objectUrl = null;
+    this.thumbnailUrl = null;
+  }
+}
@@ -11,6 +11,7 @@ export interface IProduct {
   hsnNo?: string | null;
   materialImageContentType?: string | null;
   materialImage?: string | null;
+  materialImageHash?: string | null;
   isDeleted?: boolean | null;
   isActive?: boolean | null;
   productName?: string | null;
@@ -4,11 +4,12 @@ import { ProductComponent } from './list/product.component';
 import { ProductDetailComponent } from './detail/product-detail.component';
 import { ProductUpdateComponent } from './update/product-update.component';
 import { ProductDeleteDialogComponent } from './delete/product-delete-dialog.component';
+import { ProductImageComponent } from './image/product-image.component';
 import { ProductRoutingModule } from './route/product-routing.module';
 
 @NgModule({
   imports: [SharedModule, ProductRoutingModule],
-  declarations: [ProductComponent, ProductDetailComponent, ProductUpdateComponent, ProductDeleteDialogComponent],
+  declarations: [ProductComponent, ProductDetailComponent, ProductUpdateComponent, ProductDeleteDialogComponent, ProductImageComponent],
   entryComponents: [ProductDeleteDialogComponent],
 })
 export class ProductModule {}
@@ -199,6 +199,17 @@ describe('Product Service', () => {
       expect(expectedResult);
     });
 
+    it('should get a thumbnail of a Product image by its hash', () => {
+      let thumbnail: Blob | null = null;
+      service.getThumbnail(123, 'small', 'abc').subscribe(resp => (thumbnail = resp));
+
+      const req = httpMock.expectOne(request => request.url.endsWith('api/products/123/image/thumbnails/small'));
+      expect(req.request.method).toBe('GET');
+      expect(req.request.params.get('v')).toBe('abc');
+      req.flush(new Blob(['png']));
+      expect(thumbnail).toBeInstanceOf(Blob);
+    });
+
     describe('addProductToCollectionIfMissing', () => {
       it('should add a Product to an empty array', () => {
         const product: IProduct = { id: 123 };
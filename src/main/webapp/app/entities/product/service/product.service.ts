@@ -9,6 +9,7 @@ import { IProduct, getProductIdentifier } from '../product.model';
 
 export type EntityResponseType = HttpResponse<IProduct>;
 export type EntityArrayResponseType = HttpResponse<IProduct[]>;
+export type ProductThumbnailSize = 'small' | 'medium';
 
 @Injectable({ providedIn: 'root' })
 export class ProductService {
@@ -41,6 +42,19 @@ export class ProductService {
     return this.http.delete(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
 
+  getImage(id: number): Observable<Blob> {
+    return this.http.get(`${this.resourceUrl}/${id}/image`, { responseType: 'blob' });
+  }
+
+  /**
+   * Gets a thumbnail of the material image of a product. Given the image hash, the browser keeps the thumbnail
+   * cached until the image changes.
+   */
+  getThumbnail(id: number, size: ProductThumbnailSize, imageHash?: string | null): Observable<Blob> {
+    const params = imageHash ? { v: imageHash } : {};
+    return this.http.get(`${this.resourceUrl}/${id}/image/thumbnails/${size}`, { params, responseType: 'blob' });
+  }
+
   addProductToCollectionIfMissing(productCollection: IProduct[], ...productsToCheck: (IProduct | null | undefined)[]): IProduct[] {
     const products: IProduct[] = productsToCheck.filter(isPresent);
     if (products.length > 0) {
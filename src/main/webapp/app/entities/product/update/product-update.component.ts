@@ -24,6 +24,7 @@ import { ProductType } from 'app/entities/enumerations/product-type.model';
 })
 export class ProductUpdateComponent implements OnInit {
   isSaving = false;
+  product: IProduct | null = null;
   productTypeValues = Object.keys(ProductType);
 
   categoriesSharedCollection: ICategories[] = [];
@@ -74,6 +75,7 @@ export class ProductUpdateComponent implements OnInit {
 
   ngOnInit(): void {
     this.activatedRoute.data.subscribe(({ product }) => {
+      this.product = product;
       this.updateForm(product);
 
       this.loadRelationshipsOptions();
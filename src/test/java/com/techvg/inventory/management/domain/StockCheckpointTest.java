@@ -0,0 +1,23 @@
+package com.techvg.inventory.management.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.techvg.inventory.management.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class StockCheckpointTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(StockCheckpoint.class);
+        StockCheckpoint stockCheckpoint1 = new StockCheckpoint();
+        stockCheckpoint1.setId(1L);
+        StockCheckpoint stockCheckpoint2 = new StockCheckpoint();
+        stockCheckpoint2.setId(stockCheckpoint1.getId());
+        assertThat(stockCheckpoint1).isEqualTo(stockCheckpoint2);
+        stockCheckpoint2.setId(2L);
+        assertThat(stockCheckpoint1).isNotEqualTo(stockCheckpoint2);
+        stockCheckpoint1.setId(null);
+        assertThat(stockCheckpoint1).isNotEqualTo(stockCheckpoint2);
+    }
+}
@@ -0,0 +1,23 @@
+package com.techvg.inventory.management.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.techvg.inventory.management.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class StockCostLayerTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(StockCostLayer.class);
+        StockCostLayer stockCostLayer1 = new StockCostLayer();
+        stockCostLayer1.setId(1L);
+        StockCostLayer stockCostLayer2 = new StockCostLayer();
+        stockCostLayer2.setId(stockCostLayer1.getId());
+        assertThat(stockCostLayer1).isEqualTo(stockCostLayer2);
+        stockCostLayer2.setId(2L);
+        assertThat(stockCostLayer1).isNotEqualTo(stockCostLayer2);
+        stockCostLayer1.setId(null);
+        assertThat(stockCostLayer1).isNotEqualTo(stockCostLayer2);
+    }
+}
@@ -0,0 +1,23 @@
+package com.techvg.inventory.management.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.techvg.inventory.management.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class StockLotTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(StockLot.class);
+        StockLot stockLot1 = new StockLot();
+        stockLot1.setId(1L);
+        StockLot stockLot2 = new StockLot();
+        stockLot2.setId(stockLot1.getId());
+        assertThat(stockLot1).isEqualTo(stockLot2);
+        stockLot2.setId(2L);
+        assertThat(stockLot1).isNotEqualTo(stockLot2);
+        stockLot1.setId(null);
+        assertThat(stockLot1).isNotEqualTo(stockLot2);
+    }
+}
@@ -0,0 +1,23 @@
+package com.techvg.inventory.management.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.techvg.inventory.management.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class StockReservationTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(StockReservation.class);
+        StockReservation stockReservation1 = new StockReservation();
+        stockReservation1.setId(1L);
+        StockReservation stockReservation2 = new StockReservation();
+        stockReservation2.setId(stockReservation1.getId());
+        assertThat(stockReservation1).isEqualTo(stockReservation2);
+        stockReservation2.setId(2L);
+        assertThat(stockReservation1).isNotEqualTo(stockReservation2);
+        stockReservation1.setId(null);
+        assertThat(stockReservation1).isNotEqualTo(stockReservation2);
+    }
+}
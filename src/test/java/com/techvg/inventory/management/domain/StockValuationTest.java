@@ -0,0 +1,23 @@
+package com.techvg.inventory.management.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.techvg.inventory.management.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class StockValuationTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(StockValuation.class);
+        StockValuation stockValuation1 = new StockValuation();
+        stockValuation1.setId(1L);
+        StockValuation stockValuation2 = new StockValuation();
+        stockValuation2.setId(stockValuation1.getId());
+        assertThat(stockValuation1).isEqualTo(stockValuation2);
+        stockValuation2.setId(2L);
+        assertThat(stockValuation1).isNotEqualTo(stockValuation2);
+        stockValuation1.setId(null);
+        assertThat(stockValuation1).isNotEqualTo(stockValuation2);
+    }
+}
@@ -0,0 +1,121 @@
+package com.techvg.inventory.management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.techvg.inventory.management.IntegrationTest;
+import com.techvg.inventory.management.domain.enumeration.NotificationType;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Query plan regression tests: the SQL generated for the main filters and stock paths must reach the large tables
+ * through an index, never through a full scan.
+ * <p>
+ * The plans are read with the H2 {@code EXPLAIN} of the test database, with every parameter bound to {@code null}
+ * as H2 plans the statement before the parameters are known.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class QueryPlanIT {
+
+    private static final List<String> LARGE_TABLES = Arrays.asList(
+        "PRODUCT",
+        "PRODUCT_INVENTORY",
+        "NOTIFICATION",
+        "TRANSFER",
+        "PRODUCT_TRANSACTION",
+        "PURCHASE_QUOTATION",
+        "STOCK_BALANCE"
+    );
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductInventoryRepository productInventoryRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private StockBalanceRepository stockBalanceRepository;
+
+    @Test
+    @Transactional
+    void productCodeFiltersUseIndexes() throws Exception {
+        assertNoFullScan("/api/products?casNumber.equals=64-17-5");
+        assertNoFullScan("/api/products?barCode.equals=8901234567890");
+        assertNoFullScan("/api/products?qrCode.equals=QR-1");
+    }
+
+    @Test
+    @Transactional
+    void documentFiltersUseIndexes() throws Exception {
+        assertNoFullScan("/api/transfers?status.equals=REQUESTED");
+        assertNoFullScan("/api/product-transactions?refrenceId.equals=1");
+        assertNoFullScan("/api/purchase-quotations?refrenceNumber.equals=PO-1");
+    }
+
+    @Test
+    @Transactional
+    void stockPathsUseIndexes() {
+        RecordingStatementInspector.start();
+        productInventoryRepository.findLedger(1L, 1L);
+        notificationRepository.existsUnread(NotificationType.ALERT, 1L, "lowStock:1");
+        stockBalanceRepository.findOneByProductIdAndWareHouseId(1L, 1L);
+        assertNoFullScan(RecordingStatementInspector.stop());
+    }
+
+    private void assertNoFullScan(String url) throws Exception {
+        RecordingStatementInspector.start();
+        try {
+            restMockMvc.perform(get(url)).andExpect(status().isOk());
+        } finally {
+            assertNoFullScan(RecordingStatementInspector.stop());
+        }
+    }
+
+    private void assertNoFullScan(List<String> statements) {
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            for (String table : LARGE_TABLES) {
+                assertThat(plan).as(sql).doesNotContain("PUBLIC." + table + ".tableScan");
+            }
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query(
+            "EXPLAIN " + sql,
+            (PreparedStatement ps) -> {
+                int parameterCount = ps.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameterCount; i++) {
+                    ps.setObject(i, null);
+                }
+            },
+            (ResultSet rs) -> {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        );
+    }
+}
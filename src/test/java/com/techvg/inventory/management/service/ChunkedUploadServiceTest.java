@@ -0,0 +1,129 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.techvg.inventory.management.config.ApplicationProperties;
+import com.techvg.inventory.management.repository.ProductRepository;
+import com.techvg.inventory.management.service.dto.ChunkedUploadDTO;
+import com.techvg.inventory.management.web.rest.errors.MentionedFileNotFoundException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit tests for {@link ChunkedUploadService}.
+ */
+class ChunkedUploadServiceTest {
+
+    @TempDir
+    Path storageDirectory;
+
+    private FileStorageService fileStorageService;
+
+    private ChunkedUploadService chunkedUploadService;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getChunkedUpload().setMaxUploads(2);
+        applicationProperties.getChunkedUpload().setMaxFileSize(100);
+        applicationProperties.getChunkedUpload().setExpiryMinutes(60);
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.existsById(anyLong())).thenReturn(true);
+        fileStorageService = mock(FileStorageService.class);
+        chunkedUploadService = new ChunkedUploadService(
+            new MockEnvironment().withProperty("app.file.upload-dir", storageDirectory.toString()),
+            applicationProperties,
+            fileStorageService,
+            productRepository
+        );
+    }
+
+    @Test
+    void assemblesPartsSentOutOfOrder() {
+        AtomicReference<String> assembled = new AtomicReference<>();
+        when(fileStorageService.storeFile(any(Path.class), anyString(), anyString(), anyLong()))
+            .thenAnswer(invocation -> {
+                assembled.set(new String(Files.readAllBytes(invocation.<Path>getArgument(0)), StandardCharsets.US_ASCII));
+                return "COA_1.pdf";
+            });
+        String id = chunkedUploadService.start(upload(10)).getId();
+
+        writePart(id, 6, "6789");
+        writePart(id, 0, "012");
+        // sending a part again replaces it, up to the next part
+        ChunkedUploadDTO status = writePart(id, 0, "012345");
+        assertThat(status.getReceived()).isEqualTo(10);
+        assertThat(status.getNextOffset()).isEqualTo(10);
+
+        assertThat(chunkedUploadService.complete(id)).isEqualTo("COA_1.pdf");
+        assertThat(assembled.get()).isEqualTo("0123456789");
+        assertThat(storageDirectory.resolve("chunks").resolve(id)).doesNotExist();
+    }
+
+    @Test
+    void rejectsOverlappingParts() {
+        String id = chunkedUploadService.start(upload(10)).getId();
+        writePart(id, 0, "012345");
+        writePart(id, 8, "89");
+
+        assertThatThrownBy(() -> writePart(id, 4, "4567")).isInstanceOf(UploadRejectedException.class);
+        assertThatThrownBy(() -> writePart(id, 6, "6789")).isInstanceOf(UploadRejectedException.class);
+        assertThat(chunkedUploadService.findOne(id).getReceived()).isEqualTo(8);
+
+        // a replacement running into the next part is rejected, and the part it replaced is lost
+        assertThatThrownBy(() -> writePart(id, 0, "012345678")).isInstanceOf(UploadRejectedException.class);
+        ChunkedUploadDTO status = chunkedUploadService.findOne(id);
+        assertThat(status.getReceived()).isEqualTo(2);
+        assertThat(status.getNextOffset()).isZero();
+    }
+
+    @Test
+    void limitsTheOpenUploads() {
+        chunkedUploadService.start(upload(10));
+        chunkedUploadService.start(upload(10));
+        assertThatThrownBy(() -> chunkedUploadService.start(upload(10))).isInstanceOf(UploadLimitExceededException.class);
+        assertThatThrownBy(() -> chunkedUploadService.start(upload(101))).isInstanceOf(UploadRejectedException.class);
+    }
+
+    @Test
+    void expiresIdleUploads() throws Exception {
+        String id = chunkedUploadService.start(upload(10)).getId();
+        writePart(id, 0, "01234");
+
+        assertThat(chunkedUploadService.expireUploads(Instant.now())).isZero();
+        assertThat(chunkedUploadService.expireUploads(Instant.now().plusSeconds(3601))).isEqualTo(1);
+
+        assertThatThrownBy(() -> chunkedUploadService.findOne(id)).isInstanceOf(MentionedFileNotFoundException.class);
+        try (Stream<Path> files = Files.list(storageDirectory.resolve("chunks"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private ChunkedUploadDTO writePart(String id, long offset, String part) {
+        return chunkedUploadService.writePart(id, offset, new ByteArrayInputStream(part.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static ChunkedUploadDTO upload(long length) {
+        ChunkedUploadDTO chunkedUploadDTO = new ChunkedUploadDTO();
+        chunkedUploadDTO.setProductId(1L);
+        chunkedUploadDTO.setFileName("coa.pdf");
+        chunkedUploadDTO.setContentType("application/pdf");
+        chunkedUploadDTO.setLength(length);
+        return chunkedUploadDTO;
+    }
+}
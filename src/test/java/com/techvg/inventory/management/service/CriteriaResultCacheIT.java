@@ -0,0 +1,122 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.techvg.inventory.management.IntegrationTest;
+import com.techvg.inventory.management.service.criteria.ProductCriteria;
+import com.techvg.inventory.management.service.dto.CategoriesDTO;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Integration tests for {@link CriteriaResultCache}, through the cached {@link ProductQueryService}.
+ * <p>
+ * Not transactional, as results are only cached from read-only transactions.
+ */
+@IntegrationTest
+class CriteriaResultCacheIT {
+
+    private static final String CACHE = ProductQueryService.PRODUCTS_BY_CRITERIA_CACHE;
+
+    @Autowired
+    private ProductQueryService productQueryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoriesService categoriesService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ProductCriteria byName(String productName) {
+        ProductCriteria criteria = new ProductCriteria();
+        StringFilter filter = new StringFilter();
+        filter.setEquals(productName);
+        criteria.setProductName(filter);
+        return criteria;
+    }
+
+    private double gets(String result) {
+        return meterRegistry.counter(CriteriaResultCache.GETS_METER_NAME, "cache", CACHE, "result", result).count();
+    }
+
+    @Test
+    void repeatedQueryIsServedFromCacheUntilAProductIsWritten() {
+        String productName = "cached-" + UUID.randomUUID();
+        Pageable page = PageRequest.of(0, 20);
+        ProductDTO product = null;
+        try {
+            double hits = gets("hit");
+            double misses = gets("miss");
+
+            Page<ProductDTO> first = productQueryService.findByCriteria(byName(productName), page);
+            Page<ProductDTO> second = productQueryService.findByCriteria(byName(productName), page);
+
+            assertThat(first.getContent()).isEmpty();
+            assertThat(second).isSameAs(first);
+            assertThat(gets("miss")).isEqualTo(misses + 1);
+            assertThat(gets("hit")).isEqualTo(hits + 1);
+
+            product = new ProductDTO();
+            product.setProductName(productName);
+            product = productService.save(product);
+
+            Page<ProductDTO> afterSave = productQueryService.findByCriteria(byName(productName), page);
+
+            assertThat(afterSave.getContent()).extracting(ProductDTO::getId).containsExactly(product.getId());
+            assertThat(gets("miss")).isEqualTo(misses + 2);
+        } finally {
+            if (product != null && product.getId() != null) {
+                productService.delete(product.getId());
+            }
+        }
+        assertThat(productQueryService.findByCriteria(byName(productName), page).getContent()).isEmpty();
+    }
+
+    @Test
+    void writingACategoryEvictsTheCachedProducts() {
+        Pageable page = PageRequest.of(0, 20);
+        ProductCriteria criteria = byName("categorized-" + UUID.randomUUID());
+        CategoriesDTO category = null;
+        try {
+            double misses = gets("miss");
+            Page<ProductDTO> first = productQueryService.findByCriteria(criteria, page);
+            assertThat(productQueryService.findByCriteria(criteria, page)).isSameAs(first);
+
+            category = new CategoriesDTO();
+            category.setCategoryName("evicting");
+            category = categoriesService.save(category);
+
+            assertThat(productQueryService.findByCriteria(criteria, page)).isNotSameAs(first);
+            assertThat(gets("miss")).isEqualTo(misses + 2);
+        } finally {
+            if (category != null && category.getId() != null) {
+                categoriesService.delete(category.getId());
+            }
+        }
+    }
+
+    @Test
+    @Transactional
+    void queryInWriteTransactionIsNotCached() {
+        double hits = gets("hit");
+        double misses = gets("miss");
+        ProductCriteria criteria = byName("uncached-" + UUID.randomUUID());
+
+        productQueryService.findByCriteria(criteria, PageRequest.of(0, 20));
+        productQueryService.findByCriteria(criteria, PageRequest.of(0, 20));
+
+        assertThat(gets("hit")).isEqualTo(hits);
+        assertThat(gets("miss")).isEqualTo(misses);
+    }
+}
@@ -0,0 +1,88 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.techvg.inventory.management.IntegrationTest;
+import com.techvg.inventory.management.domain.Product;
+import com.techvg.inventory.management.domain.ProductCertificate;
+import com.techvg.inventory.management.repository.ProductCertificateRepository;
+import com.techvg.inventory.management.web.rest.ProductResourceIT;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link FileStorageService}.
+ */
+@IntegrationTest
+@Transactional
+class FileStorageServiceIT {
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ProductCertificateRepository productCertificateRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Product product;
+
+    private Product otherProduct;
+
+    @BeforeEach
+    public void initTest() {
+        product = ProductResourceIT.createEntity(em).barCode(null).qrCode(null);
+        em.persist(product);
+        otherProduct = ProductResourceIT.createEntity(em).barCode(null).qrCode(null);
+        em.persist(otherProduct);
+        em.flush();
+    }
+
+    @Test
+    void storesIdenticalCertificatesOnce() throws Exception {
+        byte[] content = ("certificate " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        String fileName = fileStorageService.storeFile(certificate(content), product.getId());
+        String otherFileName = fileStorageService.storeFile(certificate(content), otherProduct.getId());
+
+        ProductCertificate reference = productCertificateRepository.findOneByFileName(fileName).get();
+        ProductCertificate otherReference = productCertificateRepository.findOneByFileName(otherFileName).get();
+        assertThat(otherFileName).isNotEqualTo(fileName);
+        assertThat(otherReference.getContentHash()).isEqualTo(reference.getContentHash()).hasSize(64);
+
+        StoredFile file = fileStorageService.loadFile(fileName);
+        StoredFile otherFile = fileStorageService.loadFile(otherFileName);
+        assertThat(otherFile.getPath()).isEqualTo(file.getPath());
+        assertThat(file.getETag()).isEqualTo(reference.getContentHash());
+        assertThat(file.getLength()).isEqualTo(content.length);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        fileStorageService.transferTo(file, 0, file.getLength(), outputStream);
+        assertThat(outputStream.toByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void repointsAReplacedCertificate() throws Exception {
+        String fileName = fileStorageService.storeFile(certificate("first".getBytes(StandardCharsets.UTF_8)), product.getId());
+        StoredFile first = fileStorageService.loadFile(fileName);
+
+        fileStorageService.storeFile(certificate(("second " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8)), product.getId());
+        StoredFile second = fileStorageService.loadFile(fileName);
+
+        assertThat(second.getETag()).isNotEqualTo(first.getETag());
+        assertThat(second.getPath()).isNotEqualTo(first.getPath());
+        // the content read by downloads of the first certificate is left in place
+        assertThat(first.getPath()).isRegularFile();
+    }
+
+    private static MockMultipartFile certificate(byte[] content) {
+        return new MockMultipartFile("file", "coa.pdf", "application/pdf", content);
+    }
+}
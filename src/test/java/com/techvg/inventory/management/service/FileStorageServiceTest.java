@@ -0,0 +1,71 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.techvg.inventory.management.repository.ProductCertificateRepository;
+import com.techvg.inventory.management.repository.ProductRepository;
+import com.techvg.inventory.management.web.rest.errors.MentionedFileNotFoundException;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit tests for {@link FileStorageService}.
+ */
+class FileStorageServiceTest {
+
+    @TempDir
+    Path storageDirectory;
+
+    private FileStorageService fileStorageService;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        fileStorageService = new FileStorageService(
+            new MockEnvironment().withProperty("app.file.upload-dir", storageDirectory.resolve("files").toString()),
+            mock(ProductCertificateRepository.class),
+            mock(ProductRepository.class),
+            mock(JdbcTemplate.class)
+        );
+        Files.write(storageDirectory.resolve("files").resolve("COA_1.pdf"), "0123456789".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void tagsUnreferencedFilesBySizeAndModificationTime() throws Exception {
+        StoredFile file = fileStorageService.loadFile("COA_1.pdf");
+        assertThat(file.getLength()).isEqualTo(10);
+        assertThat(fileStorageService.loadFile("COA_1.pdf").getETag()).isEqualTo(file.getETag());
+
+        Files.setLastModifiedTime(
+            storageDirectory.resolve("files").resolve("COA_1.pdf"),
+            FileTime.fromMillis(file.getLastModified() + 1000)
+        );
+        assertThat(fileStorageService.loadFile("COA_1.pdf").getETag()).isNotEqualTo(file.getETag());
+    }
+
+    @Test
+    void transfersARangeOfAFile() throws Exception {
+        StoredFile file = fileStorageService.loadFile("COA_1.pdf");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        fileStorageService.transferTo(file, 2, 5, outputStream);
+        assertThat(outputStream.toString("US-ASCII")).isEqualTo("23456");
+    }
+
+    @Test
+    void onlyLoadsFilesOfTheStorageDirectory() throws Exception {
+        Files.write(storageDirectory.resolve("secret.pdf"), new byte[] { 1 });
+        assertThatThrownBy(() -> fileStorageService.loadFile("../secret.pdf")).isInstanceOf(MentionedFileNotFoundException.class);
+        assertThatThrownBy(() -> fileStorageService.loadFile("COA_2.pdf")).isInstanceOf(MentionedFileNotFoundException.class);
+        assertThatThrownBy(() -> fileStorageService.loadFile(".")).isInstanceOf(MentionedFileNotFoundException.class);
+        assertThatThrownBy(() -> fileStorageService.loadFile("sha256")).isInstanceOf(MentionedFileNotFoundException.class);
+    }
+}
@@ -0,0 +1,112 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.techvg.inventory.management.IntegrationTest;
+import com.techvg.inventory.management.domain.Notification;
+import com.techvg.inventory.management.domain.Product;
+import com.techvg.inventory.management.domain.WareHouse;
+import com.techvg.inventory.management.domain.enumeration.NotificationType;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import com.techvg.inventory.management.service.dto.ProductInventoryDTO;
+import com.techvg.inventory.management.service.dto.WareHouseDTO;
+import com.techvg.inventory.management.web.rest.ProductResourceIT;
+import com.techvg.inventory.management.web.rest.WareHouseResourceIT;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link LowStockAlertService}.
+ */
+@IntegrationTest
+@Transactional
+@RecordApplicationEvents
+class LowStockAlertServiceIT {
+
+    @Autowired
+    private LowStockAlertService lowStockAlertService;
+
+    @Autowired
+    private ProductInventoryService productInventoryService;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private EntityManager em;
+
+    private Product product;
+
+    private WareHouse wareHouse;
+
+    @BeforeEach
+    public void initTest() {
+        product = ProductResourceIT.createEntity(em).alertUnits("5");
+        em.persist(product);
+        wareHouse = WareHouseResourceIT.createEntity(em);
+        em.persist(wareHouse);
+        em.flush();
+    }
+
+    private void post(String inwardQty, String outwardQty) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(product.getId());
+        WareHouseDTO wareHouseDTO = new WareHouseDTO();
+        wareHouseDTO.setId(wareHouse.getId());
+        ProductInventoryDTO productInventoryDTO = new ProductInventoryDTO();
+        productInventoryDTO.setProduct(productDTO);
+        productInventoryDTO.setWareHouse(wareHouseDTO);
+        productInventoryDTO.setInwardQty(inwardQty);
+        productInventoryDTO.setOutwardQty(outwardQty);
+        productInventoryService.save(productInventoryDTO);
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void raisesOneAlertWhenCrossingBelowAlertUnits() {
+        post("10", null);
+        assertThat(lowStockAlertService.evaluate(new StockMovedEvent(product.getId(), wareHouse.getId(), 0D, 10D))).isEmpty();
+
+        post(null, "6");
+        Optional<Notification> alert = lowStockAlertService.evaluate(new StockMovedEvent(product.getId(), wareHouse.getId(), 10D, 4D));
+        assertThat(alert).isPresent();
+        assertThat(alert.get().getNotificationType()).isEqualTo(NotificationType.ALERT);
+        assertThat(alert.get().getWareHouse().getId()).isEqualTo(wareHouse.getId());
+        assertThat(alert.get().getIsRead()).isFalse();
+
+        // the same crossing evaluated again is deduplicated
+        assertThat(lowStockAlertService.evaluate(new StockMovedEvent(product.getId(), wareHouse.getId(), 10D, 4D))).isEmpty();
+    }
+
+    @Test
+    void noAlertWhenAlreadyBelowAlertUnits() {
+        post("3", null);
+        post(null, "1");
+
+        assertThat(lowStockAlertService.evaluate(new StockMovedEvent(product.getId(), wareHouse.getId(), 3D, 2D))).isEmpty();
+    }
+
+    @Test
+    void postingsCommittedBeforeTheEvaluationDoNotHideTheCrossing() {
+        post("10", null);
+        applicationEvents.clear();
+        post(null, "6");
+        post("10", null);
+
+        List<StockMovedEvent> events = applicationEvents.stream(StockMovedEvent.class).collect(Collectors.toList());
+        assertThat(events).extracting(StockMovedEvent::getPreviousBalance).containsExactly(10D, 4D);
+        assertThat(events).extracting(StockMovedEvent::getBalance).containsExactly(4D, 14D);
+        assertThat(lowStockAlertService.evaluate(events.get(0))).isPresent();
+        assertThat(lowStockAlertService.evaluate(events.get(1))).isEmpty();
+        assertThat(lowStockAlertService.evaluate(events.get(0))).isEmpty();
+    }
+}
@@ -0,0 +1,95 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.techvg.inventory.management.repository.ProductCodes;
+import com.techvg.inventory.management.repository.ProductRepository;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ProductCodeIndex}.
+ */
+class ProductCodeIndexTest {
+
+    private ProductCodeIndex productCodeIndex;
+
+    @BeforeEach
+    public void setup() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllCodes())
+            .thenReturn(
+                Arrays.asList(
+                    productCodes(1L, "8901234567890", "QR-1", "64-17-5"),
+                    productCodes(2L, "8901234567891", null, "64-17-5"),
+                    productCodes(3L, " ", "QR-3", null)
+                )
+            );
+        productCodeIndex = new ProductCodeIndex(productRepository);
+        productCodeIndex.reload();
+    }
+
+    @Test
+    void resolvesEveryKindOfCode() {
+        assertThat(productCodeIndex.lookup("8901234567890")).containsExactly(1L);
+        assertThat(productCodeIndex.lookup("QR-3")).containsExactly(3L);
+        assertThat(productCodeIndex.lookup(" QR-1 ")).containsExactly(1L);
+        assertThat(productCodeIndex.lookup("64-17-5")).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void ignoresUnknownAndBlankCodes() {
+        assertThat(productCodeIndex.lookup("qr-1")).isEmpty();
+        assertThat(productCodeIndex.lookup(" ")).isEmpty();
+        assertThat(productCodeIndex.lookup(null)).isEmpty();
+    }
+
+    @Test
+    void appliesProductWrites() {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(1L);
+        productDTO.setBarCode("8901234567899");
+        productDTO.setCasNumber("64-17-5");
+        productCodeIndex.post(productDTO);
+
+        assertThat(productCodeIndex.lookup("8901234567890")).isEmpty();
+        assertThat(productCodeIndex.lookup("QR-1")).isEmpty();
+        assertThat(productCodeIndex.lookup("8901234567899")).containsExactly(1L);
+        assertThat(productCodeIndex.lookup("64-17-5")).containsExactly(1L, 2L);
+
+        productCodeIndex.remove(2L);
+        assertThat(productCodeIndex.lookup("64-17-5")).containsExactly(1L);
+
+        productDTO.setIsDeleted(true);
+        productCodeIndex.post(productDTO);
+        assertThat(productCodeIndex.lookup("64-17-5")).isEmpty();
+    }
+
+    private static ProductCodes productCodes(Long id, String barCode, String qrCode, String casNumber) {
+        return new ProductCodes() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getBarCode() {
+                return barCode;
+            }
+
+            @Override
+            public String getQrCode() {
+                return qrCode;
+            }
+
+            @Override
+            public String getCasNumber() {
+                return casNumber;
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.techvg.inventory.management.repository.ProductRepository;
+import com.techvg.inventory.management.repository.ProductSearchFields;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ProductSearchIndex}.
+ */
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    public void setup() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllSearchFields())
+            .thenReturn(
+                Arrays.asList(
+                    product(1L, "Ethanol", "Ethyl alcohol", "64-17-5", "E-100"),
+                    product(2L, "Methanol", "Methyl alcohol", "67-56-1", "M-200"),
+                    product(3L, "Ethanol absolute", null, null, null),
+                    product(4L, "Acetone", null, "67-64-1", "A-300")
+                )
+            );
+        productSearchIndex = new ProductSearchIndex(productRepository);
+        productSearchIndex.reload();
+    }
+
+    @Test
+    void ranksExactNameBeforeLongerAndSimilarNames() {
+        assertThat(productSearchIndex.search("ethanol", 10)).containsExactly(1L, 3L, 2L);
+        assertThat(productSearchIndex.search("ETHANOL", 10)).containsExactly(1L, 3L, 2L);
+        assertThat(productSearchIndex.search("alcohol", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void toleratesMisspellings() {
+        assertThat(productSearchIndex.search("etanol", 10)).startsWith(1L);
+        assertThat(productSearchIndex.search("acetne", 10)).containsExactly(4L);
+    }
+
+    @Test
+    void findsCodesWithOrWithoutSeparators() {
+        assertThat(productSearchIndex.search("64-17-5", 10)).containsExactly(1L);
+        assertThat(productSearchIndex.search("64175", 10)).containsExactly(1L);
+        assertThat(productSearchIndex.search("64-17", 10)).containsExactly(1L);
+        assertThat(productSearchIndex.search("M-200", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void ignoresUnmatchedAndEmptySearches() {
+        assertThat(productSearchIndex.search("xyz", 10)).isEmpty();
+        assertThat(productSearchIndex.search(" - ", 10)).isEmpty();
+        assertThat(productSearchIndex.search(null, 10)).isEmpty();
+    }
+
+    @Test
+    void returnsAtMostTheLimit() {
+        assertThat(productSearchIndex.search("ethanol", 2)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void appliesProductWrites() {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(1L);
+        productDTO.setProductName("Isopropanol");
+        productSearchIndex.post(productDTO);
+
+        assertThat(productSearchIndex.search("ethanol", 10)).containsExactly(3L, 2L);
+        assertThat(productSearchIndex.search("isopropanol", 10)).containsExactly(1L);
+
+        productDTO.setIsDeleted(true);
+        productSearchIndex.post(productDTO);
+        assertThat(productSearchIndex.search("isopropanol", 10)).isEmpty();
+
+        productSearchIndex.remove(3L);
+        assertThat(productSearchIndex.search("ethanol", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void compactsDocumentsLeftByRepeatedWrites() {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(1L);
+        for (int i = 0; i < 3 * ProductSearchIndex.MIN_REMOVED_TO_COMPACT; i++) {
+            productDTO.setProductName(i % 2 == 0 ? "Isopropanol" : "Ethanol");
+            productSearchIndex.post(productDTO);
+        }
+
+        assertThat(productSearchIndex.documentCount()).isLessThanOrEqualTo(4 + ProductSearchIndex.MIN_REMOVED_TO_COMPACT);
+        assertThat(productSearchIndex.search("ethanol", 10)).containsExactly(1L, 3L, 2L);
+        assertThat(productSearchIndex.search("isopropanol", 10)).isEmpty();
+        assertThat(productSearchIndex.search("64-17-5", 10)).isEmpty();
+        assertThat(productSearchIndex.search("67-64-1", 10)).containsExactly(4L);
+    }
+
+    private static ProductSearchFields product(Long id, String productName, String chemicalName, String casNumber, String catlogNumber) {
+        return new ProductSearchFields() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getProductName() {
+                return productName;
+            }
+
+            @Override
+            public String getChemicalName() {
+                return chemicalName;
+            }
+
+            @Override
+            public String getCasNumber() {
+                return casNumber;
+            }
+
+            @Override
+            public String getCatlogNumber() {
+                return catlogNumber;
+            }
+        };
+    }
+}
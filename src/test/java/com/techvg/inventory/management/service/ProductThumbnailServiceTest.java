@@ -0,0 +1,132 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.techvg.inventory.management.repository.ProductImageRepository;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit tests for {@link ProductThumbnailService}.
+ */
+class ProductThumbnailServiceTest {
+
+    private static final String CONTENT_HASH = "ab12";
+
+    @TempDir
+    Path thumbnailDirectory;
+
+    private ProductImageRepository productImageRepository;
+
+    private ProductThumbnailService productThumbnailService;
+
+    @BeforeEach
+    public void setup() {
+        productImageRepository = mock(ProductImageRepository.class);
+        productThumbnailService = new ProductThumbnailService(
+            new MockEnvironment().withProperty("app.file.thumbnail-dir", thumbnailDirectory.toString()),
+            productImageRepository,
+            Runnable::run
+        );
+    }
+
+    @Test
+    void scalesDownKeepingTheAspectRatio() {
+        BufferedImage thumbnail = ProductThumbnailService.scale(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_ARGB), 96);
+        assertThat(thumbnail.getWidth()).isEqualTo(96);
+        assertThat(thumbnail.getHeight()).isEqualTo(48);
+    }
+
+    @Test
+    void doesNotEnlargeSmallImages() {
+        BufferedImage thumbnail = ProductThumbnailService.scale(new BufferedImage(40, 30, BufferedImage.TYPE_INT_ARGB), 96);
+        assertThat(thumbnail.getWidth()).isEqualTo(40);
+        assertThat(thumbnail.getHeight()).isEqualTo(30);
+    }
+
+    @Test
+    void generatesEverySizeOfASavedImage() throws Exception {
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB), "png", image);
+
+        productThumbnailService.generateThumbnails(CONTENT_HASH, image.toByteArray());
+
+        for (ProductThumbnailService.Size size : ProductThumbnailService.Size.values()) {
+            Path thumbnail = productThumbnailService.findThumbnail(1L, CONTENT_HASH, size).get();
+            BufferedImage read = ImageIO.read(thumbnail.toFile());
+            assertThat(read.getWidth()).isEqualTo(size.getPixels());
+        }
+    }
+
+    @Test
+    void generatesThumbnailsOfLargeImagesFromASubsampledImage() throws Exception {
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4000, 1000, BufferedImage.TYPE_BYTE_GRAY), "png", image);
+
+        productThumbnailService.writeThumbnails(CONTENT_HASH, image.toByteArray());
+
+        Path thumbnail = productThumbnailService.findThumbnail(1L, CONTENT_HASH, ProductThumbnailService.Size.MEDIUM).get();
+        BufferedImage read = ImageIO.read(thumbnail.toFile());
+        assertThat(read.getWidth()).isEqualTo(320);
+        assertThat(read.getHeight()).isEqualTo(80);
+    }
+
+    @Test
+    void skipsImagesItCannotRead() throws Exception {
+        productThumbnailService.writeThumbnails(CONTENT_HASH, "not an image".getBytes(StandardCharsets.US_ASCII));
+
+        try (Stream<Path> files = Files.walk(thumbnailDirectory)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+        assertThat(productThumbnailService.findThumbnail(1L, CONTENT_HASH, ProductThumbnailService.Size.SMALL)).isEmpty();
+        verifyNoInteractions(productImageRepository);
+    }
+
+    @Test
+    void skipsImagesAboveTheMaximumSizeWithoutDecodingThem() throws Exception {
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "png", image);
+        // a decompression bomb declares a huge image in its header
+        byte[] bomb = withPngSize(image.toByteArray(), 100_000, 100_000);
+
+        productThumbnailService.writeThumbnails(CONTENT_HASH, bomb);
+
+        try (Stream<Path> files = Files.walk(thumbnailDirectory)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+        assertThat(productThumbnailService.findThumbnail(1L, CONTENT_HASH, ProductThumbnailService.Size.SMALL)).isEmpty();
+        verifyNoInteractions(productImageRepository);
+    }
+
+    /**
+     * Rewrite the dimensions in the IHDR chunk of a PNG, which follows the 8 bytes of the signature.
+     */
+    private static byte[] withPngSize(byte[] png, int width, int height) {
+        byte[] resized = png.clone();
+        writeInt(resized, 16, width);
+        writeInt(resized, 20, height);
+        CRC32 crc = new CRC32();
+        crc.update(resized, 12, 17);
+        writeInt(resized, 29, (int) crc.getValue());
+        return resized;
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,46 @@
+package com.techvg.inventory.management.service;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.techvg.inventory.management.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link QueryCostGuard}, with selective filters required on the product inventories.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(properties = "application.query-guard.selective-filters.ProductInventory=productId,wareHouseId,lotNo")
+@Transactional
+class QueryCostGuardIT {
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @Test
+    void rejectsUnfilteredRowQueries() throws Exception {
+        restMockMvc.perform(get("/api/product-inventories?page=0&size=20&sort=id,desc")).andExpect(status().isBadRequest());
+        restMockMvc.perform(get("/api/product-inventories?page=0&size=20&fields=id")).andExpect(status().isBadRequest());
+        restMockMvc.perform(get("/api/product-inventories?page=0&size=20&lotNo.contains=L")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void acceptsFilteredRowQueries() throws Exception {
+        restMockMvc.perform(get("/api/product-inventories?page=0&size=20&productId.equals=1")).andExpect(status().isOk());
+        restMockMvc.perform(get("/api/product-inventories?page=0&size=20&wareHouseId.in=1,2")).andExpect(status().isOk());
+    }
+
+    @Test
+    void exemptsCountsAndAggregates() throws Exception {
+        restMockMvc.perform(get("/api/product-inventories/count")).andExpect(status().isOk());
+        restMockMvc.perform(get("/api/product-inventories/stockCount?page=0&size=20")).andExpect(status().isOk());
+    }
+}
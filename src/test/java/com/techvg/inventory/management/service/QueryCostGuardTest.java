@@ -0,0 +1,111 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.techvg.inventory.management.config.ApplicationProperties;
+import com.techvg.inventory.management.service.criteria.ProductCriteria;
+import com.techvg.inventory.management.service.criteria.NotificationCriteria;
+import com.techvg.inventory.management.service.criteria.ProductInventoryCriteria;
+import com.techvg.inventory.management.service.criteria.ProductTransactionCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import tech.jhipster.service.filter.InstantFilter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Unit tests for {@link QueryCostGuard}.
+ */
+class QueryCostGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private QueryCostGuard queryCostGuard;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getQueryGuard().setMaxPageSize(100);
+        applicationProperties
+            .getQueryGuard()
+            .setSelectiveFilters(Collections.singletonMap("productInventory", Arrays.asList("productId", "inwardOutwardDate", "lotNo")));
+        meterRegistry = new SimpleMeterRegistry();
+        queryCostGuard = new QueryCostGuard(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void rejectsPagesAboveTheMaximumSize() {
+        assertThatCode(() -> queryCostGuard.check("Product", new ProductCriteria(), PageRequest.of(0, 100))).doesNotThrowAnyException();
+        assertThatCode(() -> queryCostGuard.check("Product", new ProductCriteria(), Pageable.unpaged())).doesNotThrowAnyException();
+        assertThatThrownBy(() -> queryCostGuard.check("Product", new ProductCriteria(), PageRequest.of(0, 101)))
+            .isInstanceOf(QueryRejectedException.class);
+        assertThat(rejections("Product", "page-size")).isEqualTo(1);
+    }
+
+    @Test
+    void requiresASelectiveFilterOnLargeTables() {
+        ProductInventoryCriteria criteria = new ProductInventoryCriteria();
+        assertThatThrownBy(() -> queryCostGuard.check("ProductInventory", criteria, PageRequest.of(0, 20)))
+            .isInstanceOf(QueryRejectedException.class);
+        assertThatThrownBy(() -> queryCostGuard.check("ProductInventory", criteria, null)).isInstanceOf(QueryRejectedException.class);
+
+        // neither a contains filter nor a filter not listed narrows the query
+        criteria.setLotNo((StringFilter) new StringFilter().setContains("L-"));
+        criteria.setWareHouseId((LongFilter) new LongFilter().setEquals(1L));
+        assertThatThrownBy(() -> queryCostGuard.check("ProductInventory", criteria, null)).isInstanceOf(QueryRejectedException.class);
+        assertThat(rejections("ProductInventory", "unfiltered")).isEqualTo(3);
+
+        criteria.setInwardOutwardDate((InstantFilter) new InstantFilter().setGreaterThan(Instant.now()));
+        assertThatCode(() -> queryCostGuard.check("ProductInventory", criteria, null)).doesNotThrowAnyException();
+        assertThatCode(() -> queryCostGuard.check("Product", new ProductCriteria(), null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void acceptsEqualityAndInFilters() {
+        ProductInventoryCriteria byProduct = new ProductInventoryCriteria();
+        byProduct.setProductId((LongFilter) new LongFilter().setEquals(1L));
+        assertThatCode(() -> queryCostGuard.check("ProductInventory", byProduct, null)).doesNotThrowAnyException();
+
+        ProductInventoryCriteria byProducts = new ProductInventoryCriteria();
+        byProducts.setProductId((LongFilter) new LongFilter().setIn(Arrays.asList(1L, 2L)));
+        assertThatCode(() -> queryCostGuard.check("ProductInventory", byProducts, null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shippedConfigurationAcceptsTheUnfilteredListPages() throws Exception {
+        // the main configuration, which the test configuration hides from the classpath
+        Binder binder = new Binder(
+            ConfigurationPropertySources.from(
+                new YamlPropertySourceLoader().load("application", new FileSystemResource("src/main/resources/config/application.yml"))
+            )
+        );
+        ApplicationProperties applicationProperties = binder
+            .bind("application", Bindable.ofInstance(new ApplicationProperties()))
+            .orElseThrow(IllegalStateException::new);
+        QueryCostGuard shipped = new QueryCostGuard(applicationProperties, meterRegistry);
+
+        Pageable listPage = PageRequest.of(0, 20);
+        assertThatCode(() -> shipped.check("ProductInventory", new ProductInventoryCriteria(), listPage)).doesNotThrowAnyException();
+        assertThatCode(() -> shipped.check("ProductTransaction", new ProductTransactionCriteria(), listPage)).doesNotThrowAnyException();
+        assertThatCode(() -> shipped.check("Notification", new NotificationCriteria(), listPage)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> shipped.check("ProductInventory", new ProductInventoryCriteria(), PageRequest.of(0, 501)))
+            .isInstanceOf(QueryRejectedException.class);
+    }
+
+    private double rejections(String entityName, String reason) {
+        return meterRegistry.counter(QueryCostGuard.REJECTIONS_METER_NAME, "entity", entityName, "reason", reason).count();
+    }
+}
@@ -0,0 +1,174 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.techvg.inventory.management.IntegrationTest;
+import com.techvg.inventory.management.domain.Product;
+import com.techvg.inventory.management.domain.StockBalance;
+import com.techvg.inventory.management.domain.WareHouse;
+import com.techvg.inventory.management.repository.StockBalanceRepository;
+import com.techvg.inventory.management.service.criteria.ProductCriteria;
+import com.techvg.inventory.management.service.criteria.ProductInventoryCriteria;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import com.techvg.inventory.management.service.dto.ProductInventoryDTO;
+import com.techvg.inventory.management.service.dto.WareHouseDTO;
+import com.techvg.inventory.management.web.rest.ProductResourceIT;
+import com.techvg.inventory.management.web.rest.WareHouseResourceIT;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Integration tests for {@link StockBalanceService}, driven through {@link ProductInventoryService} postings.
+ */
+@IntegrationTest
+@Transactional
+class StockBalanceServiceIT {
+
+    @Autowired
+    private ProductInventoryService productInventoryService;
+
+    @Autowired
+    private StockBalanceRepository stockBalanceRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Product product;
+
+    private WareHouse wareHouse;
+
+    @BeforeEach
+    public void initTest() {
+        product = ProductResourceIT.createEntity(em);
+        em.persist(product);
+        wareHouse = WareHouseResourceIT.createEntity(em);
+        em.persist(wareHouse);
+        em.flush();
+    }
+
+    private ProductInventoryDTO posting(String inwardQty, String outwardQty) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(product.getId());
+        WareHouseDTO wareHouseDTO = new WareHouseDTO();
+        wareHouseDTO.setId(wareHouse.getId());
+        ProductInventoryDTO productInventoryDTO = new ProductInventoryDTO();
+        productInventoryDTO.setProduct(productDTO);
+        productInventoryDTO.setWareHouse(wareHouseDTO);
+        productInventoryDTO.setInwardQty(inwardQty);
+        productInventoryDTO.setOutwardQty(outwardQty);
+        return productInventoryDTO;
+    }
+
+    private double currentBalance() {
+        em.flush();
+        em.clear();
+        return stockBalanceRepository
+            .findOneByProductIdAndWareHouseId(product.getId(), wareHouse.getId())
+            .map(StockBalance::getBalance)
+            .orElse(0D);
+    }
+
+    @Test
+    void balanceFollowsInsertUpdateAndDelete() {
+        productInventoryService.save(posting("10", null));
+        ProductInventoryDTO outward = productInventoryService.save(posting(null, "4"));
+        assertThat(currentBalance()).isEqualTo(6D);
+
+        outward.setOutwardQty("7");
+        productInventoryService.save(outward);
+        assertThat(currentBalance()).isEqualTo(3D);
+
+        ProductInventoryDTO softDelete = new ProductInventoryDTO();
+        softDelete.setId(outward.getId());
+        softDelete.setIsDeleted(true);
+        productInventoryService.partialUpdate(softDelete);
+        assertThat(currentBalance()).isEqualTo(10D);
+
+        productInventoryService.delete(outward.getId());
+        assertThat(currentBalance()).isEqualTo(10D);
+    }
+
+    @Test
+    void stockCountReadsBalances() {
+        productInventoryService.save(posting("12", null));
+        productInventoryService.save(posting(null, "2"));
+        em.flush();
+        em.clear();
+
+        ProductInventoryCriteria criteria = new ProductInventoryCriteria();
+        LongFilter wareHouseFilter = new LongFilter();
+        wareHouseFilter.setEquals(wareHouse.getId());
+        criteria.setWareHouseId(wareHouseFilter);
+
+        Page<ProductDTO> stock = productInventoryService.countProductInventoriesStock(criteria, new ProductCriteria(), PageRequest.of(0, 20));
+
+        assertThat(stock.getContent()).hasSize(1);
+        assertThat(stock.getContent().get(0).getId()).isEqualTo(product.getId());
+        assertThat(stock.getContent().get(0).getWareHouseId()).isEqualTo(wareHouse.getId());
+        assertThat(stock.getContent().get(0).getTotalStock()).isEqualTo(10D);
+    }
+
+    @Test
+    void stockCountSortsByProductAttributesOnly() {
+        ProductInventoryDTO lot = posting("12", null);
+        lot.setLotNo("LOT-S");
+        productInventoryService.save(lot);
+        em.flush();
+        em.clear();
+
+        ProductInventoryCriteria ledgerCriteria = new ProductInventoryCriteria();
+        StringFilter lotFilter = new StringFilter();
+        lotFilter.setEquals("LOT-S");
+        ledgerCriteria.setLotNo(lotFilter);
+        for (ProductInventoryCriteria criteria : new ProductInventoryCriteria[] { new ProductInventoryCriteria(), ledgerCriteria }) {
+            Page<ProductDTO> stock = productInventoryService.countProductInventoriesStock(
+                criteria,
+                new ProductCriteria(),
+                PageRequest.of(0, 20, Sort.by("productName", "totalStock"))
+            );
+            assertThat(stock.getContent()).extracting(ProductDTO::getId).contains(product.getId());
+
+            for (String property : new String[] { "foo", "categories", "transferDetails" }) {
+                PageRequest page = PageRequest.of(0, 20, Sort.by(property));
+                assertThatThrownBy(() -> productInventoryService.countProductInventoriesStock(criteria, new ProductCriteria(), page))
+                    .isInstanceOf(InvalidSortException.class);
+            }
+        }
+    }
+
+    @Test
+    void stockCountAggregatesFilteredLedger() {
+        ProductInventoryDTO lotA = posting("12", null);
+        lotA.setLotNo("LOT-A");
+        productInventoryService.save(lotA);
+        ProductInventoryDTO lotAOutward = posting(null, "5");
+        lotAOutward.setLotNo("LOT-A");
+        productInventoryService.save(lotAOutward);
+        ProductInventoryDTO lotB = posting("30", null);
+        lotB.setLotNo("LOT-B");
+        productInventoryService.save(lotB);
+        em.flush();
+        em.clear();
+
+        ProductInventoryCriteria criteria = new ProductInventoryCriteria();
+        StringFilter lotFilter = new StringFilter();
+        lotFilter.setEquals("LOT-A");
+        criteria.setLotNo(lotFilter);
+
+        Page<ProductDTO> stock = productInventoryService.countProductInventoriesStock(criteria, new ProductCriteria(), PageRequest.of(0, 20));
+
+        assertThat(stock.getTotalElements()).isEqualTo(1);
+        assertThat(stock.getContent().get(0).getId()).isEqualTo(product.getId());
+        assertThat(stock.getContent().get(0).getWareHouseId()).isEqualTo(wareHouse.getId());
+        assertThat(stock.getContent().get(0).getTotalStock()).isEqualTo(7D);
+    }
+}
@@ -0,0 +1,178 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.techvg.inventory.management.IntegrationTest;
+import com.techvg.inventory.management.domain.Product;
+import com.techvg.inventory.management.domain.WareHouse;
+import com.techvg.inventory.management.repository.StockCheckpointRepository;
+import com.techvg.inventory.management.repository.StockLevel;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import com.techvg.inventory.management.service.dto.ProductInventoryDTO;
+import com.techvg.inventory.management.service.dto.StockLevelDTO;
+import com.techvg.inventory.management.service.dto.WareHouseDTO;
+import com.techvg.inventory.management.web.rest.ProductResourceIT;
+import com.techvg.inventory.management.web.rest.WareHouseResourceIT;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link StockCheckpointService}.
+ */
+@IntegrationTest
+@Transactional
+class StockCheckpointServiceIT {
+
+    private static final Instant DAY_1 = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Autowired
+    private StockCheckpointService stockCheckpointService;
+
+    @Autowired
+    private StockCheckpointRepository stockCheckpointRepository;
+
+    @Autowired
+    private ProductInventoryService productInventoryService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    private Product product;
+
+    private WareHouse wareHouse;
+
+    @BeforeEach
+    public void initTest() {
+        product = ProductResourceIT.createEntity(em);
+        em.persist(product);
+        wareHouse = WareHouseResourceIT.createEntity(em);
+        em.persist(wareHouse);
+        em.flush();
+    }
+
+    private void post(int day, String inwardQty, String outwardQty) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(product.getId());
+        WareHouseDTO wareHouseDTO = new WareHouseDTO();
+        wareHouseDTO.setId(wareHouse.getId());
+        ProductInventoryDTO productInventoryDTO = new ProductInventoryDTO();
+        productInventoryDTO.setProduct(productDTO);
+        productInventoryDTO.setWareHouse(wareHouseDTO);
+        productInventoryDTO.setInwardQty(inwardQty);
+        productInventoryDTO.setOutwardQty(outwardQty);
+        productInventoryDTO.setInwardOutwardDate(day(day).plus(1, ChronoUnit.HOURS));
+        productInventoryService.save(productInventoryDTO);
+        em.flush();
+    }
+
+    private static Instant day(int day) {
+        return DAY_1.plus(day - 1L, ChronoUnit.DAYS);
+    }
+
+    private double stockAsOf(Instant asOf) {
+        em.clear();
+        return stockCheckpointService
+            .findStockAsOf(product.getId(), wareHouse.getId(), asOf)
+            .stream()
+            .mapToDouble(StockLevelDTO::getBalance)
+            .sum();
+    }
+
+    @Test
+    void stockAsOfCombinesCheckpointAndLaterRows() {
+        post(1, "10", null);
+        post(2, null, "3");
+        stockCheckpointService.writeCheckpoints(day(3));
+        post(4, "5", null);
+
+        assertThat(stockCheckpointRepository.findLatestLevels(product.getId(), wareHouse.getId(), day(3))).hasSize(1);
+        assertThat(stockAsOf(day(2))).isEqualTo(10D);
+        assertThat(stockAsOf(day(3))).isEqualTo(7D);
+        assertThat(stockAsOf(day(5))).isEqualTo(12D);
+    }
+
+    @Test
+    void backdatedRowDropsLaterCheckpoints() {
+        post(1, "10", null);
+        stockCheckpointService.writeCheckpoints(day(3));
+        post(2, "1", null);
+
+        assertThat(stockCheckpointRepository.findLatestLevels(product.getId(), wareHouse.getId(), day(3))).isEmpty();
+        assertThat(stockAsOf(day(5))).isEqualTo(11D);
+    }
+
+    @Test
+    void dailyCheckpointsAreTakenOnce() {
+        post(1, "10", null);
+
+        assertThat(stockCheckpointService.writeDailyCheckpoints(day(3))).isEqualTo(1);
+        assertThat(stockCheckpointService.writeDailyCheckpoints(day(3))).isZero();
+        assertThat(stockCheckpointService.writeDailyCheckpoints(day(2))).isZero();
+        assertThat(stockAsOf(day(3))).isEqualTo(10D);
+    }
+
+    @Test
+    void checkpointsWaitForBackdatedPostings() throws Exception {
+        post(1, "10", null);
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch posted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> posting = executor.submit(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    post(2, "1", null);
+                    posted.countDown();
+                    try {
+                        // the checkpoints start while the posting is not committed yet
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+            );
+            assertThat(posted.await(10, TimeUnit.SECONDS)).isTrue();
+            transactionTemplate.executeWithoutResult(status -> stockCheckpointService.writeCheckpoints(day(3)));
+            posting.get(10, TimeUnit.SECONDS);
+
+            assertThat(stockCheckpointRepository.findLatestLevels(product.getId(), wareHouse.getId(), day(3)))
+                .extracting(StockLevel::getBalance)
+                .containsExactly(11D);
+        } finally {
+            executor.shutdownNow();
+            transactionTemplate.executeWithoutResult(status -> {
+                for (String entity : new String[] {
+                    "StockCheckpoint",
+                    "StockCostLayer",
+                    "StockValuation",
+                    "StockLot",
+                    "StockBalance",
+                    "ProductInventory",
+                }) {
+                    em.createQuery("delete from " + entity + " stock where stock.product.id = :productId")
+                        .setParameter("productId", product.getId())
+                        .executeUpdate();
+                }
+                em.remove(em.find(Product.class, product.getId()));
+                em.remove(em.find(WareHouse.class, wareHouse.getId()));
+            });
+        }
+    }
+}
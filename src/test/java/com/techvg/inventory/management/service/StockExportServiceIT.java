@@ -0,0 +1,109 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techvg.inventory.management.IntegrationTest;
+import com.techvg.inventory.management.domain.Product;
+import com.techvg.inventory.management.domain.WareHouse;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import com.techvg.inventory.management.service.dto.ProductInventoryDTO;
+import com.techvg.inventory.management.service.dto.WareHouseDTO;
+import com.techvg.inventory.management.web.rest.ProductResourceIT;
+import com.techvg.inventory.management.web.rest.WareHouseResourceIT;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link StockExportService}.
+ */
+@IntegrationTest
+@Transactional
+class StockExportServiceIT {
+
+    @Autowired
+    private StockExportService stockExportService;
+
+    @Autowired
+    private ProductInventoryService productInventoryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    private Product product;
+
+    private WareHouse wareHouse;
+
+    @BeforeEach
+    public void initTest() {
+        product = ProductResourceIT.createEntity(em).productName("Acid, \"pure\"");
+        em.persist(product);
+        wareHouse = WareHouseResourceIT.createEntity(em).whName("Main");
+        em.persist(wareHouse);
+        em.flush();
+
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(product.getId());
+        WareHouseDTO wareHouseDTO = new WareHouseDTO();
+        wareHouseDTO.setId(wareHouse.getId());
+        ProductInventoryDTO productInventoryDTO = new ProductInventoryDTO();
+        productInventoryDTO.setProduct(productDTO);
+        productInventoryDTO.setWareHouse(wareHouseDTO);
+        productInventoryDTO.setInwardQuantity(10D);
+        productInventoryDTO.setOutwardQuantity(4D);
+        productInventoryService.save(productInventoryDTO);
+        em.flush();
+    }
+
+    @Test
+    void exportCsv() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long count = stockExportService.export(StockExportService.Format.CSV, wareHouse.getId(), outputStream);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8))
+            .isEqualTo(
+                "productId,productName,wareHouseId,wareHouseName,inwardQty,outwardQty,balance\n" +
+                product.getId() +
+                ",\"Acid, \"\"pure\"\"\"," +
+                wareHouse.getId() +
+                ",Main,10.0,4.0,6.0\n"
+            );
+    }
+
+    @Test
+    void exportNdjson() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long count = stockExportService.export(StockExportService.Format.NDJSON, wareHouse.getId(), outputStream);
+
+        assertThat(count).isEqualTo(1);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(1);
+        JsonNode row = objectMapper.readTree(lines[0]);
+        assertThat(row.get("productId").asLong()).isEqualTo(product.getId());
+        assertThat(row.get("productName").asText()).isEqualTo("Acid, \"pure\"");
+        assertThat(row.get("wareHouseName").asText()).isEqualTo("Main");
+        assertThat(row.get("balance").asDouble()).isEqualTo(6D);
+    }
+
+    @Test
+    void exportOtherWareHouseIsEmpty() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long count = stockExportService.export(StockExportService.Format.NDJSON, Long.MAX_VALUE, outputStream);
+
+        assertThat(count).isZero();
+        assertThat(outputStream.size()).isZero();
+    }
+}
@@ -0,0 +1,146 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.techvg.inventory.management.domain.Product;
+import com.techvg.inventory.management.domain.ProductInventory;
+import com.techvg.inventory.management.domain.WareHouse;
+import com.techvg.inventory.management.repository.StockBalanceRepository;
+import com.techvg.inventory.management.repository.StockLevel;
+import com.techvg.inventory.management.service.dto.StockLevelDTO;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for {@link StockLedger}.
+ */
+class StockLedgerTest {
+
+    private StockBalanceRepository stockBalanceRepository;
+
+    private StockLedger stockLedger;
+
+    @BeforeEach
+    public void setup() {
+        stockBalanceRepository = mock(StockBalanceRepository.class);
+        when(stockBalanceRepository.findAllLevels()).thenReturn(Arrays.asList(stockLevel(1L, 10L, 5D), stockLevel(2L, 10L, 7D)));
+        stockLedger = new StockLedger(stockBalanceRepository);
+        stockLedger.reload();
+    }
+
+    @Test
+    void readsLoadedBalances() {
+        assertThat(stockLedger.getStock(1L, 10L)).contains(new StockLevelDTO(1L, 10L, 5D));
+        assertThat(stockLedger.getStock(1L, 20L)).isEmpty();
+        assertThat(stockLedger.getWareHouseStock(10L)).containsExactlyInAnyOrder(
+            new StockLevelDTO(1L, 10L, 5D),
+            new StockLevelDTO(2L, 10L, 7D)
+        );
+        assertThat(stockLedger.getProductStock(2L)).containsExactly(new StockLevelDTO(2L, 10L, 7D));
+    }
+
+    @Test
+    void movesStockBetweenWareHouses() {
+        InventoryPosting before = posting(1L, 10L, "3");
+        InventoryPosting after = posting(1L, 20L, "3");
+
+        stockLedger.post(before, after);
+
+        assertThat(stockLedger.getStock(1L, 10L)).contains(new StockLevelDTO(1L, 10L, 2D));
+        assertThat(stockLedger.getStock(1L, 20L)).contains(new StockLevelDTO(1L, 20L, 3D));
+    }
+
+    @Test
+    void concurrentPostingsAreNotLost() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> stockLedger.post(null, posting(1L, 10L, "1")));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(stockLedger.getStock(1L, 10L)).contains(new StockLevelDTO(1L, 10L, 1005D));
+    }
+
+    @Test
+    void postingCommittedDuringReloadIsNotLost() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        when(stockBalanceRepository.findAllLevels())
+            .thenAnswer(invocation -> {
+                reading.countDown();
+                committed.await(200, TimeUnit.MILLISECONDS);
+                return Arrays.asList(stockLevel(1L, 10L, 5D), stockLevel(2L, 10L, 7D));
+            });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<?> reload = executor.submit(stockLedger::reload);
+        assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // the posting commits while the reload reads the balances from before it
+        Future<?> commit = executor.submit(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                stockLedger.post(null, posting(1L, 10L, "3"));
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                    synchronization.beforeCommit(false);
+                    committed.countDown();
+                    synchronization.afterCommit();
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+                }
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+        assertThatThrownBy(() -> commit.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        reload.get(10, TimeUnit.SECONDS);
+        commit.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(stockLedger.getStock(1L, 10L)).contains(new StockLevelDTO(1L, 10L, 8D));
+    }
+
+    @Test
+    void postingsReadTheTypedQuantityOnly() {
+        assertThat(posting(1L, 10L, "2.5").getInwardQty()).isEqualTo(2.5D);
+        for (String inwardQty : new String[] { "NaN", "Infinity", "1d", "1f", "0x1p3", "abc", " " }) {
+            assertThat(posting(1L, 10L, inwardQty).getInwardQty()).as(inwardQty).isZero();
+        }
+    }
+
+    private static InventoryPosting posting(Long productId, Long wareHouseId, String inwardQty) {
+        return InventoryPosting.of(
+            new ProductInventory().product(new Product().id(productId)).wareHouse(new WareHouse().id(wareHouseId)).inwardQty(inwardQty)
+        );
+    }
+
+    private static StockLevel stockLevel(Long productId, Long wareHouseId, Double balance) {
+        return new StockLevel() {
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Long getWareHouseId() {
+                return wareHouseId;
+            }
+
+            @Override
+            public Double getBalance() {
+                return balance;
+            }
+        };
+    }
+}
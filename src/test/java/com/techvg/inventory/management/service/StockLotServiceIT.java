@@ -0,0 +1,92 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.techvg.inventory.management.IntegrationTest;
+import com.techvg.inventory.management.domain.Product;
+import com.techvg.inventory.management.domain.ProductInventory;
+import com.techvg.inventory.management.domain.StockLot;
+import com.techvg.inventory.management.domain.WareHouse;
+import com.techvg.inventory.management.web.rest.ProductResourceIT;
+import com.techvg.inventory.management.web.rest.WareHouseResourceIT;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link StockLotService}.
+ */
+@IntegrationTest
+class StockLotServiceIT {
+
+    @Autowired
+    private StockLotService stockLotService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void concurrentFirstPostingsShareTheLot() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Product product = transactionTemplate.execute(status -> {
+            Product entity = ProductResourceIT.createEntity(em);
+            em.persist(entity);
+            return entity;
+        });
+        WareHouse wareHouse = transactionTemplate.execute(status -> {
+            WareHouse entity = WareHouseResourceIT.createEntity(em);
+            em.persist(entity);
+            return entity;
+        });
+        InventoryPosting posting = InventoryPosting.of(
+            new ProductInventory().product(product).wareHouse(wareHouse).lotNo("LOT-C").inwardQty("5")
+        );
+        CountDownLatch inserted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> first = executor.submit(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    stockLotService.post(null, posting);
+                    inserted.countDown();
+                    try {
+                        // the second posting inserts the lot while the first one is not committed yet
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+            );
+            assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+            transactionTemplate.executeWithoutResult(status -> stockLotService.post(null, posting));
+            first.get(10, TimeUnit.SECONDS);
+
+            StockLot stockLot = transactionTemplate.execute(status ->
+                em
+                    .createQuery("select stockLot from StockLot stockLot where stockLot.product.id = :productId", StockLot.class)
+                    .setParameter("productId", product.getId())
+                    .getSingleResult()
+            );
+            assertThat(stockLot.getInwardQty()).isEqualTo(10D);
+            assertThat(stockLot.getRemainingQty()).isEqualTo(10D);
+        } finally {
+            executor.shutdownNow();
+            transactionTemplate.executeWithoutResult(status -> {
+                em.createQuery("delete from StockLot stockLot where stockLot.product.id = :productId")
+                    .setParameter("productId", product.getId())
+                    .executeUpdate();
+                em.remove(em.find(Product.class, product.getId()));
+                em.remove(em.find(WareHouse.class, wareHouse.getId()));
+            });
+        }
+    }
+}
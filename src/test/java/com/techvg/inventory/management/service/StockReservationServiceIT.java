@@ -0,0 +1,224 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.techvg.inventory.management.IntegrationTest;
+import com.techvg.inventory.management.domain.Product;
+import com.techvg.inventory.management.domain.StockBalance;
+import com.techvg.inventory.management.domain.WareHouse;
+import com.techvg.inventory.management.domain.enumeration.ReservationStatus;
+import com.techvg.inventory.management.repository.StockBalanceRepository;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import com.techvg.inventory.management.service.dto.ProductInventoryDTO;
+import com.techvg.inventory.management.service.dto.StockReservationDTO;
+import com.techvg.inventory.management.service.dto.WareHouseDTO;
+import com.techvg.inventory.management.web.rest.ProductResourceIT;
+import com.techvg.inventory.management.web.rest.WareHouseResourceIT;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link StockReservationService}.
+ */
+@IntegrationTest
+class StockReservationServiceIT {
+
+    private final Logger log = LoggerFactory.getLogger(StockReservationServiceIT.class);
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ProductInventoryService productInventoryService;
+
+    @Autowired
+    private StockBalanceRepository stockBalanceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    private StockBalance createBalance(double balance) {
+        Product product = ProductResourceIT.createEntity(em);
+        em.persist(product);
+        WareHouse wareHouse = WareHouseResourceIT.createEntity(em);
+        em.persist(wareHouse);
+        StockBalance stockBalance = new StockBalance().product(product).wareHouse(wareHouse).inwardQty(balance).balance(balance);
+        em.persist(stockBalance);
+        em.flush();
+        return stockBalance;
+    }
+
+    private double reservedQty(StockBalance stockBalance) {
+        em.clear();
+        return stockBalanceRepository.findById(stockBalance.getId()).get().getReservedQty();
+    }
+
+    @Test
+    @Transactional
+    void reserveAndRelease() {
+        StockBalance stockBalance = createBalance(10D);
+
+        StockReservationDTO reservation = stockReservationService.reserve(
+            stockBalance.getProduct().getId(),
+            stockBalance.getWareHouse().getId(),
+            4D,
+            null
+        );
+
+        assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.ACTIVE);
+        assertThat(reservation.getExpiresAt()).isEqualTo(reservation.getCreatedDate().plus(StockReservationService.DEFAULT_TTL));
+        assertThat(reservedQty(stockBalance)).isEqualTo(4D);
+
+        assertThat(stockReservationService.release(reservation.getId())).isPresent();
+        assertThat(stockReservationService.release(reservation.getId())).isEmpty();
+        assertThat(reservedQty(stockBalance)).isZero();
+    }
+
+    @Test
+    @Transactional
+    void reserveMoreThanAvailableFails() {
+        StockBalance stockBalance = createBalance(10D);
+        Long productId = stockBalance.getProduct().getId();
+        Long wareHouseId = stockBalance.getWareHouse().getId();
+        stockReservationService.reserve(productId, wareHouseId, 8D, null);
+
+        assertThatThrownBy(() -> stockReservationService.reserve(productId, wareHouseId, 3D, null))
+            .isInstanceOf(InsufficientStockException.class);
+        assertThat(reservedQty(stockBalance)).isEqualTo(8D);
+    }
+
+    @Test
+    @Transactional
+    void expiredReservationsGiveTheirQuantityBack() {
+        StockBalance stockBalance = createBalance(10D);
+        Long productId = stockBalance.getProduct().getId();
+        Long wareHouseId = stockBalance.getWareHouse().getId();
+        StockReservationDTO shortReservation = stockReservationService.reserve(productId, wareHouseId, 3D, Duration.ofMinutes(1));
+        stockReservationService.reserve(productId, wareHouseId, 5D, Duration.ofHours(1));
+
+        assertThat(stockReservationService.expireReservations(Instant.now().plus(Duration.ofMinutes(2)))).isEqualTo(1);
+
+        assertThat(reservedQty(stockBalance)).isEqualTo(5D);
+        assertThat(stockReservationService.findOne(shortReservation.getId()))
+            .get()
+            .extracting(StockReservationDTO::getStatus)
+            .isEqualTo(ReservationStatus.EXPIRED);
+    }
+
+    @Test
+    @Transactional
+    void outwardPostingsCannotTakeReservedStock() {
+        StockBalance stockBalance = createBalance(10D);
+        Long productId = stockBalance.getProduct().getId();
+        Long wareHouseId = stockBalance.getWareHouse().getId();
+        StockReservationDTO reservation = stockReservationService.reserve(productId, wareHouseId, 8D, null);
+
+        productInventoryService.save(outwardPosting(productId, wareHouseId, "2"));
+        assertThatThrownBy(() -> productInventoryService.save(outwardPosting(productId, wareHouseId, "1")))
+            .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(stockReservationService.commit(reservation.getId()))
+            .get()
+            .extracting(ProductInventoryDTO::getOutwardQuantity)
+            .isEqualTo(8D);
+        assertThat(stockReservationService.commit(reservation.getId())).isEmpty();
+        assertThat(stockReservationService.findOne(reservation.getId()))
+            .get()
+            .extracting(StockReservationDTO::getStatus)
+            .isEqualTo(ReservationStatus.CONSUMED);
+        assertThat(reservedQty(stockBalance)).isZero();
+        assertThat(stockBalanceRepository.findById(stockBalance.getId()).get().getBalance()).isZero();
+    }
+
+    private static ProductInventoryDTO outwardPosting(Long productId, Long wareHouseId, String outwardQty) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(productId);
+        WareHouseDTO wareHouseDTO = new WareHouseDTO();
+        wareHouseDTO.setId(wareHouseId);
+        ProductInventoryDTO productInventoryDTO = new ProductInventoryDTO();
+        productInventoryDTO.setProduct(productDTO);
+        productInventoryDTO.setWareHouse(wareHouseDTO);
+        productInventoryDTO.setOutwardQty(outwardQty);
+        return productInventoryDTO;
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        StockBalance stockBalance = transactionTemplate.execute(status -> createBalance(100D));
+        Long productId = stockBalance.getProduct().getId();
+        Long wareHouseId = stockBalance.getWareHouse().getId();
+        int threads = 8;
+        int attemptsPerThread = 50;
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        for (int attempt = 0; attempt < attemptsPerThread; attempt++) {
+                            try {
+                                stockReservationService.reserve(productId, wareHouseId, 1D, null);
+                                reserved.incrementAndGet();
+                            } catch (InsufficientStockException e) {
+                                rejected.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    })
+                );
+            }
+            long startTime = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            long elapsed = System.nanoTime() - startTime;
+            log.info(
+                "{} reservation attempts on one balance from {} threads in {} ms, {} per second",
+                threads * attemptsPerThread,
+                threads,
+                TimeUnit.NANOSECONDS.toMillis(elapsed),
+                threads * attemptsPerThread * TimeUnit.SECONDS.toNanos(1) / Math.max(elapsed, 1L)
+            );
+
+            assertThat(reserved.get()).isEqualTo(100);
+            assertThat(rejected.get()).isEqualTo(threads * attemptsPerThread - 100);
+            assertThat(stockBalanceRepository.findById(stockBalance.getId()).get().getReservedQty()).isEqualTo(100D);
+        } finally {
+            executor.shutdownNow();
+            transactionTemplate.executeWithoutResult(status -> {
+                em.createQuery("delete from StockReservation stockReservation where stockReservation.product.id = :productId")
+                    .setParameter("productId", productId)
+                    .executeUpdate();
+                em.remove(em.find(StockBalance.class, stockBalance.getId()));
+                em.remove(em.find(Product.class, productId));
+                em.remove(em.find(WareHouse.class, wareHouseId));
+            });
+        }
+    }
+}
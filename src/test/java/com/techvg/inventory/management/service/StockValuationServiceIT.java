@@ -0,0 +1,184 @@
+package com.techvg.inventory.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.techvg.inventory.management.IntegrationTest;
+import com.techvg.inventory.management.domain.Product;
+import com.techvg.inventory.management.domain.StockCostLayer;
+import com.techvg.inventory.management.domain.StockValuation;
+import com.techvg.inventory.management.domain.WareHouse;
+import com.techvg.inventory.management.repository.StockCostLayerRepository;
+import com.techvg.inventory.management.repository.StockValuationRepository;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import com.techvg.inventory.management.service.dto.ProductInventoryDTO;
+import com.techvg.inventory.management.service.dto.StockValuationDTO;
+import com.techvg.inventory.management.service.dto.WareHouseDTO;
+import com.techvg.inventory.management.web.rest.ProductResourceIT;
+import com.techvg.inventory.management.web.rest.WareHouseResourceIT;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link StockValuationService}.
+ */
+@IntegrationTest
+@Transactional
+class StockValuationServiceIT {
+
+    @Autowired
+    private StockValuationService stockValuationService;
+
+    @Autowired
+    private StockValuationRepository stockValuationRepository;
+
+    @Autowired
+    private StockCostLayerRepository stockCostLayerRepository;
+
+    @Autowired
+    private ProductInventoryService productInventoryService;
+
+    @Autowired
+    private EntityManager em;
+
+    private Product product;
+
+    private WareHouse wareHouse;
+
+    @BeforeEach
+    public void initTest() {
+        product = ProductResourceIT.createEntity(em);
+        em.persist(product);
+        wareHouse = WareHouseResourceIT.createEntity(em);
+        em.persist(wareHouse);
+        em.flush();
+    }
+
+    private ProductInventoryDTO post(Double inwardQty, Double outwardQty, Long pricePerUnit) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(product.getId());
+        WareHouseDTO wareHouseDTO = new WareHouseDTO();
+        wareHouseDTO.setId(wareHouse.getId());
+        ProductInventoryDTO productInventoryDTO = new ProductInventoryDTO();
+        productInventoryDTO.setProduct(productDTO);
+        productInventoryDTO.setWareHouse(wareHouseDTO);
+        productInventoryDTO.setInwardQuantity(inwardQty);
+        productInventoryDTO.setOutwardQuantity(outwardQty);
+        productInventoryDTO.setPricePerUnit(pricePerUnit);
+        ProductInventoryDTO result = productInventoryService.save(productInventoryDTO);
+        em.flush();
+        return result;
+    }
+
+    private StockValuation valuation() {
+        em.flush();
+        em.clear();
+        return stockValuationRepository.findOneForUpdate(product.getId(), wareHouse.getId()).get();
+    }
+
+    @Test
+    void issuesLayersFirstInFirstOut() {
+        post(10D, null, 5L);
+        post(10D, null, 8L);
+        post(null, 15D, null);
+
+        StockValuation stockValuation = valuation();
+        assertThat(stockValuation.getQuantity()).isEqualTo(5D);
+        assertThat(stockValuation.getFifoValue()).isCloseTo(40D, within(1e-6));
+        assertThat(stockValuation.getAverageCost()).isCloseTo(6.5D, within(1e-6));
+        List<StockCostLayer> layers = stockCostLayerRepository.findOpenLayers(product.getId(), wareHouse.getId());
+        assertThat(layers).hasSize(1);
+        assertThat(layers.get(0).getUnitCost()).isEqualTo(8D);
+        assertThat(layers.get(0).getRemainingQty()).isEqualTo(5D);
+    }
+
+    @Test
+    void receiptAfterNegativeStockOnlyLayersTheSurplus() {
+        post(null, 4D, null);
+        post(10D, null, 3L);
+
+        StockValuation stockValuation = valuation();
+        assertThat(stockValuation.getQuantity()).isEqualTo(6D);
+        assertThat(stockValuation.getAverageCost()).isEqualTo(3D);
+        assertThat(stockValuation.getFifoValue()).isCloseTo(18D, within(1e-6));
+    }
+
+    @Test
+    void updatingARowReplaysTheLedger() {
+        ProductInventoryDTO first = post(10D, null, 5L);
+        post(10D, null, 8L);
+        post(null, 15D, null);
+
+        first.setPricePerUnit(6L);
+        productInventoryService.save(first);
+
+        StockValuation stockValuation = valuation();
+        assertThat(stockValuation.getQuantity()).isEqualTo(5D);
+        assertThat(stockValuation.getFifoValue()).isCloseTo(40D, within(1e-6));
+        assertThat(stockValuation.getAverageCost()).isCloseTo(7D, within(1e-6));
+    }
+
+    @Test
+    void updatingALaterRowOnlyReplaysFromIt() {
+        post(10D, null, 5L);
+        post(10D, null, 8L);
+        ProductInventoryDTO issue = post(null, 5D, null);
+        post(10D, null, 6L);
+
+        issue.setOutwardQty("12");
+        productInventoryService.save(issue);
+
+        StockValuation stockValuation = valuation();
+        assertThat(stockValuation.getQuantity()).isEqualTo(8D + 10D);
+        assertThat(stockValuation.getAverageCost()).isCloseTo((8D * 6.5D + 60D) / 18D, within(1e-6));
+        assertThat(stockValuation.getFifoValue()).isCloseTo(8D * 8D + 10D * 6D, within(1e-6));
+        assertThat(stockCostLayerRepository.findOpenLayers(product.getId(), wareHouse.getId())).hasSize(2);
+
+        // issuing less again reopens the issued layers
+        issue.setOutwardQty("5");
+        productInventoryService.save(issue);
+
+        stockValuation = valuation();
+        assertThat(stockValuation.getQuantity()).isEqualTo(25D);
+        assertThat(stockValuation.getAverageCost()).isCloseTo(6.3D, within(1e-6));
+        assertThat(stockValuation.getFifoValue()).isCloseTo(5D * 5D + 10D * 8D + 10D * 6D, within(1e-6));
+        List<StockCostLayer> layers = stockCostLayerRepository.findOpenLayers(product.getId(), wareHouse.getId());
+        assertThat(layers).extracting(StockCostLayer::getUnitCost).containsExactly(5D, 8D, 6D);
+    }
+
+    @Test
+    void deletingARowReplaysTheLedger() {
+        post(10D, null, 5L);
+        ProductInventoryDTO second = post(10D, null, 8L);
+
+        productInventoryService.delete(second.getId());
+
+        StockValuation stockValuation = valuation();
+        assertThat(stockValuation.getQuantity()).isEqualTo(10D);
+        assertThat(stockValuation.getFifoValue()).isCloseTo(50D, within(1e-6));
+        assertThat(stockCostLayerRepository.findOpenLayers(product.getId(), wareHouse.getId())).hasSize(1);
+    }
+
+    @Test
+    void totalsAreGroupedByWareHouse() {
+        post(10D, null, 5L);
+        post(10D, null, 8L);
+        em.flush();
+
+        List<StockValuationDTO> totals = stockValuationService.findWareHouseTotals(wareHouse.getId());
+        assertThat(totals).hasSize(1);
+        assertThat(totals.get(0).getProductId()).isNull();
+        assertThat(totals.get(0).getQuantity()).isEqualTo(20D);
+        assertThat(totals.get(0).getFifoValue()).isCloseTo(130D, within(1e-6));
+        assertThat(totals.get(0).getAverageValue()).isCloseTo(130D, within(1e-6));
+
+        List<StockValuationDTO> products = stockValuationService.findWareHouseValuation(wareHouse.getId());
+        assertThat(products).hasSize(1);
+        assertThat(products.get(0).getProductId()).isEqualTo(product.getId());
+        assertThat(products.get(0).getAverageCost()).isCloseTo(6.5D, within(1e-6));
+    }
+}
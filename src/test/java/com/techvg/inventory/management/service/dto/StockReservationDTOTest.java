@@ -0,0 +1,24 @@
+package com.techvg.inventory.management.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.techvg.inventory.management.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class StockReservationDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(StockReservationDTO.class);
+        StockReservationDTO stockReservationDTO1 = new StockReservationDTO();
+        stockReservationDTO1.setId(1L);
+        StockReservationDTO stockReservationDTO2 = new StockReservationDTO();
+        assertThat(stockReservationDTO1).isNotEqualTo(stockReservationDTO2);
+        stockReservationDTO2.setId(stockReservationDTO1.getId());
+        assertThat(stockReservationDTO1).isEqualTo(stockReservationDTO2);
+        stockReservationDTO2.setId(2L);
+        assertThat(stockReservationDTO1).isNotEqualTo(stockReservationDTO2);
+        stockReservationDTO1.setId(null);
+        assertThat(stockReservationDTO1).isNotEqualTo(stockReservationDTO2);
+    }
+}
@@ -0,0 +1,26 @@
+package com.techvg.inventory.management.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class StockValuationDTOTest {
+
+    @Test
+    void dtoEqualsByValue() {
+        StockValuationDTO stockValuationDTO1 = new StockValuationDTO();
+        stockValuationDTO1.setProductId(1L);
+        stockValuationDTO1.setWareHouseId(2L);
+        stockValuationDTO1.setQuantity(10D);
+        stockValuationDTO1.setFifoValue(50D);
+        StockValuationDTO stockValuationDTO2 = new StockValuationDTO();
+        assertThat(stockValuationDTO1).isNotEqualTo(stockValuationDTO2);
+        stockValuationDTO2.setProductId(1L);
+        stockValuationDTO2.setWareHouseId(2L);
+        stockValuationDTO2.setQuantity(10D);
+        stockValuationDTO2.setFifoValue(50D);
+        assertThat(stockValuationDTO1).isEqualTo(stockValuationDTO2).hasSameHashCodeAs(stockValuationDTO2);
+        stockValuationDTO2.setFifoValue(60D);
+        assertThat(stockValuationDTO1).isNotEqualTo(stockValuationDTO2);
+    }
+}
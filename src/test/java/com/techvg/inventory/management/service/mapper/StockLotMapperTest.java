@@ -0,0 +1,16 @@
+package com.techvg.inventory.management.service.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StockLotMapperTest {
+
+    private StockLotMapper stockLotMapper;
+
+    @BeforeEach
+    public void setUp() {
+        stockLotMapper = new StockLotMapperImpl();
+    }
+}
@@ -0,0 +1,16 @@
+package com.techvg.inventory.management.service.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StockReservationMapperTest {
+
+    private StockReservationMapper stockReservationMapper;
+
+    @BeforeEach
+    public void setUp() {
+        stockReservationMapper = new StockReservationMapperImpl();
+    }
+}
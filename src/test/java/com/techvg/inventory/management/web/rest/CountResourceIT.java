@@ -0,0 +1,108 @@
+package com.techvg.inventory.management.web.rest;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.techvg.inventory.management.IntegrationTest;
+import com.techvg.inventory.management.service.ProductService;
+import com.techvg.inventory.management.service.UnitService;
+import com.techvg.inventory.management.service.dto.ProductDTO;
+import com.techvg.inventory.management.service.dto.UnitDTO;
+import com.techvg.inventory.management.web.rest.vm.CountVM;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Integration tests for the {@link CountResource} REST controller.
+ * <p>
+ * Not transactional, as each count runs in its own transaction on another thread and only sees committed entities.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CountResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/counts";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UnitService unitService;
+
+    @Autowired
+    private MockMvc restCountMockMvc;
+
+    @Test
+    void countSeveralEntitiesAtOnce() throws Exception {
+        String name = "counted-" + UUID.randomUUID();
+        List<ProductDTO> products = new ArrayList<>();
+        UnitDTO unit = new UnitDTO();
+        unit.setUnitName(name);
+        unit = unitService.save(unit);
+        try {
+            for (int i = 0; i < 2; i++) {
+                ProductDTO product = new ProductDTO();
+                product.setProductName(name);
+                product.setIsActive(i == 0);
+                products.add(productService.save(product));
+            }
+
+            performCount(
+                count("Product", "productName.equals", name),
+                count("product", "productName.equals", name, "isActive.equals", "true"),
+                count("Unit", "unitName.equals", name),
+                count("Product", "id.in", products.get(0).getId() + "," + products.get(1).getId()),
+                count("Product", "productName.equals", "not-" + name)
+            )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(contains(2, 1, 1, 2, 0)));
+        } finally {
+            products.forEach(product -> productService.delete(product.getId()));
+            unitService.delete(unit.getId());
+        }
+    }
+
+    @Test
+    void countUnknownEntity() throws Exception {
+        performCount(count("Unknown")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void countInvalidCriteria() throws Exception {
+        performCount(count("Product", "id.equals", "not-a-number")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void countTooMany() throws Exception {
+        performCount(Collections.nCopies(CountResource.MAX_COUNTS + 1, count("Product")).toArray(new CountVM[0]))
+            .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions performCount(CountVM... counts) throws Exception {
+        return restCountMockMvc.perform(
+            post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(Arrays.asList(counts)))
+        );
+    }
+
+    private static CountVM count(String entity, String... criteria) {
+        CountVM count = new CountVM();
+        count.setEntity(entity);
+        for (int i = 0; i < criteria.length; i += 2) {
+            count.getCriteria().put(criteria[i], criteria[i + 1]);
+        }
+        return count;
+    }
+}
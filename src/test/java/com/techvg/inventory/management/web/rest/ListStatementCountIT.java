@@ -0,0 +1,127 @@
+package com.techvg.inventory.management.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.techvg.inventory.management.IntegrationTest;
+import com.techvg.inventory.management.domain.Notification;
+import com.techvg.inventory.management.domain.Product;
+import com.techvg.inventory.management.domain.ProductInventory;
+import com.techvg.inventory.management.domain.ProductTransaction;
+import com.techvg.inventory.management.domain.SecurityUser;
+import com.techvg.inventory.management.domain.WareHouse;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests asserting that the list endpoints read a page in a fixed number of SQL statements, whatever
+ * the number of distinct associated entities on the page.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ListStatementCountIT {
+
+    private static final int ROWS = 3;
+
+    private static final String PAGE = "?sort=id,desc&size=" + (ROWS - 1);
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private Statistics statistics;
+
+    private SecurityUser securityUser;
+
+    @BeforeEach
+    public void initTest() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        securityUser = SecurityUserResourceIT.createEntity(em);
+        em.persist(securityUser);
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @Transactional
+    void getAllProductInventoriesInFixedStatements() throws Exception {
+        for (int i = 0; i < ROWS; i++) {
+            Product product = ProductResourceIT.createEntity(em);
+            em.persist(product);
+            WareHouse wareHouse = WareHouseResourceIT.createEntity(em);
+            em.persist(wareHouse);
+            ProductTransaction productTransaction = ProductTransactionResourceIT.createEntity(em);
+            em.persist(productTransaction);
+            ProductInventory productInventory = ProductInventoryResourceIT.createEntity(em);
+            productInventory.product(product).productTransaction(productTransaction).securityUser(securityUser).wareHouse(wareHouse);
+            em.persist(productInventory);
+        }
+
+        assertStatementCount("/api/product-inventories" + PAGE, 2);
+        assertStatementCount("/api/product-inventories" + PAGE + "&count=false", 1);
+        assertStatementCount("/api/product-inventories" + PAGE + "&after=", 1);
+    }
+
+    @Test
+    @Transactional
+    void getAllNotificationsInFixedStatements() throws Exception {
+        for (int i = 0; i < ROWS; i++) {
+            WareHouse wareHouse = WareHouseResourceIT.createEntity(em);
+            em.persist(wareHouse);
+            Notification notification = NotificationResourceIT.createEntity(em);
+            notification.securityUser(securityUser).wareHouse(wareHouse);
+            em.persist(notification);
+        }
+
+        assertStatementCount("/api/notifications" + PAGE, 2);
+        assertStatementCount("/api/notifications" + PAGE + "&count=false", 1);
+        assertStatementCount("/api/notifications" + PAGE + "&after=", 1);
+    }
+
+    @Test
+    @Transactional
+    void getAllProductTransactionsInFixedStatements() throws Exception {
+        for (int i = 0; i < ROWS; i++) {
+            WareHouse wareHouse = WareHouseResourceIT.createEntity(em);
+            em.persist(wareHouse);
+            ProductTransaction productTransaction = ProductTransactionResourceIT.createEntity(em);
+            productTransaction.securityUser(securityUser).wareHouse(wareHouse);
+            em.persist(productTransaction);
+        }
+
+        assertStatementCount("/api/product-transactions" + PAGE, 2);
+        assertStatementCount("/api/product-transactions" + PAGE + "&count=false", 1);
+        assertStatementCount("/api/product-transactions" + PAGE + "&after=", 1);
+    }
+
+    private void assertStatementCount(String url, long statementCount) throws Exception {
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        restMockMvc.perform(get(url)).andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).as(url).isEqualTo(statementCount);
+    }
+}
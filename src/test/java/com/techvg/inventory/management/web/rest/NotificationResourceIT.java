@@ -1,7 +1,10 @@
 package com.techvg.inventory.management.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -14,6 +17,7 @@ import com.techvg.inventory.management.repository.NotificationRepository;
 import com.techvg.inventory.management.service.criteria.NotificationCriteria;
 import com.techvg.inventory.management.service.dto.NotificationDTO;
 import com.techvg.inventory.management.service.mapper.NotificationMapper;
+import java.net.URI;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -218,6 +222,89 @@ class NotificationResourceIT {
             .andExpect(jsonPath("$.[*].lastModifiedBy").value(hasItem(DEFAULT_LAST_MODIFIED_BY)));
     }
 
+    @Test
+    @Transactional
+    void getAllNotificationsAfterCursor() throws Exception {
+        // Initialize the database
+        Notification first = notificationRepository.saveAndFlush(createEntity(em));
+        Notification second = notificationRepository.saveAndFlush(createEntity(em));
+        Notification third = notificationRepository.saveAndFlush(createEntity(em));
+        String filter = "id.greaterThanOrEqual=" + first.getId() + "&sort=title,asc&size=2";
+
+        // Get the first slice
+        restNotificationMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Link", containsString("after=" + DEFAULT_TITLE + "%2C" + second.getId())))
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())));
+
+        // Get the last slice
+        restNotificationMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + DEFAULT_TITLE + "," + second.getId() + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Link"))
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllNotificationsFollowingNextLink() throws Exception {
+        // Initialize the database
+        String title = "A, B+C; D";
+        Notification first = notificationRepository.saveAndFlush(createEntity(em).title(title));
+        notificationRepository.saveAndFlush(createEntity(em).title(title));
+        Notification third = notificationRepository.saveAndFlush(createEntity(em).title(title));
+        String filter = "id.greaterThanOrEqual=" + first.getId() + "&sort=title,asc&size=2";
+
+        // Get the first slice
+        String link = restNotificationMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&" + filter))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader("Link");
+        assertThat(link).matches("<[^,;+ ]+>; rel=\"next\"");
+
+        // Follow the next link
+        restNotificationMockMvc
+            .perform(get(URI.create(link.substring(1, link.indexOf('>')))))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Link"))
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllNotificationsWithoutCount() throws Exception {
+        // Initialize the database
+        Notification first = notificationRepository.saveAndFlush(createEntity(em));
+        Notification second = notificationRepository.saveAndFlush(createEntity(em));
+        String filter = "count=false&id.greaterThanOrEqual=" + first.getId() + "&sort=id,asc&size=1";
+
+        // Get the first page
+        restNotificationMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Link", containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue())));
+
+        // Get the last page
+        restNotificationMockMvc
+            .perform(get(ENTITY_API_URL + "?page=1&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Link", not(containsString("rel=\"next\""))))
+            .andExpect(jsonPath("$.[*].id").value(contains(second.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllNotificationsWithInvalidCursor() throws Exception {
+        restNotificationMockMvc.perform(get(ENTITY_API_URL + "?after=notAnId&sort=id,asc")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getNotification() throws Exception {
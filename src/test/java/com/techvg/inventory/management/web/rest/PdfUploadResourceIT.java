@@ -0,0 +1,163 @@
+package com.techvg.inventory.management.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techvg.inventory.management.IntegrationTest;
+import com.techvg.inventory.management.domain.Product;
+import com.techvg.inventory.management.service.FileStorageService;
+import com.techvg.inventory.management.service.StoredFile;
+import com.techvg.inventory.management.service.dto.ChunkedUploadDTO;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link PdfUploadResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class PdfUploadResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/pdf-uploads";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restPdfUploadMockMvc;
+
+    private Product product;
+
+    @BeforeEach
+    public void initTest() {
+        product = ProductResourceIT.createEntity(em).barCode(null).qrCode(null);
+    }
+
+    @Test
+    @Transactional
+    void uploadFileInParts() throws Exception {
+        em.persist(product);
+        em.flush();
+        String id = startUpload(10);
+
+        // Send the parts out of order, the first one twice
+        uploadPart(id, 5, "56789")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.received").value(5))
+            .andExpect(jsonPath("$.nextOffset").value(0));
+        uploadPart(id, 0, "0123").andExpect(status().isOk()).andExpect(jsonPath("$.nextOffset").value(4));
+        // Parts may not overlap
+        uploadPart(id, 3, "34").andExpect(status().isBadRequest());
+        uploadPart(id, 0, "0123").andExpect(status().isOk()).andExpect(jsonPath("$.received").value(9));
+        uploadPart(id, 4, "456").andExpect(status().isBadRequest());
+        uploadPart(id, 0, "01234").andExpect(status().isOk());
+
+        restPdfUploadMockMvc
+            .perform(get(ENTITY_API_URL_ID, id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length").value(10))
+            .andExpect(jsonPath("$.received").value(10))
+            .andExpect(jsonPath("$.nextOffset").value(10));
+
+        String fileName = objectMapper
+            .readTree(
+                restPdfUploadMockMvc
+                    .perform(post(ENTITY_API_URL_ID + "/complete", id))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.productId").value(product.getId().intValue()))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString()
+            )
+            .get("fileName")
+            .asText();
+
+        StoredFile file = fileStorageService.loadFile(fileName);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        fileStorageService.transferTo(file, 0, file.getLength(), outputStream);
+        assertThat(outputStream.toString("US-ASCII")).isEqualTo("0123456789");
+
+        // The upload is gone once completed
+        restPdfUploadMockMvc.perform(get(ENTITY_API_URL_ID, id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void completeUploadWithMissingPart() throws Exception {
+        em.persist(product);
+        em.flush();
+        String id = startUpload(10);
+        uploadPart(id, 0, "01234").andExpect(status().isOk());
+
+        restPdfUploadMockMvc.perform(post(ENTITY_API_URL_ID + "/complete", id)).andExpect(status().isBadRequest());
+
+        restPdfUploadMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+        restPdfUploadMockMvc.perform(get(ENTITY_API_URL_ID, id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void uploadPartOutsideOfTheFile() throws Exception {
+        em.persist(product);
+        em.flush();
+        String id = startUpload(10);
+
+        uploadPart(id, 8, "890").andExpect(status().isBadRequest());
+        uploadPart(id, 10, "0").andExpect(status().isBadRequest());
+        restPdfUploadMockMvc.perform(get(ENTITY_API_URL_ID, id)).andExpect(jsonPath("$.received").value(0));
+
+        restPdfUploadMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+    }
+
+    @Test
+    void uploadPartOfUnknownUpload() throws Exception {
+        uploadPart("unknown", 0, "0").andExpect(status().isNotFound());
+    }
+
+    private String startUpload(long length) throws Exception {
+        ChunkedUploadDTO chunkedUploadDTO = new ChunkedUploadDTO();
+        chunkedUploadDTO.setProductId(product.getId());
+        chunkedUploadDTO.setFileName("coa.pdf");
+        chunkedUploadDTO.setContentType("application/pdf");
+        chunkedUploadDTO.setLength(length);
+        String response = restPdfUploadMockMvc
+            .perform(
+                post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(chunkedUploadDTO))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.received").value(0))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return objectMapper.readValue(response, ChunkedUploadDTO.class).getId();
+    }
+
+    private ResultActions uploadPart(String id, long offset, String part) throws Exception {
+        return restPdfUploadMockMvc.perform(
+            put(ENTITY_API_URL_ID, id)
+                .param("offset", String.valueOf(offset))
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(part.getBytes(StandardCharsets.US_ASCII))
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package com.techvg.inventory.management.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -18,6 +19,7 @@ import com.techvg.inventory.management.service.dto.ProductInventoryDTO;
 import com.techvg.inventory.management.service.mapper.ProductInventoryMapper;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -570,6 +572,114 @@ class ProductInventoryResourceIT {
         defaultProductInventoryShouldBeFound("totalQuanity.doesNotContain=" + UPDATED_TOTAL_QUANITY);
     }
 
+    @Test
+    @Transactional
+    void getAllProductInventoriesByInwardQuantityIsInRange() throws Exception {
+        // Initialize the database, the typed quantity follows the legacy text quantity
+        productInventoryRepository.saveAndFlush(productInventory.inwardQty("12.5").outwardQty("2"));
+        assertThat(productInventoryRepository.getById(productInventory.getId()).getInwardQuantity()).isEqualTo(12.5D);
+
+        // Get all the productInventoryList where inwardQuantity is between 12 and 13
+        restProductInventoryMockMvc
+            .perform(get(ENTITY_API_URL + "/count?inwardQuantity.greaterThanOrEqual=12&inwardQuantity.lessThan=13"))
+            .andExpect(status().isOk())
+            .andExpect(content().string("1"));
+
+        // Get all the productInventoryList where outwardQuantity is greater than 2
+        restProductInventoryMockMvc
+            .perform(get(ENTITY_API_URL + "/count?outwardQuantity.greaterThan=2"))
+            .andExpect(status().isOk())
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    @Transactional
+    void createProductInventoryWithTypedQuantityWritesLegacyQuantity() throws Exception {
+        ProductInventoryDTO productInventoryDTO = new ProductInventoryDTO();
+        productInventoryDTO.setInwardQuantity(7.25D);
+        restProductInventoryMockMvc
+            .perform(
+                post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(productInventoryDTO))
+            )
+            .andExpect(status().isCreated());
+
+        List<ProductInventory> productInventoryList = productInventoryRepository.findAll();
+        ProductInventory testProductInventory = productInventoryList.get(productInventoryList.size() - 1);
+        assertThat(testProductInventory.getInwardQuantity()).isEqualTo(7.25D);
+        assertThat(testProductInventory.getInwardQty()).isEqualTo("7.25");
+    }
+
+    @Test
+    @Transactional
+    void updateProductInventoryQuantityTextWinsOverStaleTypedQuantity() throws Exception {
+        productInventoryRepository.saveAndFlush(productInventory.inwardQty("5").outwardQty("2"));
+
+        ProductInventoryDTO productInventoryDTO = productInventoryMapper.toDto(productInventory);
+        assertThat(productInventoryDTO.getInwardQuantity()).isEqualTo(5D);
+        productInventoryDTO.setInwardQty("9");
+        productInventoryDTO.setOutwardQty(null);
+        restProductInventoryMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, productInventoryDTO.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(productInventoryDTO))
+            )
+            .andExpect(status().isOk());
+
+        ProductInventory testProductInventory = productInventoryRepository.findById(productInventory.getId()).get();
+        assertThat(testProductInventory.getInwardQty()).isEqualTo("9");
+        assertThat(testProductInventory.getInwardQuantity()).isEqualTo(9D);
+        assertThat(testProductInventory.getOutwardQty()).isEqualTo("2");
+        assertThat(testProductInventory.getOutwardQuantity()).isEqualTo(2D);
+
+        testProductInventory.setInwardQty(null);
+        assertThat(testProductInventory.getInwardQuantity()).isNull();
+    }
+
+    @Test
+    @Transactional
+    void getExpiringLots() throws Exception {
+        // Initialize the database
+        Product product = ProductResourceIT.createEntity(em);
+        em.persist(product);
+        WareHouse wareHouse = WareHouseResourceIT.createEntity(em);
+        em.persist(wareHouse);
+        em.flush();
+        Instant soon = Instant.now().plus(5, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        Instant later = Instant.now().plus(60, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        List<ProductInventory> lots = Arrays.asList(
+            new ProductInventory().lotNo("LOT-SOON").expiryDate(soon).inwardQty("10"),
+            new ProductInventory().lotNo("LOT-SOON").outwardQty("4"),
+            new ProductInventory().lotNo("LOT-LATER").expiryDate(later).inwardQty("8"),
+            new ProductInventory().lotNo("LOT-USED").expiryDate(soon).inwardQty("3"),
+            new ProductInventory().lotNo("LOT-USED").outwardQty("3")
+        );
+        for (ProductInventory lot : lots) {
+            ProductInventoryDTO productInventoryDTO = productInventoryMapper.toDto(lot.product(product).wareHouse(wareHouse));
+            restProductInventoryMockMvc
+                .perform(
+                    post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(productInventoryDTO))
+                )
+                .andExpect(status().isCreated());
+        }
+
+        // Get the lots in stock expiring within 10 days
+        restProductInventoryMockMvc
+            .perform(get(ENTITY_API_URL + "/expiring?withinDays=10&wareHouseId=" + wareHouse.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].lotNo").value("LOT-SOON"))
+            .andExpect(jsonPath("$.[0].remainingQty").value(6D))
+            .andExpect(jsonPath("$.[0].expiryDate").value(soon.toString()))
+            .andExpect(jsonPath("$.[0].product.id").value(product.getId().intValue()));
+
+        // Get the lots in stock expiring within 90 days
+        restProductInventoryMockMvc
+            .perform(get(ENTITY_API_URL + "/expiring?withinDays=90&wareHouseId=" + wareHouse.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].lotNo").value(contains("LOT-SOON", "LOT-LATER")));
+    }
+
     @Test
     @Transactional
     void getAllProductInventoriesByPricePerUnitIsEqualToSomething() throws Exception {
@@ -1479,6 +1589,12 @@ class ProductInventoryResourceIT {
             .andExpect(content().string("0"));
     }
 
+    @Test
+    @Transactional
+    void getProductInventoriesPageAboveMaximumSize() throws Exception {
+        restProductInventoryMockMvc.perform(get(ENTITY_API_URL + "?size=501")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getNonExistingProductInventory() throws Exception {
@@ -1,6 +1,8 @@
 package com.techvg.inventory.management.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -12,23 +14,33 @@ import com.techvg.inventory.management.domain.SecurityUser;
 import com.techvg.inventory.management.domain.TransferDetails;
 import com.techvg.inventory.management.domain.Unit;
 import com.techvg.inventory.management.domain.enumeration.ProductType;
+import com.techvg.inventory.management.repository.ProductImageRepository;
 import com.techvg.inventory.management.repository.ProductRepository;
+import com.techvg.inventory.management.service.FileStorageService;
+import com.techvg.inventory.management.service.ProductImageService;
+import com.techvg.inventory.management.service.ProductService;
 import com.techvg.inventory.management.service.criteria.ProductCriteria;
 import com.techvg.inventory.management.service.dto.ProductDTO;
 import com.techvg.inventory.management.service.mapper.ProductMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.Base64Utils;
 
 /**
  * Integration tests for the {@link ProductResource} REST controller.
@@ -123,6 +135,18 @@ class ProductResourceIT {
     @Autowired
     private ProductMapper productMapper;
 
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private ProductImageService productImageService;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
     @Autowired
     private EntityManager em;
 
@@ -142,7 +166,6 @@ class ProductResourceIT {
             .shortName(DEFAULT_SHORT_NAME)
             .chemicalFormula(DEFAULT_CHEMICAL_FORMULA)
             .hsnNo(DEFAULT_HSN_NO)
-            .materialImage(DEFAULT_MATERIAL_IMAGE)
             .materialImageContentType(DEFAULT_MATERIAL_IMAGE_CONTENT_TYPE)
             .isDeleted(DEFAULT_IS_DELETED)
             .isActive(DEFAULT_IS_ACTIVE)
@@ -177,7 +200,6 @@ class ProductResourceIT {
             .shortName(UPDATED_SHORT_NAME)
             .chemicalFormula(UPDATED_CHEMICAL_FORMULA)
             .hsnNo(UPDATED_HSN_NO)
-            .materialImage(UPDATED_MATERIAL_IMAGE)
             .materialImageContentType(UPDATED_MATERIAL_IMAGE_CONTENT_TYPE)
             .isDeleted(UPDATED_IS_DELETED)
             .isActive(UPDATED_IS_ACTIVE)
@@ -212,9 +234,11 @@ class ProductResourceIT {
         int databaseSizeBeforeCreate = productRepository.findAll().size();
         // Create the Product
         ProductDTO productDTO = productMapper.toDto(product);
+        productDTO.setMaterialImage(DEFAULT_MATERIAL_IMAGE);
         restProductMockMvc
             .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(productDTO)))
-            .andExpect(status().isCreated());
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.materialImage").doesNotExist());
 
         // Validate the Product in the database
         List<Product> productList = productRepository.findAll();
@@ -223,8 +247,10 @@ class ProductResourceIT {
         assertThat(testProduct.getShortName()).isEqualTo(DEFAULT_SHORT_NAME);
         assertThat(testProduct.getChemicalFormula()).isEqualTo(DEFAULT_CHEMICAL_FORMULA);
         assertThat(testProduct.getHsnNo()).isEqualTo(DEFAULT_HSN_NO);
-        assertThat(testProduct.getMaterialImage()).isEqualTo(DEFAULT_MATERIAL_IMAGE);
         assertThat(testProduct.getMaterialImageContentType()).isEqualTo(DEFAULT_MATERIAL_IMAGE_CONTENT_TYPE);
+        assertThat(productImageRepository.findById(testProduct.getId()).get().getContent()).isEqualTo(DEFAULT_MATERIAL_IMAGE);
+        assertThat(testProduct.getMaterialImageHash())
+            .isEqualTo(productImageRepository.findById(testProduct.getId()).get().getContentHash());
         assertThat(testProduct.getIsDeleted()).isEqualTo(DEFAULT_IS_DELETED);
         assertThat(testProduct.getIsActive()).isEqualTo(DEFAULT_IS_ACTIVE);
         assertThat(testProduct.getProductName()).isEqualTo(DEFAULT_PRODUCT_NAME);
@@ -281,7 +307,7 @@ class ProductResourceIT {
             .andExpect(jsonPath("$.[*].chemicalFormula").value(hasItem(DEFAULT_CHEMICAL_FORMULA)))
             .andExpect(jsonPath("$.[*].hsnNo").value(hasItem(DEFAULT_HSN_NO)))
             .andExpect(jsonPath("$.[*].materialImageContentType").value(hasItem(DEFAULT_MATERIAL_IMAGE_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].materialImage").value(hasItem(Base64Utils.encodeToString(DEFAULT_MATERIAL_IMAGE))))
+            .andExpect(jsonPath("$.[*].materialImage").doesNotExist())
             .andExpect(jsonPath("$.[*].isDeleted").value(hasItem(DEFAULT_IS_DELETED.booleanValue())))
             .andExpect(jsonPath("$.[*].isActive").value(hasItem(DEFAULT_IS_ACTIVE.booleanValue())))
             .andExpect(jsonPath("$.[*].productName").value(hasItem(DEFAULT_PRODUCT_NAME)))
@@ -303,6 +329,45 @@ class ProductResourceIT {
             .andExpect(jsonPath("$.[*].freeField2").value(hasItem(DEFAULT_FREE_FIELD_2)));
     }
 
+    @Test
+    @Transactional
+    void getAllProductsFields() throws Exception {
+        // Initialize the database
+        Unit unit = UnitResourceIT.createEntity(em);
+        em.persist(unit);
+        product.setUnit(unit);
+        productRepository.saveAndFlush(product);
+        String filter = "id.equals=" + product.getId() + "&fields=productName,productType,unit";
+
+        // Get the fields of the page
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(product.getId().intValue()))
+            .andExpect(jsonPath("$.[0].productName").value(DEFAULT_PRODUCT_NAME))
+            .andExpect(jsonPath("$.[0].productType").value(DEFAULT_PRODUCT_TYPE.toString()))
+            .andExpect(jsonPath("$.[0].unit.id").value(unit.getId().intValue()))
+            .andExpect(jsonPath("$.[0].materialImage").doesNotExist())
+            .andExpect(jsonPath("$.[0].description").doesNotExist());
+
+        // Get the fields of the first keyset slice
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&sort=productName,asc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].productName").value(contains(DEFAULT_PRODUCT_NAME)))
+            .andExpect(jsonPath("$.[0].description").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsWithInvalidFields() throws Exception {
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?fields=productName,transferDetails")).andExpect(status().isBadRequest());
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?fields=totalStock")).andExpect(status().isBadRequest());
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?fields=unknown")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getProduct() throws Exception {
@@ -319,7 +384,7 @@ class ProductResourceIT {
             .andExpect(jsonPath("$.chemicalFormula").value(DEFAULT_CHEMICAL_FORMULA))
             .andExpect(jsonPath("$.hsnNo").value(DEFAULT_HSN_NO))
             .andExpect(jsonPath("$.materialImageContentType").value(DEFAULT_MATERIAL_IMAGE_CONTENT_TYPE))
-            .andExpect(jsonPath("$.materialImage").value(Base64Utils.encodeToString(DEFAULT_MATERIAL_IMAGE)))
+            .andExpect(jsonPath("$.materialImage").doesNotExist())
             .andExpect(jsonPath("$.isDeleted").value(DEFAULT_IS_DELETED.booleanValue()))
             .andExpect(jsonPath("$.isActive").value(DEFAULT_IS_ACTIVE.booleanValue()))
             .andExpect(jsonPath("$.productName").value(DEFAULT_PRODUCT_NAME))
@@ -2166,7 +2231,7 @@ class ProductResourceIT {
             .andExpect(jsonPath("$.[*].chemicalFormula").value(hasItem(DEFAULT_CHEMICAL_FORMULA)))
             .andExpect(jsonPath("$.[*].hsnNo").value(hasItem(DEFAULT_HSN_NO)))
             .andExpect(jsonPath("$.[*].materialImageContentType").value(hasItem(DEFAULT_MATERIAL_IMAGE_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].materialImage").value(hasItem(Base64Utils.encodeToString(DEFAULT_MATERIAL_IMAGE))))
+            .andExpect(jsonPath("$.[*].materialImage").doesNotExist())
             .andExpect(jsonPath("$.[*].isDeleted").value(hasItem(DEFAULT_IS_DELETED.booleanValue())))
             .andExpect(jsonPath("$.[*].isActive").value(hasItem(DEFAULT_IS_ACTIVE.booleanValue())))
             .andExpect(jsonPath("$.[*].productName").value(hasItem(DEFAULT_PRODUCT_NAME)))
@@ -2221,6 +2286,120 @@ class ProductResourceIT {
         restProductMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getProductImage() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+        productImageService.save(product.getId(), DEFAULT_MATERIAL_IMAGE, DEFAULT_MATERIAL_IMAGE_CONTENT_TYPE);
+
+        // Get the image
+        String eTag = restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image", product.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_MATERIAL_IMAGE_CONTENT_TYPE))
+            .andExpect(content().bytes(DEFAULT_MATERIAL_IMAGE))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=3600")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotBlank();
+
+        // Revalidate the image
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image", product.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @Transactional
+    void getProductWithoutImage() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+
+        restProductMockMvc.perform(get(ENTITY_API_URL_ID + "/image", product.getId())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getProductThumbnailBeforeItIsGenerated() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+        productImageService.save(product.getId(), DEFAULT_MATERIAL_IMAGE, DEFAULT_MATERIAL_IMAGE_CONTENT_TYPE);
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image/thumbnails/small", product.getId()))
+            .andExpect(status().isTemporaryRedirect())
+            .andExpect(header().string(HttpHeaders.LOCATION, containsString("/api/products/" + product.getId() + "/image")))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image/thumbnails/huge", product.getId()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void downloadFileRange() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+        byte[] content = "0123456789".getBytes(StandardCharsets.US_ASCII);
+        MockMultipartFile file = new MockMultipartFile("file", "coa.pdf", "application/pdf", content);
+        String fileName = fileStorageService.storeFile(file, product.getId());
+
+        // Get a range of the file
+        MvcResult partial = restProductMockMvc
+            .perform(get("/api/download-file/{fileName}", fileName).header(HttpHeaders.RANGE, "bytes=2-4"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String eTag = restProductMockMvc
+            .perform(asyncDispatch(partial))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/10"))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(content().string("234"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // Revalidate the file
+        restProductMockMvc
+            .perform(get("/api/download-file/{fileName}", fileName).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // A range outside of the file, or selecting no byte, is rejected
+        for (String range : new String[] { "bytes=10-", "bytes=50-", "bytes=50-60", "bytes=-0", "bytes=4-2" }) {
+            restProductMockMvc
+                .perform(get("/api/download-file/{fileName}", fileName).header(HttpHeaders.RANGE, range))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        }
+
+        // A suffix range longer than the file gets the whole file
+        MvcResult suffix = restProductMockMvc
+            .perform(get("/api/download-file/{fileName}", fileName).header(HttpHeaders.RANGE, "bytes=-20"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restProductMockMvc
+            .perform(asyncDispatch(suffix))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/10"))
+            .andExpect(content().bytes(content));
+
+        // A range of an older version of the file gets the whole file
+        MvcResult whole = restProductMockMvc
+            .perform(
+                get("/api/download-file/{fileName}", fileName)
+                    .header(HttpHeaders.RANGE, "bytes=2-4")
+                    .header(HttpHeaders.IF_RANGE, "\"0-0\"")
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restProductMockMvc.perform(asyncDispatch(whole)).andExpect(status().isOk()).andExpect(content().bytes(content));
+    }
+
     @Test
     @Transactional
     void putNewProduct() throws Exception {
@@ -2237,7 +2416,6 @@ class ProductResourceIT {
             .shortName(UPDATED_SHORT_NAME)
             .chemicalFormula(UPDATED_CHEMICAL_FORMULA)
             .hsnNo(UPDATED_HSN_NO)
-            .materialImage(UPDATED_MATERIAL_IMAGE)
             .materialImageContentType(UPDATED_MATERIAL_IMAGE_CONTENT_TYPE)
             .isDeleted(UPDATED_IS_DELETED)
             .isActive(UPDATED_IS_ACTIVE)
@@ -2259,6 +2437,7 @@ class ProductResourceIT {
             .freeField1(UPDATED_FREE_FIELD_1)
             .freeField2(UPDATED_FREE_FIELD_2);
         ProductDTO productDTO = productMapper.toDto(updatedProduct);
+        productDTO.setMaterialImage(UPDATED_MATERIAL_IMAGE);
 
         restProductMockMvc
             .perform(
@@ -2275,7 +2454,7 @@ class ProductResourceIT {
         assertThat(testProduct.getShortName()).isEqualTo(UPDATED_SHORT_NAME);
         assertThat(testProduct.getChemicalFormula()).isEqualTo(UPDATED_CHEMICAL_FORMULA);
         assertThat(testProduct.getHsnNo()).isEqualTo(UPDATED_HSN_NO);
-        assertThat(testProduct.getMaterialImage()).isEqualTo(UPDATED_MATERIAL_IMAGE);
+        assertThat(productImageRepository.findById(testProduct.getId()).get().getContent()).isEqualTo(UPDATED_MATERIAL_IMAGE);
         assertThat(testProduct.getMaterialImageContentType()).isEqualTo(UPDATED_MATERIAL_IMAGE_CONTENT_TYPE);
         assertThat(testProduct.getIsDeleted()).isEqualTo(UPDATED_IS_DELETED);
         assertThat(testProduct.getIsActive()).isEqualTo(UPDATED_IS_ACTIVE);
@@ -2400,7 +2579,6 @@ class ProductResourceIT {
         assertThat(testProduct.getShortName()).isEqualTo(DEFAULT_SHORT_NAME);
         assertThat(testProduct.getChemicalFormula()).isEqualTo(DEFAULT_CHEMICAL_FORMULA);
         assertThat(testProduct.getHsnNo()).isEqualTo(DEFAULT_HSN_NO);
-        assertThat(testProduct.getMaterialImage()).isEqualTo(DEFAULT_MATERIAL_IMAGE);
         assertThat(testProduct.getMaterialImageContentType()).isEqualTo(DEFAULT_MATERIAL_IMAGE_CONTENT_TYPE);
         assertThat(testProduct.getIsDeleted()).isEqualTo(UPDATED_IS_DELETED);
         assertThat(testProduct.getIsActive()).isEqualTo(UPDATED_IS_ACTIVE);
@@ -2439,7 +2617,6 @@ class ProductResourceIT {
             .shortName(UPDATED_SHORT_NAME)
             .chemicalFormula(UPDATED_CHEMICAL_FORMULA)
             .hsnNo(UPDATED_HSN_NO)
-            .materialImage(UPDATED_MATERIAL_IMAGE)
             .materialImageContentType(UPDATED_MATERIAL_IMAGE_CONTENT_TYPE)
             .isDeleted(UPDATED_IS_DELETED)
             .isActive(UPDATED_IS_ACTIVE)
@@ -2476,7 +2653,6 @@ class ProductResourceIT {
         assertThat(testProduct.getShortName()).isEqualTo(UPDATED_SHORT_NAME);
         assertThat(testProduct.getChemicalFormula()).isEqualTo(UPDATED_CHEMICAL_FORMULA);
         assertThat(testProduct.getHsnNo()).isEqualTo(UPDATED_HSN_NO);
-        assertThat(testProduct.getMaterialImage()).isEqualTo(UPDATED_MATERIAL_IMAGE);
         assertThat(testProduct.getMaterialImageContentType()).isEqualTo(UPDATED_MATERIAL_IMAGE_CONTENT_TYPE);
         assertThat(testProduct.getIsDeleted()).isEqualTo(UPDATED_IS_DELETED);
         assertThat(testProduct.getIsActive()).isEqualTo(UPDATED_IS_ACTIVE);
@@ -2583,4 +2759,47 @@ class ProductResourceIT {
         List<Product> productList = productRepository.findAll();
         assertThat(productList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    void lookupProductsByScannedCodes() throws Exception {
+        // Not transactional, the code index is updated once the product is committed
+        String barCode = UUID.randomUUID().toString();
+        ProductDTO productDTO = productService.save(productMapper.toDto(createEntity(em).barCode(barCode).qrCode(null)));
+        try {
+            restProductMockMvc
+                .perform(get(ENTITY_API_URL + "/lookup?code=" + barCode))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(contains(productDTO.getId().intValue())));
+
+            restProductMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(barCode, "unknown", barCode)))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$['" + barCode + "'].[*].id").value(contains(productDTO.getId().intValue())))
+                .andExpect(jsonPath("$.unknown").isEmpty());
+        } finally {
+            productService.delete(productDTO.getId());
+        }
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/lookup?code=" + barCode))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void lookupTooManyCodes() throws Exception {
+        List<String> codes = Collections.nCopies(ProductResource.MAX_LOOKUP_CODES + 1, DEFAULT_BAR_CODE);
+
+        restProductMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/lookup").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(codes))
+            )
+            .andExpect(status().isBadRequest());
+    }
 }